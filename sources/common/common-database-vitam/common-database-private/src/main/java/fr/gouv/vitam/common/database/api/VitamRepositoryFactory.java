@@ -54,7 +54,8 @@ public class VitamRepositoryFactory implements VitamRepositoryProvider {
     @Override
     public VitamElasticsearchRepository getVitamESRepository(VitamCollection collection) {
         return new VitamElasticsearchRepository(collection.getEsClient().getClient(),
-            collection.getName().toLowerCase(), collection.isCreateIndexByTenant());
+            collection.getEsClient().getBulkIndexer(), collection.getName().toLowerCase(),
+            collection.isCreateIndexByTenant());
     }
 
 }
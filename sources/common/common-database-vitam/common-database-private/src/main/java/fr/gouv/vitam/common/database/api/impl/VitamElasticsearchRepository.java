@@ -34,6 +34,7 @@ import fr.gouv.vitam.common.VitamConfiguration;
 import fr.gouv.vitam.common.database.api.VitamRepository;
 import fr.gouv.vitam.common.database.api.VitamRepositoryStatus;
 import fr.gouv.vitam.common.database.collections.VitamCollection;
+import fr.gouv.vitam.common.database.server.elasticsearch.ElasticsearchBulkIndexer;
 import fr.gouv.vitam.common.database.server.mongodb.VitamDocument;
 import fr.gouv.vitam.common.exception.DatabaseException;
 import fr.gouv.vitam.common.exception.InvalidParseOperationException;
@@ -49,6 +50,7 @@ import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.support.WriteRequest;
@@ -61,6 +63,7 @@ import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.sort.FieldSortBuilder;
 import org.elasticsearch.search.sort.SortOrder;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -91,6 +94,7 @@ public class VitamElasticsearchRepository implements VitamRepository {
 
 
     private Client client;
+    private ElasticsearchBulkIndexer bulkIndexer;
     private String indexName;
     private boolean indexByTenant;
 
@@ -102,7 +106,21 @@ public class VitamElasticsearchRepository implements VitamRepository {
      * @param indexByTenant specifies if the index is for a specific tenant or not
      */
     public VitamElasticsearchRepository(Client client, String indexName, boolean indexByTenant) {
+        this(client, new ElasticsearchBulkIndexer(client), indexName, indexByTenant);
+    }
+
+    /**
+     * VitamElasticsearchRepository Constructor
+     *
+     * @param client the es client
+     * @param bulkIndexer the bulk indexer used to save lists of documents
+     * @param indexName the name of the index
+     * @param indexByTenant specifies if the index is for a specific tenant or not
+     */
+    public VitamElasticsearchRepository(Client client, ElasticsearchBulkIndexer bulkIndexer, String indexName,
+        boolean indexByTenant) {
         this.client = client;
+        this.bulkIndexer = bulkIndexer;
         this.indexName = indexName;
         this.indexByTenant = indexByTenant;
     }
@@ -154,7 +172,7 @@ public class VitamElasticsearchRepository implements VitamRepository {
     @Override
     public void save(List<Document> documents) throws DatabaseException {
         ParametersChecker.checkParameter(ALL_PARAMS_REQUIRED, documents);
-        BulkRequestBuilder bulkRequest = client.prepareBulk();
+        List<IndexRequest> indexRequests = new ArrayList<>(documents.size());
 
         documents.forEach(document -> {
             Document internalDocument = new Document(document);
@@ -169,14 +187,12 @@ public class VitamElasticsearchRepository implements VitamRepository {
                 index = index + "_" + tenant;
             }
 
-            bulkRequest.add(client.prepareIndex(index, VitamCollection.getTypeunique(), id)
-                .setSource(source, XContentType.JSON));
+            indexRequests.add(new IndexRequest(index, VitamCollection.getTypeunique(), id)
+                .source(source, XContentType.JSON));
         });
 
-        if (bulkRequest.numberOfActions() != 0) {
-            bulkRequest.request().setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
-
-            BulkResponse bulkResponse = bulkRequest.get();
+        if (!indexRequests.isEmpty()) {
+            BulkResponse bulkResponse = bulkIndexer.execute(indexRequests, WriteRequest.RefreshPolicy.IMMEDIATE);
 
             if (bulkResponse.hasFailures()) {
                 LOGGER.error(BULK_REQ_FAIL_WITH_ERROR + bulkResponse.buildFailureMessage());
@@ -196,7 +212,7 @@ public class VitamElasticsearchRepository implements VitamRepository {
      */
     public void saveUnit(List<Document> documents) throws DatabaseException {
         ParametersChecker.checkParameter(ALL_PARAMS_REQUIRED, documents);
-        BulkRequestBuilder bulkRequest = client.prepareBulk();
+        List<IndexRequest> indexRequests = new ArrayList<>(documents.size());
         documents.forEach(vitamDocument -> {
             Integer tenantId = HeaderIdHelper.getTenantId();
             LOGGER.debug("insertToElasticsearch");
@@ -212,14 +228,12 @@ public class VitamElasticsearchRepository implements VitamRepository {
             final String esJson = BsonHelper.stringify(vitamDocument);
             vitamDocument.clear();
 
-            bulkRequest.add(client.prepareIndex(index, VitamCollection.getTypeunique(), id)
-                .setSource(esJson, XContentType.JSON));
+            indexRequests.add(new IndexRequest(index, VitamCollection.getTypeunique(), id)
+                .source(esJson, XContentType.JSON));
         });
 
-        if (bulkRequest.numberOfActions() != 0) {
-            bulkRequest.request().setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
-
-            BulkResponse bulkResponse = bulkRequest.get();
+        if (!indexRequests.isEmpty()) {
+            BulkResponse bulkResponse = bulkIndexer.execute(indexRequests, WriteRequest.RefreshPolicy.IMMEDIATE);
 
             if (bulkResponse.hasFailures()) {
                 LOGGER.error(BULK_REQ_FAIL_WITH_ERROR + bulkResponse.buildFailureMessage());
@@ -238,7 +252,7 @@ public class VitamElasticsearchRepository implements VitamRepository {
      */
     public void saveLogbook(List<Document> documents) throws DatabaseException {
         ParametersChecker.checkParameter(ALL_PARAMS_REQUIRED, documents);
-        BulkRequestBuilder bulkRequest = client.prepareBulk();
+        List<IndexRequest> indexRequests = new ArrayList<>(documents.size());
         documents.forEach(vitamDocument -> {
             Integer tenantId = HeaderIdHelper.getTenantId();
             LOGGER.debug("insertToElasticsearch");
@@ -253,14 +267,12 @@ public class VitamElasticsearchRepository implements VitamRepository {
             final String esJson = BsonHelper.stringify(vitamDocument);
             vitamDocument.clear();
 
-            bulkRequest.add(client.prepareIndex(index, VitamCollection.getTypeunique(), id)
-                .setSource(esJson, XContentType.JSON));
+            indexRequests.add(new IndexRequest(index, VitamCollection.getTypeunique(), id)
+                .source(esJson, XContentType.JSON));
         });
 
-        if (bulkRequest.numberOfActions() != 0) {
-            bulkRequest.request().setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
-
-            BulkResponse bulkResponse = bulkRequest.get();
+        if (!indexRequests.isEmpty()) {
+            BulkResponse bulkResponse = bulkIndexer.execute(indexRequests, WriteRequest.RefreshPolicy.IMMEDIATE);
 
             if (bulkResponse.hasFailures()) {
                 LOGGER.error(BULK_REQ_FAIL_WITH_ERROR + bulkResponse.buildFailureMessage());
@@ -81,6 +81,7 @@ import org.bson.conversions.Bson;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.search.SearchPhaseExecutionException;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
@@ -101,7 +102,6 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static com.mongodb.client.model.Filters.and;
@@ -260,64 +260,33 @@ public class DbRequestSingle {
         if (vitamCollection.getEsClient() == null) {
             return;
         }
-        Map<String, String> mapIdJson = new HashMap<>();
-        int max = VitamConfiguration.getMaxElasticsearchBulk();
+        final String index = vitamCollection.getName().toLowerCase();
+        List<IndexRequest> indexRequests = new ArrayList<>(vitamDocumentList.size());
         for (VitamDocument<?> document : vitamDocumentList) {
-            max--;
             String id = document.getString(VitamDocument.ID);
             document.remove(VitamDocument.ID);
             document.remove(VitamDocument.SCORE);
             final String esJson = BsonHelper.stringify(document);
             document.clear();
-            mapIdJson.put(id, esJson);
-            if (max == 0) {
-                max = VitamConfiguration.getMaxElasticsearchBulk();
-                final BulkResponse bulkResponse = addEntryIndexes(mapIdJson);
-                if (bulkResponse.hasFailures()) {
-                    throw new DatabaseException("Insert Document Exception" + bulkResponse.buildFailureMessage());
-                }
-                mapIdJson.clear();
-            }
-        }
-
-        if (!mapIdJson.isEmpty()) {
-            final BulkResponse bulkResponse = addEntryIndexes(mapIdJson);
-            if (bulkResponse.hasFailures()) {
-                // Add usefull information
-                StringBuilder sb = new StringBuilder();
-                for (BulkItemResponse bulkItemResponse : bulkResponse) {
-                    if (bulkItemResponse.getFailure() != null) {
-                        sb.append(bulkItemResponse.getFailure().getCause());
-                    }
+            indexRequests.add(new IndexRequest(index, VitamCollection.getTypeunique(), id)
+                .source(esJson, XContentType.JSON));
+        }
+
+        final BulkResponse bulkResponse = vitamCollection.getEsClient().getBulkIndexer()
+            .execute(indexRequests, RefreshPolicy.IMMEDIATE);
+        if (bulkResponse.hasFailures()) {
+            // Add usefull information
+            StringBuilder sb = new StringBuilder();
+            for (BulkItemResponse bulkItemResponse : bulkResponse) {
+                if (bulkItemResponse.getFailure() != null) {
+                    sb.append(bulkItemResponse.getFailure().getCause());
                 }
-                LOGGER.error(String.format("Insert Documents Exception caused by : %s", sb.toString()));
-                throw new DatabaseException("Insert Document Exception");
             }
+            LOGGER.error(String.format("Insert Documents Exception caused by : %s", sb.toString()));
+            throw new DatabaseException("Insert Document Exception");
         }
     }
 
-
-    /**
-     * Add a set of entries in the ElasticSearch index. <br>
-     * Used in reload from scratch.
-     *
-     * @param mapIdJson
-     * @return the listener on bulk insert
-     */
-    private BulkResponse addEntryIndexes(final Map<String, String> mapIdJson) {
-
-        Client client = vitamCollection.getEsClient().getClient();
-        final BulkRequestBuilder bulkRequest = client.prepareBulk();
-
-        // either use client#prepare, or use Requests# to directly build index/delete requests
-        for (final Entry<String, String> val : mapIdJson.entrySet()) {
-            bulkRequest.setRefreshPolicy(RefreshPolicy.IMMEDIATE)
-                .add(client.prepareIndex(vitamCollection.getName().toLowerCase(), VitamCollection.getTypeunique(),
-                    val.getKey()).setSource(val.getValue(), XContentType.JSON));
-        }
-        return bulkRequest.execute().actionGet();
-    }
-
     /**
      * Main Select method
      *
@@ -547,6 +516,7 @@ public class DbRequestSingle {
         final Map<String, List<String>> diffs = new HashMap<>();
         List<VitamDocument<?>> listUpdatedDocuments = new ArrayList<>();
         MongoCollection collection = vitamCollection.getCollection();
+        final MongoDbInMemoryUpdatePlan updatePlan = MongoDbInMemoryUpdatePlan.compile(parser, parserTokens);
 
         for (VitamDocument<?> document : listDocuments) {
             document.remove(VitamDocument.SCORE);
@@ -574,8 +544,7 @@ public class DbRequestSingle {
                 JsonNode jsonDocument = JsonHandler.toJsonNode(document);
 
                 MongoDbInMemory mongoInMemory = new MongoDbInMemory(jsonDocument, parserTokens);
-                ObjectNode updatedJsonDocument =
-                    (ObjectNode) mongoInMemory.getUpdateJson(request, false, vaNameAdapter);
+                ObjectNode updatedJsonDocument = (ObjectNode) mongoInMemory.getUpdateJson(updatePlan);
 
                 documentValidator.validateDocument(updatedJsonDocument);
 
@@ -30,17 +30,12 @@ package fr.gouv.vitam.common.database.server;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.databind.node.TextNode;
 import com.google.common.annotations.VisibleForTesting;
 import fr.gouv.vitam.common.LocalDateUtil;
 import fr.gouv.vitam.common.SedaConstants;
-import fr.gouv.vitam.common.database.builder.query.action.Action;
-import fr.gouv.vitam.common.database.builder.request.configuration.BuilderToken;
 import fr.gouv.vitam.common.database.collections.DynamicParserTokens;
 import fr.gouv.vitam.common.database.parser.request.AbstractParser;
-import fr.gouv.vitam.common.database.parser.request.GlobalDatasParser;
 import fr.gouv.vitam.common.database.parser.request.adapter.VarNameAdapter;
 import fr.gouv.vitam.common.database.parser.request.multiple.UpdateParserMultiple;
 import fr.gouv.vitam.common.database.parser.request.single.UpdateParserSingle;
@@ -50,7 +45,6 @@ import fr.gouv.vitam.common.json.JsonHandler;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.model.DurationData;
-import fr.gouv.vitam.common.model.QueryPattern;
 import fr.gouv.vitam.common.model.massupdate.ManagementMetadataAction;
 import fr.gouv.vitam.common.model.massupdate.RuleAction;
 import fr.gouv.vitam.common.model.massupdate.RuleActions;
@@ -61,8 +55,6 @@ import org.apache.commons.lang.StringUtils;
 import java.text.ParseException;
 import java.time.LocalDate;
 import java.time.temporal.TemporalUnit;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -71,7 +63,6 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -142,52 +133,21 @@ public class MongoDbInMemory {
      * @throws InvalidParseOperationException
      */
     public JsonNode getUpdateJson(AbstractParser<?> requestParser) throws InvalidParseOperationException {
-        List<Action> actions = requestParser.getRequest().getActions();
-        if (actions == null || actions.isEmpty()) {
+        return getUpdateJson(MongoDbInMemoryUpdatePlan.compile(requestParser, parserTokens));
+    }
+
+    /**
+     * Update the originalDocument with the given compiled update request. The same plan can be applied on many
+     * documents, concurrently.
+     * @param updatePlan The compiled update request
+     * @return the updated document
+     * @throws InvalidParseOperationException
+     */
+    public JsonNode getUpdateJson(MongoDbInMemoryUpdatePlan updatePlan) throws InvalidParseOperationException {
+        if (updatePlan.isEmpty()) {
             LOGGER.info("No action on request");
-            return updatedDocument;
         } else {
-            for (Action action : actions) {
-                final BuilderToken.UPDATEACTION req = action.getUPDATEACTION();
-                final JsonNode content = action.getCurrentAction().get(req.exactToken());
-                switch (req) {
-                    case ADD:
-                        add(req, content);
-                        break;
-                    case INC:
-                        inc(req, content);
-                        break;
-                    case MIN:
-                        min(req, content);
-                        break;
-                    case MAX:
-                        max(req, content);
-                        break;
-                    case POP:
-                        pop(req, content);
-                        break;
-                    case PULL:
-                        pull(req, content);
-                        break;
-                    case PUSH:
-                        push(req, content);
-                        break;
-                    case RENAME:
-                        rename(req, content);
-                        break;
-                    case SET:
-                        set(content);
-                        break;
-                    case UNSET:
-                        unset(content);
-                        break;
-                    case SETREGEX:
-                        setRegex(content);
-                        break;
-                    default:
-                        break;
-                }
-            }
+            updatePlan.apply(updatedDocument, updatedFields);
         }
         return updatedDocument;
     }
@@ -525,304 +485,6 @@ public class MongoDbInMemory {
         updatedFields.clear();
     }
 
-    private void inc(final BuilderToken.UPDATEACTION req, final JsonNode content)
-        throws InvalidParseOperationException {
-        final Entry<String, JsonNode> element = JsonHandler.checkUnicity(req.exactToken(), content);
-        final String fieldName = element.getKey();
-        Double nodeValue = getNumberValue(req.name(), fieldName);
-
-        JsonNode actionValue = element.getValue();
-        if (!actionValue.isNumber()) {
-            throw new InvalidParseOperationException("[" + "INC" + "]Action argument (" + actionValue +
-                ") cannot be converted as number for field " + fieldName);
-        }
-
-        String[] fieldNamePath = fieldName.split("[.]");
-        String lastNodeName = fieldNamePath[fieldNamePath.length - 1];
-        ((ObjectNode) JsonHandler.getParentNodeByPath(updatedDocument, fieldName, false)).put(lastNodeName,
-            element.getValue().asLong() + nodeValue);
-        updatedFields.add(fieldName);
-    }
-
-    private void unset(final JsonNode content) {
-        final Iterator<JsonNode> iterator = content.elements();
-        while (iterator.hasNext()) {
-            final JsonNode element = iterator.next();
-            String fieldName = element.asText();
-            JsonNode node = JsonHandler.getParentNodeByPath(updatedDocument, fieldName, false);
-            if(node != null) {
-                String[] fieldNamePath = fieldName.split("[.]");
-                String lastNodeName = fieldNamePath[fieldNamePath.length - 1];
-                ((ObjectNode) node).remove(lastNodeName);
-                updatedFields.add(fieldName);
-            }
-        }
-    }
-
-    private void set(final JsonNode content) throws InvalidParseOperationException {
-        final Iterator<Entry<String, JsonNode>> iterator = content.fields();
-        while (iterator.hasNext()) {
-            final Entry<String, JsonNode> element = iterator.next();
-            String fieldName = element.getKey();
-            if (parserTokens.isAnArray(fieldName)) {
-                ArrayNode arrayNode = GlobalDatasParser.getArray(element.getValue());
-                JsonHandler.setNodeInPath((ObjectNode) updatedDocument, fieldName, arrayNode, true);
-            } else {
-                JsonHandler.setNodeInPath((ObjectNode) updatedDocument, fieldName, element.getValue(), true);
-            }
-            updatedFields.add(fieldName);
-        }
-    }
-
-    private void setRegex(final JsonNode content) throws InvalidParseOperationException {
-        QueryPattern queryPattern = JsonHandler.getFromJsonNodeLowerCamelCase(content, QueryPattern.class);
-        String fieldName = queryPattern.getTarget();
-        ObjectNode parentObjectNode = (ObjectNode) JsonHandler.getParentNodeByPath(updatedDocument, fieldName, false);
-
-        String lastFieldName = JsonHandler.getLastFieldName(fieldName);
-        if (parentObjectNode == null || !parentObjectNode.has(lastFieldName)) {
-            return;
-        }
-        JsonNode jsonNode = parentObjectNode.get(lastFieldName);
-
-
-        Pattern pattern = Pattern.compile(queryPattern.getControlPattern());
-
-        if (jsonNode.isTextual()) {
-
-            // Update text field
-            String stringToSearch = jsonNode.asText();
-            String newString = replaceAll(pattern, stringToSearch, queryPattern.getUpdatePattern());
-            if (!stringToSearch.equals(newString)) {
-                parentObjectNode.put(lastFieldName, newString);
-                updatedFields.add(fieldName);
-            }
-
-        } else if (jsonNode.isArray()) {
-
-            // Update array field
-            ArrayNode arrayNode = (ArrayNode) jsonNode;
-            for (int i = 0; i < arrayNode.size(); i++) {
-                JsonNode item = arrayNode.get(i);
-                if (item.isTextual()) {
-                    String stringToSearch = item.asText();
-                    String newString = replaceAll(pattern, stringToSearch, queryPattern.getUpdatePattern());
-                    if (!stringToSearch.equals(newString)) {
-                        arrayNode.set(i, new TextNode(newString));
-                        updatedFields.add(fieldName);
-                    }
-                }
-            }
-        }
-    }
-
-    private String replaceAll(Pattern pattern, String stringToSearch, String replacement) {
-        return pattern.matcher(stringToSearch).replaceAll(replacement);
-    }
-
-    private void min(final BuilderToken.UPDATEACTION req, final JsonNode content)
-        throws InvalidParseOperationException {
-        final Entry<String, JsonNode> element = JsonHandler.checkUnicity(req.exactToken(), content);
-        final String fieldName = element.getKey();
-        Double nodeValue = getNumberValue(req.name(), fieldName);
-
-        JsonNode actionValue = element.getValue();
-        if (!actionValue.isNumber()) {
-            throw new InvalidParseOperationException("[" + "MIN" + "]Action argument (" + actionValue +
-                ") cannot be converted as number for field " + fieldName);
-        }
-
-        String[] fieldNamePath = fieldName.split("[.]");
-        String lastNodeName = fieldNamePath[fieldNamePath.length - 1];
-        ((ObjectNode) JsonHandler.getParentNodeByPath(updatedDocument, fieldName, false)).put(lastNodeName,
-            Math.min(element.getValue().asDouble(), nodeValue));
-        updatedFields.add(fieldName);
-    }
-
-    private void max(final BuilderToken.UPDATEACTION req, final JsonNode content)
-        throws InvalidParseOperationException {
-        final Entry<String, JsonNode> element = JsonHandler.checkUnicity(req.exactToken(), content);
-        final String fieldName = element.getKey();
-        Double nodeValue = getNumberValue(req.name(), fieldName);
-
-        JsonNode actionValue = element.getValue();
-        if (!actionValue.isNumber()) {
-            throw new InvalidParseOperationException("[" + "MAX" + "]Action argument (" + actionValue +
-                ") cannot be converted as number for field " + fieldName);
-        }
-
-        String[] fieldNamePath = fieldName.split("[.]");
-        String lastNodeName = fieldNamePath[fieldNamePath.length - 1];
-        ((ObjectNode) JsonHandler.getParentNodeByPath(updatedDocument, fieldName, false)).put(lastNodeName,
-            Math.max(element.getValue().asDouble(), nodeValue));
-        updatedFields.add(fieldName);
-    }
-
-    private void rename(final BuilderToken.UPDATEACTION req, final JsonNode content)
-        throws InvalidParseOperationException {
-        final Entry<String, JsonNode> element = JsonHandler.checkUnicity(req.exactToken(), content);
-        final String fieldName = element.getKey();
-        JsonNode value = JsonHandler.getNodeByPath(updatedDocument, fieldName, false);
-        if (value == null) {
-            throw new InvalidParseOperationException(
-                "[" + "RENAME" + "]Can't rename field " + fieldName + " because it doesn't exist");
-        }
-
-        JsonNode parent = JsonHandler.getParentNodeByPath(updatedDocument, fieldName, false);
-        String[] fieldNamePath = fieldName.split("[.]");
-        String lastNodeName = fieldNamePath[fieldNamePath.length - 1];
-        ((ObjectNode) parent).remove(lastNodeName);
-
-        String newFieldName = element.getValue().asText();
-        JsonHandler.setNodeInPath((ObjectNode) updatedDocument, newFieldName, value, true);
-        updatedFields.add(fieldName);
-        updatedFields.add(newFieldName);
-    }
-
-    private void push(final BuilderToken.UPDATEACTION req, final JsonNode content)
-        throws InvalidParseOperationException {
-        final Entry<String, JsonNode> element = JsonHandler.checkUnicity(req.exactToken(), content);
-        final String fieldName = element.getKey();
-        if(!(element.getValue() instanceof ArrayNode)) {
-            throw new InvalidParseOperationException("[" + "PUSH" + "]Action argument (" + element.getValue() +
-                ") expected value array for field " + fieldName);
-        }
-        final ArrayNode array = (ArrayNode) element.getValue();
-        ArrayNode node = (ArrayNode) getArrayValue(req.name(), fieldName);
-        final Iterator<JsonNode> iterator = array.elements();
-        while (iterator.hasNext()) {
-            node.add(iterator.next());
-        }
-        updatedFields.add(fieldName);
-    }
-
-    private void pull(final BuilderToken.UPDATEACTION req, final JsonNode content)
-        throws InvalidParseOperationException {
-        final Entry<String, JsonNode> element = JsonHandler.checkUnicity(req.exactToken(), content);
-        final String fieldName = element.getKey();
-        if(!(element.getValue() instanceof ArrayNode)) {
-            throw new InvalidParseOperationException("[" + "PULL" + "]Action argument (" + element.getValue() +
-                ") expected value array for field " + fieldName);
-        }
-        final ArrayNode array = (ArrayNode) element.getValue();
-        ArrayNode node = (ArrayNode) getArrayValue(req.name(), fieldName);
-        final List<Integer> indexesToRemove = new ArrayList<>();
-        final Iterator<JsonNode> iterator = array.elements();
-        // TODO: optimize ! review loop order for the best !
-        while (iterator.hasNext()) {
-            JsonNode pullValue = iterator.next();
-            Iterator<JsonNode> originIt = node.elements();
-            int index = 0;
-            while (originIt.hasNext()) {
-                if (originIt.next().asText().equals(pullValue.asText())) {
-                    indexesToRemove.add(index);
-                }
-                index++;
-            }
-        }
-        Collections.sort(indexesToRemove);
-        for (int i = indexesToRemove.size() - 1; i >= 0; i--) {
-            node.remove(indexesToRemove.get(i));
-        }
-        if(!indexesToRemove.isEmpty()) {
-            updatedFields.add(fieldName);
-        }
-    }
-
-    private void add(final BuilderToken.UPDATEACTION req, final JsonNode content)
-        throws InvalidParseOperationException {
-        final Entry<String, JsonNode> element = JsonHandler.checkUnicity(req.exactToken(), content);
-        final String fieldName = element.getKey();
-        if(!(element.getValue() instanceof ArrayNode)) {
-            throw new InvalidParseOperationException("[" + "ADD" + "]Action argument (" + element.getValue() +
-                ") expected value array for field " + fieldName);
-        }
-        final ArrayNode array = (ArrayNode) element.getValue();
-
-        ArrayNode node = (ArrayNode) getArrayValue(req.name(), fieldName);
-        final Iterator<JsonNode> iterator = array.elements();
-
-        // TODO: optimize ! review loop order for the best !
-        while (iterator.hasNext()) {
-            JsonNode newNode = iterator.next();
-            Iterator<JsonNode> originIt = node.elements();
-            boolean mustAdd = true;
-            while (originIt.hasNext()) {
-                if (originIt.next().asText().equals(newNode.asText())) {
-                    mustAdd = false;
-                }
-            }
-            if (mustAdd) {
-                node.add(newNode);
-                updatedFields.add(fieldName);
-            }
-        }
-    }
-
-    private void pop(final BuilderToken.UPDATEACTION req, final JsonNode content)
-        throws InvalidParseOperationException {
-        final Entry<String, JsonNode> element = JsonHandler.checkUnicity(req.exactToken(), content);
-        final String fieldName = element.getKey();
-        ArrayNode node = (ArrayNode) getArrayValue(req.name(), fieldName);
-
-        JsonNode actionValue = element.getValue();
-        if (!actionValue.isNumber()) {
-            throw new InvalidParseOperationException("[" + req.name() + "]Action argument (" + actionValue +
-                ") cannot be converted as number for field " + fieldName);
-        }
-
-        int numberOfPop = Math.abs(actionValue.asInt());
-
-        if(numberOfPop == 0) {
-            return;
-        }
-
-        if (numberOfPop > node.size()) {
-            throw new InvalidParseOperationException(
-                "Cannot pop " + numberOfPop + "items from the field '" + fieldName + "' because it has less items");
-        }
-        if (actionValue.asInt() < 0) {
-            for (int i = 0; i < numberOfPop; i++) {
-                node.remove(0);
-            }
-        } else {
-            for (int i = 0; i < numberOfPop; i++) {
-                node.remove(node.size() - 1);
-            }
-        }
-        updatedFields.add(fieldName);
-    }
-
-    private double getNumberValue(final String actionName, final String fieldName)
-        throws InvalidParseOperationException {
-        JsonNode node = JsonHandler.getNodeByPath(updatedDocument, fieldName, false);
-        if (node == null || !node.isNumber()) {
-            String message = "This field '" + fieldName + "' is not a number, cannot do '" + actionName +
-                "' action: " + node + " or unknow fieldName";
-            LOGGER.error(message);
-            throw new InvalidParseOperationException(message);
-        }
-        return node.asDouble();
-    }
-
-    private JsonNode getArrayValue(final String actionName, final String fieldName)
-        throws InvalidParseOperationException {
-        JsonNode node = JsonHandler.getNodeByPath(updatedDocument, fieldName, false);
-        if (node == null || node instanceof NullNode) {
-            LOGGER.info("Action '" + actionName + "' in item previously null '" + fieldName + "' or unknow");
-            ObjectNode updatedDocumentAsObject = (ObjectNode) updatedDocument;
-            updatedDocumentAsObject.set(fieldName, JsonHandler.createArrayNode());
-            return updatedDocument.get(fieldName);
-        }
-        if (!node.isArray()) {
-            String message =
-                "This field '" + fieldName + "' is not an array, cannot do '" + actionName + "' action";
-            LOGGER.error(message);
-            throw new InvalidParseOperationException(message);
-        }
-        return node;
-    }
-
     public Set<String> getUpdatedFields() {
         return updatedFields;
     }
@@ -0,0 +1,543 @@
+/**
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+
+package fr.gouv.vitam.common.database.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import fr.gouv.vitam.common.database.builder.query.action.Action;
+import fr.gouv.vitam.common.database.builder.request.configuration.BuilderToken;
+import fr.gouv.vitam.common.database.collections.DynamicParserTokens;
+import fr.gouv.vitam.common.database.parser.request.AbstractParser;
+import fr.gouv.vitam.common.database.parser.request.GlobalDatasParser;
+import fr.gouv.vitam.common.exception.InvalidParseOperationException;
+import fr.gouv.vitam.common.json.JsonHandler;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.model.QueryPattern;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Update request compiled once to be applied by {@link MongoDbInMemory} on many documents.<br>
+ * <br>
+ * Actions are parsed, field paths are split, array fields are resolved against the ontology and regular expressions
+ * are compiled when the plan is built. The plan is immutable and can be shared between threads: values of the request
+ * are copied in each updated document.
+ */
+public final class MongoDbInMemoryUpdatePlan {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(MongoDbInMemoryUpdatePlan.class);
+
+    private final List<CompiledAction> actions;
+
+    private MongoDbInMemoryUpdatePlan(List<CompiledAction> actions) {
+        this.actions = Collections.unmodifiableList(actions);
+    }
+
+    /**
+     * Compile the update actions of the given parser
+     *
+     * @param requestParser the parser containing the update request
+     * @param parserTokens the tokens used to know which fields are arrays
+     * @return the compiled plan
+     * @throws InvalidParseOperationException if an action is malformed
+     */
+    public static MongoDbInMemoryUpdatePlan compile(AbstractParser<?> requestParser, DynamicParserTokens parserTokens)
+        throws InvalidParseOperationException {
+        return compile(requestParser.getRequest().getActions(), parserTokens);
+    }
+
+    /**
+     * Compile the given update actions
+     *
+     * @param actions the update actions
+     * @param parserTokens the tokens used to know which fields are arrays
+     * @return the compiled plan
+     * @throws InvalidParseOperationException if an action is malformed
+     */
+    public static MongoDbInMemoryUpdatePlan compile(List<Action> actions, DynamicParserTokens parserTokens)
+        throws InvalidParseOperationException {
+        final List<CompiledAction> compiledActions = new ArrayList<>();
+        if (actions != null) {
+            for (final Action action : actions) {
+                final BuilderToken.UPDATEACTION req = action.getUPDATEACTION();
+                final JsonNode content = action.getCurrentAction().get(req.exactToken());
+                switch (req) {
+                    case ADD:
+                        compiledActions.add(new AddAction(req, content));
+                        break;
+                    case INC:
+                    case MIN:
+                    case MAX:
+                        compiledActions.add(new NumberAction(req, content));
+                        break;
+                    case POP:
+                        compiledActions.add(new PopAction(req, content));
+                        break;
+                    case PULL:
+                        compiledActions.add(new PullAction(req, content));
+                        break;
+                    case PUSH:
+                        compiledActions.add(new PushAction(req, content));
+                        break;
+                    case RENAME:
+                        compiledActions.add(new RenameAction(req, content));
+                        break;
+                    case SET:
+                        compiledActions.add(new SetAction(content, parserTokens));
+                        break;
+                    case UNSET:
+                        compiledActions.add(new UnsetAction(content));
+                        break;
+                    case SETREGEX:
+                        compiledActions.add(new SetRegexAction(content));
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return new MongoDbInMemoryUpdatePlan(compiledActions);
+    }
+
+    /**
+     * @return true if the plan has no action
+     */
+    public boolean isEmpty() {
+        return actions.isEmpty();
+    }
+
+    /**
+     * Apply the plan on the given document
+     *
+     * @param document the document to update in place
+     * @param updatedFields the set to fill with the updated fields
+     * @throws InvalidParseOperationException if the document does not allow an action
+     */
+    void apply(JsonNode document, Set<String> updatedFields) throws InvalidParseOperationException {
+        for (final CompiledAction action : actions) {
+            action.apply(document, updatedFields);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CompiledAction {
+        void apply(JsonNode document, Set<String> updatedFields) throws InvalidParseOperationException;
+    }
+
+    /**
+     * A dotted field path, split once
+     */
+    private static final class FieldPath {
+        private final String path;
+        private final String[] names;
+        private final String lastName;
+
+        private FieldPath(String path) {
+            this.path = path;
+            names = path.split("[.]");
+            lastName = names[names.length - 1];
+        }
+
+        private JsonNode getParent(JsonNode document) {
+            JsonNode currentLevelNode = document;
+            for (int i = 0, len = names.length - 1; i < len; i++) {
+                currentLevelNode = currentLevelNode.get(names[i]);
+                if (currentLevelNode == null) {
+                    return null;
+                }
+            }
+            return currentLevelNode;
+        }
+
+        private JsonNode get(JsonNode document) {
+            final JsonNode parentNode = getParent(document);
+            return parentNode == null ? null : parentNode.get(lastName);
+        }
+
+        private void set(ObjectNode document, JsonNode value) throws InvalidParseOperationException {
+            ObjectNode currentLevelNode = document;
+            for (int i = 0, len = names.length - 1; i < len; i++) {
+                final JsonNode childNode = currentLevelNode.get(names[i]);
+                if (childNode == null) {
+                    final ObjectNode nextLevel = JsonHandler.createObjectNode();
+                    currentLevelNode.set(names[i], nextLevel);
+                    currentLevelNode = nextLevel;
+                } else if (childNode.isObject()) {
+                    currentLevelNode = (ObjectNode) childNode;
+                } else {
+                    throw new InvalidParseOperationException("The node '" + names[i] + "' is not an object");
+                }
+            }
+            currentLevelNode.set(lastName, value);
+        }
+    }
+
+    private static Entry<String, JsonNode> checkUnicity(BuilderToken.UPDATEACTION req, JsonNode content)
+        throws InvalidParseOperationException {
+        return JsonHandler.checkUnicity(req.exactToken(), content);
+    }
+
+    private static ArrayNode checkArrayArgument(BuilderToken.UPDATEACTION req, Entry<String, JsonNode> element)
+        throws InvalidParseOperationException {
+        if (!(element.getValue() instanceof ArrayNode)) {
+            throw new InvalidParseOperationException("[" + req.name() + "]Action argument (" + element.getValue() +
+                ") expected value array for field " + element.getKey());
+        }
+        return (ArrayNode) element.getValue();
+    }
+
+    private static JsonNode checkNumberArgument(BuilderToken.UPDATEACTION req, Entry<String, JsonNode> element)
+        throws InvalidParseOperationException {
+        final JsonNode actionValue = element.getValue();
+        if (!actionValue.isNumber()) {
+            throw new InvalidParseOperationException("[" + req.name() + "]Action argument (" + actionValue +
+                ") cannot be converted as number for field " + element.getKey());
+        }
+        return actionValue;
+    }
+
+    private static double getNumberValue(JsonNode document, String actionName, FieldPath field)
+        throws InvalidParseOperationException {
+        final JsonNode node = field.get(document);
+        if (node == null || !node.isNumber()) {
+            final String message = "This field '" + field.path + "' is not a number, cannot do '" + actionName +
+                "' action: " + node + " or unknow fieldName";
+            LOGGER.error(message);
+            throw new InvalidParseOperationException(message);
+        }
+        return node.asDouble();
+    }
+
+    private static ArrayNode getArrayValue(JsonNode document, String actionName, FieldPath field)
+        throws InvalidParseOperationException {
+        final JsonNode node = field.get(document);
+        if (node == null || node instanceof NullNode) {
+            LOGGER.info("Action '" + actionName + "' in item previously null '" + field.path + "' or unknow");
+            final ArrayNode arrayNode = JsonHandler.createArrayNode();
+            ((ObjectNode) document).set(field.path, arrayNode);
+            return arrayNode;
+        }
+        if (!node.isArray()) {
+            final String message =
+                "This field '" + field.path + "' is not an array, cannot do '" + actionName + "' action";
+            LOGGER.error(message);
+            throw new InvalidParseOperationException(message);
+        }
+        return (ArrayNode) node;
+    }
+
+    private static final class NumberAction implements CompiledAction {
+        private final BuilderToken.UPDATEACTION req;
+        private final FieldPath field;
+        private final JsonNode actionValue;
+
+        private NumberAction(BuilderToken.UPDATEACTION req, JsonNode content) throws InvalidParseOperationException {
+            this.req = req;
+            final Entry<String, JsonNode> element = checkUnicity(req, content);
+            field = new FieldPath(element.getKey());
+            actionValue = checkNumberArgument(req, element);
+        }
+
+        @Override
+        public void apply(JsonNode document, Set<String> updatedFields) throws InvalidParseOperationException {
+            final double nodeValue = getNumberValue(document, req.name(), field);
+            final ObjectNode parent = (ObjectNode) field.getParent(document);
+            switch (req) {
+                case INC:
+                    parent.put(field.lastName, actionValue.asLong() + nodeValue);
+                    break;
+                case MIN:
+                    parent.put(field.lastName, Math.min(actionValue.asDouble(), nodeValue));
+                    break;
+                default:
+                    parent.put(field.lastName, Math.max(actionValue.asDouble(), nodeValue));
+                    break;
+            }
+            updatedFields.add(field.path);
+        }
+    }
+
+    private static final class UnsetAction implements CompiledAction {
+        private final List<FieldPath> fields = new ArrayList<>();
+
+        private UnsetAction(JsonNode content) {
+            final Iterator<JsonNode> iterator = content.elements();
+            while (iterator.hasNext()) {
+                fields.add(new FieldPath(iterator.next().asText()));
+            }
+        }
+
+        @Override
+        public void apply(JsonNode document, Set<String> updatedFields) {
+            for (final FieldPath field : fields) {
+                final JsonNode node = field.getParent(document);
+                if (node != null) {
+                    ((ObjectNode) node).remove(field.lastName);
+                    updatedFields.add(field.path);
+                }
+            }
+        }
+    }
+
+    private static final class SetAction implements CompiledAction {
+        private final List<FieldPath> fields = new ArrayList<>();
+        private final List<JsonNode> values = new ArrayList<>();
+
+        private SetAction(JsonNode content, DynamicParserTokens parserTokens) throws InvalidParseOperationException {
+            final Iterator<Entry<String, JsonNode>> iterator = content.fields();
+            while (iterator.hasNext()) {
+                final Entry<String, JsonNode> element = iterator.next();
+                final String fieldName = element.getKey();
+                fields.add(new FieldPath(fieldName));
+                if (parserTokens.isAnArray(fieldName)) {
+                    values.add(GlobalDatasParser.getArray(element.getValue()));
+                } else {
+                    values.add(element.getValue());
+                }
+            }
+        }
+
+        @Override
+        public void apply(JsonNode document, Set<String> updatedFields) throws InvalidParseOperationException {
+            for (int i = 0; i < fields.size(); i++) {
+                final FieldPath field = fields.get(i);
+                field.set((ObjectNode) document, values.get(i).deepCopy());
+                updatedFields.add(field.path);
+            }
+        }
+    }
+
+    private static final class SetRegexAction implements CompiledAction {
+        private final FieldPath field;
+        private final String lastFieldName;
+        private final Pattern pattern;
+        private final String replacement;
+
+        private SetRegexAction(JsonNode content) throws InvalidParseOperationException {
+            final QueryPattern queryPattern = JsonHandler.getFromJsonNodeLowerCamelCase(content, QueryPattern.class);
+            field = new FieldPath(queryPattern.getTarget());
+            lastFieldName = JsonHandler.getLastFieldName(queryPattern.getTarget());
+            try {
+                pattern = Pattern.compile(queryPattern.getControlPattern());
+            } catch (final PatternSyntaxException e) {
+                throw new InvalidParseOperationException("Invalid control pattern " + queryPattern.getControlPattern(),
+                    e);
+            }
+            replacement = queryPattern.getUpdatePattern();
+        }
+
+        @Override
+        public void apply(JsonNode document, Set<String> updatedFields) {
+            final ObjectNode parentObjectNode = (ObjectNode) field.getParent(document);
+            if (parentObjectNode == null || !parentObjectNode.has(lastFieldName)) {
+                return;
+            }
+            final JsonNode jsonNode = parentObjectNode.get(lastFieldName);
+
+            if (jsonNode.isTextual()) {
+
+                // Update text field
+                final String stringToSearch = jsonNode.asText();
+                final String newString = pattern.matcher(stringToSearch).replaceAll(replacement);
+                if (!stringToSearch.equals(newString)) {
+                    parentObjectNode.put(lastFieldName, newString);
+                    updatedFields.add(field.path);
+                }
+
+            } else if (jsonNode.isArray()) {
+
+                // Update array field
+                final ArrayNode arrayNode = (ArrayNode) jsonNode;
+                for (int i = 0; i < arrayNode.size(); i++) {
+                    final JsonNode item = arrayNode.get(i);
+                    if (item.isTextual()) {
+                        final String stringToSearch = item.asText();
+                        final String newString = pattern.matcher(stringToSearch).replaceAll(replacement);
+                        if (!stringToSearch.equals(newString)) {
+                            arrayNode.set(i, new TextNode(newString));
+                            updatedFields.add(field.path);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class RenameAction implements CompiledAction {
+        private final FieldPath field;
+        private final FieldPath newField;
+
+        private RenameAction(BuilderToken.UPDATEACTION req, JsonNode content) throws InvalidParseOperationException {
+            final Entry<String, JsonNode> element = checkUnicity(req, content);
+            field = new FieldPath(element.getKey());
+            newField = new FieldPath(element.getValue().asText());
+        }
+
+        @Override
+        public void apply(JsonNode document, Set<String> updatedFields) throws InvalidParseOperationException {
+            final JsonNode value = field.get(document);
+            if (value == null) {
+                throw new InvalidParseOperationException(
+                    "[RENAME]Can't rename field " + field.path + " because it doesn't exist");
+            }
+            ((ObjectNode) field.getParent(document)).remove(field.lastName);
+            newField.set((ObjectNode) document, value);
+            updatedFields.add(field.path);
+            updatedFields.add(newField.path);
+        }
+    }
+
+    private static final class PushAction implements CompiledAction {
+        private final BuilderToken.UPDATEACTION req;
+        private final FieldPath field;
+        private final ArrayNode values;
+
+        private PushAction(BuilderToken.UPDATEACTION req, JsonNode content) throws InvalidParseOperationException {
+            this.req = req;
+            final Entry<String, JsonNode> element = checkUnicity(req, content);
+            field = new FieldPath(element.getKey());
+            values = checkArrayArgument(req, element);
+        }
+
+        @Override
+        public void apply(JsonNode document, Set<String> updatedFields) throws InvalidParseOperationException {
+            final ArrayNode node = getArrayValue(document, req.name(), field);
+            for (final JsonNode value : values) {
+                node.add(value.deepCopy());
+            }
+            updatedFields.add(field.path);
+        }
+    }
+
+    private static final class PullAction implements CompiledAction {
+        private final BuilderToken.UPDATEACTION req;
+        private final FieldPath field;
+        private final Set<String> values = new HashSet<>();
+
+        private PullAction(BuilderToken.UPDATEACTION req, JsonNode content) throws InvalidParseOperationException {
+            this.req = req;
+            final Entry<String, JsonNode> element = checkUnicity(req, content);
+            field = new FieldPath(element.getKey());
+            for (final JsonNode value : checkArrayArgument(req, element)) {
+                values.add(value.asText());
+            }
+        }
+
+        @Override
+        public void apply(JsonNode document, Set<String> updatedFields) throws InvalidParseOperationException {
+            final ArrayNode node = getArrayValue(document, req.name(), field);
+            boolean removed = false;
+            for (int i = node.size() - 1; i >= 0; i--) {
+                if (values.contains(node.get(i).asText())) {
+                    node.remove(i);
+                    removed = true;
+                }
+            }
+            if (removed) {
+                updatedFields.add(field.path);
+            }
+        }
+    }
+
+    private static final class AddAction implements CompiledAction {
+        private final BuilderToken.UPDATEACTION req;
+        private final FieldPath field;
+        private final ArrayNode values;
+
+        private AddAction(BuilderToken.UPDATEACTION req, JsonNode content) throws InvalidParseOperationException {
+            this.req = req;
+            final Entry<String, JsonNode> element = checkUnicity(req, content);
+            field = new FieldPath(element.getKey());
+            values = checkArrayArgument(req, element);
+        }
+
+        @Override
+        public void apply(JsonNode document, Set<String> updatedFields) throws InvalidParseOperationException {
+            final ArrayNode node = getArrayValue(document, req.name(), field);
+            final Set<String> existingValues = new HashSet<>();
+            for (final JsonNode item : node) {
+                existingValues.add(item.asText());
+            }
+            for (final JsonNode value : values) {
+                if (existingValues.add(value.asText())) {
+                    node.add(value.deepCopy());
+                    updatedFields.add(field.path);
+                }
+            }
+        }
+    }
+
+    private static final class PopAction implements CompiledAction {
+        private final BuilderToken.UPDATEACTION req;
+        private final FieldPath field;
+        private final int actionValue;
+
+        private PopAction(BuilderToken.UPDATEACTION req, JsonNode content) throws InvalidParseOperationException {
+            this.req = req;
+            final Entry<String, JsonNode> element = checkUnicity(req, content);
+            field = new FieldPath(element.getKey());
+            actionValue = checkNumberArgument(req, element).asInt();
+        }
+
+        @Override
+        public void apply(JsonNode document, Set<String> updatedFields) throws InvalidParseOperationException {
+            final ArrayNode node = getArrayValue(document, req.name(), field);
+            final int numberOfPop = Math.abs(actionValue);
+            if (numberOfPop == 0) {
+                return;
+            }
+            if (numberOfPop > node.size()) {
+                throw new InvalidParseOperationException(
+                    "Cannot pop " + numberOfPop + "items from the field '" + field.path +
+                        "' because it has less items");
+            }
+            if (actionValue < 0) {
+                for (int i = 0; i < numberOfPop; i++) {
+                    node.remove(0);
+                }
+            } else {
+                for (int i = 0; i < numberOfPop; i++) {
+                    node.remove(node.size() - 1);
+                }
+            }
+            updatedFields.add(field.path);
+        }
+    }
+}
@@ -35,6 +35,7 @@ import fr.gouv.vitam.common.exception.VitamRuntimeException;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.server.application.configuration.DatabaseConnection;
+import fr.gouv.vitam.common.serverv2.application.CommonBusinessApplication;
 import org.elasticsearch.ResourceAlreadyExistsException;
 import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.alias.get.GetAliasesResponse;
@@ -82,6 +83,7 @@ public class ElasticsearchAccess implements DatabaseConnection {
 
     private static String ES_CONFIGURATION_FILE = "/elasticsearch-configuration.json";
     private AtomicReference<Client> esClient = new AtomicReference<>();
+    private AtomicReference<ElasticsearchBulkIndexer> bulkIndexer = new AtomicReference<>();
     protected final String clusterName;
     protected final List<ElasticsearchNode> nodes;
 
@@ -229,6 +231,25 @@ public class ElasticsearchAccess implements DatabaseConnection {
         return client;
     }
 
+    /**
+     * @return the bulk indexer shared by all the users of this access
+     */
+    public ElasticsearchBulkIndexer getBulkIndexer() {
+        ElasticsearchBulkIndexer indexer = bulkIndexer.get();
+        if (null == indexer) {
+            synchronized (this) {
+                indexer = bulkIndexer.get();
+                if (null == indexer) {
+                    indexer = new ElasticsearchBulkIndexer(getClient());
+                    indexer.registerMetrics(CommonBusinessApplication.getBusinessMetricsRegistry(),
+                        "Elasticsearch bulk indexer " + clusterName);
+                    bulkIndexer.set(indexer);
+                }
+            }
+        }
+        return indexer;
+    }
+
     /**
      * @return the nodes
      */
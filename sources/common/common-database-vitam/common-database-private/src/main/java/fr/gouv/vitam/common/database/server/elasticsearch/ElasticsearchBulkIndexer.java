@@ -0,0 +1,220 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.common.database.server.elasticsearch;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
+import fr.gouv.vitam.common.ParametersChecker;
+import fr.gouv.vitam.common.VitamConfiguration;
+import fr.gouv.vitam.common.exception.VitamRuntimeException;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.bulk.Retry;
+import org.elasticsearch.action.support.PlainActionFuture;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.unit.TimeValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk indexer shared by all the callers of an Elasticsearch client.
+ * <p>
+ * Requests are split into bulk requests bounded by a number of actions and a size in bytes. The bulk requests are
+ * sent concurrently, up to a maximum number of in flight requests shared by all the callers : when the limit is
+ * reached, callers wait for a running request to complete (backpressure). Items rejected by Elasticsearch because
+ * its queues are full are retried with an exponential backoff, other items are not retried.
+ * <p>
+ * Refresh is done once for all the bulk requests of a call instead of once per bulk request.
+ */
+public class ElasticsearchBulkIndexer {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(ElasticsearchBulkIndexer.class);
+
+    private static final TimeValue INITIAL_RETRY_DELAY = TimeValue.timeValueMillis(50);
+
+    private final Client client;
+    private final int maxBulkActions;
+    private final long maxBulkSize;
+    private final Semaphore inFlightPermits;
+    private final BackoffPolicy backoffPolicy;
+
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final AtomicInteger waitingRequests = new AtomicInteger();
+    private final Timer bulkLatency = new Timer();
+
+    /**
+     * Create a bulk indexer using the bulk settings of {@link VitamConfiguration}
+     *
+     * @param client the elasticsearch client
+     */
+    public ElasticsearchBulkIndexer(Client client) {
+        this(client, VitamConfiguration.getMaxElasticsearchBulk(), VitamConfiguration.getElasticsearchBulkMaxSize(),
+            VitamConfiguration.getElasticsearchBulkConcurrentRequests(),
+            BackoffPolicy.exponentialBackoff(INITIAL_RETRY_DELAY, VitamConfiguration.getElasticsearchBulkRetries()));
+    }
+
+    @VisibleForTesting
+    ElasticsearchBulkIndexer(Client client, int maxBulkActions, long maxBulkSize, int maxConcurrentRequests,
+        BackoffPolicy backoffPolicy) {
+        ParametersChecker.checkParameter("Client and backoff policy are required", client, backoffPolicy);
+        if (maxBulkActions < 1 || maxBulkSize < 1 || maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("Bulk limits must be positive");
+        }
+        this.client = client;
+        this.maxBulkActions = maxBulkActions;
+        this.maxBulkSize = maxBulkSize;
+        this.inFlightPermits = new Semaphore(maxConcurrentRequests, true);
+        this.backoffPolicy = backoffPolicy;
+    }
+
+    /**
+     * Execute the given requests and wait for all of them to complete.
+     *
+     * @param requests the index, update or delete requests
+     * @param refreshPolicy the refresh policy to apply once all the requests are executed
+     * @return the response of all the requests (items are not ordered as the requests)
+     * @throws VitamRuntimeException if interrupted while waiting
+     */
+    public BulkResponse execute(List<? extends DocWriteRequest<?>> requests, RefreshPolicy refreshPolicy) {
+        if (requests.isEmpty()) {
+            return new BulkResponse(new BulkItemResponse[0], 0);
+        }
+
+        final List<PlainActionFuture<BulkResponse>> futures = new ArrayList<>();
+        final Set<String> indices = new HashSet<>();
+        BulkRequest bulkRequest = new BulkRequest();
+        for (DocWriteRequest<?> request : requests) {
+            bulkRequest.add(request);
+            indices.add(request.index());
+            if (bulkRequest.numberOfActions() >= maxBulkActions || bulkRequest.estimatedSizeInBytes() >= maxBulkSize) {
+                futures.add(submit(bulkRequest));
+                bulkRequest = new BulkRequest();
+            }
+        }
+        if (bulkRequest.numberOfActions() > 0) {
+            futures.add(submit(bulkRequest));
+        }
+
+        final List<BulkItemResponse> items = new ArrayList<>(requests.size());
+        long tookInMillis = 0;
+        for (PlainActionFuture<BulkResponse> future : futures) {
+            BulkResponse bulkResponse = future.actionGet();
+            Collections.addAll(items, bulkResponse.getItems());
+            tookInMillis = Math.max(tookInMillis, bulkResponse.getTook().millis());
+        }
+
+        if (refreshPolicy != RefreshPolicy.NONE) {
+            client.admin().indices().prepareRefresh(indices.toArray(new String[0])).get();
+        }
+        return new BulkResponse(items.toArray(new BulkItemResponse[0]), tookInMillis);
+    }
+
+    private PlainActionFuture<BulkResponse> submit(BulkRequest bulkRequest) {
+        waitingRequests.incrementAndGet();
+        try {
+            inFlightPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VitamRuntimeException("Interrupted while waiting for a bulk request slot", e);
+        } finally {
+            waitingRequests.decrementAndGet();
+        }
+
+        inFlightRequests.incrementAndGet();
+        final Timer.Context latency = bulkLatency.time();
+        final PlainActionFuture<BulkResponse> future = PlainActionFuture.newFuture();
+        final ActionListener<BulkResponse> listener = new ActionListener<BulkResponse>() {
+            @Override
+            public void onResponse(BulkResponse bulkResponse) {
+                release();
+                future.onResponse(bulkResponse);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                release();
+                LOGGER.error("Bulk request failed", e);
+                future.onFailure(e);
+            }
+
+            private void release() {
+                latency.stop();
+                inFlightRequests.decrementAndGet();
+                inFlightPermits.release();
+            }
+        };
+
+        try {
+            new Retry(backoffPolicy, client.threadPool()).withBackoff(client::bulk, bulkRequest, listener);
+        } catch (RuntimeException e) {
+            listener.onFailure(e);
+        }
+        return future;
+    }
+
+    /**
+     * Register the queue depth and latency metrics of this bulk indexer
+     *
+     * @param registry the metric registry
+     * @param name the prefix of the metrics
+     */
+    public void registerMetrics(MetricRegistry registry, String name) {
+        registry.register(MetricRegistry.name(name, "inFlightRequests"), (Gauge<Integer>) inFlightRequests::get);
+        registry.register(MetricRegistry.name(name, "waitingRequests"), (Gauge<Integer>) waitingRequests::get);
+        registry.register(MetricRegistry.name(name, "latency"), bulkLatency);
+    }
+
+    /**
+     * @return the number of bulk requests currently sent to Elasticsearch
+     */
+    public int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    /**
+     * @return the number of bulk requests waiting for a slot
+     */
+    public int getWaitingRequests() {
+        return waitingRequests.get();
+    }
+
+}
@@ -99,8 +99,8 @@ public class IndexationHelper {
                             .iterator();
                     // Create repository for the given indexName
                     VitamElasticsearchRepository vitamElasticsearchRepository =
-                        new VitamElasticsearchRepository(esClient.getClient(), currentIndexWithoutAlias,
-                            false);
+                        new VitamElasticsearchRepository(esClient.getClient(), esClient.getBulkIndexer(),
+                            currentIndexWithoutAlias, false);
                     List<Document> documents = getDocuments(cursor);
                     // Reindex document with bulk
                     while (!documents.isEmpty()) {
@@ -127,8 +127,8 @@ public class IndexationHelper {
                     vitamMongoRepository.findDocuments(VitamConfiguration.getMaxElasticsearchBulk());
                 // Create repository for the given indexName
                 VitamElasticsearchRepository vitamElasticsearchRepository =
-                    new VitamElasticsearchRepository(esClient.getClient(), currentIndexWithoutAlias,
-                        false);
+                    new VitamElasticsearchRepository(esClient.getClient(), esClient.getBulkIndexer(),
+                        currentIndexWithoutAlias, false);
                 MongoCursor<Document> cursor;
                 cursor = iterable.iterator();
                 List<Document> documents = getDocuments(cursor);
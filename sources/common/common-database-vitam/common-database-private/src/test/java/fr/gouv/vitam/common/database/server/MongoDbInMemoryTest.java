@@ -24,6 +24,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static fr.gouv.vitam.common.database.collections.VitamDescriptionType.VitamCardinality.one;
 import static fr.gouv.vitam.common.database.collections.VitamDescriptionType.VitamType.text;
@@ -639,6 +641,44 @@ public class MongoDbInMemoryTest {
         // Then : NO NPE
     }
 
+    @Test
+    public void testUpdatePlanAppliedOnManyDocuments() throws Exception {
+        // Given
+        parser.parse(JsonHandler.getFromString(
+            "{\"$action\": [{ \"$push\": {\"ArrayToPush\": [\"v3\"]}}, { \"$set\": { \"subItem.subArray\": [\"v\"]} }, " +
+                "{ \"$inc\": {\"numberTen\": 2 } } ]}"));
+        DynamicParserTokens parserTokens =
+            new DynamicParserTokens(new VitamDescriptionResolver(Collections.emptyList()), Collections.emptyList());
+        MongoDbInMemoryUpdatePlan updatePlan = MongoDbInMemoryUpdatePlan.compile(parser, parserTokens);
+        JsonNode expected = new MongoDbInMemory(jsonDocument, parserTokens).getUpdateJson(parser);
+
+        // When
+        List<JsonNode> results = IntStream.range(0, 1000).parallel()
+            .mapToObj(i -> {
+                try {
+                    return new MongoDbInMemory(jsonDocument, parserTokens).getUpdateJson(updatePlan);
+                } catch (InvalidParseOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            })
+            .collect(Collectors.toList());
+        ((ArrayNode) results.get(0).get("ArrayToPush")).add("v4");
+
+        // Then
+        assertThat(results.get(0).get("ArrayToPush")).hasSize(4);
+        assertThat(results.subList(1, results.size())).allMatch(expected::equals);
+        assertEquals("[\"v1\",\"v2\",\"v3\"]", expected.get("ArrayToPush").toString());
+        assertEquals(12, expected.get("numberTen").asInt());
+    }
+
+    @Test(expected = InvalidParseOperationException.class)
+    public void testUpdatePlanWithInvalidControlPattern() throws Exception {
+        parser.parse(JsonHandler.getFromString("{\"$action\": [{\"$setregex\": { " +
+            "\"$target\": \"oldField\", \"$controlPattern\": \"(\", \"$updatePattern\": \"\" } } ]}"));
+        MongoDbInMemoryUpdatePlan.compile(parser,
+            new DynamicParserTokens(new VitamDescriptionResolver(Collections.emptyList()), Collections.emptyList()));
+    }
+
     @Test
     public void should_not_throw_npe_when_update_with_rule_without_start_date() throws Exception {
         // Given
@@ -0,0 +1,221 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.common.database.server.elasticsearch;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest.OpType;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.threadpool.Scheduler;
+import org.elasticsearch.threadpool.ThreadPool;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ElasticsearchBulkIndexerTest {
+
+    private static final String INDEX = "index";
+
+    private Client client;
+
+    @Before
+    public void setUp() {
+        client = mock(Client.class, RETURNS_DEEP_STUBS);
+        ThreadPool threadPool = mock(ThreadPool.class);
+        when(threadPool.preserveContext(any())).thenAnswer(args -> args.getArgument(0));
+        // run retries immediately
+        when(threadPool.schedule(any(Runnable.class), any(TimeValue.class), anyString())).thenAnswer(args -> {
+            ((Runnable) args.getArgument(0)).run();
+            return mock(Scheduler.ScheduledCancellable.class);
+        });
+        when(client.threadPool()).thenReturn(threadPool);
+    }
+
+    @Test
+    public void should_split_requests_into_bounded_bulk_requests() {
+        List<BulkRequest> bulkRequests = answerBulk(request -> success(request));
+        ElasticsearchBulkIndexer indexer =
+            new ElasticsearchBulkIndexer(client, 10, Long.MAX_VALUE, 4, BackoffPolicy.noBackoff());
+
+        BulkResponse response = indexer.execute(indexRequests(25), RefreshPolicy.NONE);
+
+        assertThat(response.hasFailures()).isFalse();
+        assertThat(response.getItems()).hasSize(25);
+        assertThat(bulkRequests).extracting(BulkRequest::numberOfActions).containsExactly(10, 10, 5);
+    }
+
+    @Test
+    public void should_split_requests_on_bulk_size_in_bytes() {
+        List<BulkRequest> bulkRequests = answerBulk(request -> success(request));
+        ElasticsearchBulkIndexer indexer =
+            new ElasticsearchBulkIndexer(client, 1000, 1, 4, BackoffPolicy.noBackoff());
+
+        indexer.execute(indexRequests(3), RefreshPolicy.NONE);
+
+        assertThat(bulkRequests).extracting(BulkRequest::numberOfActions).containsExactly(1, 1, 1);
+    }
+
+    @Test
+    public void should_retry_only_rejected_items() {
+        List<BulkRequest> bulkRequests = answerBulk(request -> {
+            BulkItemResponse[] items = success(request).getItems();
+            if (request.numberOfActions() > 1) {
+                // reject the second item of the first attempt
+                items[1] = new BulkItemResponse(1, OpType.INDEX,
+                    new BulkItemResponse.Failure(INDEX, "typeunique", "1",
+                        new EsRejectedExecutionException("queue is full")));
+            }
+            return new BulkResponse(items, 1);
+        });
+        ElasticsearchBulkIndexer indexer = new ElasticsearchBulkIndexer(client, 10, Long.MAX_VALUE, 4,
+            BackoffPolicy.constantBackoff(TimeValue.timeValueMillis(1), 3));
+
+        BulkResponse response = indexer.execute(indexRequests(3), RefreshPolicy.NONE);
+
+        assertThat(response.hasFailures()).isFalse();
+        assertThat(response.getItems()).hasSize(3);
+        assertThat(bulkRequests).extracting(BulkRequest::numberOfActions).containsExactly(3, 1);
+        assertThat(((IndexRequest) bulkRequests.get(1).requests().get(0)).id()).isEqualTo("1");
+    }
+
+    @Test
+    public void should_not_retry_failed_items() {
+        List<BulkRequest> bulkRequests = answerBulk(request -> {
+            BulkItemResponse[] items = success(request).getItems();
+            items[0] = new BulkItemResponse(0, OpType.INDEX,
+                new BulkItemResponse.Failure(INDEX, "typeunique", "0", new IllegalArgumentException("mapping")));
+            return new BulkResponse(items, 1);
+        });
+        ElasticsearchBulkIndexer indexer = new ElasticsearchBulkIndexer(client, 10, Long.MAX_VALUE, 4,
+            BackoffPolicy.constantBackoff(TimeValue.timeValueMillis(1), 3));
+
+        BulkResponse response = indexer.execute(indexRequests(2), RefreshPolicy.NONE);
+
+        assertThat(response.hasFailures()).isTrue();
+        assertThat(bulkRequests).hasSize(1);
+    }
+
+    @Test
+    public void should_limit_concurrent_bulk_requests() throws Exception {
+        BlockingQueue<Runnable> pendingResponses = new LinkedBlockingQueue<>();
+        doAnswer(args -> {
+            BulkRequest request = args.getArgument(0);
+            ActionListener<BulkResponse> listener = args.getArgument(1);
+            pendingResponses.add(() -> listener.onResponse(success(request)));
+            return null;
+        }).when(client).bulk(any(BulkRequest.class), any());
+        ElasticsearchBulkIndexer indexer =
+            new ElasticsearchBulkIndexer(client, 1, Long.MAX_VALUE, 2, BackoffPolicy.noBackoff());
+
+        CompletableFuture<BulkResponse> result =
+            CompletableFuture.supplyAsync(() -> indexer.execute(indexRequests(5), RefreshPolicy.NONE));
+
+        for (int i = 0; i < 5; i++) {
+            Runnable response = pendingResponses.poll(10, TimeUnit.SECONDS);
+            assertThat(response).isNotNull();
+            assertThat(indexer.getInFlightRequests()).isLessThanOrEqualTo(2);
+            response.run();
+        }
+        assertThat(result.get(10, TimeUnit.SECONDS).getItems()).hasSize(5);
+        assertThat(indexer.getInFlightRequests()).isEqualTo(0);
+        assertThat(indexer.getWaitingRequests()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_refresh_once_for_all_bulk_requests() {
+        answerBulk(request -> success(request));
+        ElasticsearchBulkIndexer indexer =
+            new ElasticsearchBulkIndexer(client, 2, Long.MAX_VALUE, 4, BackoffPolicy.noBackoff());
+
+        indexer.execute(indexRequests(5), RefreshPolicy.IMMEDIATE);
+
+        ArgumentCaptor<String> indices = ArgumentCaptor.forClass(String.class);
+        verify(client.admin().indices(), times(1)).prepareRefresh(indices.capture());
+        assertThat(indices.getAllValues()).containsExactly(INDEX);
+    }
+
+    private List<BulkRequest> answerBulk(Function<BulkRequest, BulkResponse> answer) {
+        List<BulkRequest> bulkRequests = new ArrayList<>();
+        doAnswer(args -> {
+            BulkRequest request = args.getArgument(0);
+            ActionListener<BulkResponse> listener = args.getArgument(1);
+            synchronized (bulkRequests) {
+                bulkRequests.add(request);
+            }
+            listener.onResponse(answer.apply(request));
+            return null;
+        }).when(client).bulk(any(BulkRequest.class), any());
+        return bulkRequests;
+    }
+
+    private static BulkResponse success(BulkRequest request) {
+        BulkItemResponse[] items = new BulkItemResponse[request.numberOfActions()];
+        for (int i = 0; i < items.length; i++) {
+            String id = request.requests().get(i).id();
+            items[i] = new BulkItemResponse(i, OpType.INDEX,
+                new IndexResponse(new ShardId(INDEX, "uuid", 0), "typeunique", id, 1, 1, 1, true));
+        }
+        return new BulkResponse(items, 1);
+    }
+
+    private static List<IndexRequest> indexRequests(int count) {
+        List<IndexRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new IndexRequest(INDEX, "typeunique", String.valueOf(i))
+                .source("{\"Title\":\"title " + i + "\"}", XContentType.JSON));
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.worker.core.distribution;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonArrayIteratorTest {
+
+    @Test
+    public void should_iterate_over_json_array_elements() throws Exception {
+        // Given
+        InputStream inputStream = new ByteArrayInputStream(
+            "[\"a\", {\"b\": [1, 2]}, \"c\", [\"d\"], \"e\"]".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        List<String> elements = new ArrayList<>();
+        try (JsonArrayIterator iterator = new JsonArrayIterator(inputStream)) {
+            iterator.forEachRemaining(elements::add);
+        }
+
+        // Then : elements which are not strings are returned as null
+        assertThat(elements).containsExactly("a", null, "c", null, "e");
+    }
+
+    @Test
+    public void should_not_iterate_over_json_which_is_not_an_array() throws Exception {
+        // Given
+        InputStream inputStream =
+            new ByteArrayInputStream("{\"a\": \"b\"}".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        try (JsonArrayIterator iterator = new JsonArrayIterator(inputStream)) {
+
+            // Then
+            assertThat(iterator.hasNext()).isFalse();
+            assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+        }
+    }
+}
@@ -0,0 +1,500 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.common.collection;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+
+/**
+ * Memory compact String to String map, used to keep large identifier mappings (manifest id to GUID, ...).<br>
+ * <br>
+ * Keys and values are not kept as String objects: they are UTF-8 encoded once into large append-only chunks, and the
+ * hash index only stores the position of each record. Once the chunks allocated on heap exceed the given threshold,
+ * new chunks are memory-mapped from a spill file in the given directory, so that heap usage stays bounded whatever the
+ * number of entries (the page cache holds the mapped data).<br>
+ * <br>
+ * Values replaced by a value of another encoded length are appended again, the previous bytes are not reclaimed
+ * before {@link #clear()}: this map is meant for mostly-insert workloads.<br>
+ * <br>
+ * The spill file is released by {@link #close()} (or {@link #clear()}), which must be called once the map is no
+ * more modified.<br>
+ * <br>
+ * This implementation is not thread safe. Null keys are not allowed, null values are.
+ */
+public class CompactStringMap extends AbstractMap<String, String> implements Closeable {
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(CompactStringMap.class);
+
+    /**
+     * Default size of a chunk (1 MB)
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+    private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int NULL_VALUE_LENGTH = -1;
+    private static final long FREE = 0L;
+    private static final long DELETED = -1L;
+    private static final String SPILL_FILE_PREFIX = "compactMap_";
+    private static final String SPILL_FILE_SUFFIX = ".tmp";
+
+    private final long heapThreshold;
+    private final File spillDirectory;
+    private final int chunkSize;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer currentChunk;
+    private long heapBytes;
+    private FileChannel spillChannel;
+    private long spillPosition;
+
+    /**
+     * Record addresses (chunk index &lt;&lt; 32 | offset) + 1, so that 0 marks a free slot
+     */
+    private long[] slots;
+    private int[] hashes;
+    private int size;
+    private int usedSlots;
+    private int modCount;
+
+    /**
+     * Creates a map kept on heap up to heapThreshold bytes of encoded data, then spilling to spillDirectory
+     *
+     * @param heapThreshold max number of bytes of encoded keys and values kept on heap
+     * @param spillDirectory directory where the spill file is created if needed (if null, data always stays on heap)
+     */
+    public CompactStringMap(long heapThreshold, File spillDirectory) {
+        this(heapThreshold, spillDirectory, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a map kept on heap up to heapThreshold bytes of encoded data, then spilling to spillDirectory
+     *
+     * @param heapThreshold max number of bytes of encoded keys and values kept on heap
+     * @param spillDirectory directory where the spill file is created if needed (if null, data always stays on heap)
+     * @param chunkSize size of each chunk of encoded data
+     * @throws IllegalArgumentException if heapThreshold is negative or chunkSize is not positive
+     */
+    public CompactStringMap(long heapThreshold, File spillDirectory, int chunkSize) {
+        if (heapThreshold < 0) {
+            throw new IllegalArgumentException("heapThreshold must be positive or zero");
+        }
+        if (chunkSize <= RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("chunkSize must be greater than " + RECORD_HEADER_SIZE);
+        }
+        this.heapThreshold = heapThreshold;
+        this.spillDirectory = spillDirectory;
+        this.chunkSize = chunkSize;
+        slots = new long[DEFAULT_INITIAL_CAPACITY];
+        hashes = new int[DEFAULT_INITIAL_CAPACITY];
+    }
+
+    /**
+     * @return the number of bytes of encoded data currently allocated on heap
+     */
+    public long getHeapBytes() {
+        return heapBytes;
+    }
+
+    /**
+     * @return the number of bytes of encoded data currently memory-mapped from the spill file
+     */
+    public long getSpilledBytes() {
+        return spillPosition;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && findSlot((String) key) >= 0;
+    }
+
+    @Override
+    public String get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int slot = findSlot((String) key);
+        return slot < 0 ? null : readValue(slots[slot]);
+    }
+
+    @Override
+    public String put(String key, String value) {
+        Objects.requireNonNull(key, "key");
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(key);
+        int slot = findSlot(keyBytes, hash);
+        if (slot >= 0) {
+            long address = slots[slot];
+            String previous = readValue(address);
+            if (!overwriteValue(address, valueBytes)) {
+                slots[slot] = append(keyBytes, valueBytes);
+            }
+            return previous;
+        }
+        if (usedSlots + 1 > slots.length * LOAD_FACTOR) {
+            resize();
+        }
+        insert(hash, append(keyBytes, valueBytes));
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public String remove(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int slot = findSlot((String) key);
+        if (slot < 0) {
+            return null;
+        }
+        String previous = readValue(slots[slot]);
+        removeSlot(slot);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slots, FREE);
+        Arrays.fill(hashes, 0);
+        chunks.clear();
+        currentChunk = null;
+        heapBytes = 0;
+        spillPosition = 0;
+        closeSpillFile();
+        size = 0;
+        usedSlots = 0;
+        modCount++;
+    }
+
+    /**
+     * Releases the spill file. Entries already stored stay readable, memory-mapped chunks not depending on the file
+     * once mapped: they are freed when the map is cleared or garbage collected. If the map spills again after being
+     * closed, a new spill file is opened and the map must be closed again.
+     */
+    @Override
+    public void close() {
+        closeSpillFile();
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new EntrySet();
+    }
+
+    private void removeSlot(int slot) {
+        slots[slot] = DELETED;
+        size--;
+        modCount++;
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private int findSlot(String key) {
+        return findSlot(key.getBytes(StandardCharsets.UTF_8), hash(key));
+    }
+
+    private int findSlot(byte[] keyBytes, int hash) {
+        int mask = slots.length - 1;
+        int index = hash & mask;
+        while (true) {
+            long address = slots[index];
+            if (address == FREE) {
+                return -1;
+            }
+            if (address != DELETED && hashes[index] == hash && keyEquals(address, keyBytes)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void insert(int hash, long address) {
+        int mask = slots.length - 1;
+        int index = hash & mask;
+        while (slots[index] != FREE && slots[index] != DELETED) {
+            index = (index + 1) & mask;
+        }
+        if (slots[index] == FREE) {
+            usedSlots++;
+        }
+        slots[index] = address;
+        hashes[index] = hash;
+    }
+
+    private void resize() {
+        long[] oldSlots = slots;
+        int[] oldHashes = hashes;
+        int capacity = oldSlots.length;
+        // Only grow if live entries need it, otherwise just purge deleted slots
+        if (size + 1 > capacity * LOAD_FACTOR / 2) {
+            capacity <<= 1;
+        }
+        slots = new long[capacity];
+        hashes = new int[capacity];
+        usedSlots = 0;
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != FREE && oldSlots[i] != DELETED) {
+                insert(oldHashes[i], oldSlots[i]);
+            }
+        }
+    }
+
+    private long append(byte[] keyBytes, byte[] valueBytes) {
+        int valueLength = valueBytes == null ? 0 : valueBytes.length;
+        int recordSize = RECORD_HEADER_SIZE + keyBytes.length + valueLength;
+        if (currentChunk == null || currentChunk.remaining() < recordSize) {
+            currentChunk = allocateChunk(Math.max(chunkSize, recordSize));
+            chunks.add(currentChunk);
+        }
+        int offset = currentChunk.position();
+        currentChunk.putInt(keyBytes.length);
+        currentChunk.putInt(valueBytes == null ? NULL_VALUE_LENGTH : valueLength);
+        currentChunk.put(keyBytes);
+        if (valueBytes != null) {
+            currentChunk.put(valueBytes);
+        }
+        return ((long) (chunks.size() - 1) << 32 | offset) + 1;
+    }
+
+    private boolean overwriteValue(long address, byte[] valueBytes) {
+        ByteBuffer chunk = chunk(address);
+        int offset = offset(address);
+        int keyLength = chunk.getInt(offset);
+        int valueLength = chunk.getInt(offset + 4);
+        if (valueBytes == null) {
+            chunk.putInt(offset + 4, NULL_VALUE_LENGTH);
+            return true;
+        }
+        if (valueLength != valueBytes.length) {
+            return false;
+        }
+        int valueOffset = offset + RECORD_HEADER_SIZE + keyLength;
+        for (int i = 0; i < valueBytes.length; i++) {
+            chunk.put(valueOffset + i, valueBytes[i]);
+        }
+        return true;
+    }
+
+    private ByteBuffer allocateChunk(int capacity) {
+        if (spillDirectory == null || heapBytes + capacity <= heapThreshold) {
+            heapBytes += capacity;
+            return ByteBuffer.allocate(capacity);
+        }
+        try {
+            if (spillChannel == null) {
+                spillChannel = openSpillFile();
+            }
+            ByteBuffer chunk = spillChannel.map(FileChannel.MapMode.READ_WRITE, spillPosition, capacity);
+            spillPosition += capacity;
+            return chunk;
+        } catch (IOException e) {
+            LOGGER.warn("Cannot map spill file, keeping data on heap", e);
+            heapBytes += capacity;
+            return ByteBuffer.allocate(capacity);
+        }
+    }
+
+    private FileChannel openSpillFile() throws IOException {
+        File spillFile = File.createTempFile(SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX, spillDirectory);
+        FileChannel channel = new RandomAccessFile(spillFile, "rw").getChannel();
+        // Mapped regions stay valid once the file is unlinked, and the space is released with them
+        if (!spillFile.delete()) {
+            spillFile.deleteOnExit();
+        }
+        return channel;
+    }
+
+    private void closeSpillFile() {
+        if (spillChannel != null) {
+            try {
+                spillChannel.close();
+            } catch (IOException e) {
+                LOGGER.warn("Cannot close spill file", e);
+            }
+            spillChannel = null;
+        }
+    }
+
+    private ByteBuffer chunk(long address) {
+        return chunks.get((int) ((address - 1) >>> 32));
+    }
+
+    private static int offset(long address) {
+        return (int) (address - 1);
+    }
+
+    private boolean keyEquals(long address, byte[] keyBytes) {
+        ByteBuffer chunk = chunk(address);
+        int offset = offset(address);
+        if (chunk.getInt(offset) != keyBytes.length) {
+            return false;
+        }
+        int keyOffset = offset + RECORD_HEADER_SIZE;
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (chunk.get(keyOffset + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readKey(long address) {
+        ByteBuffer chunk = chunk(address);
+        int offset = offset(address);
+        return decode(chunk, offset + RECORD_HEADER_SIZE, chunk.getInt(offset));
+    }
+
+    private String readValue(long address) {
+        ByteBuffer chunk = chunk(address);
+        int offset = offset(address);
+        int keyLength = chunk.getInt(offset);
+        int valueLength = chunk.getInt(offset + 4);
+        if (valueLength == NULL_VALUE_LENGTH) {
+            return null;
+        }
+        return decode(chunk, offset + RECORD_HEADER_SIZE + keyLength, valueLength);
+    }
+
+    private static String decode(ByteBuffer chunk, int offset, int length) {
+        if (chunk.hasArray()) {
+            return new String(chunk.array(), chunk.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = chunk.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, String>> {
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            CompactStringMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, String>> {
+        private int expectedModCount = modCount;
+        private int nextSlot = -1;
+        private int lastSlot = -1;
+
+        EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            nextSlot++;
+            while (nextSlot < slots.length && (slots[nextSlot] == FREE || slots[nextSlot] == DELETED)) {
+                nextSlot++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextSlot < slots.length;
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastSlot = nextSlot;
+            long address = slots[lastSlot];
+            advance();
+            return new CompactEntry(readKey(address), readValue(address));
+        }
+
+        @Override
+        public void remove() {
+            if (lastSlot < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeSlot(lastSlot);
+            lastSlot = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class CompactEntry extends SimpleEntry<String, String> {
+        private static final long serialVersionUID = 4046256541431012937L;
+
+        CompactEntry(String key, String value) {
+            super(key, value);
+        }
+
+        @Override
+        public String setValue(String value) {
+            super.setValue(value);
+            return put(getKey(), value);
+        }
+    }
+}
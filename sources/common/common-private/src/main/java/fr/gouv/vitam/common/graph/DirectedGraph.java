@@ -125,6 +125,30 @@ public class DirectedGraph {
         }
     }
 
+    /**
+     * Initializes a DirectedGraph from the specified child to parents graph.
+     *
+     * @param parentGraph child to parents graph
+     */
+    @SuppressWarnings("unchecked")
+    public DirectedGraph(IndexedParentGraph parentGraph) {
+        indexMapping = new DualHashBidiMap<>();
+        vertices = parentGraph.size() + 1;
+        adj = new NodeIterable[vertices];
+
+        for (int v = 0; v < vertices; v++) {
+            adj[v] = new NodeIterable<>();
+        }
+        indegree = new int[vertices];
+        for (final String idChild : parentGraph.nodes()) {
+            // create mappping
+            addMapIdToIndex(idChild);
+            for (final String idParent : parentGraph.getParents(idChild)) {
+                addEdge(getIndex(idParent), getIndex(idChild));
+            }
+        }
+    }
+
     /**
      * Returns the number of vertices in this DirectedGraph.
      *
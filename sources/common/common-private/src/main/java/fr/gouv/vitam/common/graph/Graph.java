@@ -31,6 +31,7 @@ import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -109,6 +110,35 @@ public class Graph {
 
     }
 
+    /**
+     * Graph constructor
+     *
+     * @param parentGraph child to parents graph
+     */
+    public Graph(IndexedParentGraph parentGraph) {
+        roots = new HashSet<>();
+        indexMapping = new DualHashBidiMap<>();
+        maxSize = parentGraph.size();
+        // number of vertice
+        LOGGER.debug("maxSize:" + maxSize);
+        vertices = new Vertex[maxSize];
+        stack = new ArrayDeque<>(maxSize);
+        for (int i = 0; i < maxSize; i++) {
+            addVertex(i + 1);
+        }
+        for (final String idChild : parentGraph.nodes()) {
+            // create mappping
+            addMapIdToIndex(idChild);
+            final List<String> parents = parentGraph.getParents(idChild);
+            if (parents.isEmpty()) {
+                roots.add(idChild);
+            }
+            for (final String idParent : parents) {
+                addEdge(getIndex(idParent), getIndex(idChild));
+            }
+        }
+    }
+
     private int addMapIdToIndex(String idXml) {
         if (indexMapping != null) {
             // FIXME P1 since called many times, better to assign one for all this inverseBidiMap to a private variable
@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.common.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import fr.gouv.vitam.common.json.JsonHandler;
+
+/**
+ * Compact child to parents graph, as built while reading a manifest.<br>
+ * <br>
+ * Each id is mapped once to an int index, and each node only keeps the int indexes of its parents, instead of one
+ * Json object and array per unit. Same content as the Json tree representation
+ * <code>{ "ID027" : { }, "ID028" : { "_up" : [ "ID027" ] }}</code>, with the same field order and the same
+ * <code>_up</code> fields, so that {@link #toJson()} gives back the tree as it would have been built with Json nodes.<br>
+ * <br>
+ * Not thread safe.
+ */
+public class IndexedParentGraph {
+
+    private static final String UP_FIELD = "_up";
+    private static final int[] NO_PARENTS = new int[0];
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<String, Integer> idToIndex = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+    // parents by index, null if the id is only known as a parent (or was removed)
+    private int[][] parents = new int[INITIAL_CAPACITY][];
+    // indexes of the nodes having an "_up" field, even empty
+    private final BitSet withUp = new BitSet();
+    // node indexes by creation sequence : a removed then added node gets a new sequence, its previous one is skipped
+    private int[] creationOrder = new int[INITIAL_CAPACITY];
+    // creation sequence by index
+    private int[] sequences = new int[INITIAL_CAPACITY];
+    private int nbCreations;
+    private int size;
+
+    /**
+     * Build an IndexedParentGraph from its Json tree representation
+     *
+     * @param jsonGraph { "ID027" : { }, "ID028" : { "_up" : [ "ID027" ] }, "ID029" : { "_up" : [ "ID028" ] }}
+     * @return the IndexedParentGraph
+     */
+    public static IndexedParentGraph fromJson(JsonNode jsonGraph) {
+        final IndexedParentGraph graph = new IndexedParentGraph();
+        final Iterator<Map.Entry<String, JsonNode>> iterator = jsonGraph.fields();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, JsonNode> entry = iterator.next();
+            graph.addNode(entry.getKey());
+            final JsonNode up = entry.getValue().get(UP_FIELD);
+            if (up != null) {
+                graph.withUp.set(graph.idToIndex.get(entry.getKey()));
+                for (final JsonNode parent : up) {
+                    graph.addParent(entry.getKey(), parent.textValue());
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * @return the Json tree representation of this graph
+     */
+    public ObjectNode toJson() {
+        final ObjectNode jsonGraph = JsonHandler.createObjectNode();
+        for (final String id : nodes()) {
+            final ObjectNode node = JsonHandler.createObjectNode();
+            if (withUp.get(idToIndex.get(id))) {
+                final ArrayNode up = node.putArray(UP_FIELD);
+                getParents(id).forEach(up::add);
+            }
+            jsonGraph.set(id, node);
+        }
+        return jsonGraph;
+    }
+
+    /**
+     * @return the number of nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param id the node id
+     * @return true if a node exists for this id
+     */
+    public boolean contains(String id) {
+        final Integer index = idToIndex.get(id);
+        return index != null && parents[index] != null;
+    }
+
+    /**
+     * Add a node without parent if it does not exist yet
+     *
+     * @param id the node id
+     */
+    public void addNode(String id) {
+        final int index = indexOf(id);
+        if (parents[index] == null) {
+            parents[index] = NO_PARENTS;
+            if (nbCreations == creationOrder.length) {
+                creationOrder = Arrays.copyOf(creationOrder, creationOrder.length * 2);
+            }
+            sequences[index] = nbCreations;
+            creationOrder[nbCreations++] = index;
+            size++;
+        }
+    }
+
+    /**
+     * Add a parent to a node, creating the node if needed
+     *
+     * @param id the node id
+     * @param parentId the parent id
+     */
+    public void addParent(String id, String parentId) {
+        addNode(id);
+        final int index = idToIndex.get(id);
+        final int parentIndex = indexOf(parentId);
+        final int[] current = parents[index];
+        final int[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = parentIndex;
+        parents[index] = updated;
+        withUp.set(index);
+    }
+
+    /**
+     * Give all the parents of the source node to the target node (created if needed), then remove the source node
+     *
+     * @param sourceId the node to remove
+     * @param targetId the node receiving the parents
+     */
+    public void transferParents(String sourceId, String targetId) {
+        for (final String parentId : getParents(sourceId)) {
+            addParent(targetId, parentId);
+        }
+        addNode(targetId);
+        withUp.set(idToIndex.get(targetId));
+        remove(sourceId);
+    }
+
+    /**
+     * Remove a node (references to this id as a parent are kept)
+     *
+     * @param id the node id
+     */
+    public void remove(String id) {
+        final Integer index = idToIndex.get(id);
+        if (index != null && parents[index] != null) {
+            parents[index] = null;
+            withUp.clear(index);
+            size--;
+        }
+    }
+
+    /**
+     * @param id the node id
+     * @return the parents of the node, empty if the node has no parent or does not exist
+     */
+    public List<String> getParents(String id) {
+        final Integer index = idToIndex.get(id);
+        if (index == null || parents[index] == null || parents[index].length == 0) {
+            return Collections.emptyList();
+        }
+        final int[] nodeParents = parents[index];
+        final List<String> result = new ArrayList<>(nodeParents.length);
+        for (final int parentIndex : nodeParents) {
+            result.add(ids.get(parentIndex));
+        }
+        return result;
+    }
+
+    /**
+     * @return the ids of all nodes, in creation order (an id known as a parent before being added as a node is at its
+     * node creation position, a removed then added node at its last creation position)
+     */
+    public Iterable<String> nodes() {
+        return () -> new Iterator<String>() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+                int sequence = from;
+                while (sequence < nbCreations && !isLiveCreation(sequence)) {
+                    sequence++;
+                }
+                return sequence;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < nbCreations;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final String id = ids.get(creationOrder[next]);
+                next = advance(next + 1);
+                return id;
+            }
+        };
+    }
+
+    private boolean isLiveCreation(int sequence) {
+        final int index = creationOrder[sequence];
+        return parents[index] != null && sequences[index] == sequence;
+    }
+
+    private int indexOf(String id) {
+        Integer index = idToIndex.get(id);
+        if (index == null) {
+            index = ids.size();
+            ids.add(id);
+            idToIndex.put(id, index);
+            if (index == parents.length) {
+                parents = Arrays.copyOf(parents, parents.length * 2);
+                sequences = Arrays.copyOf(sequences, sequences.length * 2);
+            }
+        }
+        return index;
+    }
+}
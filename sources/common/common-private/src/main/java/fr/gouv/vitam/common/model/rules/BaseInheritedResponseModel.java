@@ -26,6 +26,7 @@
  *******************************************************************************/
 package fr.gouv.vitam.common.model.rules;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.List;
@@ -41,6 +42,13 @@ public abstract class BaseInheritedResponseModel {
     @JsonProperty("Paths")
     private List<List<String>> paths;
 
+    /**
+     * True if some inheritance paths were dropped, the number of paths being capped
+     */
+    @JsonProperty("PathsTruncated")
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean pathsTruncated;
+
     public BaseInheritedResponseModel() {
         // Empty constructor for deserialization
     }
@@ -75,4 +83,12 @@ public abstract class BaseInheritedResponseModel {
     public void setPaths(List<List<String>> paths) {
         this.paths = paths;
     }
+
+    public boolean isPathsTruncated() {
+        return pathsTruncated;
+    }
+
+    public void setPathsTruncated(boolean pathsTruncated) {
+        this.pathsTruncated = pathsTruncated;
+    }
 }
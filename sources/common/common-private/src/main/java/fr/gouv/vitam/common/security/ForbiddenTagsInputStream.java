@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.common.security;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream that scans raw bytes for forbidden tags while they are read.<br>
+ * <br>
+ * A read fails as soon as the bytes it would return contain a forbidden tag, so that the consumer (typically an XML
+ * reader) never gets to interpret them.
+ */
+class ForbiddenTagsInputStream extends FilterInputStream {
+
+    static final String INVALID_TAG_SANITY_CHECK = "Invalid tag sanity check";
+
+    private final ForbiddenTagsMatcher matcher;
+    private int state = ForbiddenTagsMatcher.INITIAL_STATE;
+    private boolean tagFound;
+
+    ForbiddenTagsInputStream(InputStream in, ForbiddenTagsMatcher matcher) {
+        super(in);
+        this.matcher = matcher;
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkNotFound();
+        final int b = super.read();
+        if (b >= 0) {
+            scan(b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        checkNotFound();
+        final int read = super.read(b, off, len);
+        for (int i = off; i < off + read; i++) {
+            scan(b[i] & 0xFF);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipped bytes must be scanned too
+        final byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long remaining = n;
+        while (remaining > 0) {
+            final int read = read(buffer, 0, (int) Math.min(remaining, buffer.length));
+            if (read < 0) {
+                break;
+            }
+            remaining -= read;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Read and scan the remaining bytes of the underlying stream
+     *
+     * @throws IOException if a forbidden tag is found or on read error
+     */
+    void scanRemaining() throws IOException {
+        final byte[] buffer = new byte[8192];
+        while (read(buffer, 0, buffer.length) >= 0) {
+            // scanned by read
+        }
+    }
+
+    /**
+     * @return true if a forbidden tag was found in the bytes read so far
+     */
+    boolean isTagFound() {
+        return tagFound;
+    }
+
+    private void scan(int b) throws IOException {
+        state = matcher.next(state, b);
+        if (matcher.isMatch(state)) {
+            tagFound = true;
+            throw new IOException(INVALID_TAG_SANITY_CHECK);
+        }
+    }
+
+    private void checkNotFound() throws IOException {
+        if (tagFound) {
+            throw new IOException(INVALID_TAG_SANITY_CHECK);
+        }
+    }
+}
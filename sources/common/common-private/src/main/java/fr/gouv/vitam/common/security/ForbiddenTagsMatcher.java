@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.common.security;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Multi-pattern matcher (Aho-Corasick automaton) over ASCII forbidden tags.<br>
+ * <br>
+ * The automaton is immutable and shared: callers keep their own state, starting from {@link #INITIAL_STATE}, and feed
+ * symbols one at a time, either bytes or chars. Since tags are ASCII only, any non ASCII symbol resets the state.
+ */
+final class ForbiddenTagsMatcher {
+
+    static final int INITIAL_STATE = 0;
+    private static final int ALPHABET_SIZE = 128;
+
+    private final int[][] transitions;
+    private final boolean[] matches;
+
+    /**
+     * @param tags the forbidden tags, ASCII only
+     * @throws IllegalArgumentException if a tag is empty or contains a non ASCII character
+     */
+    ForbiddenTagsMatcher(List<String> tags) {
+        List<int[]> gotoTable = new ArrayList<>();
+        List<Boolean> terminal = new ArrayList<>();
+        gotoTable.add(newState());
+        terminal.add(false);
+        for (final String tag : tags) {
+            if (tag == null || tag.isEmpty()) {
+                throw new IllegalArgumentException("Forbidden tag must not be empty");
+            }
+            int state = INITIAL_STATE;
+            for (int i = 0; i < tag.length(); i++) {
+                final char c = tag.charAt(i);
+                if (c >= ALPHABET_SIZE) {
+                    throw new IllegalArgumentException("Forbidden tag must be ASCII: " + tag);
+                }
+                if (gotoTable.get(state)[c] < 0) {
+                    gotoTable.get(state)[c] = gotoTable.size();
+                    gotoTable.add(newState());
+                    terminal.add(false);
+                }
+                state = gotoTable.get(state)[c];
+            }
+            terminal.set(state, true);
+        }
+
+        transitions = gotoTable.toArray(new int[gotoTable.size()][]);
+        matches = new boolean[transitions.length];
+        final int[] failure = new int[transitions.length];
+        // Breadth first: missing transitions are replaced by the one of the failure state
+        final Deque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET_SIZE; c++) {
+            if (transitions[INITIAL_STATE][c] < 0) {
+                transitions[INITIAL_STATE][c] = INITIAL_STATE;
+            } else {
+                queue.add(transitions[INITIAL_STATE][c]);
+            }
+        }
+        matches[INITIAL_STATE] = terminal.get(INITIAL_STATE);
+        while (!queue.isEmpty()) {
+            final int state = queue.poll();
+            matches[state] = terminal.get(state) || matches[failure[state]];
+            for (int c = 0; c < ALPHABET_SIZE; c++) {
+                final int next = transitions[state][c];
+                if (next < 0) {
+                    transitions[state][c] = transitions[failure[state]][c];
+                } else {
+                    failure[next] = transitions[failure[state]][c];
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    private static int[] newState() {
+        final int[] state = new int[ALPHABET_SIZE];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    /**
+     * @param state current state
+     * @param symbol next byte (as unsigned value) or char
+     * @return the next state
+     */
+    int next(int state, int symbol) {
+        if (symbol < 0 || symbol >= ALPHABET_SIZE) {
+            return INITIAL_STATE;
+        }
+        return transitions[state][symbol];
+    }
+
+    /**
+     * @param state current state
+     * @return true if a forbidden tag ends at this state
+     */
+    boolean isMatch(int state) {
+        return matches[state];
+    }
+
+    /**
+     * @param value value to check
+     * @return true if the value contains one of the forbidden tags
+     */
+    boolean containsAny(CharSequence value) {
+        int state = INITIAL_STATE;
+        for (int i = 0; i < value.length(); i++) {
+            state = next(state, value.charAt(i));
+            if (matches[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
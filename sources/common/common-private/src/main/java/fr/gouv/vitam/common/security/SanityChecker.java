@@ -26,6 +26,7 @@
  *******************************************************************************/
 package fr.gouv.vitam.common.security;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
@@ -47,6 +48,7 @@ import javax.xml.stream.XMLStreamReader;
 
 import fr.gouv.vitam.common.xml.XMLInputFactoryUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CloseShieldInputStream;
 import org.owasp.esapi.Validator;
 import org.owasp.esapi.errors.IntrusionException;
 import org.owasp.esapi.errors.ValidationException;
@@ -100,9 +102,13 @@ public class SanityChecker {
      */
     private static int limitParamSize = DEFAULT_LIMIT_PARAMETER_SIZE;
 
+    private static final int SCAN_BUFFER_SIZE = 65536;
+
     // ISSUE with integration
     private static final Validator ESAPI = init();
 
+    private static final ForbiddenTagsMatcher FORBIDDEN_TAGS = new ForbiddenTagsMatcher(StringUtils.RULES);
+
     private SanityChecker() {
         // Empty constructor
     }
@@ -126,10 +132,21 @@ public class SanityChecker {
      */
     public static final void checkXmlAll(File xmlFile) throws InvalidParseOperationException, IOException {
         checkXmlSanityFileSize(xmlFile);
-        // First test tags through file reader (preventing XSS Bomb)
-        checkXmlSanityTags(xmlFile);
-        // Then through XML reader
-        checkXmlSanityTagValueSize(xmlFile);
+        // Tags are tested on raw bytes as they are read, before the XML reader interprets them (preventing XSS Bomb)
+        try (final ForbiddenTagsInputStream xmlStream = new ForbiddenTagsInputStream(
+            new BufferedInputStream(new FileInputStream(xmlFile), SCAN_BUFFER_SIZE), FORBIDDEN_TAGS)) {
+            try {
+                // XML reader may close its input at end of document
+                checkXmlSanityTagValueSize(new CloseShieldInputStream(xmlStream));
+                // Trailing content after the root element must be checked too
+                xmlStream.scanRemaining();
+            } catch (final InvalidParseOperationException | IOException e) {
+                if (xmlStream.isTagFound()) {
+                    throw new InvalidParseOperationException(ForbiddenTagsInputStream.INVALID_TAG_SANITY_CHECK, e);
+                }
+                throw e;
+            }
+        }
     }
 
     /**
@@ -328,38 +345,42 @@ public class SanityChecker {
     protected static final void checkXmlSanityTagValueSize(File xmlFile)
         throws InvalidParseOperationException, IOException {
         try (final InputStream xmlStream = new FileInputStream(xmlFile)) {
+            checkXmlSanityTagValueSize(xmlStream);
+        }
+    }
 
-            final XMLInputFactory xmlInputFactory = XMLInputFactoryUtils.newInstance();
-            // read XML input stream
-            XMLStreamReader reader = null;
-            try {
-                reader = xmlInputFactory.createXMLStreamReader(xmlStream);
-                while (reader.hasNext()) {
-                    final int event = reader.next();
-                    if (event == XMLStreamConstants.CDATA ||
-                        event == XMLStreamConstants.ENTITY_DECLARATION ||
-                        event == XMLStreamConstants.ENTITY_REFERENCE) {
-                        throw new InvalidParseOperationException("XML contains CDATA or ENTITY");
-                    }
-                    if (event == XMLStreamConstants.CHARACTERS) {
-                        final String val = reader.getText().trim();
-                        if (!val.isEmpty()) {
-                            checkSanityTags(val, getLimitFieldSize());
-                        }
-                    }
+    private static final void checkXmlSanityTagValueSize(InputStream xmlStream)
+        throws InvalidParseOperationException {
+        final XMLInputFactory xmlInputFactory = XMLInputFactoryUtils.newInstance();
+        // read XML input stream
+        XMLStreamReader reader = null;
+        try {
+            reader = xmlInputFactory.createXMLStreamReader(xmlStream);
+            while (reader.hasNext()) {
+                final int event = reader.next();
+                if (event == XMLStreamConstants.CDATA ||
+                    event == XMLStreamConstants.ENTITY_DECLARATION ||
+                    event == XMLStreamConstants.ENTITY_REFERENCE) {
+                    throw new InvalidParseOperationException("XML contains CDATA or ENTITY");
                 }
-            } catch (final XMLStreamException e) {
-                throw new InvalidParseOperationException("Bad XML format", e);
-            } finally {
-                if (reader != null) {
-                    try {
-                        reader.close();
-                    } catch (final XMLStreamException e) {
-                        // Ignore
-                        SysErrLogger.FAKE_LOGGER.ignoreLog(e);
+                if (event == XMLStreamConstants.CHARACTERS) {
+                    final String val = reader.getText().trim();
+                    if (!val.isEmpty()) {
+                        checkSanityTags(val, getLimitFieldSize());
                     }
                 }
             }
+        } catch (final XMLStreamException e) {
+            throw new InvalidParseOperationException("Bad XML format", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (final XMLStreamException e) {
+                    // Ignore
+                    SysErrLogger.FAKE_LOGGER.ignoreLog(e);
+                }
+            }
         }
     }
 
@@ -384,12 +405,17 @@ public class SanityChecker {
      * @throws InvalidParseOperationException when Sanity Check is in error
      */
     protected static final void checkXmlSanityTags(File xmlFile) throws InvalidParseOperationException, IOException {
-        try (final Reader fileReader = new FileReader(xmlFile)) {
-            try (final BufferedReader bufReader = new BufferedReader(fileReader)) {
-                String line = null;
-                while ((line = bufReader.readLine()) != null) {
-                    checkXmlSanityTags(line);
+        // Single pass over raw bytes: tags are ASCII and contain no line separator, so this is equivalent to a check
+        // line by line
+        try (final ForbiddenTagsInputStream xmlStream =
+            new ForbiddenTagsInputStream(new FileInputStream(xmlFile), FORBIDDEN_TAGS)) {
+            try {
+                xmlStream.scanRemaining();
+            } catch (final IOException e) {
+                if (xmlStream.isTagFound()) {
+                    throw new InvalidParseOperationException(ForbiddenTagsInputStream.INVALID_TAG_SANITY_CHECK, e);
                 }
+                throw e;
             }
         }
     }
@@ -401,8 +427,8 @@ public class SanityChecker {
      * @throws InvalidParseOperationException when Sanity Check is in error
      */
     private static final void checkXmlSanityTags(String line) throws InvalidParseOperationException {
-        for (final String rule : StringUtils.RULES) {
-            checkSanityTags(line, rule);
+        if (FORBIDDEN_TAGS.containsAny(line)) {
+            throw new InvalidParseOperationException(ForbiddenTagsInputStream.INVALID_TAG_SANITY_CHECK);
         }
     }
 
@@ -444,19 +470,6 @@ public class SanityChecker {
         }
     }
 
-    /**
-     * checkSanityTags : check if there is an invalid tag
-     *
-     * @param invalidTag data to check as String
-     * @throws InvalidParseOperationException when Sanity Check is in error
-     */
-    private static final void checkSanityTags(String dataLine, String invalidTag)
-        throws InvalidParseOperationException {
-        if (dataLine != null && invalidTag != null && dataLine.contains(invalidTag)) {
-            throw new InvalidParseOperationException("Invalid tag sanity check");
-        }
-    }
-
     /**
      * checkHtmlPattern : check against Html Pattern within value (not allowed)
      *
@@ -29,28 +29,48 @@ package fr.gouv.vitam.common.security.merkletree;
 import static fr.gouv.vitam.common.security.merkletree.MerkleTree.EMPTY_LEAF;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Iterables;
 
-import fr.gouv.vitam.common.digest.Digest;
 import fr.gouv.vitam.common.digest.DigestType;
 
 /**
- * MerkleTreeAlgo
+ * MerkleTreeAlgo<br>
+ * <br>
+ * Keeps the whole tree in memory. When only the root hash is needed, use {@link MerkleTreeRootBuilder}.
  */
 public class MerkleTreeAlgo {
 
+    /**
+     * Minimum number of leaves of a subtree to compute it in a separate fork/join task
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
     private final DigestType digestType;
-    private List<MerkleTree> leaves = new ArrayList<>();
+    private final boolean parallel;
+    private final MessageDigest leafDigest;
+    private final List<MerkleTree> leaves = new ArrayList<>();
 
     /**
      * @param digestType
      */
     public MerkleTreeAlgo(DigestType digestType) {
+        this(digestType, false);
+    }
+
+    /**
+     * @param digestType
+     * @param parallel if true, subtrees are computed in parallel in the common fork/join pool
+     */
+    public MerkleTreeAlgo(DigestType digestType, boolean parallel) {
         this.digestType = digestType;
+        this.parallel = parallel;
+        this.leafDigest = MerkleTreeRootBuilder.newMessageDigest(digestType);
     }
 
     /**
@@ -69,8 +89,7 @@ public class MerkleTreeAlgo {
      * @param data
      */
     public void addLeaf(byte[] data) {
-        Digest digest = new Digest(digestType);
-        MerkleTree tree = new MerkleTree(digest.update(data).digest(), null, null);
+        MerkleTree tree = new MerkleTree(leafDigest.digest(data), null, null);
         leaves.add(tree);
     }
 
@@ -79,20 +98,6 @@ public class MerkleTreeAlgo {
         return leaves.size();
     }
 
-    /**
-     * concat two hash to compute another one.
-     *
-     * @param left
-     * @param right
-     * @return byte[] generated Hash
-     */
-    private byte[] concat(byte[] left, byte[] right) {
-        final Digest digest = new Digest(digestType);
-        digest.update(left);
-        digest.update(right);
-        return digest.digest();
-    }
-
     /**
      * adds padding when leaf number isn't 2^n
      */
@@ -110,21 +115,84 @@ public class MerkleTreeAlgo {
     }
 
     /**
-     * @return MerkleTree
+     * Compute the tree. Leaves are virtually padded with {@link MerkleTree#EMPTY_LEAF} up to the next power of two,
+     * padding subtrees being shared instead of being recomputed.
+     *
+     * @return MerkleTree, or null if there is no leaf
      */
     public MerkleTree generateMerkle() {
-        addPadding();
-        MerkleTree tree = Iterables.getFirst(leaves, null);
-        while (leaves.size() > 1) {
-            final List<MerkleTree> nextList = new ArrayList<>();
-            for (int i = 0; i < leaves.size(); i = i + 2) {
-                byte[] hash = concat(leaves.get(i).getRoot(), leaves.get(i + 1).getRoot());
-                tree = new MerkleTree(hash, leaves.get(i), leaves.get(i + 1));
-                nextList.add(tree);
+        if (leaves.isEmpty()) {
+            return null;
+        }
+        int height = 0;
+        while ((1L << height) < leaves.size()) {
+            height++;
+        }
+        List<MerkleTree> paddingTrees = new ArrayList<>(height + 1);
+        paddingTrees.add(EMPTY_LEAF);
+        MessageDigest messageDigest = MerkleTreeRootBuilder.newMessageDigest(digestType);
+        for (int i = 1; i <= height; i++) {
+            MerkleTree child = paddingTrees.get(i - 1);
+            paddingTrees.add(new MerkleTree(concat(messageDigest, child.getRoot(), child.getRoot()), child, child));
+        }
+        SubtreeTask task = new SubtreeTask(paddingTrees, 0, height);
+        if (parallel && leaves.size() > PARALLEL_THRESHOLD) {
+            return ForkJoinPool.commonPool().invoke(task);
+        }
+        return task.compute();
+    }
+
+    private static byte[] concat(MessageDigest messageDigest, byte[] left, byte[] right) {
+        messageDigest.update(left);
+        messageDigest.update(right);
+        return messageDigest.digest();
+    }
+
+    /**
+     * Computes the subtree of given height whose leftmost leaf is leaves[start]
+     */
+    private class SubtreeTask extends RecursiveTask<MerkleTree> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<MerkleTree> paddingTrees;
+        private final long start;
+        private final int height;
+
+        SubtreeTask(List<MerkleTree> paddingTrees, long start, int height) {
+            this.paddingTrees = paddingTrees;
+            this.start = start;
+            this.height = height;
+        }
+
+        @Override
+        protected MerkleTree compute() {
+            if (parallel && (1L << height) > PARALLEL_THRESHOLD) {
+                long half = 1L << (height - 1);
+                SubtreeTask right = new SubtreeTask(paddingTrees, start + half, height - 1);
+                right.fork();
+                MerkleTree left = new SubtreeTask(paddingTrees, start, height - 1).compute();
+                return merge(MerkleTreeRootBuilder.newMessageDigest(digestType), left, right.join());
+            }
+            return build(MerkleTreeRootBuilder.newMessageDigest(digestType), start, height);
+        }
+
+        private MerkleTree build(MessageDigest messageDigest, long first, int level) {
+            if (first >= leaves.size()) {
+                return paddingTrees.get(level);
+            }
+            if (level == 0) {
+                return leaves.get((int) first);
             }
-            leaves = nextList;
+            long half = 1L << (level - 1);
+            MerkleTree left = build(messageDigest, first, level - 1);
+            MerkleTree right = build(messageDigest, first + half, level - 1);
+            return merge(messageDigest, left, right);
+        }
+
+        private MerkleTree merge(MessageDigest messageDigest, MerkleTree left, MerkleTree right) {
+            return new MerkleTree(concat(messageDigest, left.getRoot(), right.getRoot()), left, right);
         }
-        return tree;
     }
 
 }
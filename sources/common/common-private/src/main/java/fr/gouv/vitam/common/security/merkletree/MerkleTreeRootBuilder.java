@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.common.security.merkletree;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.gouv.vitam.common.ParametersChecker;
+import fr.gouv.vitam.common.digest.DigestType;
+
+/**
+ * Streaming computation of a Merkle tree root hash.<br>
+ * <br>
+ * Leaves are hashed as soon as they are added and merged with their left sibling whenever a complete subtree is
+ * available, so that only O(log n) pending hashes are kept in memory. The resulting root is the same as the one
+ * computed by {@link MerkleTreeAlgo#generateMerkle()} (including the padding to a power of two).<br>
+ * Use {@link MerkleTreeAlgo} when the whole tree must be kept (e.g. to store it in a traceability file).
+ */
+public class MerkleTreeRootBuilder {
+
+    private final MessageDigest messageDigest;
+    /**
+     * Pending subtree hashes, from the biggest (leftmost) to the smallest (rightmost) subtree
+     */
+    private final List<byte[]> pendingHashes = new ArrayList<>();
+    /**
+     * Height of each pending subtree
+     */
+    private final List<Integer> pendingHeights = new ArrayList<>();
+    /**
+     * Root hash of an empty (padding) subtree, by height
+     */
+    private final List<byte[]> paddingHashes = new ArrayList<>();
+    private long numberOfLeaves;
+
+    /**
+     * @param digestType the digest type used for leaves and nodes
+     */
+    public MerkleTreeRootBuilder(DigestType digestType) {
+        ParametersChecker.checkParameter("DigestType is a mandatory parameter", digestType);
+        this.messageDigest = newMessageDigest(digestType);
+        paddingHashes.add(MerkleTree.EMPTY_LEAF.getRoot());
+    }
+
+    /**
+     * adds leaf to the MerkleTree
+     *
+     * @param data
+     */
+    public void addLeaf(byte[] data) {
+        byte[] hash = messageDigest.digest(data);
+        int height = 0;
+        int last = pendingHashes.size() - 1;
+        while (last >= 0 && pendingHeights.get(last) == height) {
+            hash = concat(pendingHashes.remove(last), hash);
+            pendingHeights.remove(last);
+            height++;
+            last--;
+        }
+        pendingHashes.add(hash);
+        pendingHeights.add(height);
+        numberOfLeaves++;
+    }
+
+    /**
+     * @return the number of leaves added so far
+     */
+    public long getNumberOfLeaves() {
+        return numberOfLeaves;
+    }
+
+    /**
+     * Compute the root hash of the leaves added so far. The builder is left unchanged, so more leaves may be added
+     * afterwards.
+     *
+     * @return the root hash, or null if no leaf was added
+     */
+    public byte[] getRoot() {
+        int last = pendingHashes.size() - 1;
+        if (last < 0) {
+            return null;
+        }
+        byte[] hash = pendingHashes.get(last);
+        int height = pendingHeights.get(last);
+        // Complete the rightmost subtrees with padding until they are merged with their left sibling
+        for (int i = last - 1; i >= 0; i--) {
+            int siblingHeight = pendingHeights.get(i);
+            while (height < siblingHeight) {
+                hash = concat(hash, paddingHash(height));
+                height++;
+            }
+            hash = concat(pendingHashes.get(i), hash);
+            height++;
+        }
+        return hash;
+    }
+
+    private byte[] paddingHash(int height) {
+        while (paddingHashes.size() <= height) {
+            byte[] previous = paddingHashes.get(paddingHashes.size() - 1);
+            paddingHashes.add(concat(previous, previous));
+        }
+        return paddingHashes.get(height);
+    }
+
+    private byte[] concat(byte[] left, byte[] right) {
+        messageDigest.update(left);
+        messageDigest.update(right);
+        return messageDigest.digest();
+    }
+
+    static MessageDigest newMessageDigest(DigestType digestType) {
+        try {
+            return MessageDigest.getInstance(digestType.getName());
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Algo unknown", e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.common.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CompactStringMapTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void should_behave_like_hash_map() throws Exception {
+        CompactStringMap map = new CompactStringMap(Long.MAX_VALUE, tempFolder.newFolder());
+        Map<String, String> expected = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            map.put("ID" + i, "aeaqaaaaaa" + i);
+            expected.put("ID" + i, "aeaqaaaaaa" + i);
+        }
+
+        assertThat(map).hasSize(10_000);
+        assertThat(map).isEqualTo(expected);
+        assertThat(map.get("ID42")).isEqualTo("aeaqaaaaaa42");
+        assertThat(map.get("unknown")).isNull();
+        assertThat(map.get(null)).isNull();
+        assertThat(map.containsKey("ID9999")).isTrue();
+        assertThat(map.containsValue("aeaqaaaaaa9999")).isTrue();
+        assertThat(map.getSpilledBytes()).isZero();
+    }
+
+    @Test
+    public void should_replace_and_remove_values() throws Exception {
+        CompactStringMap map = new CompactStringMap(Long.MAX_VALUE, tempFolder.newFolder());
+        map.put("ID1", "value1");
+        map.put("ID2", "value2");
+
+        assertThat(map.put("ID1", "valueA")).isEqualTo("value1");
+        assertThat(map.put("ID2", "a longer value")).isEqualTo("value2");
+        assertThat(map.put("ID3", null)).isNull();
+        assertThat(map.get("ID1")).isEqualTo("valueA");
+        assertThat(map.get("ID2")).isEqualTo("a longer value");
+        assertThat(map.containsKey("ID3")).isTrue();
+        assertThat(map.get("ID3")).isNull();
+
+        assertThat(map.remove("ID1")).isEqualTo("valueA");
+        assertThat(map.remove("ID1")).isNull();
+        assertThat(map).hasSize(2);
+        assertThat(map.containsKey("ID1")).isFalse();
+
+        map.put("ID1", "valueB");
+        assertThat(map.get("ID1")).isEqualTo("valueB");
+        assertThat(map).hasSize(3);
+    }
+
+    @Test
+    public void should_remove_and_update_through_iterator() throws Exception {
+        CompactStringMap map = new CompactStringMap(Long.MAX_VALUE, tempFolder.newFolder());
+        for (int i = 0; i < 100; i++) {
+            map.put("ID" + i, "" + i);
+        }
+
+        Iterator<Entry<String, String>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<String, String> entry = iterator.next();
+            if (Integer.parseInt(entry.getValue()) % 2 == 0) {
+                iterator.remove();
+            } else {
+                entry.setValue("odd");
+            }
+        }
+
+        assertThat(map).hasSize(50);
+        assertThat(map.values()).containsOnly("odd");
+        assertThat(map.containsKey("ID2")).isFalse();
+    }
+
+    @Test
+    public void should_spill_to_disk_above_threshold() throws Exception {
+        CompactStringMap map = new CompactStringMap(4096, tempFolder.newFolder(), 1024);
+        Map<String, String> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            String key = "ID_éà_" + i;
+            map.put(key, "aeaqaaaaaagbcaacaang6ak4ts6paliaaaaq" + i);
+            expected.put(key, "aeaqaaaaaagbcaacaang6ak4ts6paliaaaaq" + i);
+        }
+
+        assertThat(map.getHeapBytes()).isLessThanOrEqualTo(4096);
+        assertThat(map.getSpilledBytes()).isPositive();
+        assertThat(map).isEqualTo(expected);
+
+        map.put("ID_éà_1", "updated");
+        assertThat(map.get("ID_éà_1")).isEqualTo("updated");
+
+        map.clear();
+        assertThat(map).isEmpty();
+        assertThat(map.getSpilledBytes()).isZero();
+        map.put("ID", "value");
+        assertThat(map.get("ID")).isEqualTo("value");
+    }
+
+    @Test
+    public void should_keep_entries_readable_once_closed() throws Exception {
+        File spillDirectory = tempFolder.newFolder();
+        Map<String, String> expected = new HashMap<>();
+        try (CompactStringMap map = new CompactStringMap(1024, spillDirectory, 1024)) {
+            for (int i = 0; i < 10_000; i++) {
+                map.put("ID" + i, "GUID" + i);
+                expected.put("ID" + i, "GUID" + i);
+            }
+            assertThat(map.getSpilledBytes()).isPositive();
+
+            map.close();
+
+            assertThat(map).isEqualTo(expected);
+            map.put("ID_AFTER_CLOSE", "GUID");
+            assertThat(map.get("ID_AFTER_CLOSE")).isEqualTo("GUID");
+        }
+        assertThat(spillDirectory.list()).isEmpty();
+    }
+
+    @Test
+    public void should_reject_null_key_and_bad_parameters() {
+        CompactStringMap map = new CompactStringMap(0, null);
+        assertThatThrownBy(() -> map.put(null, "value")).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new CompactStringMap(-1, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CompactStringMap(0, null, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.common.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import fr.gouv.vitam.common.PropertiesUtils;
+import fr.gouv.vitam.common.json.JsonHandler;
+
+public class IndexedParentGraphTest {
+
+    @Test
+    public void should_build_same_json_tree() throws Exception {
+        final File file = PropertiesUtils.getResourceFile("ingest_acyc_2.json");
+        final JsonNode json = JsonHandler.getFromFile(file);
+
+        final IndexedParentGraph graph = IndexedParentGraph.fromJson(json);
+
+        assertThat(graph.size()).isEqualTo(json.size());
+        assertThat(graph.toJson()).isEqualTo(json);
+        // Same field order too
+        assertThat(graph.toJson().toString()).isEqualTo(json.toString());
+    }
+
+    @Test
+    public void should_add_and_transfer_parents() {
+        final IndexedParentGraph graph = new IndexedParentGraph();
+        graph.addNode("ID1");
+        graph.addParent("ID2", "ID1");
+        graph.addParent("REF", "ID2");
+        graph.addParent("REF", "ID1");
+
+        graph.transferParents("REF", "ID3");
+
+        assertThat(graph.size()).isEqualTo(3);
+        assertThat(graph.contains("REF")).isFalse();
+        assertThat(graph.getParents("ID1")).isEmpty();
+        assertThat(graph.getParents("ID2")).containsExactly("ID1");
+        assertThat(graph.getParents("ID3")).containsExactly("ID2", "ID1");
+        assertThat(graph.getParents("REF")).isEmpty();
+        assertThat(graph.nodes()).containsExactly("ID1", "ID2", "ID3");
+    }
+
+    @Test
+    public void should_keep_json_tree_node_order_and_up_fields() throws Exception {
+        final IndexedParentGraph graph = new IndexedParentGraph();
+        // ID1 is known as a parent before being added as a node
+        graph.addParent("ID2", "ID1");
+        graph.addNode("ID1");
+        graph.addNode("ID3");
+        graph.remove("ID2");
+        graph.addParent("ID2", "ID3");
+        // Target of a reference without parent keeps an empty _up
+        graph.addNode("REF");
+        graph.transferParents("REF", "ID4");
+
+        final ObjectNode json = graph.toJson();
+
+        assertThat(json.toString())
+            .isEqualTo("{\"ID1\":{},\"ID3\":{},\"ID2\":{\"_up\":[\"ID3\"]},\"ID4\":{\"_up\":[]}}");
+        assertThat(IndexedParentGraph.fromJson(json).toJson().toString()).isEqualTo(json.toString());
+    }
+
+    @Test
+    public void should_compute_same_longest_paths_as_json_graph() throws Exception {
+        for (String resource : new String[] {"ingest_tree.json", "ingest_acyc_2.json",
+            "ingest_tree_multi_roots.json"}) {
+            final JsonNode json = JsonHandler.getFromFile(PropertiesUtils.getResourceFile(resource));
+
+            assertThat(new Graph(IndexedParentGraph.fromJson(json)).getGraphWithLongestPaths())
+                .as(resource)
+                .isEqualTo(new Graph(json).getGraphWithLongestPaths());
+        }
+    }
+
+    @Test
+    public void should_detect_cycles() throws Exception {
+        final JsonNode cyclic = JsonHandler.getFromFile(PropertiesUtils.getResourceFile("ingest_cyc_2.json"));
+        final JsonNode acyclic = JsonHandler.getFromFile(PropertiesUtils.getResourceFile("ingest_acyc.json"));
+
+        assertThat(new DirectedCycle(new DirectedGraph(IndexedParentGraph.fromJson(cyclic))).isCyclic()).isTrue();
+        assertThat(new DirectedCycle(new DirectedGraph(IndexedParentGraph.fromJson(acyclic))).isCyclic()).isFalse();
+    }
+}
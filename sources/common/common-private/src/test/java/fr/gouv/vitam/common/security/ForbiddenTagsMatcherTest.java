@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.common.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import fr.gouv.vitam.common.StringUtils;
+
+public class ForbiddenTagsMatcherTest {
+
+    private static final ForbiddenTagsMatcher MATCHER = new ForbiddenTagsMatcher(StringUtils.RULES);
+
+    @Test
+    public void should_find_same_tags_as_contains() {
+        // Given
+        final String alphabet = "<>!&;[]CDATAENTITYscriptltgé ";
+        final Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            final StringBuilder value = new StringBuilder();
+            final int length = random.nextInt(40);
+            for (int j = 0; j < length; j++) {
+                value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            if (random.nextInt(10) == 0) {
+                final String rule = StringUtils.RULES.get(random.nextInt(StringUtils.RULES.size()));
+                value.insert(random.nextInt(value.length() + 1), rule);
+            }
+
+            // When
+            final boolean found = MATCHER.containsAny(value);
+
+            // Then
+            assertThat(found).as(value.toString())
+                .isEqualTo(StringUtils.RULES.stream().anyMatch(rule -> value.toString().contains(rule)));
+        }
+    }
+
+    @Test
+    public void should_find_overlapping_tags() {
+        final ForbiddenTagsMatcher matcher = new ForbiddenTagsMatcher(Arrays.asList("abcd", "bc"));
+        assertThat(matcher.containsAny("xabcx")).isTrue();
+        assertThat(matcher.containsAny("aabcd")).isTrue();
+        assertThat(matcher.containsAny("abdbd")).isFalse();
+    }
+
+    @Test
+    public void should_reset_on_non_ascii_symbol() {
+        assertThat(MATCHER.containsAny("<scréipt>")).isFalse();
+        assertThat(MATCHER.containsAny("é<script>é")).isTrue();
+    }
+
+    @Test
+    public void should_fail_read_before_returning_forbidden_tag() throws IOException {
+        // Given
+        final byte[] data = "<a>text</a>\n<!ENTITY x>".getBytes(StandardCharsets.UTF_8);
+        final ForbiddenTagsInputStream inputStream =
+            new ForbiddenTagsInputStream(new ByteArrayInputStream(data), MATCHER);
+
+        // When
+        final byte[] buffer = new byte[12];
+        assertThat(inputStream.read(buffer, 0, buffer.length)).isEqualTo(12);
+
+        // Then
+        assertThatThrownBy(inputStream::scanRemaining).isInstanceOf(IOException.class);
+        assertThat(inputStream.isTagFound()).isTrue();
+        assertThatThrownBy(inputStream::read).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void should_reject_empty_tag() {
+        assertThatThrownBy(() -> new ForbiddenTagsMatcher(Arrays.asList("a", "")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
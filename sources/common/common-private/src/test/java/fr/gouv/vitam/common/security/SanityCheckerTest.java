@@ -33,6 +33,8 @@ import static org.junit.Assert.fail;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -46,7 +48,9 @@ import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
@@ -57,6 +61,9 @@ import fr.gouv.vitam.common.json.JsonHandler;
 
 public class SanityCheckerTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private final String pathXMLOK = "testOK.xml";
     private final String pathXMLKO = "testKO.xml";
     private final String[] pathsXMLowaspKO =
@@ -126,6 +133,22 @@ public class SanityCheckerTest {
         SanityChecker.checkXmlAll(fileOK);
     }
 
+    @Test(expected = InvalidParseOperationException.class)
+    public void checkXMLAllWithScriptInComment() throws IOException, InvalidParseOperationException {
+        SanityChecker.checkXmlAll(newXmlFile("<root><!-- <script> --><a>value</a></root>"));
+    }
+
+    @Test(expected = InvalidParseOperationException.class)
+    public void checkXMLAllWithTagAfterRootElement() throws IOException, InvalidParseOperationException {
+        SanityChecker.checkXmlAll(newXmlFile("<root><a>value</a></root>\n<!-- &lt;script&gt; -->"));
+    }
+
+    private File newXmlFile(String content) throws IOException {
+        final File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
     @Test(expected = InvalidParseOperationException.class)
     public void givenJsonWhenValueIsTooBigORContainXMLTag()
         throws InvalidParseOperationException, IOException {
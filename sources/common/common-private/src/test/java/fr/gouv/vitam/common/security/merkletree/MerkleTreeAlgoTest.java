@@ -31,11 +31,17 @@ import static org.apache.commons.codec.binary.Base64.decodeBase64;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import fr.gouv.vitam.common.digest.Digest;
+import fr.gouv.vitam.common.json.JsonHandler;
+
 public class MerkleTreeAlgoTest {
 
     private MerkleTreeAlgo merkleTreeAlgo;
@@ -105,4 +111,75 @@ public class MerkleTreeAlgoTest {
         assertThat(merkleTreeAlgo.numberOfLeaves()).isEqualTo(4);
     }
 
+    @Test
+    public void should_compute_same_tree_as_level_by_level_algorithm() throws Exception {
+        for (int numberOfLeaves = 1; numberOfLeaves <= 33; numberOfLeaves++) {
+            // Given
+            MerkleTreeAlgo algo = new MerkleTreeAlgo(SHA512);
+            List<MerkleTree> expectedLeaves = new ArrayList<>();
+            for (int i = 0; i < numberOfLeaves; i++) {
+                algo.addLeaf("leaf" + i);
+                expectedLeaves.add(leaf("leaf" + i));
+            }
+
+            // When
+            final MerkleTree mt = algo.generateMerkle();
+
+            // Then
+            assertThat(JsonHandler.toJsonNode(mt)).isEqualTo(JsonHandler.toJsonNode(levelByLevel(expectedLeaves)));
+        }
+    }
+
+    @Test
+    public void should_compute_same_root_in_parallel() {
+        // Given
+        MerkleTreeAlgo sequentialAlgo = new MerkleTreeAlgo(SHA512);
+        MerkleTreeAlgo parallelAlgo = new MerkleTreeAlgo(SHA512, true);
+        List<MerkleTree> expectedLeaves = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            sequentialAlgo.addLeaf("leaf" + i);
+            parallelAlgo.addLeaf("leaf" + i);
+            expectedLeaves.add(leaf("leaf" + i));
+        }
+
+        // When
+        final MerkleTree sequential = sequentialAlgo.generateMerkle();
+        final MerkleTree parallel = parallelAlgo.generateMerkle();
+
+        // Then
+        byte[] expectedRoot = levelByLevel(expectedLeaves).getRoot();
+        assertThat(sequential.getRoot()).isEqualTo(expectedRoot);
+        assertThat(parallel.getRoot()).isEqualTo(expectedRoot);
+    }
+
+    @Test
+    public void should_return_null_when_no_leaf() {
+        assertThat(merkleTreeAlgo.generateMerkle()).isNull();
+    }
+
+    private static MerkleTree leaf(String data) {
+        return new MerkleTree(new Digest(SHA512).update(data.getBytes(StandardCharsets.UTF_8)).digest(), null, null);
+    }
+
+    /**
+     * Reference implementation : explicit padding, then one list per level
+     */
+    static MerkleTree levelByLevel(List<MerkleTree> leaves) {
+        List<MerkleTree> level = new ArrayList<>(leaves);
+        while (Long.bitCount(level.size()) != 1) {
+            level.add(MerkleTree.EMPTY_LEAF);
+        }
+        while (level.size() > 1) {
+            final List<MerkleTree> nextLevel = new ArrayList<>();
+            for (int i = 0; i < level.size(); i = i + 2) {
+                Digest digest = new Digest(SHA512);
+                digest.update(level.get(i).getRoot());
+                digest.update(level.get(i + 1).getRoot());
+                nextLevel.add(new MerkleTree(digest.digest(), level.get(i), level.get(i + 1)));
+            }
+            level = nextLevel;
+        }
+        return level.get(0);
+    }
+
 }
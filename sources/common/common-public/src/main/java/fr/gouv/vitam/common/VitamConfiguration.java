@@ -503,6 +503,31 @@ public class VitamConfiguration {
      */
     private static long operationMaxSizeForExternal = 15728640;
 
+    /**
+     * Number of retries of the bulk items rejected by Elasticsearch
+     */
+    private static int elasticsearchBulkRetries = 3;
+
+    /**
+     * Maximum number of concurrent Elasticsearch bulk requests sent by a bulk indexer
+     */
+    private static int elasticsearchBulkConcurrentRequests = 4;
+
+    /**
+     * Maximum size in bytes of an Elasticsearch bulk request sent by a bulk indexer
+     */
+    private static long elasticsearchBulkMaxSize = 10485760;
+
+    /**
+     * Target duration in milliseconds of a worker task, used to adapt the bulk size of a step (0 to disable)
+     */
+    private static long workerBulkTargetDuration = 10000;
+
+    /**
+     * Max size in bytes of identifier mappings kept on heap by ingest handlers (above, they are spilled to disk)
+     */
+    private static long identifierMapHeapThreshold = 67_108_864L;
+
     static {
         getConfiguration().setDefault();
     }
@@ -977,6 +1002,26 @@ public class VitamConfiguration {
             setOperationMaxSizeForExternal(parameters.getOperationMaxSizeForExternal());
         }
 
+        if (null != parameters.getElasticsearchBulkRetries()) {
+            setElasticsearchBulkRetries(parameters.getElasticsearchBulkRetries());
+        }
+
+        if (null != parameters.getElasticsearchBulkConcurrentRequests()) {
+            setElasticsearchBulkConcurrentRequests(parameters.getElasticsearchBulkConcurrentRequests());
+        }
+
+        if (null != parameters.getElasticsearchBulkMaxSize()) {
+            setElasticsearchBulkMaxSize(parameters.getElasticsearchBulkMaxSize());
+        }
+
+        if (null != parameters.getWorkerBulkTargetDuration()) {
+            setWorkerBulkTargetDuration(parameters.getWorkerBulkTargetDuration());
+        }
+
+        if (null != parameters.getIdentifierMapHeapThreshold()) {
+            setIdentifierMapHeapThreshold(parameters.getIdentifierMapHeapThreshold());
+        }
+
         if (null != parameters.getIndexInheritedRulesWithAPIV2OutputByTenant()) {
             setIndexInheritedRulesWithAPIV2OutputByTenant(parameters.getIndexInheritedRulesWithAPIV2OutputByTenant());
         }
@@ -2020,6 +2065,76 @@ public class VitamConfiguration {
         VitamConfiguration.operationMaxSizeForExternal = operationMaxSizeForExternal;
     }
 
+    /**
+     * @return elasticsearchBulkRetries
+     */
+    public static int getElasticsearchBulkRetries() {
+        return elasticsearchBulkRetries;
+    }
+
+    /**
+     * @param elasticsearchBulkRetries
+     */
+    public static void setElasticsearchBulkRetries(int elasticsearchBulkRetries) {
+        VitamConfiguration.elasticsearchBulkRetries = elasticsearchBulkRetries;
+    }
+
+    /**
+     * @return elasticsearchBulkConcurrentRequests
+     */
+    public static int getElasticsearchBulkConcurrentRequests() {
+        return elasticsearchBulkConcurrentRequests;
+    }
+
+    /**
+     * @param elasticsearchBulkConcurrentRequests
+     */
+    public static void setElasticsearchBulkConcurrentRequests(int elasticsearchBulkConcurrentRequests) {
+        VitamConfiguration.elasticsearchBulkConcurrentRequests = elasticsearchBulkConcurrentRequests;
+    }
+
+    /**
+     * @return elasticsearchBulkMaxSize
+     */
+    public static long getElasticsearchBulkMaxSize() {
+        return elasticsearchBulkMaxSize;
+    }
+
+    /**
+     * @param elasticsearchBulkMaxSize
+     */
+    public static void setElasticsearchBulkMaxSize(long elasticsearchBulkMaxSize) {
+        VitamConfiguration.elasticsearchBulkMaxSize = elasticsearchBulkMaxSize;
+    }
+
+    /**
+     * @return workerBulkTargetDuration
+     */
+    public static long getWorkerBulkTargetDuration() {
+        return workerBulkTargetDuration;
+    }
+
+    /**
+     * @param workerBulkTargetDuration
+     */
+    public static void setWorkerBulkTargetDuration(long workerBulkTargetDuration) {
+        VitamConfiguration.workerBulkTargetDuration = workerBulkTargetDuration;
+    }
+
+    /**
+     * @return identifierMapHeapThreshold
+     */
+    public static long getIdentifierMapHeapThreshold() {
+        return identifierMapHeapThreshold;
+    }
+
+    /**
+     * @param identifierMapHeapThreshold
+     */
+    public static void setIdentifierMapHeapThreshold(long identifierMapHeapThreshold) {
+        VitamConfiguration.identifierMapHeapThreshold = identifierMapHeapThreshold;
+    }
+
 
     /**
      * Getter for default OriginatingAgency for DIP export OriginatingAgency conflict
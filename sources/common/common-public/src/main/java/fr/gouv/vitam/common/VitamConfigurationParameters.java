@@ -335,6 +335,31 @@ public class VitamConfigurationParameters {
      */
     private Long operationMaxSizeForExternal;
 
+    /**
+     * Number of retries of the bulk items rejected by Elasticsearch
+     */
+    private Integer elasticsearchBulkRetries;
+
+    /**
+     * Maximum number of concurrent Elasticsearch bulk requests sent by a bulk indexer
+     */
+    private Integer elasticsearchBulkConcurrentRequests;
+
+    /**
+     * Maximum size in bytes of an Elasticsearch bulk request sent by a bulk indexer
+     */
+    private Long elasticsearchBulkMaxSize;
+
+    /**
+     * Target duration in milliseconds of a worker task, used to adapt the bulk size of a step (0 to disable)
+     */
+    private Long workerBulkTargetDuration;
+
+    /**
+     * Max size in bytes of identifier mappings kept on heap by ingest handlers (above, they are spilled to disk)
+     */
+    private Long identifierMapHeapThreshold;
+
     private Integer ontologyCacheMaxEntries = 100;
 
     private Integer ontologyCacheTimeoutInSeconds = 300;
@@ -1337,6 +1362,96 @@ public class VitamConfigurationParameters {
         this.operationMaxSizeForExternal = operationMaxSizeForExternal;
     }
 
+    /**
+     * Getter
+     *
+     * @return elasticsearchBulkRetries
+     */
+    public Integer getElasticsearchBulkRetries() {
+        return elasticsearchBulkRetries;
+    }
+
+    /**
+     * Setter
+     *
+     * @param elasticsearchBulkRetries
+     */
+    public void setElasticsearchBulkRetries(Integer elasticsearchBulkRetries) {
+        this.elasticsearchBulkRetries = elasticsearchBulkRetries;
+    }
+
+    /**
+     * Getter
+     *
+     * @return elasticsearchBulkConcurrentRequests
+     */
+    public Integer getElasticsearchBulkConcurrentRequests() {
+        return elasticsearchBulkConcurrentRequests;
+    }
+
+    /**
+     * Setter
+     *
+     * @param elasticsearchBulkConcurrentRequests
+     */
+    public void setElasticsearchBulkConcurrentRequests(Integer elasticsearchBulkConcurrentRequests) {
+        this.elasticsearchBulkConcurrentRequests = elasticsearchBulkConcurrentRequests;
+    }
+
+    /**
+     * Getter
+     *
+     * @return elasticsearchBulkMaxSize
+     */
+    public Long getElasticsearchBulkMaxSize() {
+        return elasticsearchBulkMaxSize;
+    }
+
+    /**
+     * Setter
+     *
+     * @param elasticsearchBulkMaxSize
+     */
+    public void setElasticsearchBulkMaxSize(Long elasticsearchBulkMaxSize) {
+        this.elasticsearchBulkMaxSize = elasticsearchBulkMaxSize;
+    }
+
+    /**
+     * Getter
+     *
+     * @return workerBulkTargetDuration
+     */
+    public Long getWorkerBulkTargetDuration() {
+        return workerBulkTargetDuration;
+    }
+
+    /**
+     * Setter
+     *
+     * @param workerBulkTargetDuration
+     */
+    public void setWorkerBulkTargetDuration(Long workerBulkTargetDuration) {
+        this.workerBulkTargetDuration = workerBulkTargetDuration;
+    }
+
+    /**
+     * Getter
+     *
+     * @return identifierMapHeapThreshold
+     */
+    public Long getIdentifierMapHeapThreshold() {
+        return identifierMapHeapThreshold;
+    }
+
+    /**
+     * Setter
+     *
+     * @param identifierMapHeapThreshold
+     */
+    public void setIdentifierMapHeapThreshold(Long identifierMapHeapThreshold) {
+        this.identifierMapHeapThreshold = identifierMapHeapThreshold;
+    }
+
 
     /**
      * Getter
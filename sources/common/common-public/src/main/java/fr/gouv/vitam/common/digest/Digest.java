@@ -146,16 +146,13 @@ public class Digest {
         if (length == 0) {
             return this;
         }
-        byte[] newbuf;
-        int start = 0;
         if (buffer.hasArray()) {
-            start = buffer.arrayOffset();
-            newbuf = buffer.array();
-        } else {
-            newbuf = new byte[length];
-            buffer.get(newbuf);
+            return update(buffer.array(), buffer.arrayOffset(), length);
         }
-        return update(newbuf, start, length);
+        // Direct or mapped buffer : digested in place, without copy on heap
+        finalized = null;
+        messageDigest.update(buffer);
+        return this;
     }
 
     /**
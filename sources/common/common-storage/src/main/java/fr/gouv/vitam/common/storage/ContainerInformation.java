@@ -37,6 +37,16 @@ public class ContainerInformation {
      */
     private long usableSpace;
 
+    /**
+     * Number of objects of the container, -1 if not specified
+     */
+    private long objectCount = -1L;
+
+    /**
+     * Total size in byte of the objects of the container, -1 if not specified
+     */
+    private long usedSpace = -1L;
+
     /**
      * 
      * Get usable space
@@ -56,4 +66,42 @@ public class ContainerInformation {
     public void setUsableSpace(long usableSpace) {
         this.usableSpace = usableSpace;
     }
+
+    /**
+     * Get object count
+     *
+     * @return number of objects of the container, <br>
+     *         return -1 if object count not specified
+     */
+    public long getObjectCount() {
+        return objectCount;
+    }
+
+    /**
+     * Set object count
+     *
+     * @param objectCount number of objects of the container
+     */
+    public void setObjectCount(long objectCount) {
+        this.objectCount = objectCount;
+    }
+
+    /**
+     * Get used space
+     *
+     * @return total size in byte of the objects of the container, <br>
+     *         return -1 if used space not specified
+     */
+    public long getUsedSpace() {
+        return usedSpace;
+    }
+
+    /**
+     * Set used space
+     *
+     * @param usedSpace total size in byte of the objects of the container
+     */
+    public void setUsedSpace(long usedSpace) {
+        this.usedSpace = usedSpace;
+    }
 }
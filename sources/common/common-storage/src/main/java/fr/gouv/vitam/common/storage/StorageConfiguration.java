@@ -110,6 +110,36 @@ public class StorageConfiguration extends DefaultVitamApplicationConfiguration {
      * S3 client execution timeout
      */
     private int s3ClientExecutionTimeout;
+    /**
+     * S3 size (in bytes) above which objects are uploaded in multiple parts (0 to disable multipart upload)
+     */
+    private long s3MultipartThreshold = 104_857_600L;
+    /**
+     * S3 size (in bytes) of the parts of multipart uploads and of the ranges of parallel downloads
+     */
+    private long s3PartSize = 16_777_216L;
+    /**
+     * S3 number of parts of an object uploaded concurrently, each one buffered off heap
+     */
+    private int s3UploadParallelism = 4;
+    /**
+     * S3 number of ranges of an object downloaded in advance (1 to disable ranged downloads)
+     */
+    private int s3DownloadParallelism = 1;
+    /**
+     * Swift number of segments of a large object uploaded concurrently, each one buffered off heap (1 to upload
+     * segments sequentially without buffering)
+     */
+    private int swiftUploadParallelism = 4;
+    /**
+     * Swift size (in bytes) of the segments of a large object uploaded in parallel, bounded by the Swift object limit
+     */
+    private long swiftUploadSegmentSize = 104_857_600L;
+    /**
+     * Number of objects whose digest is computed concurrently on bulk digest checks. Digest computation of a
+     * filesystem offer is I/O bound : keep it close to the number of disks of the storage path.
+     */
+    private int digestComputationParallelism = 4;
 
     /**
      * Tape library configuration
@@ -450,6 +480,69 @@ public class StorageConfiguration extends DefaultVitamApplicationConfiguration {
         return this;
     }
 
+    public long getS3MultipartThreshold() {
+        return s3MultipartThreshold;
+    }
+
+    public StorageConfiguration setS3MultipartThreshold(long s3MultipartThreshold) {
+        this.s3MultipartThreshold = s3MultipartThreshold;
+        return this;
+    }
+
+    public long getS3PartSize() {
+        return s3PartSize;
+    }
+
+    public StorageConfiguration setS3PartSize(long s3PartSize) {
+        this.s3PartSize = s3PartSize;
+        return this;
+    }
+
+    public int getS3UploadParallelism() {
+        return s3UploadParallelism;
+    }
+
+    public StorageConfiguration setS3UploadParallelism(int s3UploadParallelism) {
+        this.s3UploadParallelism = s3UploadParallelism;
+        return this;
+    }
+
+    public int getS3DownloadParallelism() {
+        return s3DownloadParallelism;
+    }
+
+    public StorageConfiguration setS3DownloadParallelism(int s3DownloadParallelism) {
+        this.s3DownloadParallelism = s3DownloadParallelism;
+        return this;
+    }
+
+    public int getSwiftUploadParallelism() {
+        return swiftUploadParallelism;
+    }
+
+    public StorageConfiguration setSwiftUploadParallelism(int swiftUploadParallelism) {
+        this.swiftUploadParallelism = swiftUploadParallelism;
+        return this;
+    }
+
+    public long getSwiftUploadSegmentSize() {
+        return swiftUploadSegmentSize;
+    }
+
+    public StorageConfiguration setSwiftUploadSegmentSize(long swiftUploadSegmentSize) {
+        this.swiftUploadSegmentSize = swiftUploadSegmentSize;
+        return this;
+    }
+
+    public int getDigestComputationParallelism() {
+        return digestComputationParallelism;
+    }
+
+    public StorageConfiguration setDigestComputationParallelism(int digestComputationParallelism) {
+        this.digestComputationParallelism = digestComputationParallelism;
+        return this;
+    }
+
     public TapeLibraryConfiguration getTapeLibraryConfiguration() {
         return tapeLibraryConfiguration;
     }
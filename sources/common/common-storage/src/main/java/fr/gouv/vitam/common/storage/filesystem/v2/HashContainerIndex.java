@@ -0,0 +1,320 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.common.storage.filesystem.v2;
+
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.thread.VitamThreadFactory;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Persistent statistics (object count and total size) of the containers of the HashFileSystem.
+ *
+ * Statistics are maintained incrementally on object writes and deletions, in an append-only journal of deltas per
+ * container stored in the index directory. The journal is compacted into a single entry when loaded and every
+ * MAX_JOURNAL_ENTRIES updates. Each delta is appended synchronously, under the lock of the container, which the
+ * HashFileSystem also holds while writing or deleting the object : writes and deletions of a same container are
+ * serialized.
+ *
+ * Containers created before the index existed are walked once, in background, on first statistics request. Their
+ * statistics are unknown until the walk is done, and writes or deletions done during the walk may be counted twice.
+ *
+ * Counters are never reconciled with the content of the container : they may drift if the offer stops between an
+ * object write (or deletion) and the journal append. Deleting the index file of a container forces a new walk.
+ */
+public class HashContainerIndex {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(HashContainerIndex.class);
+
+    private static final String FIELD_SEPARATOR = ";";
+    private static final String TMP_EXTENSION = ".tmp";
+    private static final int MAX_JOURNAL_ENTRIES = 100_000;
+
+    /**
+     * Walks are I/O bound : they are done one at a time, whatever the number of containers and file systems
+     */
+    private static final ExecutorService WALK_EXECUTOR =
+        Executors.newSingleThreadExecutor(VitamThreadFactory.getInstance());
+
+    private final HashFileSystemHelper fsHelper;
+    private final Map<String, ContainerStatistics> statistics = new ConcurrentHashMap<>();
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+    /**
+     * Deltas recorded while a container is walked, per container
+     */
+    private final Map<String, ContainerStatistics> pendingWalks = new ConcurrentHashMap<>();
+
+    /**
+     * @param fsHelper the helper of the file system
+     */
+    public HashContainerIndex(HashFileSystemHelper fsHelper) {
+        this.fsHelper = fsHelper;
+    }
+
+    /**
+     * Initializes the index of a newly created (hence empty) container
+     *
+     * @param containerName the container name
+     * @throws ContentAddressableStorageServerException on I/O error
+     */
+    public void initializeContainer(String containerName) throws ContentAddressableStorageServerException {
+        synchronized (getLock(containerName)) {
+            ContainerStatistics containerStatistics = new ContainerStatistics(0L, 0L);
+            try {
+                compact(containerName, containerStatistics);
+            } catch (IOException e) {
+                throw new ContentAddressableStorageServerException(
+                    "Could not initialize index of container " + containerName, e);
+            }
+            statistics.put(containerName, containerStatistics);
+        }
+    }
+
+    /**
+     * Records the write of an object
+     *
+     * @param containerName the container name
+     * @param previousSize the size of the overwritten object, null if the object did not exist
+     * @param size the size of the written object
+     */
+    public void objectWritten(String containerName, Long previousSize, long size) {
+        if (previousSize == null) {
+            update(containerName, 1L, size);
+        } else {
+            update(containerName, 0L, size - previousSize);
+        }
+    }
+
+    /**
+     * Records the deletion of an object
+     *
+     * @param containerName the container name
+     * @param size the size of the deleted object
+     */
+    public void objectDeleted(String containerName, long size) {
+        update(containerName, -1L, -size);
+    }
+
+    /**
+     * Gets the statistics of a container. If the container has no index yet, its directory is walked in background
+     *
+     * @param containerName the container name
+     * @return the container statistics, null if unknown until the container is walked
+     * @throws ContentAddressableStorageServerException on I/O error
+     */
+    public ContainerStatistics getStatistics(String containerName) throws ContentAddressableStorageServerException {
+        synchronized (getLock(containerName)) {
+            try {
+                ContainerStatistics containerStatistics = load(containerName);
+                if (containerStatistics == null) {
+                    startWalk(containerName);
+                    return null;
+                }
+                return new ContainerStatistics(containerStatistics.objectCount, containerStatistics.totalSize);
+            } catch (IOException e) {
+                throw new ContentAddressableStorageServerException(
+                    "Could not load index of container " + containerName, e);
+            }
+        }
+    }
+
+    private void update(String containerName, long objectCountDelta, long sizeDelta) {
+        synchronized (getLock(containerName)) {
+            try {
+                ContainerStatistics containerStatistics = load(containerName);
+                if (containerStatistics == null) {
+                    // No index yet : will be built by walking the container when requested
+                    ContainerStatistics walkDeltas = pendingWalks.get(containerName);
+                    if (walkDeltas != null) {
+                        walkDeltas.objectCount += objectCountDelta;
+                        walkDeltas.totalSize += sizeDelta;
+                    }
+                    return;
+                }
+                Files.write(fsHelper.getPathContainerIndex(containerName),
+                    Collections.singletonList(objectCountDelta + FIELD_SEPARATOR + sizeDelta),
+                    StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+                containerStatistics.objectCount += objectCountDelta;
+                containerStatistics.totalSize += sizeDelta;
+                containerStatistics.journalEntries++;
+                if (containerStatistics.journalEntries >= MAX_JOURNAL_ENTRIES) {
+                    compact(containerName, containerStatistics);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Could not update index of container " + containerName + ". Index will be rebuilt", e);
+                invalidate(containerName);
+            }
+        }
+    }
+
+    private ContainerStatistics load(String containerName) throws IOException {
+        ContainerStatistics containerStatistics = statistics.get(containerName);
+        if (containerStatistics != null) {
+            return containerStatistics;
+        }
+        Path indexPath = fsHelper.getPathContainerIndex(containerName);
+        if (!Files.isRegularFile(indexPath)) {
+            return null;
+        }
+
+        containerStatistics = new ContainerStatistics(0L, 0L);
+        try (BufferedReader reader = Files.newBufferedReader(indexPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] fields = line.split(FIELD_SEPARATOR);
+                containerStatistics.objectCount += Long.parseLong(fields[0]);
+                containerStatistics.totalSize += Long.parseLong(fields[1]);
+                containerStatistics.journalEntries++;
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            LOGGER.warn("Corrupted index for container " + containerName + ". Index will be rebuilt", e);
+            invalidate(containerName);
+            return null;
+        }
+
+        if (containerStatistics.journalEntries > 1) {
+            compact(containerName, containerStatistics);
+        }
+        statistics.put(containerName, containerStatistics);
+        return containerStatistics;
+    }
+
+    private void startWalk(String containerName) {
+        if (pendingWalks.putIfAbsent(containerName, new ContainerStatistics(0L, 0L)) != null) {
+            // Already being walked
+            return;
+        }
+        LOGGER.info("No index found for container " + containerName + ". Walking container");
+        WALK_EXECUTOR.execute(() -> buildIndex(containerName));
+    }
+
+    private void buildIndex(String containerName) {
+        try {
+            // Not under the container lock : writes and deletions are not blocked during the walk
+            ContainerStatistics containerStatistics = walk(containerName);
+            synchronized (getLock(containerName)) {
+                ContainerStatistics walkDeltas = pendingWalks.remove(containerName);
+                containerStatistics.objectCount += walkDeltas.objectCount;
+                containerStatistics.totalSize += walkDeltas.totalSize;
+                compact(containerName, containerStatistics);
+                statistics.put(containerName, containerStatistics);
+            }
+            LOGGER.info("Index of container " + containerName + " built");
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Could not walk container " + containerName + ". Index will be rebuilt", e);
+            pendingWalks.remove(containerName);
+        }
+    }
+
+    private ContainerStatistics walk(String containerName) throws IOException {
+        ContainerStatistics containerStatistics = new ContainerStatistics(0L, 0L);
+        Files.walkFileTree(fsHelper.getPathContainer(containerName), new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile()) {
+                    containerStatistics.objectCount++;
+                    containerStatistics.totalSize += attrs.size();
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return containerStatistics;
+    }
+
+    private void compact(String containerName, ContainerStatistics containerStatistics) throws IOException {
+        Path indexPath = fsHelper.getPathContainerIndex(containerName);
+        Path tmpIndexPath = indexPath.resolveSibling(indexPath.getFileName() + TMP_EXTENSION);
+        Files.createDirectories(indexPath.getParent());
+        Files.write(tmpIndexPath, Collections.singletonList(
+            containerStatistics.objectCount + FIELD_SEPARATOR + containerStatistics.totalSize),
+            StandardCharsets.UTF_8);
+        Files.move(tmpIndexPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        containerStatistics.journalEntries = 1;
+    }
+
+    private void invalidate(String containerName) {
+        statistics.remove(containerName);
+        try {
+            Files.deleteIfExists(fsHelper.getPathContainerIndex(containerName));
+        } catch (IOException e) {
+            LOGGER.error("Could not delete index of container " + containerName, e);
+        }
+    }
+
+    /**
+     * Gets the lock of a container, under which its index is updated. Callers hold it around an object write or
+     * deletion and the matching index update, so that the recorded deltas match the actual content.
+     *
+     * @param containerName the container name
+     * @return the lock of the container
+     */
+    Object getLock(String containerName) {
+        return locks.computeIfAbsent(containerName, key -> new Object());
+    }
+
+    /**
+     * Object count and total size of the objects of a container
+     */
+    public static class ContainerStatistics {
+
+        private long objectCount;
+        private long totalSize;
+        private int journalEntries;
+
+        ContainerStatistics(long objectCount, long totalSize) {
+            this.objectCount = objectCount;
+            this.totalSize = totalSize;
+        }
+
+        public long getObjectCount() {
+            return objectCount;
+        }
+
+        public long getTotalSize() {
+            return totalSize;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.common.storage.filesystem.v2;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+import fr.gouv.vitam.common.storage.filesystem.v2.metadata.object.HashJcloudsStorageMetadata;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Listing of the objects of a container, in the lexicographic order of the directory tree, that can be resumed page
+ * after page without walking again the directory tree from its root. Only the ordered children of the directories
+ * of the current branch are kept in memory.
+ */
+public class HashFileListCursor {
+
+    private static final int MAX_RESULTS_PER_ITERABLE = 100;
+
+    private final Deque<Iterator<Path>> branch = new ArrayDeque<>();
+    private Path nextFile;
+
+    /**
+     * @param containerPath the container directory
+     * @throws IOException on I/O error
+     */
+    public HashFileListCursor(Path containerPath) throws IOException {
+        branch.push(listOrdered(containerPath));
+        nextFile = findNextFile();
+    }
+
+    /**
+     * Positions the cursor on the first object that is not lower than a marker, by only listing the directories of
+     * the marker branch
+     *
+     * @param containerPath the container directory
+     * @param markerDirectories the directory structure of the marker
+     * @param marker the name of the first object to list
+     * @throws IOException on I/O error
+     */
+    public HashFileListCursor(Path containerPath, List<String> markerDirectories, String marker) throws IOException {
+        Path directory = containerPath;
+        for (String markerDirectory : markerDirectories) {
+            PeekingIterator<Path> children = skipLowerThan(listOrdered(directory), markerDirectory);
+            branch.push(children);
+            if (!children.hasNext() || !children.peek().getFileName().toString().equals(markerDirectory)) {
+                // Marker branch does not exist anymore : listing resumes on the following directories
+                nextFile = findNextFile();
+                return;
+            }
+            directory = children.next();
+        }
+        branch.push(skipLowerThan(listOrdered(directory), marker));
+        nextFile = findNextFile();
+    }
+
+    /**
+     * Lists the next objects
+     *
+     * @return the next page, with the name of the following object as next marker (if any)
+     * @throws IOException on I/O error
+     */
+    public HashPageSet nextPage() throws IOException {
+        HashPageSet hashPageSet = new HashPageSet();
+        while (nextFile != null && hashPageSet.size() < MAX_RESULTS_PER_ITERABLE) {
+            // Object may have been deleted since its directory was listed
+            if (Files.isRegularFile(nextFile)) {
+                hashPageSet.add(new HashJcloudsStorageMetadata(nextFile));
+            }
+            nextFile = findNextFile();
+        }
+        if (nextFile != null) {
+            hashPageSet.setNextMarker(nextFile.getFileName().toString());
+        }
+        return hashPageSet;
+    }
+
+    private Path findNextFile() throws IOException {
+        while (!branch.isEmpty()) {
+            Iterator<Path> children = branch.peek();
+            if (!children.hasNext()) {
+                branch.pop();
+                continue;
+            }
+            Path child = children.next();
+            if (Files.isDirectory(child)) {
+                branch.push(listOrdered(child));
+            } else if (Files.isRegularFile(child)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private static PeekingIterator<Path> skipLowerThan(Iterator<Path> children, String name) {
+        PeekingIterator<Path> peekingIterator = Iterators.peekingIterator(children);
+        while (peekingIterator.hasNext() && peekingIterator.peek().getFileName().toString().compareTo(name) < 0) {
+            peekingIterator.next();
+        }
+        return peekingIterator;
+    }
+
+    private static Iterator<Path> listOrdered(Path directory) throws IOException {
+        List<Path> children = new ArrayList<>();
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory)) {
+            for (Path child : directoryStream) {
+                children.add(child);
+            }
+        } catch (NoSuchFileException e) {
+            // Directory removed (last object deleted) since its parent was listed
+            return Collections.emptyIterator();
+        }
+        children.sort(Comparator.comparing(Path::getFileName));
+        return children.iterator();
+    }
+}
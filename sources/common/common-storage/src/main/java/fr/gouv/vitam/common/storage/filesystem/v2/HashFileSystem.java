@@ -28,6 +28,8 @@ package fr.gouv.vitam.common.storage.filesystem.v2;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import fr.gouv.vitam.common.ParametersChecker;
 import fr.gouv.vitam.common.VitamConfiguration;
 import fr.gouv.vitam.common.digest.Digest;
@@ -56,6 +58,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.file.DirectoryNotEmptyException;
 import java.nio.file.FileAlreadyExistsException;
@@ -65,6 +68,7 @@ import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributeView;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.UserDefinedFileAttributeView;
@@ -77,8 +81,23 @@ import java.util.concurrent.TimeUnit;
 public class HashFileSystem extends ContentAddressableStorageAbstract {
 
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(HashFileSystem.class);
+    /**
+     * Files at least this large are digested through memory mapped windows instead of a heap buffer
+     */
+    private static final long MAPPED_DIGEST_THRESHOLD = 4L * 1024 * 1024;
+    private static final long MAPPED_DIGEST_WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final int MAX_LISTING_CURSORS = 1000;
+    private static final int LISTING_CURSOR_TIMEOUT_IN_MINUTES = 10;
     private final String storagePath;
     private HashFileSystemHelper fsHelper;
+    private final HashContainerIndex containerIndex;
+    /**
+     * Listing cursors of the containers by next marker, to resume a listing without walking again the container
+     */
+    private final Cache<String, HashFileListCursor> listingCursors = CacheBuilder.newBuilder()
+        .maximumSize(MAX_LISTING_CURSORS)
+        .expireAfterAccess(LISTING_CURSOR_TIMEOUT_IN_MINUTES, TimeUnit.MINUTES)
+        .build();
 
     /**
      * @param configuration
@@ -89,6 +108,7 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
         ParametersChecker.checkParameter("StoragePath can't be null", configuration.getStoragePath());
         storagePath = configuration.getStoragePath();
         fsHelper = new HashFileSystemHelper(storagePath);
+        containerIndex = new HashContainerIndex(fsHelper);
         File f = new File(storagePath);
         if (!f.exists()) {
             throw new IllegalArgumentException("The storage path doesn't exist");
@@ -108,6 +128,7 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
                 return;
             }
             fsHelper.createContainer(containerName);
+            containerIndex.initializeContainer(containerName);
         }
     }
 
@@ -145,8 +166,14 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
             Digest digest = new Digest(digestType);
             InputStream digestInputStream = digest.getDigestInputStream(stream);
 
-            // Create the file from the InputStream
-            Files.copy(digestInputStream, filePath, StandardCopyOption.REPLACE_EXISTING);
+            // Under the container lock, so that a concurrent write or deletion of the same object cannot change the
+            // previous size between its read and the index update
+            synchronized (containerIndex.getLock(containerName)) {
+                Long previousSize = Files.isRegularFile(filePath) ? Files.size(filePath) : null;
+                // Create the file from the InputStream
+                long writtenSize = Files.copy(digestInputStream, filePath, StandardCopyOption.REPLACE_EXISTING);
+                containerIndex.objectWritten(containerName, previousSize, writtenSize);
+            }
 
             String streamDigest = digest.digestHex();
 
@@ -206,7 +233,11 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
         Path filePath = fsHelper.getPathObject(containerName, objectName);
         // Delete file
         try {
-            Files.delete(filePath);
+            synchronized (containerIndex.getLock(containerName)) {
+                long size = Files.size(filePath);
+                Files.delete(filePath);
+                containerIndex.objectDeleted(containerName, size);
+            }
         } catch (NoSuchFileException e) {
             throw new ContentAddressableStorageNotFoundException(ErrorMessage.OBJECT_NOT_FOUND + objectName, e);
         } catch (IOException e) {
@@ -270,6 +301,46 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
         return digest;
     }
 
+    /**
+     * Computes the digest of the object file directly from a file channel. Large files are mapped in memory by
+     * windows, so that the digest is computed from the page cache without copying the content to the heap.
+     */
+    @Override
+    protected String computeObjectDigest(String containerName, String objectName, DigestType algo)
+        throws ContentAddressableStorageException {
+
+        ParametersChecker.checkParameter(ErrorMessage.ALGO_IS_A_MANDATORY_PARAMETER.getMessage(), algo);
+        Path filePath = fsHelper.getPathObject(containerName, objectName);
+        if (!Files.isRegularFile(filePath)) {
+            throw new ContentAddressableStorageNotFoundException(
+                objectName + " in container " + containerName + " not found");
+        }
+
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        try {
+            SafeFileChecker.checkSafeFilePath(fsHelper.getPathContainer(containerName).toString(), objectName);
+            try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+                Digest digest = new Digest(algo);
+                long size = fileChannel.size();
+                if (size < MAPPED_DIGEST_THRESHOLD) {
+                    digest.update(fileChannel);
+                } else {
+                    for (long position = 0; position < size; position += MAPPED_DIGEST_WINDOW_SIZE) {
+                        long windowSize = Math.min(MAPPED_DIGEST_WINDOW_SIZE, size - position);
+                        digest.update(fileChannel.map(FileChannel.MapMode.READ_ONLY, position, windowSize));
+                    }
+                }
+                return digest.digestHex();
+            }
+        } catch (IOException e) {
+            throw new ContentAddressableStorageException(
+                "I/O error on computing digest of object " + objectName + " in the container " + containerName, e);
+        } finally {
+            PerformanceLogger.getInstance().log("STP_Offer_" + getConfiguration().getProvider(), containerName,
+                "COMPUTE_DIGEST_FROM_FILE", stopwatch.elapsed(TimeUnit.MILLISECONDS));
+        }
+    }
+
     /**
      * @param containerName the container name
      * @param objectName    the object name
@@ -326,7 +397,6 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
         }
     }
 
-    // TODO : manage used information per container
     @Override
     public ContainerInformation getContainerInformation(String containerName)
             throws ContentAddressableStorageNotFoundException, ContentAddressableStorageServerException {
@@ -343,6 +413,14 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
         final long usableSpace = containerDir.getUsableSpace();
         final ContainerInformation containerInformation = new ContainerInformation();
         containerInformation.setUsableSpace(usableSpace);
+        if (!containerName.isEmpty()) {
+            HashContainerIndex.ContainerStatistics statistics = containerIndex.getStatistics(containerName);
+            // Unknown until the container is indexed
+            if (statistics != null) {
+                containerInformation.setObjectCount(statistics.getObjectCount());
+                containerInformation.setUsedSpace(statistics.getTotalSize());
+            }
+        }
         return containerInformation;
     }
 
@@ -376,13 +454,13 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
                 .checkParameter(ErrorMessage.CONTAINER_NAME_IS_A_MANDATORY_PARAMETER.getMessage(), containerName);
         fsHelper.checkContainerPathTraversal(containerName);
         Path p = fsHelper.getPathContainer(containerName);
-        HashFileListVisitor hfv = new HashFileListVisitor();
         try {
-            fsHelper.walkFileTreeOrdered(p, hfv);
+            HashFileListCursor cursor = new HashFileListCursor(p);
+            return nextPage(containerName, cursor);
         } catch (IOException e) {
             LOGGER.error(e);
+            return new HashPageSet();
         }
-        return hfv.getPageSet();
     }
 
     @Override
@@ -391,12 +469,15 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
         ParametersChecker
                 .checkParameter(ErrorMessage.CONTAINER_NAME_IS_A_MANDATORY_PARAMETER.getMessage(), containerName);
 
-        HashFileListVisitor hfv = new HashFileListVisitor(fsHelper.splitObjectId(nextMarker), nextMarker);
         fsHelper.checkContainerPathTraversal(containerName);
+        HashFileListCursor cursor = listingCursors.asMap().remove(getListingCursorKey(containerName, nextMarker));
         Path p = fsHelper.getPathContainer(containerName);
         try {
-            fsHelper.walkFileTreeOrdered(p, hfv);
-            return hfv.getPageSet();
+            if (cursor == null) {
+                // Cursor expired or listing started by another instance : position a new cursor on the marker
+                cursor = new HashFileListCursor(p, fsHelper.splitObjectId(nextMarker), nextMarker);
+            }
+            return nextPage(containerName, cursor);
         } catch (IOException e) {
             LOGGER.error(e.getMessage());
             throw new ContentAddressableStorageServerException(e);
@@ -404,6 +485,18 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
 
     }
 
+    private HashPageSet nextPage(String containerName, HashFileListCursor cursor) throws IOException {
+        HashPageSet pageSet = cursor.nextPage();
+        if (pageSet.getNextMarker() != null) {
+            listingCursors.put(getListingCursorKey(containerName, pageSet.getNextMarker()), cursor);
+        }
+        return pageSet;
+    }
+
+    private String getListingCursorKey(String containerName, String nextMarker) {
+        return containerName + "/" + nextMarker;
+    }
+
     @Override
     public void close() {
         // Nothing to do
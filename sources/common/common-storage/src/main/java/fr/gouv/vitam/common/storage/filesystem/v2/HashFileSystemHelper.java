@@ -36,19 +36,12 @@ import fr.gouv.vitam.common.security.SafeFileChecker;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageNotFoundException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerException;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
-import java.nio.file.FileVisitResult;
-import java.nio.file.FileVisitor;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.BasicFileAttributes;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -63,6 +56,7 @@ public class HashFileSystemHelper {
     private FileSystem fs = FileSystems.getDefault();
     private final String SEPARATOR = fs.getSeparator();
     private static final String CONTAINER_SUBDIRECTORY = "container";
+    private static final String INDEX_SUBDIRECTORY = "index";
     private static final String PATH_TRAVERSAL_FOUND_ERROR_MESSAGE = "Invalid or infected container/object path";
 
     /**
@@ -92,6 +86,16 @@ public class HashFileSystemHelper {
         return fs.getPath(rootPath, CONTAINER_SUBDIRECTORY, containerName);
     }
 
+    /**
+     * Get the path of the index file of a container (outside of the container directory)
+     *
+     * @param containerName
+     * @return the Path Object representing the container index file
+     */
+    public Path getPathContainerIndex(String containerName) {
+        return fs.getPath(rootPath, INDEX_SUBDIRECTORY, containerName);
+    }
+
     /**
      * Split objectId without extension
      *
@@ -197,47 +201,6 @@ public class HashFileSystemHelper {
         }
     }
 
-    /**
-     * A walkFile where we goes in the child in the lexicographic order
-     *
-     * @param directory : root of the tree that will be visited
-     * @param fv        : FileVisitor which will be used for the action
-     * @return FileVisitResult (only useful for the recursive call and not for the external call)
-     * @throws IOException
-     */
-    public FileVisitResult walkFileTreeOrdered(Path directory, FileVisitor<Path> fv) throws IOException {
-        try (DirectoryStream<Path> dsp = Files.newDirectoryStream(directory)) {
-            FileVisitResult fvr =
-                fv.preVisitDirectory(directory, Files.readAttributes(directory, BasicFileAttributes.class));
-            // If we skip the subtree, do nothing
-            if (fvr.equals(FileVisitResult.SKIP_SUBTREE)) {
-                return FileVisitResult.SKIP_SUBTREE;
-            }
-            // Create an ordered list of the directory children
-            ArrayList<Path> l = new ArrayList<>();
-            for (Path p : dsp) {
-                l.add(p);
-            }
-            l.sort(new ComparatorPath());
-            for (Path p : l) {
-                File f = p.toFile();
-                if (f.isDirectory()) {
-                    if (walkFileTreeOrdered(p, fv) == FileVisitResult.TERMINATE) {
-                        return FileVisitResult.TERMINATE;
-                    }
-                } else if (f.isFile()) {
-                    fvr = fv.visitFile(p, Files.readAttributes(p, BasicFileAttributes.class));
-                    // Don't visit the brother on TERMINATE but continue the search
-                    if (fvr.equals(FileVisitResult.TERMINATE)) {
-                        return FileVisitResult.TERMINATE;
-                    }
-                }
-            }
-            fv.postVisitDirectory(directory, null);
-        }
-        return FileVisitResult.CONTINUE;
-    }
-
     public void checkContainerPathTraversal(String  containerName) throws ContentAddressableStorageServerException {
         try {
             SafeFileChecker.checkSafeFilePath(rootPath, CONTAINER_SUBDIRECTORY, containerName);
@@ -247,15 +210,4 @@ public class HashFileSystemHelper {
 
     }
 
-    /**
-     * Have a comparator on Path based on the lexicographic order of the FileName
-     */
-    private static class ComparatorPath implements Comparator<Path> {
-        @Override
-        public int compare(Path path1, Path path2) {
-            return path1.getFileName().compareTo(path2.getFileName());
-        }
-
-    }
-
 }
@@ -36,16 +36,23 @@ import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.internal.BucketNameUtils;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
 import com.amazonaws.services.s3.model.CopyObjectResult;
+import com.amazonaws.services.s3.model.CopyPartRequest;
 import com.amazonaws.services.s3.model.DeleteObjectRequest;
 import com.amazonaws.services.s3.model.GetObjectMetadataRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
 import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.UploadPartRequest;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
 import fr.gouv.vitam.common.ParametersChecker;
@@ -63,7 +70,9 @@ import fr.gouv.vitam.common.storage.cas.container.api.ObjectContent;
 import fr.gouv.vitam.common.storage.cas.container.api.VitamPageSet;
 import fr.gouv.vitam.common.storage.cas.container.api.VitamStorageMetadata;
 import fr.gouv.vitam.common.storage.constants.ErrorMessage;
+import fr.gouv.vitam.common.storage.utils.SegmentBufferPool;
 import fr.gouv.vitam.common.stream.SizedInputStream;
+import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageNotFoundException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerException;
@@ -77,11 +86,15 @@ import javax.net.ssl.SSLContext;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -96,12 +109,25 @@ public class AmazonS3V1 extends ContentAddressableStorageAbstract {
     private static final String X_OBJECT_META_DIGEST = "Digest";
     private static final String X_OBJECT_META_DIGEST_TYPE = "Digest-Type";
     private static final HostnameVerifier ALLOW_ALL_HOSTNAME_VERIFIER = NoopHostnameVerifier.INSTANCE;
+    private static final int MAX_PARTS = 10_000;
+    private static final int PART_UPLOAD_RETRIES = 3;
+    /**
+     * Max size of an object copied in a single request, and size of the parts of larger copies
+     */
+    private static final long MAX_COPY_SIZE = 5L * 1024 * 1024 * 1024;
+    private static final long COPY_PART_SIZE = 1024L * 1024 * 1024;
+    private static final int RANGE_NOT_SATISFIABLE = 416;
 
     /**
      * Amazon SDK S3 V1 client
      */
     private final AmazonS3 client;
 
+    /**
+     * Pool of the buffers of the parts uploaded in parallel, null if multipart upload is disabled
+     */
+    private final SegmentBufferPool partBufferPool;
+
     /**
      * Constructor
      *
@@ -153,12 +179,22 @@ public class AmazonS3V1 extends ContentAddressableStorageAbstract {
         this.client = AmazonS3ClientBuilder.standard().withCredentials(new AWSStaticCredentialsProvider(credentials))
             .withClientConfiguration(clientConfig).withEndpointConfiguration(endpointConfiguration)
             .withPathStyleAccessEnabled(configuration.isS3PathStyleAccessEnabled()).build();
+        this.partBufferPool = createPartBufferPool(configuration);
     }
 
     @VisibleForTesting
     AmazonS3V1(StorageConfiguration configuration, AmazonS3 client) {
         super(configuration);
         this.client = client;
+        this.partBufferPool = createPartBufferPool(configuration);
+    }
+
+    private static SegmentBufferPool createPartBufferPool(StorageConfiguration configuration) {
+        if (configuration.getS3MultipartThreshold() <= 0) {
+            return null;
+        }
+        int partSize = (int) Math.min(configuration.getS3PartSize(), Integer.MAX_VALUE - 8);
+        return new SegmentBufferPool(partSize, Math.max(1, configuration.getS3UploadParallelism()));
     }
 
     @Override
@@ -236,7 +272,7 @@ public class AmazonS3V1 extends ContentAddressableStorageAbstract {
                     + streamDigest + " is not equal to computed digest " + computedDigest);
         }
 
-        storeDigest(containerName, objectName, digestType, streamDigest, bucketName);
+        storeDigest(containerName, objectName, digestType, streamDigest, bucketName, size);
 
         return streamDigest;
     }
@@ -245,10 +281,14 @@ public class AmazonS3V1 extends ContentAddressableStorageAbstract {
         throws ContentAddressableStorageServerException, ContentAddressableStorageNotFoundException {
         Stopwatch times = Stopwatch.createStarted();
         try {
-            ObjectMetadata objectMetadata = new ObjectMetadata();
-            objectMetadata.setContentLength(size);
             try {
-                client.putObject(bucketName, objectName, stream, objectMetadata);
+                if (partBufferPool != null && size > getConfiguration().getS3MultipartThreshold()) {
+                    storeMultipartObject(containerName, objectName, stream, size, bucketName);
+                } else {
+                    ObjectMetadata objectMetadata = new ObjectMetadata();
+                    objectMetadata.setContentLength(size);
+                    client.putObject(bucketName, objectName, stream, objectMetadata);
+                }
             } catch (AmazonServiceException e) {
                 LOGGER.debug(
                     String.format("Error when trying to upload object %s in container %s. Reason: errorMessage=%s",
@@ -273,8 +313,116 @@ public class AmazonS3V1 extends ContentAddressableStorageAbstract {
         }
     }
 
+    /**
+     * Upload the object as parts read from the stream into pooled buffers and sent concurrently. The upload is
+     * aborted if a part fails after its retries, or if the stream ends prematurely (the size check of the caller
+     * then fails).
+     */
+    private void storeMultipartObject(String containerName, String objectName, InputStream stream, long size,
+        String bucketName) throws ContentAddressableStorageServerException {
+        int partSize = partBufferPool.getBufferSize();
+        if ((size + partSize - 1) / partSize > MAX_PARTS) {
+            throw new ContentAddressableStorageServerException(
+                "Object " + objectName + " of size " + size + " exceeds " + MAX_PARTS + " parts of " + partSize +
+                    " bytes");
+        }
+        String uploadId =
+            client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, objectName)).getUploadId();
+        final List<CompletableFuture<PartETag>> partUploads = new ArrayList<>();
+        boolean completed = false;
+        try {
+            int partNumber = 1;
+            long sizeRead = 0;
+            while (sizeRead < size) {
+                // Stop reading as soon as a part failed
+                if (partUploads.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                    break;
+                }
+                final ByteBuffer buffer = partBufferPool.acquire();
+                final int length;
+                try {
+                    length = SegmentBufferPool.fill(stream, buffer, (int) Math.min(partSize, size - sizeRead));
+                } catch (IOException | RuntimeException e) {
+                    partBufferPool.release(buffer);
+                    throw new ContentAddressableStorageServerException("Cannot read object " + objectName, e);
+                }
+                if (length == 0) {
+                    partBufferPool.release(buffer);
+                    return;
+                }
+                sizeRead += length;
+                final int part = partNumber++;
+                partUploads.add(CompletableFuture
+                    .supplyAsync(() -> uploadPart(containerName, objectName, bucketName, uploadId, part, buffer),
+                        VitamThreadPoolExecutor.getDefaultExecutor())
+                    .whenComplete((result, e) -> partBufferPool.release(buffer)));
+            }
+            List<PartETag> partETags = new ArrayList<>();
+            for (CompletableFuture<PartETag> partUpload : partUploads) {
+                partETags.add(partUpload.join());
+            }
+            client.completeMultipartUpload(
+                new CompleteMultipartUploadRequest(bucketName, objectName, uploadId, partETags));
+            completed = true;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SdkBaseException) {
+                throw (SdkBaseException) e.getCause();
+            }
+            throw new ContentAddressableStorageServerException("Cannot upload parts of object " + objectName,
+                e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContentAddressableStorageServerException("Interrupted while uploading " + objectName, e);
+        } finally {
+            // Never leave running uploads on reused buffers
+            CompletableFuture.allOf(partUploads.toArray(new CompletableFuture[0])).handle((result, e) -> null)
+                .join();
+            if (!completed) {
+                abortMultipartUpload(containerName, objectName, bucketName, uploadId);
+            }
+        }
+    }
+
+    private PartETag uploadPart(String containerName, String objectName, String bucketName, String uploadId,
+        int partNumber, ByteBuffer buffer) {
+        for (int attempt = 1; ; attempt++) {
+            Stopwatch times = Stopwatch.createStarted();
+            try {
+                UploadPartRequest request = new UploadPartRequest().withBucketName(bucketName).withKey(objectName)
+                    .withUploadId(uploadId).withPartNumber(partNumber).withPartSize(buffer.limit())
+                    .withInputStream(SegmentBufferPool.asInputStream(buffer));
+                PartETag partETag = client.uploadPart(request).getPartETag();
+                PerformanceLogger.getInstance().log("STP_Offer_" + getConfiguration().getProvider(), containerName,
+                    "REAL_S3_PUT_OBJECT_PART", times.elapsed(TimeUnit.MILLISECONDS));
+                return partETag;
+            } catch (AmazonServiceException e) {
+                // Client errors (missing bucket or upload...) will not be fixed by a retry
+                if (attempt >= PART_UPLOAD_RETRIES || e.getStatusCode() < 500) {
+                    throw e;
+                }
+                LOGGER.warn("Failed to upload part " + partNumber + " of object " + objectName + ", attempt " +
+                    attempt, e);
+            } catch (SdkBaseException e) {
+                if (attempt >= PART_UPLOAD_RETRIES) {
+                    throw e;
+                }
+                LOGGER.warn("Failed to upload part " + partNumber + " of object " + objectName + ", attempt " +
+                    attempt, e);
+            }
+        }
+    }
+
+    private void abortMultipartUpload(String containerName, String objectName, String bucketName, String uploadId) {
+        try {
+            client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, objectName, uploadId));
+        } catch (SdkBaseException e) {
+            LOGGER.warn(String.format("Cannot abort upload %s of object %s in container %s", uploadId, objectName,
+                containerName), e);
+        }
+    }
+
     private void storeDigest(String containerName, String objectName, DigestType digestType, String digest,
-        String bucketName) throws ContentAddressableStorageException {
+        String bucketName, long size) throws ContentAddressableStorageException {
 
         Stopwatch stopwatch = Stopwatch.createStarted();
         ObjectMetadata metadataToUpdate = new ObjectMetadata();
@@ -285,6 +433,12 @@ public class AmazonS3V1 extends ContentAddressableStorageAbstract {
             .withNewObjectMetadata(metadataToUpdate);
 
         try {
+            if (size > MAX_COPY_SIZE) {
+                copyMultipartObject(bucketName, objectName, metadataToUpdate, size);
+                PerformanceLogger.getInstance().log("STP_Offer_" + getConfiguration().getProvider(), containerName,
+                    "STORE_DIGEST_IN_METADATA", stopwatch.elapsed(TimeUnit.MILLISECONDS));
+                return;
+            }
             CopyObjectResult updateMetadataResult = client.copyObject(request);
             if (updateMetadataResult == null) {
                 LOGGER.error("Failed to update object metadata -> remove object");
@@ -303,6 +457,36 @@ public class AmazonS3V1 extends ContentAddressableStorageAbstract {
             "STORE_DIGEST_IN_METADATA", stopwatch.elapsed(TimeUnit.MILLISECONDS));
     }
 
+    /**
+     * Copy an object too large for a single copy request onto itself, with new metadata
+     */
+    private void copyMultipartObject(String bucketName, String objectName, ObjectMetadata metadata, long size) {
+        String uploadId = client
+            .initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, objectName, metadata))
+            .getUploadId();
+        try {
+            List<PartETag> partETags = new ArrayList<>();
+            int partNumber = 1;
+            for (long start = 0; start < size; start += COPY_PART_SIZE) {
+                CopyPartRequest copyPartRequest = new CopyPartRequest().withUploadId(uploadId)
+                    .withSourceBucketName(bucketName).withSourceKey(objectName)
+                    .withDestinationBucketName(bucketName).withDestinationKey(objectName)
+                    .withPartNumber(partNumber++).withFirstByte(start)
+                    .withLastByte(Math.min(start + COPY_PART_SIZE, size) - 1);
+                partETags.add(client.copyPart(copyPartRequest).getPartETag());
+            }
+            client.completeMultipartUpload(
+                new CompleteMultipartUploadRequest(bucketName, objectName, uploadId, partETags));
+        } catch (SdkBaseException e) {
+            try {
+                client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, objectName, uploadId));
+            } catch (SdkBaseException abortException) {
+                e.addSuppressed(abortException);
+            }
+            throw e;
+        }
+    }
+
     @Override
     public ObjectContent getObject(String containerName, String objectName)
         throws ContentAddressableStorageNotFoundException, ContentAddressableStorageException {
@@ -311,7 +495,11 @@ public class AmazonS3V1 extends ContentAddressableStorageAbstract {
             containerName, objectName);
         String bucketName = generateBucketName(containerName);
         GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, objectName);
+        int downloadParallelism = getConfiguration().getS3DownloadParallelism();
         try {
+            if (downloadParallelism > 1) {
+                return getObjectByRanges(bucketName, objectName, downloadParallelism);
+            }
             S3Object object = client.getObject(getObjectRequest);
             long size = object.getObjectMetadata().getContentLength();
             InputStream inputStream = object.getObjectContent().getDelegateStream();
@@ -340,6 +528,37 @@ public class AmazonS3V1 extends ContentAddressableStorageAbstract {
 
     }
 
+    /**
+     * Get the object by a first ranged request, giving the size of the object, then by ranges downloaded in
+     * parallel if the object is larger than a range.
+     */
+    private ObjectContent getObjectByRanges(String bucketName, String objectName, int downloadParallelism) {
+        long rangeSize = getConfiguration().getS3PartSize();
+        S3Object object;
+        try {
+            object = client.getObject(new GetObjectRequest(bucketName, objectName).withRange(0, rangeSize - 1));
+        } catch (AmazonServiceException e) {
+            if (e.getStatusCode() != RANGE_NOT_SATISFIABLE) {
+                throw e;
+            }
+            // Empty object
+            object = client.getObject(new GetObjectRequest(bucketName, objectName));
+        }
+        ObjectMetadata objectMetadata = object.getObjectMetadata();
+        InputStream inputStream = object.getObjectContent().getDelegateStream();
+        if (objectMetadata.getRawMetadataValue(Headers.CONTENT_RANGE) == null) {
+            // Range ignored, the whole object is returned
+            return new ObjectContent(inputStream, objectMetadata.getContentLength());
+        }
+        long size = objectMetadata.getInstanceLength();
+        if (size <= objectMetadata.getContentLength()) {
+            return new ObjectContent(inputStream, size);
+        }
+        return new ObjectContent(
+            new AmazonS3V1RangedInputStream(client, bucketName, objectName, objectMetadata.getETag(), inputStream,
+                objectMetadata.getContentLength(), size, rangeSize, downloadParallelism), size);
+    }
+
     @Override
     public String createReadOrderRequest(String containerName, List<String> objectsIds) {
         throw new UnsupportedOperationException("Operation not supported");
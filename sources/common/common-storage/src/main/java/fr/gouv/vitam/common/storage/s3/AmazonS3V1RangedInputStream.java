@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.common.storage.s3;
+
+import com.amazonaws.SdkBaseException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.stream.StreamUtils;
+import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
+import org.apache.commons.io.IOUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Input stream of a large S3 object, read as consecutive ranges downloaded in parallel.
+ * <p>
+ * The first range is the stream of the initial ranged GET. Following ranges are downloaded in advance, at most
+ * parallelism at a time, and returned in order. Each range is fully buffered, so an open stream holds at most
+ * parallelism * rangeSize bytes. Ranges are bound to the ETag of the first response, so that an object replaced
+ * during the read is detected instead of being mixed up.
+ */
+class AmazonS3V1RangedInputStream extends InputStream {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(AmazonS3V1RangedInputStream.class);
+
+    private static final int RANGE_DOWNLOAD_RETRIES = 3;
+
+    private final AmazonS3 client;
+    private final String bucketName;
+    private final String objectName;
+    private final String eTag;
+    private final long size;
+    private final long rangeSize;
+    private final int parallelism;
+    private final Deque<CompletableFuture<byte[]>> nextRanges = new ArrayDeque<>();
+    private long nextRangeStart;
+    private InputStream currentRange;
+
+    AmazonS3V1RangedInputStream(AmazonS3 client, String bucketName, String objectName, String eTag,
+        InputStream firstRange, long firstRangeLength, long size, long rangeSize, int parallelism) {
+        this.client = client;
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+        this.eTag = eTag;
+        this.size = size;
+        this.rangeSize = rangeSize;
+        this.parallelism = parallelism;
+        this.currentRange = firstRange;
+        this.nextRangeStart = firstRangeLength;
+        scheduleNextRanges();
+    }
+
+    private void scheduleNextRanges() {
+        while (nextRanges.size() < parallelism && nextRangeStart < size) {
+            final long start = nextRangeStart;
+            final long end = Math.min(start + rangeSize, size) - 1;
+            nextRanges.add(CompletableFuture
+                .supplyAsync(() -> downloadRange(start, end), VitamThreadPoolExecutor.getDefaultExecutor()));
+            nextRangeStart = end + 1;
+        }
+    }
+
+    private byte[] downloadRange(long start, long end) {
+        for (int attempt = 1; ; attempt++) {
+            GetObjectRequest request = new GetObjectRequest(bucketName, objectName).withRange(start, end);
+            if (eTag != null) {
+                request.withMatchingETagConstraint(eTag);
+            }
+            try (S3Object object = client.getObject(request)) {
+                if (object == null) {
+                    throw new IllegalStateException("Object " + objectName + " was modified while being read");
+                }
+                try (S3ObjectInputStream content = object.getObjectContent()) {
+                    byte[] range = IOUtils.toByteArray(content);
+                    if (range.length != end - start + 1) {
+                        throw new IOException("Range " + start + "-" + end + " of object " + objectName +
+                            " has an invalid size " + range.length);
+                    }
+                    return range;
+                }
+            } catch (IOException | SdkBaseException e) {
+                if (attempt >= RANGE_DOWNLOAD_RETRIES) {
+                    throw new CompletionException(e);
+                }
+                LOGGER.warn("Failed to download range " + start + "-" + end + " of object " + objectName +
+                    ", attempt " + attempt, e);
+            }
+        }
+    }
+
+    /**
+     * Replace the current range by the next downloaded one, or null at the end of the object
+     */
+    private void nextRange() throws IOException {
+        StreamUtils.closeSilently(currentRange);
+        currentRange = null;
+        CompletableFuture<byte[]> next = nextRanges.poll();
+        if (next == null) {
+            return;
+        }
+        try {
+            currentRange = new ByteArrayInputStream(next.join());
+        } catch (CompletionException e) {
+            throw new IOException("Cannot download object " + objectName, e.getCause());
+        }
+        scheduleNextRanges();
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (currentRange != null) {
+            int read = currentRange.read();
+            if (read >= 0) {
+                return read;
+            }
+            nextRange();
+        }
+        return -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (currentRange != null) {
+            int read = currentRange.read(bytes, offset, length);
+            if (read > 0) {
+                return read;
+            }
+            nextRange();
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() {
+        StreamUtils.closeSilently(currentRange);
+        currentRange = null;
+        // Downloads already running are left to complete, their result is dropped
+        nextRanges.forEach(range -> range.cancel(false));
+        nextRanges.clear();
+        nextRangeStart = size;
+    }
+}
@@ -44,8 +44,10 @@ import fr.gouv.vitam.common.storage.cas.container.api.ObjectContent;
 import fr.gouv.vitam.common.storage.cas.container.api.VitamPageSet;
 import fr.gouv.vitam.common.storage.cas.container.api.VitamStorageMetadata;
 import fr.gouv.vitam.common.storage.constants.ErrorMessage;
+import fr.gouv.vitam.common.storage.utils.SegmentBufferPool;
 import fr.gouv.vitam.common.stream.SizedInputStream;
 import fr.gouv.vitam.common.stream.StreamUtils;
+import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageNotFoundException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerException;
@@ -60,10 +62,15 @@ import org.openstack4j.model.storage.object.options.ObjectLocation;
 import org.openstack4j.model.storage.object.options.ObjectPutOptions;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -78,10 +85,17 @@ public class Swift extends ContentAddressableStorageAbstract {
     private static final String X_OBJECT_META_DIGEST = "X-Object-Meta-Digest";
     private static final String X_OBJECT_META_DIGEST_TYPE = "X-Object-Meta-Digest-Type";
 
+    private static final int SEGMENT_UPLOAD_RETRIES = 3;
+
     private final Supplier<OSClient> osClient;
 
     private Long swiftLimit;
 
+    /**
+     * Pool of the buffers of the segments uploaded in parallel, null if segments are uploaded sequentially
+     */
+    private final SegmentBufferPool segmentBufferPool;
+
     /**
      * Constructor
      *
@@ -97,6 +111,13 @@ public class Swift extends ContentAddressableStorageAbstract {
         super(configuration);
         this.osClient = osClient;
         this.swiftLimit = swiftLimit;
+        if (configuration.getSwiftUploadParallelism() > 1) {
+            int bufferSize = (int) Math.min(Math.min(configuration.getSwiftUploadSegmentSize(), swiftLimit),
+                Integer.MAX_VALUE - 8);
+            this.segmentBufferPool = new SegmentBufferPool(bufferSize, configuration.getSwiftUploadParallelism());
+        } else {
+            this.segmentBufferPool = null;
+        }
     }
 
     /**
@@ -153,7 +174,14 @@ public class Swift extends ContentAddressableStorageAbstract {
 
         InputStream autoclose = new VitamAutoCloseInputStream(digestInputStream);
         if (size != null && size > swiftLimit) {
-            bigFile(containerName, objectName, autoclose, size);
+            // The manifest concatenates all the objects under the segment prefix : drop the segments of a previous
+            // version of the object, that could be more numerous than the new ones
+            deleteSegments(containerName, objectName);
+            if (segmentBufferPool != null) {
+                bigFileParallel(containerName, objectName, autoclose, size);
+            } else {
+                bigFile(containerName, objectName, autoclose, size);
+            }
         } else {
             smallFile(containerName, objectName, autoclose);
         }
@@ -185,7 +213,7 @@ public class Swift extends ContentAddressableStorageAbstract {
             long fileSizeRead = 0;
             Stopwatch segmentTime = Stopwatch.createUnstarted();
             do {
-                final String objectNameToPut = objectName + "/" + i;
+                final String objectNameToPut = getSegmentName(objectName, i);
                 BoundedInputStream boundedInputStream =
                     new BoundedInputStream(stream, swiftLimit);
                 // for prevent closed stream in swift client
@@ -207,20 +235,143 @@ public class Swift extends ContentAddressableStorageAbstract {
                 fileSizeRead = fileSizeRead + segmentInputStream.getByteCount();
             } while (fileSizeRead != size);
 
-            String dloManifest = "";
-            ObjectPutOptions objectPutOptions = ObjectPutOptions.create();
-            objectPutOptions.getOptions().put("X-Object-Manifest", containerName + "/" + objectName + "/");
-            osClient.get().objectStorage().objects().put(
-                containerName,
-                objectName,
-                Payloads.create(new VitamAutoCloseInputStream(new ByteArrayInputStream(dloManifest.getBytes()))),
-                objectPutOptions);
+            putManifest(containerName, objectName);
+        } finally {
+            StreamUtils.closeSilently(stream);
+            PerformanceLogger.getInstance().log("STP_Offer_" + getConfiguration().getProvider(), containerName,
+                "REAL_SWIFT_PUT_OBJECT", times.elapsed(TimeUnit.MILLISECONDS));
+        }
+
+    }
+
+    /**
+     * Upload a large object as segments buffered off heap and sent concurrently.
+     * <p>
+     * The stream is read (and digested) sequentially while previous segments are being sent. The number of segments
+     * in memory is bounded by the buffer pool, so reading waits when all buffers are in use. A failed segment is
+     * retried from its buffer without reading the stream again.
+     */
+    private void bigFileParallel(String containerName, String objectName, InputStream stream, Long size)
+        throws ContentAddressableStorageException {
+        Stopwatch times = Stopwatch.createStarted();
+        final List<CompletableFuture<Void>> segmentUploads = new ArrayList<>();
+        try {
+            int segment = 1;
+            long fileSizeRead = 0;
+            while (fileSizeRead < size) {
+                // Stop reading as soon as a segment failed
+                if (segmentUploads.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                    break;
+                }
+                final ByteBuffer buffer = segmentBufferPool.acquire();
+                final int length;
+                try {
+                    length = SegmentBufferPool.fill(stream, buffer,
+                        (int) Math.min(segmentBufferPool.getBufferSize(), size - fileSizeRead));
+                } catch (IOException | RuntimeException e) {
+                    segmentBufferPool.release(buffer);
+                    throw new ContentAddressableStorageServerException("Cannot read object " + objectName, e);
+                }
+                if (length == 0) {
+                    // Premature end of stream : size is checked by the caller
+                    segmentBufferPool.release(buffer);
+                    break;
+                }
+                fileSizeRead += length;
+                final String segmentName = getSegmentName(objectName, segment++);
+                segmentUploads.add(CompletableFuture
+                    .runAsync(() -> putSegment(containerName, segmentName, buffer),
+                        VitamThreadPoolExecutor.getDefaultExecutor())
+                    .whenComplete((result, e) -> segmentBufferPool.release(buffer)));
+            }
+            waitSegmentUploads(segmentUploads, objectName);
+
+            putManifest(containerName, objectName);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContentAddressableStorageServerException("Interrupted while uploading " + objectName, e);
         } finally {
+            // Never leave running uploads on reused buffers
+            CompletableFuture.allOf(segmentUploads.toArray(new CompletableFuture[0]))
+                .handle((result, e) -> null).join();
             StreamUtils.closeSilently(stream);
             PerformanceLogger.getInstance().log("STP_Offer_" + getConfiguration().getProvider(), containerName,
                 "REAL_SWIFT_PUT_OBJECT", times.elapsed(TimeUnit.MILLISECONDS));
         }
+    }
+
+    private void waitSegmentUploads(List<CompletableFuture<Void>> segmentUploads, String objectName)
+        throws ContentAddressableStorageServerException {
+        try {
+            CompletableFuture.allOf(segmentUploads.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw new ContentAddressableStorageServerException("Cannot put segments of object " + objectName,
+                e.getCause());
+        }
+    }
+
+    private void putSegment(String containerName, String segmentName, ByteBuffer buffer) {
+        for (int attempt = 1; ; attempt++) {
+            Stopwatch segmentTime = Stopwatch.createStarted();
+            try {
+                osClient.get().objectStorage().objects()
+                    .put(containerName, segmentName,
+                        Payloads.create(new VitamAutoCloseInputStream(SegmentBufferPool.asInputStream(buffer))));
+                PerformanceLogger.getInstance().log("STP_Offer_" + getConfiguration().getProvider(), containerName,
+                    "REAL_SWIFT_PUT_OBJECT_SEGMENT", segmentTime.elapsed(TimeUnit.MILLISECONDS));
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= SEGMENT_UPLOAD_RETRIES) {
+                    throw e;
+                }
+                LOGGER.warn("Failed to put segment " + segmentName + ", attempt " + attempt, e);
+            }
+        }
+    }
+
+    /**
+     * Segment names are padded so that the manifest, listing segments by name, concatenates them in order
+     */
+    private static String getSegmentName(String objectName, int segment) {
+        return String.format("%s/%08d", objectName, segment);
+    }
+
+    private void deleteSegments(String containerName, String objectName)
+        throws ContentAddressableStorageServerException {
+        List<? extends SwiftObject> segments;
+        String marker = null;
+        do {
+            ObjectListOptions options =
+                ObjectListOptions.create().startsWith(objectName + "/").limit(LISTING_MAX_RESULTS);
+            if (marker != null) {
+                options.marker(marker);
+            }
+            segments = osClient.get().objectStorage().objects().list(containerName, options);
+            if (segments == null) {
+                return;
+            }
+            for (SwiftObject segment : segments) {
+                LOGGER.info("Delete previous segment " + segment.getName());
+                ActionResponse response =
+                    osClient.get().objectStorage().objects().delete(containerName, segment.getName());
+                if (!response.isSuccess() && response.getCode() != 404) {
+                    throw new ContentAddressableStorageServerException(
+                        "Error on deleting previous segment " + segment.getName());
+                }
+                marker = segment.getName();
+            }
+        } while (segments.size() == LISTING_MAX_RESULTS);
+    }
 
+    private void putManifest(String containerName, String objectName) {
+        String dloManifest = "";
+        ObjectPutOptions objectPutOptions = ObjectPutOptions.create();
+        objectPutOptions.getOptions().put("X-Object-Manifest", containerName + "/" + objectName + "/");
+        osClient.get().objectStorage().objects().put(
+            containerName,
+            objectName,
+            Payloads.create(new VitamAutoCloseInputStream(new ByteArrayInputStream(dloManifest.getBytes()))),
+            objectPutOptions);
     }
 
     private void smallFile(String containerName, String objectName, InputStream stream) {
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.common.storage.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of reusable off heap buffers holding the segments of large objects being uploaded.
+ * <p>
+ * At most maxBuffers buffers are allocated, so that the memory used by segment uploads never exceeds
+ * maxBuffers * bufferSize. Acquiring a buffer blocks while all of them are in use.
+ */
+public class SegmentBufferPool {
+
+    private final int bufferSize;
+    private final int maxBuffers;
+    private final AtomicInteger allocatedBuffers = new AtomicInteger();
+    private final BlockingQueue<ByteBuffer> freeBuffers = new LinkedBlockingQueue<>();
+
+    public SegmentBufferPool(int bufferSize, int maxBuffers) {
+        if (bufferSize < 1 || maxBuffers < 1) {
+            throw new IllegalArgumentException("Buffer size and number of buffers must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.maxBuffers = maxBuffers;
+    }
+
+    /**
+     * @return a cleared buffer, waiting for one to be released if the pool is exhausted
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public ByteBuffer acquire() throws InterruptedException {
+        ByteBuffer buffer = freeBuffers.poll();
+        if (buffer == null) {
+            if (allocatedBuffers.incrementAndGet() <= maxBuffers) {
+                return ByteBuffer.allocateDirect(bufferSize);
+            }
+            allocatedBuffers.decrementAndGet();
+            buffer = freeBuffers.take();
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * @param buffer a buffer returned by {@link #acquire()}
+     */
+    public void release(ByteBuffer buffer) {
+        freeBuffers.add(buffer);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Fill the buffer from the stream, up to the given length or the end of the stream, and flip it.
+     *
+     * @param stream the stream to read
+     * @param buffer the buffer to fill
+     * @param length the maximum number of bytes to read
+     * @return the number of bytes read
+     * @throws IOException if the stream cannot be read
+     */
+    public static int fill(InputStream stream, ByteBuffer buffer, int length) throws IOException {
+        buffer.limit(length);
+        // Do not close the channel : it would close the stream
+        ReadableByteChannel channel = Channels.newChannel(stream);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.limit();
+    }
+
+    /**
+     * @param buffer a filled buffer
+     * @return a new stream on the content of the buffer, independent of the position of the buffer
+     */
+    public static InputStream asInputStream(ByteBuffer buffer) {
+        final ByteBuffer content = buffer.duplicate();
+        return new InputStream() {
+            @Override
+            public int read() {
+                return content.hasRemaining() ? content.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) {
+                if (length == 0) {
+                    return 0;
+                }
+                if (!content.hasRemaining()) {
+                    return -1;
+                }
+                int read = Math.min(length, content.remaining());
+                content.get(bytes, offset, read);
+                return read;
+            }
+
+            @Override
+            public int available() {
+                return content.remaining();
+            }
+        };
+    }
+}
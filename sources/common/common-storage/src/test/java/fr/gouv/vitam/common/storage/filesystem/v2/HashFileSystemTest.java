@@ -27,22 +27,35 @@
 package fr.gouv.vitam.common.storage.filesystem.v2;
 
 import fr.gouv.vitam.common.PropertiesUtils;
+import fr.gouv.vitam.common.digest.Digest;
 import fr.gouv.vitam.common.digest.DigestType;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.model.MetadatasObject;
+import fr.gouv.vitam.common.storage.ContainerInformation;
 import fr.gouv.vitam.common.storage.StorageConfiguration;
 import fr.gouv.vitam.common.storage.cas.container.api.ContentAddressableStorageAbstract;
 import fr.gouv.vitam.common.storage.cas.container.api.ContentAddressableStorageTestAbstract;
+import fr.gouv.vitam.common.storage.cas.container.api.VitamPageSet;
+import fr.gouv.vitam.common.storage.cas.container.api.VitamStorageMetadata;
 import fr.gouv.vitam.common.storage.constants.ExtendedAttributes;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
@@ -127,6 +140,157 @@ public class HashFileSystemTest extends ContentAddressableStorageTestAbstract {
         assertEquals(HASH, result.getDigest());
     }
 
+    @Test
+    public void should_compute_digest_of_large_object() throws Exception {
+
+        // Given
+        String containerName = TENANT_ID + "_" + TYPE;
+        storage.createContainer(containerName);
+
+        byte[] data = new byte[5 * 1024 * 1024 + 123];
+        new Random(42L).nextBytes(data);
+        String expectedDigest = new Digest(DigestType.SHA512).update(data).digestHex();
+        storage.putObject(containerName, OBJECT_ID, new ByteArrayInputStream(data), DigestType.SHA512,
+            (long) data.length);
+
+        // When
+        String digest = storage.getObjectDigest(containerName, OBJECT_ID, DigestType.SHA512, true);
+
+        // Then
+        assertThat(digest).isEqualTo(expectedDigest);
+    }
+
+    @Test
+    public void should_maintain_container_statistics() throws Exception {
+
+        // Given
+        String containerName = TENANT_ID + "_" + TYPE;
+        storage.createContainer(containerName);
+
+        // When
+        storage.putObject(containerName, "obj1", new ByteArrayInputStream(new byte[10]), DigestType.SHA512, 10L);
+        storage.putObject(containerName, "obj2", new ByteArrayInputStream(new byte[20]), DigestType.SHA512, 20L);
+        storage.putObject(containerName, "obj3", new ByteArrayInputStream(new byte[30]), DigestType.SHA512, 30L);
+        storage.putObject(containerName, "obj1", new ByteArrayInputStream(new byte[5]), DigestType.SHA512, 5L);
+        storage.deleteObject(containerName, "obj2");
+
+        // Then
+        ContainerInformation containerInformation = storage.getContainerInformation(containerName);
+        assertThat(containerInformation.getObjectCount()).isEqualTo(2L);
+        assertThat(containerInformation.getUsedSpace()).isEqualTo(35L);
+
+        // Index reloaded by a new instance
+        containerInformation = newStorage().getContainerInformation(containerName);
+        assertThat(containerInformation.getObjectCount()).isEqualTo(2L);
+        assertThat(containerInformation.getUsedSpace()).isEqualTo(35L);
+
+        // Index rebuilt in background when missing
+        Files.delete(tempDir.toPath().resolve("index").resolve(containerName));
+        HashFileSystem storageWithoutIndex = newStorage();
+        containerInformation = waitForContainerStatistics(storageWithoutIndex, containerName);
+        assertThat(containerInformation.getObjectCount()).isEqualTo(2L);
+        assertThat(containerInformation.getUsedSpace()).isEqualTo(35L);
+    }
+
+    @Test
+    public void should_not_block_writes_while_container_is_indexed() throws Exception {
+
+        // Given
+        String containerName = TENANT_ID + "_" + TYPE;
+        storage.createContainer(containerName);
+        storage.putObject(containerName, "obj1", new ByteArrayInputStream(new byte[10]), DigestType.SHA512, 10L);
+        Files.delete(tempDir.toPath().resolve("index").resolve(containerName));
+        HashFileSystem storageWithoutIndex = newStorage();
+
+        // When
+        ContainerInformation containerInformation = storageWithoutIndex.getContainerInformation(containerName);
+        storageWithoutIndex
+            .putObject(containerName, "obj2", new ByteArrayInputStream(new byte[20]), DigestType.SHA512, 20L);
+
+        // Then
+        assertThat(containerInformation.getUsableSpace()).isPositive();
+        containerInformation = waitForContainerStatistics(storageWithoutIndex, containerName);
+        assertThat(containerInformation.getObjectCount()).isBetween(1L, 3L);
+        storageWithoutIndex.deleteObject(containerName, "obj1");
+        assertThat(storageWithoutIndex.getContainerInformation(containerName).getObjectCount())
+            .isEqualTo(containerInformation.getObjectCount() - 1L);
+    }
+
+    @Test
+    public void should_count_concurrent_writes_of_a_same_object_once() throws Exception {
+
+        // Given
+        String containerName = TENANT_ID + "_" + TYPE;
+        storage.createContainer(containerName);
+        int nbThreads = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(nbThreads);
+
+        // When
+        try {
+            List<Future<String>> writes = new ArrayList<>();
+            for (int i = 0; i < nbThreads * 4; i++) {
+                writes.add(executorService.submit(() -> storage
+                    .putObject(containerName, "obj1", new ByteArrayInputStream(new byte[10]), DigestType.SHA512,
+                        10L)));
+            }
+            for (Future<String> write : writes) {
+                write.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        // Then
+        ContainerInformation containerInformation = storage.getContainerInformation(containerName);
+        assertThat(containerInformation.getObjectCount()).isEqualTo(1L);
+        assertThat(containerInformation.getUsedSpace()).isEqualTo(10L);
+    }
+
+    @Test
+    public void should_resume_listing_from_marker_without_cached_cursor() throws Exception {
+
+        // Given
+        String containerName = TENANT_ID + "_" + TYPE;
+        storage.createContainer(containerName);
+        for (int i = 0; i < 150; i++) {
+            storage.putObject(containerName, "obj" + i, new ByteArrayInputStream(new byte[] {(byte) i}),
+                DigestType.SHA512, 1L);
+        }
+
+        // When
+        VitamPageSet<? extends VitamStorageMetadata> firstPage = storage.listContainer(containerName);
+        VitamPageSet<? extends VitamStorageMetadata> secondPage =
+            newStorage().listContainerNext(containerName, firstPage.getNextMarker());
+
+        // Then
+        assertThat(firstPage).hasSize(100);
+        assertThat(secondPage).hasSize(50);
+        assertThat(secondPage.getNextMarker()).isNull();
+        Set<String> objectNames = new HashSet<>();
+        firstPage.forEach(metadata -> objectNames.add(metadata.getName()));
+        secondPage.forEach(metadata -> objectNames.add(metadata.getName()));
+        assertThat(objectNames).hasSize(150);
+        assertThat(secondPage.iterator().next().getName()).isEqualTo(firstPage.getNextMarker());
+    }
+
+    private ContainerInformation waitForContainerStatistics(HashFileSystem hashFileSystem, String containerName)
+        throws Exception {
+        for (int i = 0; i < 100; i++) {
+            ContainerInformation containerInformation = hashFileSystem.getContainerInformation(containerName);
+            if (containerInformation.getObjectCount() >= 0L) {
+                return containerInformation;
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("Container " + containerName + " not indexed");
+    }
+
+    private HashFileSystem newStorage() throws IOException {
+        final StorageConfiguration configuration = new StorageConfiguration();
+        configuration.setStoragePath(tempDir.getCanonicalPath());
+        return new HashFileSystem(configuration);
+    }
+
     private InputStream getInputStream(String file) throws IOException {
         return PropertiesUtils.getResourceAsStream(file);
     }
@@ -28,17 +28,25 @@ package fr.gouv.vitam.common.storage.s3;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.delete;
+import static com.github.tomakehurst.wiremock.client.WireMock.deleteRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.head;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
@@ -50,6 +58,7 @@ import com.amazonaws.regions.Regions;
 import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
 
 import fr.gouv.vitam.common.PropertiesUtils;
+import fr.gouv.vitam.common.digest.Digest;
 import fr.gouv.vitam.common.digest.DigestType;
 import fr.gouv.vitam.common.junit.JunitHelper;
 import fr.gouv.vitam.common.storage.ContainerInformation;
@@ -86,6 +95,7 @@ public class AmazonS3V1MockedServerTest {
     private static final String FILE_1 = "file1.pdf";
     private static final String OBJECT_ID_0 = "object0id";
     private static final String OBJECT_ID_1 = "object1id";
+    private static final String UPLOAD_ID_0 = "upload0id";
 
     private static final String CONTENT_TYPE = "Content-Type";
     private static final String AMZ_REQUEST_ID = "X-Amz-Request-Id";
@@ -571,4 +581,108 @@ public class AmazonS3V1MockedServerTest {
         assertThat(infos.getUsableSpace()).isEqualTo(-1);
     }
 
+    @Test
+    public void upload_object_should_upload_parts_when_object_exceeds_multipart_threshold() throws Exception {
+        configuration.setS3MultipartThreshold(2_000L).setS3PartSize(1_000L).setS3UploadParallelism(2);
+        amazonS3V1 = new AmazonS3V1(configuration);
+        byte[] file = IOUtils.toByteArray(PropertiesUtils.getResourceAsStream(FILE_0));
+        stubMultipartUpload(file);
+        stubUploadedObject(file);
+
+        assertThatCode(() -> {
+            InputStream stream = PropertiesUtils.getResourceAsStream(FILE_0);
+            amazonS3V1.putObject(CONTAINER_0, OBJECT_ID_0, stream, DigestType.SHA512, 3_500L);
+        }).doesNotThrowAnyException();
+
+        for (int partNumber = 1; partNumber <= 4; partNumber++) {
+            s3WireMockRule.verify(1, putRequestedFor(urlPathEqualTo(BUCKET_0 + "/" + OBJECT_ID_0))
+                .withQueryParam("partNumber", equalTo(String.valueOf(partNumber))));
+        }
+        s3WireMockRule.verify(1, postRequestedFor(urlPathEqualTo(BUCKET_0 + "/" + OBJECT_ID_0))
+            .withQueryParam("uploadId", equalTo(UPLOAD_ID_0)));
+        s3WireMockRule.verify(0, deleteRequestedFor(urlPathEqualTo(BUCKET_0 + "/" + OBJECT_ID_0)));
+    }
+
+    @Test
+    public void upload_object_should_abort_multipart_upload_when_part_upload_fails() throws Exception {
+        configuration.setS3MultipartThreshold(2_000L).setS3PartSize(1_000L).setS3UploadParallelism(2);
+        amazonS3V1 = new AmazonS3V1(configuration);
+        byte[] file = IOUtils.toByteArray(PropertiesUtils.getResourceAsStream(FILE_0));
+        stubMultipartUpload(file);
+        s3WireMockRule.stubFor(put(urlPathEqualTo(BUCKET_0 + "/" + OBJECT_ID_0))
+            .withQueryParam("partNumber", equalTo("2")).willReturn(aResponse().withStatus(403)));
+        s3WireMockRule.stubFor(delete(urlPathEqualTo(BUCKET_0 + "/" + OBJECT_ID_0))
+            .withQueryParam("uploadId", equalTo(UPLOAD_ID_0)).willReturn(aResponse().withStatus(204)));
+
+        assertThatThrownBy(() -> {
+            InputStream stream = PropertiesUtils.getResourceAsStream(FILE_0);
+            amazonS3V1.putObject(CONTAINER_0, OBJECT_ID_0, stream, DigestType.SHA512, 3_500L);
+        }).isInstanceOf(ContentAddressableStorageServerException.class);
+
+        s3WireMockRule.verify(1, deleteRequestedFor(urlPathEqualTo(BUCKET_0 + "/" + OBJECT_ID_0))
+            .withQueryParam("uploadId", equalTo(UPLOAD_ID_0)));
+        s3WireMockRule.verify(0, postRequestedFor(urlPathEqualTo(BUCKET_0 + "/" + OBJECT_ID_0))
+            .withQueryParam("uploadId", equalTo(UPLOAD_ID_0)));
+    }
+
+    @Test
+    public void get_object_should_download_ranges_in_parallel_when_object_exceeds_range_size() throws Exception {
+        configuration.setS3PartSize(1_000L).setS3DownloadParallelism(2);
+        amazonS3V1 = new AmazonS3V1(configuration);
+        byte[] file = IOUtils.toByteArray(PropertiesUtils.getResourceAsStream(FILE_0));
+        for (int start = 0; start < file.length; start += 1_000) {
+            int end = Math.min(start + 1_000, file.length) - 1;
+            s3WireMockRule.stubFor(get(BUCKET_0 + "/" + OBJECT_ID_0)
+                .withHeader("Range", equalTo("bytes=" + start + "-" + end))
+                .willReturn(aResponse().withStatus(206).withHeader(AMZ_REQUEST_ID, "XXXXXX")
+                    .withHeader(CONTENT_TYPE, "application/octet-stream").withHeader("ETag", "\"object0etag\"")
+                    .withHeader("Content-Range", "bytes " + start + "-" + end + "/" + file.length)
+                    .withHeader("Content-Length", String.valueOf(end - start + 1))
+                    .withBody(Arrays.copyOfRange(file, start, end + 1))));
+        }
+
+        ObjectContent object = amazonS3V1.getObject(CONTAINER_0, OBJECT_ID_0);
+
+        assertThat(object.getSize()).isEqualTo(3_500L);
+        try (InputStream inputStream = object.getInputStream()) {
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(file);
+        }
+        s3WireMockRule.verify(3, getRequestedFor(urlEqualTo(BUCKET_0 + "/" + OBJECT_ID_0))
+            .withHeader("If-Match", equalTo("object0etag")));
+    }
+
+    private void stubMultipartUpload(byte[] file) throws Exception {
+        s3WireMockRule.stubFor(post(urlMatching(BUCKET_0 + "/" + OBJECT_ID_0 + "\\?uploads.*"))
+            .willReturn(aResponse().withStatus(200).withHeader(AMZ_REQUEST_ID, "XXXXXX")
+                .withHeader(CONTENT_TYPE, "application/xml")
+                .withBody(IOUtils.toByteArray(PropertiesUtils.getResourceAsStream("s3/s3_multipart_initiate.xml")))));
+        for (int start = 0, partNumber = 1; start < file.length; start += 1_000, partNumber++) {
+            byte[] part = Arrays.copyOfRange(file, start, Math.min(start + 1_000, file.length));
+            // The client checks the etag of each part against its MD5
+            String eTag = new Digest(DigestType.MD5).update(part).digestHex();
+            s3WireMockRule.stubFor(put(urlPathEqualTo(BUCKET_0 + "/" + OBJECT_ID_0))
+                .withQueryParam("partNumber", equalTo(String.valueOf(partNumber)))
+                .withQueryParam("uploadId", equalTo(UPLOAD_ID_0))
+                .willReturn(aResponse().withStatus(200).withHeader(AMZ_REQUEST_ID, "XXXXXX")
+                    .withHeader("ETag", "\"" + eTag + "\"")));
+        }
+        s3WireMockRule.stubFor(post(urlPathEqualTo(BUCKET_0 + "/" + OBJECT_ID_0))
+            .withQueryParam("uploadId", equalTo(UPLOAD_ID_0))
+            .willReturn(aResponse().withStatus(200).withHeader(AMZ_REQUEST_ID, "XXXXXX")
+                .withHeader(CONTENT_TYPE, "application/xml")
+                .withBody(IOUtils.toByteArray(PropertiesUtils.getResourceAsStream("s3/s3_multipart_complete.xml")))));
+    }
+
+    private void stubUploadedObject(byte[] file) throws Exception {
+        s3WireMockRule.stubFor(put(BUCKET_0 + "/" + OBJECT_ID_0)
+                .withHeader("X-Amz-Metadata-Directive", equalTo("REPLACE"))
+                .willReturn(aResponse().withStatus(200).withHeader(AMZ_REQUEST_ID, "XXXXXX")
+                        .withHeader(CONTENT_TYPE, "application/xml")
+                        .withBody(IOUtils.toByteArray(PropertiesUtils.getResourceAsStream("s3/s3_put_replace.xml")))));
+        s3WireMockRule.stubFor(get(BUCKET_0 + "/" + OBJECT_ID_0)
+                .willReturn(aResponse().withStatus(200).withHeader(AMZ_REQUEST_ID, "XXXXXX")
+                        .withHeader(CONTENT_TYPE, "application/octet-stream").withHeader("Content-Length", "3500")
+                        .withBody(file)));
+    }
+
 }
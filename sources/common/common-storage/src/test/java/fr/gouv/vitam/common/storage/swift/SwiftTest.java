@@ -44,11 +44,16 @@ import java.io.InputStream;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.delete;
+import static com.github.tomakehurst.wiremock.client.WireMock.deleteRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.head;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class SwiftTest {
@@ -124,6 +129,10 @@ public class SwiftTest {
         );
 
         swiftInstanceRule.stubFor(put(urlMatching("/swift/v1(.*)")).willReturn(aResponse().withStatus(201)));
+
+        // No previous segments
+        swiftInstanceRule.stubFor(get(urlPathEqualTo("/swift/v1/" + CONTAINER_NAME)).atPriority(1)
+            .willReturn(aResponse().withStatus(200).withHeader(CONTENT_TYPE, APPLICATION_JSON).withBody("[]")));
     }
 
     @Test
@@ -206,4 +215,87 @@ public class SwiftTest {
         // When / Then
         swift.putObject(CONTAINER_NAME, OBJECT_NAME, stream, VitamConfiguration.getDefaultDigestType(), 3_500L);
     }
+
+    @Test
+    public void should_upload_segments_in_parallel_when_object_exceeds_swift_limit() throws Exception {
+        // Given
+        swiftInstanceRule.stubFor(post(urlMatching("/swift/v1(.*)")).willReturn(
+            aResponse().withStatus(202)));
+
+        swiftInstanceRule.stubFor(
+            get(urlMatching("/swift/v1(.*)")).willReturn(
+                aResponse().withStatus(200)
+                    .withHeader(CONTENT_TYPE, "application/octet-stream")
+                    .withBody(IOUtils.toByteArray(PropertiesUtils.getResourceAsStream(OBJECT_NAME)))));
+
+        configuration.setSwiftUploadSegmentSize(1_000L).setSwiftUploadParallelism(2);
+        this.swift = new Swift(new SwiftKeystoneFactoryV3(configuration), configuration, 1_500L);
+        InputStream stream = PropertiesUtils.getResourceAsStream(OBJECT_NAME);
+        // When
+        swift.putObject(CONTAINER_NAME, OBJECT_NAME, stream, VitamConfiguration.getDefaultDigestType(), 3_500L);
+        // Then
+        for (String segment : new String[] {"00000001", "00000002", "00000003", "00000004"}) {
+            swiftInstanceRule.verify(1, putRequestedFor(urlEqualTo(
+                "/swift/v1/" + CONTAINER_NAME + "/" + OBJECT_NAME + "/" + segment)));
+        }
+        swiftInstanceRule.verify(putRequestedFor(urlEqualTo("/swift/v1/" + CONTAINER_NAME + "/" + OBJECT_NAME))
+            .withHeader("X-Object-Manifest", equalTo(CONTAINER_NAME + "/" + OBJECT_NAME + "/")));
+    }
+
+    @Test
+    public void should_upload_segments_sequentially_when_parallelism_is_one() throws Exception {
+        // Given
+        swiftInstanceRule.stubFor(post(urlMatching("/swift/v1(.*)")).willReturn(
+            aResponse().withStatus(202)));
+
+        swiftInstanceRule.stubFor(
+            get(urlMatching("/swift/v1(.*)")).willReturn(
+                aResponse().withStatus(200)
+                    .withHeader(CONTENT_TYPE, "application/octet-stream")
+                    .withBody(IOUtils.toByteArray(PropertiesUtils.getResourceAsStream(OBJECT_NAME)))));
+
+        configuration.setSwiftUploadSegmentSize(1_000L).setSwiftUploadParallelism(1);
+        this.swift = new Swift(new SwiftKeystoneFactoryV3(configuration), configuration, 1_500L);
+        InputStream stream = PropertiesUtils.getResourceAsStream(OBJECT_NAME);
+        // When
+        swift.putObject(CONTAINER_NAME, OBJECT_NAME, stream, VitamConfiguration.getDefaultDigestType(), 3_500L);
+        // Then
+        for (String segment : new String[] {"00000001", "00000002", "00000003"}) {
+            swiftInstanceRule.verify(1, putRequestedFor(urlEqualTo(
+                "/swift/v1/" + CONTAINER_NAME + "/" + OBJECT_NAME + "/" + segment)));
+        }
+    }
+
+    @Test
+    public void should_delete_previous_segments_before_uploading_segments() throws Exception {
+        // Given
+        swiftInstanceRule.stubFor(post(urlMatching("/swift/v1(.*)")).willReturn(
+            aResponse().withStatus(202)));
+
+        swiftInstanceRule.stubFor(
+            get(urlMatching("/swift/v1(.*)")).willReturn(
+                aResponse().withStatus(200)
+                    .withHeader(CONTENT_TYPE, "application/octet-stream")
+                    .withBody(IOUtils.toByteArray(PropertiesUtils.getResourceAsStream(OBJECT_NAME)))));
+
+        // Segments of a previous version of the object, named by an older naming scheme
+        swiftInstanceRule.stubFor(get(urlPathEqualTo("/swift/v1/" + CONTAINER_NAME)).atPriority(1)
+            .withQueryParam("prefix", equalTo(OBJECT_NAME + "/"))
+            .willReturn(aResponse().withStatus(200).withHeader(CONTENT_TYPE, APPLICATION_JSON)
+                .withBody("[{\"name\": \"" + OBJECT_NAME + "/1\"}, {\"name\": \"" + OBJECT_NAME + "/10\"}]")));
+        swiftInstanceRule.stubFor(delete(urlMatching("/swift/v1(.*)")).willReturn(aResponse().withStatus(204)));
+
+        configuration.setSwiftUploadSegmentSize(1_000L).setSwiftUploadParallelism(2);
+        this.swift = new Swift(new SwiftKeystoneFactoryV3(configuration), configuration, 1_500L);
+        InputStream stream = PropertiesUtils.getResourceAsStream(OBJECT_NAME);
+        // When
+        swift.putObject(CONTAINER_NAME, OBJECT_NAME, stream, VitamConfiguration.getDefaultDigestType(), 3_500L);
+        // Then
+        for (String segment : new String[] {"1", "10"}) {
+            swiftInstanceRule.verify(1, deleteRequestedFor(urlEqualTo(
+                "/swift/v1/" + CONTAINER_NAME + "/" + OBJECT_NAME + "/" + segment)));
+        }
+        swiftInstanceRule.verify(4, putRequestedFor(urlMatching(
+            "/swift/v1/" + CONTAINER_NAME + "/" + OBJECT_NAME + "/[0-9]{8}")));
+    }
 }
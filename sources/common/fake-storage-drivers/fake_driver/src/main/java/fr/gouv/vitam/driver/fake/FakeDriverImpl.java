@@ -44,6 +44,8 @@ import fr.gouv.vitam.storage.driver.AbstractDriver;
 import fr.gouv.vitam.storage.driver.Connection;
 import fr.gouv.vitam.storage.driver.exception.StorageDriverConflictException;
 import fr.gouv.vitam.storage.driver.exception.StorageDriverException;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetRequest;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetResult;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutRequest;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutResult;
 import fr.gouv.vitam.storage.driver.model.StorageCapacityResult;
@@ -278,6 +280,11 @@ public class FakeDriverImpl extends AbstractDriver {
             throw new IllegalStateException("Stop using mocks in production");
         }
 
+        @Override
+        public StorageBulkGetResult bulkGetObjects(StorageBulkGetRequest request) {
+            throw new IllegalStateException("Stop using mocks in production");
+        }
+
         @Override
         public StorageRemoveResult removeObject(StorageRemoveRequest objectRequest) throws StorageDriverException {
 
@@ -89,6 +89,12 @@ public final class LogbookConfiguration extends DbConfigurationImpl {
      */
     private List<String> opLfcEventsToSkip;
 
+    /**
+     * When enabled, events appended to an operation are sent alone to elasticsearch (scripted update), the whole
+     * operation being reindexed only at its completion.
+     */
+    private boolean operationIncrementalIndexing = false;
+
     /**
      * LogbookConfiguration constructor
      *
@@ -323,4 +329,18 @@ public final class LogbookConfiguration extends DbConfigurationImpl {
     public void setLifecycleTraceabilityMaxEntries(Integer lifecycleTraceabilityMaxEntries) {
         this.lifecycleTraceabilityMaxEntries = lifecycleTraceabilityMaxEntries;
     }
+
+    /**
+     * Gets whether operation events are incrementally indexed in elasticsearch.
+     */
+    public boolean isOperationIncrementalIndexing() {
+        return operationIncrementalIndexing;
+    }
+
+    /**
+     * Sets whether operation events are incrementally indexed in elasticsearch.
+     */
+    public void setOperationIncrementalIndexing(boolean operationIncrementalIndexing) {
+        this.operationIncrementalIndexing = operationIncrementalIndexing;
+    }
 }
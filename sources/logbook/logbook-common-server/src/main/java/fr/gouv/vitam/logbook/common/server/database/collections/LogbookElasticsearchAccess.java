@@ -33,22 +33,28 @@ import fr.gouv.vitam.common.database.server.elasticsearch.ElasticsearchNode;
 import fr.gouv.vitam.common.database.server.elasticsearch.ElasticsearchUtil;
 import fr.gouv.vitam.common.database.server.mongodb.VitamDocument;
 import fr.gouv.vitam.common.exception.VitamException;
+import fr.gouv.vitam.common.json.BsonHelper;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.logbook.common.server.exception.LogbookDatabaseException;
 import fr.gouv.vitam.logbook.common.server.exception.LogbookException;
+import org.bson.Document;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
-import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.SearchType;
 import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.search.sort.SortBuilder;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -62,6 +68,19 @@ public class LogbookElasticsearchAccess extends ElasticsearchAccess {
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(LogbookElasticsearchAccess.class);
     public static final String MAPPING_LOGBOOK_OPERATION_FILE = "/logbook-es-mapping.json";
 
+    private static final String FIELDS_PARAM = "fields";
+    private static final String EVENTS_PARAM = "events";
+    private static final String APPEND_EVENTS_SCRIPT =
+        "if (ctx._source." + LogbookDocument.EVENTS + " == null) { ctx._source." + LogbookDocument.EVENTS +
+            " = new ArrayList(); } " +
+            "ctx._source." + LogbookDocument.EVENTS + ".addAll(params." + EVENTS_PARAM + "); " +
+            "ctx._source.putAll(params." + FIELDS_PARAM + ");";
+
+    /**
+     * Concurrent appends to the same entry conflict on its version : the script is then replayed on the latest version
+     */
+    private static final int APPEND_EVENTS_RETRY_ON_CONFLICT = 10;
+
     /**
      * @param clusterName cluster name
      * @param nodes elasticsearch node
@@ -143,16 +162,13 @@ public class LogbookElasticsearchAccess extends ElasticsearchAccess {
      */
     final BulkResponse addEntryIndexes(final LogbookCollections collection, final Integer tenantId,
         final Map<String, String> mapIdJson) {
-        final BulkRequestBuilder bulkRequest = getClient().prepareBulk();
-
-        // either use client#prepare, or use Requests# to directly build index/delete requests
         final String type = getTypeUnique(collection);
+        final String index = getAliasName(collection, tenantId);
+        final List<IndexRequest> indexRequests = new ArrayList<>(mapIdJson.size());
         for (final Entry<String, String> val : mapIdJson.entrySet()) {
-            bulkRequest.setRefreshPolicy(RefreshPolicy.IMMEDIATE)
-                .add(getClient().prepareIndex(getAliasName(collection, tenantId), type,
-                    val.getKey()).setSource(val.getValue(), XContentType.JSON));// .setSource(val.getValue()));
+            indexRequests.add(new IndexRequest(index, type, val.getKey()).source(val.getValue(), XContentType.JSON));
         }
-        return bulkRequest.execute().actionGet();
+        return getBulkIndexer().execute(indexRequests, RefreshPolicy.IMMEDIATE);
     }
 
     /**
@@ -172,6 +188,30 @@ public class LogbookElasticsearchAccess extends ElasticsearchAccess {
             .actionGet().getVersion() > 1;
     }
 
+    /**
+     * Append events to an entry in the ElasticSearch index with a scripted update : only the given fields and the new
+     * events are sent, whatever the number of events already indexed in the entry.
+     *
+     * @param collection collection of index
+     * @param tenantId tenant Id
+     * @param id the id of the entry
+     * @param fields the fields of the entry to replace
+     * @param events the events to append
+     * @return True if updated
+     */
+    final boolean appendEntryEvents(final LogbookCollections collection, final Integer tenantId,
+        final String id, final Document fields, final List<?> events) {
+        final String type = LogbookOperation.TYPEUNIQUE;
+        final String paramsJson = BsonHelper.stringify(new Document(FIELDS_PARAM, fields).append(EVENTS_PARAM, events));
+        final Map<String, Object> params =
+            XContentHelper.convertToMap(XContentType.JSON.xContent(), paramsJson, false);
+        final Script script = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, APPEND_EVENTS_SCRIPT, params);
+        return getClient().prepareUpdate(getAliasName(collection, tenantId), type, id)
+            .setScript(script).setRetryOnConflict(APPEND_EVENTS_RETRY_ON_CONFLICT)
+            .setRefreshPolicy(RefreshPolicy.IMMEDIATE).execute()
+            .actionGet().getVersion() > 1;
+    }
+
     /**
      * Search entries in the ElasticSearch index.
      *
@@ -60,6 +60,7 @@ public final class LogbookMongoDbAccessFactory {
         final MongoClient mongoClient =
             MongoDbAccess.createMongoClient(configuration, LogbookMongoDbAccessImpl.getMongoClientOptions());
         return new LogbookMongoDbAccessImpl(mongoClient, configuration.getDbName(), false, esClient,
-            VitamConfiguration.getTenants(), new LogbookTransformData(), ontologyLoader);
+            VitamConfiguration.getTenants(), new LogbookTransformData(), ontologyLoader,
+            configuration.isOperationIncrementalIndexing());
     }
 }
@@ -44,6 +44,7 @@ import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.ReturnDocument;
 import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.Updates;
@@ -74,6 +75,7 @@ import fr.gouv.vitam.common.json.BsonHelper;
 import fr.gouv.vitam.common.json.JsonHandler;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.model.StatusCode;
 import fr.gouv.vitam.common.parameter.ParameterHelper;
 import fr.gouv.vitam.common.server.HeaderIdHelper;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
@@ -106,8 +108,10 @@ import org.elasticsearch.search.sort.SortBuilder;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -173,6 +177,7 @@ public final class LogbookMongoDbAccessImpl extends MongoDbAccess implements Log
     private final LogbookElasticsearchAccess esClient;
     private final LogbookTransformData logbookTransformData;
     private final OntologyLoader ontologyLoader;
+    private final boolean operationIncrementalIndexing;
 
     /**
      * Constructor
@@ -187,10 +192,31 @@ public final class LogbookMongoDbAccessImpl extends MongoDbAccess implements Log
      */
     public LogbookMongoDbAccessImpl(MongoClient mongoClient, final String dbname, final boolean recreate,
         LogbookElasticsearchAccess esClient, List<Integer> tenants, LogbookTransformData logbookTransformData, OntologyLoader ontologyLoader) {
+        this(mongoClient, dbname, recreate, esClient, tenants, logbookTransformData, ontologyLoader, false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param mongoClient MongoClient
+     * @param dbname MongoDB database name
+     * @param recreate True to recreate the index
+     * @param esClient elastic search client
+     * @param tenants the tenants list
+     * @param logbookTransformData transformation of documents for elastic search
+     * @param ontologyLoader
+     * @param operationIncrementalIndexing True to index only the appended events of an operation until its
+     * completion
+     * @throws IllegalArgumentException if mongoClient or dbname is null
+     */
+    public LogbookMongoDbAccessImpl(MongoClient mongoClient, final String dbname, final boolean recreate,
+        LogbookElasticsearchAccess esClient, List<Integer> tenants, LogbookTransformData logbookTransformData,
+        OntologyLoader ontologyLoader, boolean operationIncrementalIndexing) {
         super(mongoClient, dbname, recreate);
         this.esClient = esClient;
         this.logbookTransformData = logbookTransformData;
         this.ontologyLoader = ontologyLoader;
+        this.operationIncrementalIndexing = operationIncrementalIndexing;
 
         // FIXME : externalize initialization of collections to avoid being dependant of current class instanciation
         // when using the static LogbookCollections
@@ -760,13 +786,13 @@ public final class LogbookMongoDbAccessImpl extends MongoDbAccess implements Log
             final VitamDocument<?> result = (VitamDocument<?>) collection.getCollection().findOneAndUpdate(
                 eq(LogbookDocument.ID, mainLogbookDocumentId),
                 combine(listUpdates),
-                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
+                getUpdateOptions(collection));
             if (result == null) {
                 throw new LogbookNotFoundException(UPDATE_NOT_FOUND_ITEM + mainLogbookDocumentId);
             }
             // FIXME : to be refactor when other collection are indexed in ES
             if (LogbookCollections.OPERATION.equals(collection)) {
-                updateIntoElasticsearch(collection, result);
+                indexUpdatedOperation(collection, result, Collections.singletonList(event));
             }
 
         } catch (final MongoException e) {
@@ -854,8 +880,8 @@ public final class LogbookMongoDbAccessImpl extends MongoDbAccess implements Log
 
         String lastPersistedDate = LocalDateUtil.getFormattedDateForMongo(now());
 
-        ArrayList<UpdateOneModel> updates = new ArrayList<>();
-
+        // Coalesce the events of a same lifecycle : one $push / $each per document
+        Map<String, List<LogbookLifeCycle>> eventsById = new LinkedHashMap<>();
         for (LogbookLifeCycleParametersBulk lifeCycleParametersBulk : logbookLifeCycleParametersBulk) {
 
             String id = lifeCycleParametersBulk.getId();
@@ -872,25 +898,32 @@ public final class LogbookMongoDbAccessImpl extends MongoDbAccess implements Log
                     return logbookLifeCycle;
                 }).collect(Collectors.toList());
 
+            eventsById.computeIfAbsent(id, key -> new ArrayList<>()).addAll(events);
+        }
+
+        ArrayList<UpdateOneModel> updates = new ArrayList<>(eventsById.size());
+
+        for (Map.Entry<String, List<LogbookLifeCycle>> eventsOfLifeCycle : eventsById.entrySet()) {
+
             List<Bson> listMaster = new ArrayList<>();
 
-            listMaster.add(Updates.pushEach(LogbookDocument.EVENTS, events));
+            listMaster.add(Updates.pushEach(LogbookDocument.EVENTS, eventsOfLifeCycle.getValue()));
             // add 1 to version
             listMaster.add(Updates.inc(LogbookDocument.VERSION, 1));
             // Update last persisted date
             listMaster.add(Updates.set(LAST_PERSISTED_DATE, lastPersistedDate));
 
-            updates.add(new UpdateOneModel(eq("_id", id), combine(listMaster)));
+            updates.add(new UpdateOneModel(eq("_id", eventsOfLifeCycle.getKey()), combine(listMaster)));
             // modifie le master pour rajouter de nouvelles info au master.
             // checkCopyToMaster(collection, items[i]);
         }
         BulkWriteResult bulkWriteResult =
             collection.getCollection().bulkWrite(updates, new BulkWriteOptions().ordered(false));
 
-        if (bulkWriteResult.getModifiedCount() != logbookLifeCycleParametersBulk.size()) {
+        if (bulkWriteResult.getModifiedCount() != updates.size()) {
             throw new VitamRuntimeException(
                 String.format("Error while bulk update document count : %s != size : %s :",
-                    bulkWriteResult.getModifiedCount(), logbookLifeCycleParametersBulk.size()));
+                    bulkWriteResult.getModifiedCount(), updates.size()));
         }
     }
 
@@ -1078,13 +1111,13 @@ public final class LogbookMongoDbAccessImpl extends MongoDbAccess implements Log
             final VitamDocument<?> result = (VitamDocument<?>) collection.getCollection().findOneAndUpdate(
                 eq(LogbookDocument.ID, mainLogbookDocumentId),
                 combine(listMaster),
-                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
+                getUpdateOptions(collection));
             if (result == null) {
                 throw new LogbookNotFoundException(UPDATE_NOT_FOUND_ITEM + mainLogbookDocumentId);
             }
             // FIXME : to be refactor when other collection are indexed in ES
             if (LogbookCollections.OPERATION.equals(collection)) {
-                updateIntoElasticsearch(collection, result);
+                indexUpdatedOperation(collection, result, events);
             }
         } catch (final MongoException e) {
             switch (getErrorCategory(e)) {
@@ -1568,6 +1601,90 @@ public final class LogbookMongoDbAccessImpl extends MongoDbAccess implements Log
     }
 
 
+    /**
+     * @param collection the updated collection
+     * @return the options of the update of a logbook document, returning the document after update (without its
+     * events in incremental indexing of operations, as only the appended events are then indexed)
+     */
+    private FindOneAndUpdateOptions getUpdateOptions(LogbookCollections collection) {
+        final FindOneAndUpdateOptions options = new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER);
+        if (operationIncrementalIndexing && LogbookCollections.OPERATION.equals(collection)) {
+            options.projection(Projections.exclude(LogbookDocument.EVENTS));
+        }
+        return options;
+    }
+
+    /**
+     * Index an updated operation in ES. In incremental indexing, appended events are sent alone until the operation
+     * is completed, the whole operation being then reindexed.
+     *
+     * @param collection the collection
+     * @param operation the operation after update (without its events in incremental indexing)
+     * @param appendedEvents the events appended to the operation
+     * @throws LogbookExecutionException if the ES update was in error
+     * @throws LogbookNotFoundException if the document was not found in mongodb
+     */
+    private void indexUpdatedOperation(LogbookCollections collection, VitamDocument<?> operation,
+        List<? extends Document> appendedEvents) throws LogbookExecutionException, LogbookNotFoundException {
+        if (!operationIncrementalIndexing) {
+            updateIntoElasticsearch(collection, operation);
+        } else if (isOperationCompleted(operation, appendedEvents)) {
+            final VitamDocument<?> completedOperation = (VitamDocument<?>) collection.getCollection()
+                .find(eq(LogbookDocument.ID, operation.getId())).first();
+            if (completedOperation == null) {
+                throw new LogbookNotFoundException(UPDATE_NOT_FOUND_ITEM + operation.getId());
+            }
+            updateIntoElasticsearch(collection, completedOperation);
+        } else {
+            appendIntoElasticsearch(collection, operation, appendedEvents);
+        }
+    }
+
+    /**
+     * An operation is completed by an event of its own type whose outcome is not STARTED.
+     */
+    private boolean isOperationCompleted(Document operation, List<? extends Document> appendedEvents) {
+        final String operationType = operation.getString(LogbookMongoDbName.eventType.getDbname());
+        if (operationType == null) {
+            return false;
+        }
+        for (final Document event : appendedEvents) {
+            if (operationType.equals(event.getString(LogbookMongoDbName.eventType.getDbname())) &&
+                !StatusCode.STARTED.name().equals(event.getString(LogbookMongoDbName.outcome.getDbname()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Append events to a document in ES, updating its other fields
+     *
+     * @param collection the collection
+     * @param operation the document to update, without its events
+     * @param appendedEvents the events to append
+     * @throws LogbookExecutionException if the ES update was in error
+     */
+    private void appendIntoElasticsearch(LogbookCollections collection, VitamDocument<?> operation,
+        List<? extends Document> appendedEvents) throws LogbookExecutionException {
+        Integer tenantId = HeaderIdHelper.getTenantId();
+        LOGGER.debug("appendIntoElasticsearch");
+        String id = (String) operation.remove(VitamDocument.ID);
+        operation.remove(VitamDocument.SCORE);
+        // Events are transformed in place : work on copies, the appended events being owned by the caller
+        operation.put(LogbookDocument.EVENTS, appendedEvents.stream()
+            .map(event -> Document.parse(event.toJson()))
+            .collect(Collectors.toList()));
+        logbookTransformData.transformDataForElastic(operation);
+        final List<?> events = (List<?>) operation.remove(LogbookDocument.EVENTS);
+        final boolean response =
+            collection.getEsClient().appendEntryEvents(collection, tenantId, id, operation, events);
+        operation.clear();
+        if (!response) {
+            throw new LogbookExecutionException("Update Elasticsearch has errors");
+        }
+    }
+
     private List<Bson> checkCopyToMaster(LogbookCollections collection, LogbookParameters item) {
         final String mainLogbookDocumentId = getDocumentForUpdate(item).getId();
         Document oldValue =
@@ -2,6 +2,7 @@ package fr.gouv.vitam.logbook.common.server.database.collections;
 
 import com.google.common.collect.Iterables;
 import com.mongodb.client.FindIterable;
+import fr.gouv.vitam.common.database.server.mongodb.VitamDocument;
 import fr.gouv.vitam.common.guid.GUID;
 import fr.gouv.vitam.common.guid.GUIDFactory;
 import fr.gouv.vitam.common.model.StatusCode;
@@ -83,6 +84,36 @@ public class LogbookMongoDbAccessImplTest {
         assertThat((List) lifeCycle.get("events")).hasSize(2);
     }
 
+    @Test
+    @RunWithCustomExecutor
+    public void should_coalesce_events_of_a_lifecycle_in_bulk_mode() throws Exception {
+        // Given
+        VitamThreadUtils.getVitamSession().setTenantId(0);
+        GUID guidLFC = GUIDFactory.newEventGUID(0);
+        LogbookLifeCycleParameters masterLFC = getLogbookLifecyleParameters(GUIDFactory.newObjectGroupGUID(0), guidLFC);
+        logbookMongoDbAccess.createLogbook(LogbookCollections.LIFECYCLE_UNIT, masterLFC);
+
+        List<LogbookLifeCycleParametersBulk> logbookLifeCycleParametersBulk = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            List<LogbookLifeCycleParameters> lifeCycleParameters = Lists.newArrayList(
+                getLogbookLifecyleParameters(GUIDFactory.newEventGUID(0), GUIDFactory.newObjectGroupGUID(0)),
+                getLogbookLifecyleParameters(GUIDFactory.newEventGUID(0), GUIDFactory.newObjectGroupGUID(0)));
+            logbookLifeCycleParametersBulk
+                .add(new LogbookLifeCycleParametersBulk(guidLFC.toString(), lifeCycleParameters));
+        }
+
+        // When
+        logbookMongoDbAccess.updateLogbookLifeCycle(LogbookCollections.LIFECYCLE_UNIT, logbookLifeCycleParametersBulk);
+
+        // Then
+        FindIterable<LogbookLifeCycle> id =
+            LogbookCollections.LIFECYCLE_UNIT.getCollection().find(eq("_id", guidLFC.toString()));
+        LogbookLifeCycle lifeCycle = Iterables.getOnlyElement(id);
+
+        assertThat((List) lifeCycle.get("events")).hasSize(6);
+        assertThat(lifeCycle.get(VitamDocument.VERSION)).isEqualTo(1);
+    }
+
     /**
      * @param eventIdentifierProcess
      * @param objectIdentifierLFC
@@ -46,11 +46,14 @@ import fr.gouv.vitam.common.guid.GUID;
 import fr.gouv.vitam.common.guid.GUIDFactory;
 import fr.gouv.vitam.common.json.BsonHelper;
 import fr.gouv.vitam.common.json.JsonHandler;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.model.StatusCode;
 import fr.gouv.vitam.common.mongo.MongoRule;
 import fr.gouv.vitam.common.server.application.configuration.MongoDbNode;
 import fr.gouv.vitam.common.thread.RunWithCustomExecutor;
 import fr.gouv.vitam.common.thread.RunWithCustomExecutorRule;
+import fr.gouv.vitam.common.thread.VitamThreadFactory;
 import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.logbook.common.parameters.LogbookLifeCycleObjectGroupParameters;
@@ -77,6 +80,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static fr.gouv.vitam.common.database.builder.query.QueryHelper.exists;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -93,6 +101,8 @@ import static org.junit.Assert.fail;
  */
 public class LogbookMongoDbAccessTest {
 
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(LogbookMongoDbAccessTest.class);
+
     private static final String PREFIX = GUIDFactory.newGUID().getId();
 
     @ClassRule
@@ -1244,6 +1254,99 @@ public class LogbookMongoDbAccessTest {
         assertNotNull(logbookLifeCycleObjectGroup);
         assertEquals(1, logbookLifeCycleObjectGroup.get(VitamDocument.VERSION));
     }
+
+    @RunWithCustomExecutor
+    @Test
+    public void incrementalOperationIndexingTest() throws Exception {
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        LogbookMongoDbAccessImpl incrementalDbAccess =
+            new LogbookMongoDbAccessImpl(mongoRule.getMongoClient(), mongoRule.getMongoDatabase().getName(), false,
+                ((LogbookMongoDbAccessImpl) mongoDbAccess).getEsClient(), tenantList, new LogbookTransformData(),
+                Collections::emptyList, true);
+
+        GUID eventIdentifierProcess = GUIDFactory.newGUID();
+        LogbookOperationParameters operationParameters = getLogbookOperationParameters(eventIdentifierProcess);
+        operationParameters.putParameterValue(LogbookParameterName.outcome, StatusCode.STARTED.name());
+        incrementalDbAccess.createLogbookOperation(operationParameters);
+
+        // Append events : only the new event is sent to ES, so an append costs the same whatever the number of
+        // events already in the operation
+        int nbBatches = 4;
+        int batchSize = 100;
+        for (int batch = 0; batch < nbBatches; batch++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < batchSize; i++) {
+                LogbookOperationParameters eventParameters = getLogbookOperationParameters(eventIdentifierProcess);
+                eventParameters.putParameterValue(LogbookParameterName.eventType, "STEP_" + (batch * batchSize + i));
+                incrementalDbAccess.updateLogbookOperation(eventParameters);
+            }
+            LOGGER.info("Mean append time with " + (batch + 1) * batchSize + " events : " +
+                (System.nanoTime() - start) / batchSize / 1000 + " µs");
+        }
+
+        Map<String, Object> indexedOperation = getIndexedOperation(eventIdentifierProcess.getId());
+        assertThat((List<?>) indexedOperation.get(LogbookDocument.EVENTS)).hasSize(nbBatches * batchSize);
+        assertEquals(nbBatches * batchSize, indexedOperation.get(VitamDocument.VERSION));
+        assertEquals(StatusCode.STARTED.name(), indexedOperation.get(LogbookMongoDbName.outcome.getDbname()));
+
+        // Completion : the whole operation is reindexed
+        incrementalDbAccess.updateLogbookOperation(getLogbookOperationParameters(eventIdentifierProcess));
+
+        indexedOperation = getIndexedOperation(eventIdentifierProcess.getId());
+        assertThat((List<?>) indexedOperation.get(LogbookDocument.EVENTS)).hasSize(nbBatches * batchSize + 1);
+        assertEquals(nbBatches * batchSize + 1, indexedOperation.get(VitamDocument.VERSION));
+    }
+
+    @RunWithCustomExecutor
+    @Test
+    public void concurrentIncrementalOperationIndexingTest() throws Exception {
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        LogbookMongoDbAccessImpl incrementalDbAccess =
+            new LogbookMongoDbAccessImpl(mongoRule.getMongoClient(), mongoRule.getMongoDatabase().getName(), false,
+                ((LogbookMongoDbAccessImpl) mongoDbAccess).getEsClient(), tenantList, new LogbookTransformData(),
+                Collections::emptyList, true);
+
+        GUID eventIdentifierProcess = GUIDFactory.newGUID();
+        LogbookOperationParameters operationParameters = getLogbookOperationParameters(eventIdentifierProcess);
+        operationParameters.putParameterValue(LogbookParameterName.outcome, StatusCode.STARTED.name());
+        incrementalDbAccess.createLogbookOperation(operationParameters);
+
+        // Concurrent appends to the same operation conflict in ES and must be retried
+        int nbThreads = 8;
+        int nbEventsPerThread = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(nbThreads, VitamThreadFactory.getInstance());
+        try {
+            List<CompletableFuture<Void>> appends = new ArrayList<>();
+            for (int thread = 0; thread < nbThreads; thread++) {
+                appends.add(CompletableFuture.runAsync(() -> {
+                    VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+                    try {
+                        for (int i = 0; i < nbEventsPerThread; i++) {
+                            LogbookOperationParameters eventParameters =
+                                getLogbookOperationParameters(eventIdentifierProcess);
+                            eventParameters.putParameterValue(LogbookParameterName.eventType, "STEP");
+                            incrementalDbAccess.updateLogbookOperation(eventParameters);
+                        }
+                    } catch (LogbookDatabaseException | LogbookNotFoundException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executorService));
+            }
+            CompletableFuture.allOf(appends.toArray(new CompletableFuture[0])).get();
+        } finally {
+            executorService.shutdown();
+        }
+
+        Map<String, Object> indexedOperation = getIndexedOperation(eventIdentifierProcess.getId());
+        assertThat((List<?>) indexedOperation.get(LogbookDocument.EVENTS)).hasSize(nbThreads * nbEventsPerThread);
+    }
+
+    private Map<String, Object> getIndexedOperation(String operationId) {
+        return ((LogbookMongoDbAccessImpl) mongoDbAccess).getEsClient().getClient()
+            .prepareGet(LogbookCollections.OPERATION.getName().toLowerCase() + "_" + TENANT_ID,
+                LogbookOperation.TYPEUNIQUE, operationId)
+            .get().getSourceAsMap();
+    }
     
     private LogbookOperationParameters getLogbookOperationParameters(GUID eventIdentifierProcess) {
         GUID eventIdentifier = GUIDFactory.newEventGUID(TENANT_ID);
@@ -49,6 +49,12 @@ public class MetaDataConfiguration extends DbConfigurationImpl {
     private int schemaValidatorCacheMaxEntries = 100;
     private int schemaValidatorCacheTimeoutInSeconds = 300;
 
+    private int inheritedRulesMaxPathsPerRule = 1000;
+    private int unitRuleCacheMaxEntries = 100_000;
+    private int unitRuleCacheTimeoutInSeconds = 300;
+
+    private int reconstructionLoadThreads = 16;
+
     /**
      * MetaDataConfiguration constructor
      *
@@ -172,6 +178,42 @@ public class MetaDataConfiguration extends DbConfigurationImpl {
         return this;
     }
 
+    public int getInheritedRulesMaxPathsPerRule() {
+        return inheritedRulesMaxPathsPerRule;
+    }
+
+    public MetaDataConfiguration setInheritedRulesMaxPathsPerRule(int inheritedRulesMaxPathsPerRule) {
+        this.inheritedRulesMaxPathsPerRule = inheritedRulesMaxPathsPerRule;
+        return this;
+    }
+
+    public int getUnitRuleCacheMaxEntries() {
+        return unitRuleCacheMaxEntries;
+    }
+
+    public MetaDataConfiguration setUnitRuleCacheMaxEntries(int unitRuleCacheMaxEntries) {
+        this.unitRuleCacheMaxEntries = unitRuleCacheMaxEntries;
+        return this;
+    }
+
+    public int getUnitRuleCacheTimeoutInSeconds() {
+        return unitRuleCacheTimeoutInSeconds;
+    }
+
+    public MetaDataConfiguration setUnitRuleCacheTimeoutInSeconds(int unitRuleCacheTimeoutInSeconds) {
+        this.unitRuleCacheTimeoutInSeconds = unitRuleCacheTimeoutInSeconds;
+        return this;
+    }
+
+    public int getReconstructionLoadThreads() {
+        return reconstructionLoadThreads;
+    }
+
+    public MetaDataConfiguration setReconstructionLoadThreads(int reconstructionLoadThreads) {
+        this.reconstructionLoadThreads = reconstructionLoadThreads;
+        return this;
+    }
+
     public String getUrlProcessing() {
         return urlProcessing;
     }
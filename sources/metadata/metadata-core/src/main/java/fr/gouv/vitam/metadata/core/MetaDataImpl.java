@@ -92,6 +92,7 @@ import fr.gouv.vitam.metadata.core.database.collections.MongoDbVarNameAdapter;
 import fr.gouv.vitam.metadata.core.database.collections.Result;
 import fr.gouv.vitam.metadata.core.model.UpdateUnit;
 import fr.gouv.vitam.metadata.core.model.UpdateUnitKey;
+import fr.gouv.vitam.metadata.core.model.BulkUpdatedDocuments;
 import fr.gouv.vitam.metadata.core.model.UpdatedDocument;
 import fr.gouv.vitam.metadata.core.utils.MetadataJsonResponseUtils;
 import fr.gouv.vitam.metadata.core.utils.OriginatingAgencyBucketResult;
@@ -731,86 +732,83 @@ public class MetaDataImpl {
         final RequestMultiple request = updateRequest.getRequest();
         unitIds = request.getRoots();
 
-        List<UpdateUnit> updatedUnits = unitIds.stream()
-            .map(unitId -> updateAndTransformUnit(updateRequest, unitId))
-            .collect(Collectors.toList());
+        List<UpdateUnit> updatedUnits;
+        try {
+            BulkUpdatedDocuments updatedDocuments = dbRequest
+                .execBulkUpdateRequest(updateRequest, unitIds, MetadataCollections.UNIT, this.unitOntologyValidator,
+                    this.unitValidator, this.unitOntologyLoader.loadOntologies());
+
+            updatedUnits = unitIds.stream()
+                .map(unitId -> transformUpdatedUnit(unitId, updatedDocuments, "Update unit OK."))
+                .collect(Collectors.toList());
+
+        } catch (InvalidParseOperationException e) {
+            updatedUnits = unitIds.stream()
+                .map(unitId -> transformUnitUpdateError(unitId, e))
+                .collect(Collectors.toList());
+        }
 
         return new RequestResponseOK<UpdateUnit>(updateQuery)
             .addAllResults(updatedUnits)
             .setTotal(updatedUnits.size());
     }
 
-    private UpdateUnit updateAndTransformUnit(UpdateParserMultiple updateRequest, String unitId) {
-
-        try {
+    private UpdateUnit transformUpdatedUnit(String unitId, BulkUpdatedDocuments updatedDocuments,
+        String okMessage) {
 
-            UpdatedDocument updatedDocument = dbRequest
-                .execUpdateRequest(updateRequest, unitId, MetadataCollections.UNIT, this.unitOntologyValidator, this.unitValidator, this.unitOntologyLoader.loadOntologies());
+        UpdatedDocument updatedDocument = updatedDocuments.getUpdatedDocument(unitId);
+        if (updatedDocument == null) {
+            return transformUnitUpdateError(unitId, updatedDocuments.getError(unitId));
+        }
 
-            String diffs = String.join("\n", VitamDocument.getConcernedDiffLines(
-                VitamDocument.getUnifiedDiff(JsonHandler.prettyPrint(updatedDocument.getBeforeUpdate()),
-                    JsonHandler.prettyPrint(updatedDocument.getAfterUpdate()))));
+        String diffs = String.join("\n", VitamDocument.getConcernedDiffLines(
+            VitamDocument.getUnifiedDiff(JsonHandler.prettyPrint(updatedDocument.getBeforeUpdate()),
+                JsonHandler.prettyPrint(updatedDocument.getAfterUpdate()))));
 
-            if (diffs.isEmpty()) {
-                LOGGER.warn("No updates found for unit update " + unitId);
-                // FIXME : Return OK for idempotency?
-                return error(unitId, KO, UNIT_METADATA_NO_CHANGES, "No updates.");
-            }
+        if (diffs.isEmpty()) {
+            LOGGER.warn("No updates found for unit update " + unitId);
+            // FIXME : Return OK for idempotency?
+            return error(unitId, KO, UNIT_METADATA_NO_CHANGES, "No updates.");
+        }
 
-            return new UpdateUnit(unitId, StatusCode.OK, UNIT_METADATA_UPDATE, "Update unit OK.", diffs);
+        return new UpdateUnit(unitId, StatusCode.OK, UNIT_METADATA_UPDATE, okMessage, diffs);
+    }
 
-        } catch (MetadataValidationException e) {
+    private UpdateUnit transformUnitUpdateError(String unitId, Exception e) {
+        if (e instanceof MetadataValidationException) {
             LOGGER.error("An error occurred during unit update " + unitId, e);
             return error(unitId, KO, CHECK_UNIT_SCHEMA, e.getMessage());
-        } catch (MetaDataNotFoundException e) {
+        }
+        if (e instanceof MetaDataNotFoundException) {
             LOGGER.error("Unit not found during unit update " + unitId, e);
             return error(unitId, KO, UNIT_UNKNOWN_OR_FORBIDDEN, e.getMessage());
-        } catch (Exception e) {
-            LOGGER.error("An error occurred during unit update " + unitId, e);
-            return error(unitId, FATAL, UNIT_METADATA_UPDATE, e.getMessage());
         }
+        LOGGER.error("An error occurred during unit update " + unitId, e);
+        return error(unitId, FATAL, UNIT_METADATA_UPDATE, e != null ? e.getMessage() : null);
     }
 
     public RequestResponse<UpdateUnit> updateUnitsRules(List<String> unitIds, RuleActions ruleActions,
         Map<String, DurationData> bindRuleToDuration) {
 
-        List<UpdateUnit> unitRules = unitIds.stream()
-            .map(unitId -> updateAndTransformUnitRules(unitId, ruleActions, bindRuleToDuration))
-            .collect(Collectors.toList());
-
-        return new RequestResponseOK<UpdateUnit>()
-            .addAllResults(unitRules)
-            .setTotal(unitRules.size());
-    }
-
-    private UpdateUnit updateAndTransformUnitRules(String unitId, RuleActions ruleActions,
-        Map<String, DurationData> bindRuleToDuration) {
+        List<UpdateUnit> unitRules;
         try {
-            UpdatedDocument updatedDocument =
-                dbRequest.execRuleRequest(unitId, ruleActions, bindRuleToDuration, this.unitOntologyValidator,
+            BulkUpdatedDocuments updatedDocuments =
+                dbRequest.execBulkRuleRequest(unitIds, ruleActions, bindRuleToDuration, this.unitOntologyValidator,
                     unitValidator, this.unitOntologyLoader.loadOntologies());
 
-            String diffs = String.join("\n", VitamDocument.getConcernedDiffLines(
-                VitamDocument.getUnifiedDiff(JsonHandler.prettyPrint(updatedDocument.getBeforeUpdate()),
-                    JsonHandler.prettyPrint(updatedDocument.getAfterUpdate()))));
+            unitRules = unitIds.stream()
+                .map(unitId -> transformUpdatedUnit(unitId, updatedDocuments, "Update unit rules OK."))
+                .collect(Collectors.toList());
 
-            if (diffs.isEmpty()) {
-                // FIXME : Return OK for idempotency?
-                return error(unitId, KO, UNIT_METADATA_NO_CHANGES, "No updates.");
-            }
-
-            return new UpdateUnit(unitId, StatusCode.OK, UNIT_METADATA_UPDATE, "Update unit rules OK.", diffs);
-
-        } catch (MetadataValidationException e) {
-            LOGGER.error("An error occurred during unit update " + unitId, e);
-            return error(unitId, KO, CHECK_UNIT_SCHEMA, e.getMessage());
-        } catch (MetaDataNotFoundException e) {
-            LOGGER.error("Unit not found during unit update " + unitId, e);
-            return error(unitId, KO, UNIT_UNKNOWN_OR_FORBIDDEN, e.getMessage());
-        } catch (Exception e) {
-            LOGGER.error("An error occurred during unit update " + unitId, e);
-            return error(unitId, FATAL, UNIT_METADATA_UPDATE, e.getMessage());
+        } catch (InvalidParseOperationException | InvalidCreateOperationException e) {
+            unitRules = unitIds.stream()
+                .map(unitId -> transformUnitUpdateError(unitId, e))
+                .collect(Collectors.toList());
         }
+
+        return new RequestResponseOK<UpdateUnit>()
+            .addAllResults(unitRules)
+            .setTotal(unitRules.size());
     }
 
     private UpdateUnit error(String unitId, StatusCode status, UpdateUnitKey key, String message) {
@@ -32,11 +32,16 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
 import com.mongodb.BasicDBObject;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.AggregateIterable;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 import fr.gouv.vitam.common.VitamConfiguration;
@@ -58,6 +63,7 @@ import fr.gouv.vitam.common.database.parser.request.multiple.InsertParserMultipl
 import fr.gouv.vitam.common.database.parser.request.multiple.RequestParserMultiple;
 import fr.gouv.vitam.common.database.parser.request.multiple.UpdateParserMultiple;
 import fr.gouv.vitam.common.database.server.MongoDbInMemory;
+import fr.gouv.vitam.common.database.server.MongoDbInMemoryUpdatePlan;
 import fr.gouv.vitam.common.database.server.mongodb.VitamDocument;
 import fr.gouv.vitam.common.database.translators.RequestToAbstract;
 import fr.gouv.vitam.common.database.translators.elasticsearch.QueryToElasticsearch;
@@ -80,12 +86,14 @@ import fr.gouv.vitam.common.model.administration.OntologyModel;
 import fr.gouv.vitam.common.model.massupdate.RuleActions;
 import fr.gouv.vitam.common.parameter.ParameterHelper;
 import fr.gouv.vitam.common.performance.PerformanceLogger;
+import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.metadata.api.exception.MetaDataAlreadyExistException;
 import fr.gouv.vitam.metadata.api.exception.MetaDataExecutionException;
 import fr.gouv.vitam.metadata.api.exception.MetaDataNotFoundException;
 import fr.gouv.vitam.metadata.core.database.configuration.GlobalDatasDb;
 import fr.gouv.vitam.metadata.core.graph.GraphLoader;
+import fr.gouv.vitam.metadata.core.model.BulkUpdatedDocuments;
 import fr.gouv.vitam.metadata.core.model.UpdatedDocument;
 import fr.gouv.vitam.metadata.core.trigger.FieldHistoryManager;
 import fr.gouv.vitam.metadata.core.validation.MetadataValidationException;
@@ -102,11 +110,14 @@ import org.elasticsearch.search.sort.SortBuilder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -139,6 +150,11 @@ public class DbRequest {
         CONSISTENCY_ERROR_THE_DOCUMENT_GUID_S_IN_ES_IS_NOT_IN_MONGO_DB_ANYMORE_TENANT_S_REQUEST_ID_S =
         "[Consistency Error] : The document guid=%s in ES is not in MongoDB anymore, tenant : %s, requestId : %s";
 
+    /**
+     * Minimum number of documents transformed by each parallel task of a bulk update
+     */
+    private static final int MIN_DOCUMENTS_PER_TRANSFORMATION_TASK = 50;
+
     private final MongoDbMetadataRepository<Unit> mongoDbUnitRepository;
     private final MongoDbMetadataRepository<ObjectGroup> mongoDbObjectGroupRepository;
     private final FieldHistoryManager fieldHistoryManager;
@@ -172,12 +188,15 @@ public class DbRequest {
         MetaDataNotFoundException, MetadataValidationException {
 
         final Integer tenantId = ParameterHelper.getTenantParameter();
+        final MetadataCollections metadataCollections = MetadataCollections.UNIT;
+        final DynamicParserTokens parserTokens =
+            new DynamicParserTokens(metadataCollections.getVitamDescriptionResolver(), ontologyModels);
+        final MongoDbInMemoryUpdatePlan operationUpdatePlan =
+            MongoDbInMemoryUpdatePlan.compile(createOperationUpdateRequest(), parserTokens);
 
         int tries = 0;
 
         while (tries < 3) {
-            MetadataCollections metadataCollections = MetadataCollections.UNIT;
-
             MongoCollection<MetadataDocument<?>> collection = metadataCollections.getCollection();
             MetadataDocument<?> document = collection.find(and(
                 eq(MetadataDocument.ID, documentId),
@@ -192,42 +211,14 @@ public class DbRequest {
                 LOGGER.debug("DEBUG update {} to update to {}", jsonDocument,
                     JsonHandler.prettyPrint(ruleActions));
             }
-            DynamicParserTokens parserTokens = new DynamicParserTokens(metadataCollections.getVitamDescriptionResolver(), ontologyModels);
-            final MongoDbInMemory mongoInMemory = new MongoDbInMemory(jsonDocument,
-                parserTokens);
-
-            // Add operationId to #operations
-            UpdateMultiQuery updateQuery = new UpdateMultiQuery();
-            updateQuery
-                .addActions(push(VitamFieldsHelper.operations(), VitamThreadUtils.getVitamSession().getRequestId()));
-
-            final RequestParserMultiple updateRequest = new UpdateParserMultiple(new MongoDbVarNameAdapter());
-            updateRequest.parse(updateQuery.getFinalUpdateById());
-            mongoInMemory.getUpdateJson(updateRequest);
 
-            // Update rules
             final ObjectNode updatedJsonDocument =
-                (ObjectNode) mongoInMemory.getUpdateJsonForRule(ruleActions, bindRuleToDuration);
-
-            fieldHistoryManager.trigger(jsonDocument, updatedJsonDocument);
-
-            Integer documentVersion = document.getVersion();
-            int newDocumentVersion = documentVersion + 1;
+                applyRuleActions(document, jsonDocument, operationUpdatePlan, ruleActions,
+                    bindRuleToDuration, ontologyValidator, unitValidator, parserTokens);
             Integer atomicVersion = document.getAtomicVersion();
-            int newAtomicVersion = atomicVersion == null ? newDocumentVersion : atomicVersion + 1;
-
-            updatedJsonDocument.put(VitamDocument.VERSION, newDocumentVersion);
-            updatedJsonDocument.put(MetadataDocument.ATOMIC_VERSION, newAtomicVersion);
 
             Unit updatedDocument = new Unit(updatedJsonDocument);
 
-            // Ontology checks & format transformation
-            final ObjectNode transformedUpdatedDocument
-                = ontologyValidator.verifyAndReplaceFields(updatedJsonDocument);
-
-            // Unit validation
-            unitValidator.validateUnit(transformedUpdatedDocument);
-
             // Make Update
             final Bson condition;
             if (atomicVersion == null) {
@@ -242,7 +233,7 @@ public class DbRequest {
                     eq(MetadataDocument.ATOMIC_VERSION, atomicVersion));
             }
 
-            LOGGER.debug("DEBUG update {}", transformedUpdatedDocument);
+            LOGGER.debug("DEBUG update {}", updatedJsonDocument);
             UpdateResult result = collection.replaceOne(condition, updatedDocument);
             if (result.getModifiedCount() == 1) {
                 indexFieldsUpdated(updatedDocument, tenantId);
@@ -254,6 +245,78 @@ public class DbRequest {
         throw new MetaDataExecutionException("Can not modify document " + documentId);
     }
 
+    /**
+     * Execute rule action on units, by batches: documents of a batch are fetched, transformed in parallel, written in
+     * one bulk request and indexed in one bulk request. Only the documents modified concurrently are retried.
+     *
+     * @param documentIds the unit ids
+     * @param ruleActions the list of ruleAction (by category)
+     * @return the updated units, and the error of each unit that could not be updated
+     * @throws InvalidParseOperationException
+     * @throws InvalidCreateOperationException
+     */
+    public BulkUpdatedDocuments execBulkRuleRequest(final Collection<String> documentIds,
+        final RuleActions ruleActions, Map<String, DurationData> bindRuleToDuration,
+        OntologyValidator ontologyValidator, UnitValidator unitValidator, List<OntologyModel> ontologyModels)
+        throws InvalidParseOperationException, InvalidCreateOperationException {
+
+        final MetadataCollections metadataCollections = MetadataCollections.UNIT;
+        final DynamicParserTokens parserTokens =
+            new DynamicParserTokens(metadataCollections.getVitamDescriptionResolver(), ontologyModels);
+        final MongoDbInMemoryUpdatePlan operationUpdatePlan =
+            MongoDbInMemoryUpdatePlan.compile(createOperationUpdateRequest(), parserTokens);
+
+        return bulkUpdateDocuments(documentIds, metadataCollections,
+            (document, jsonDocument) -> applyRuleActions(document, jsonDocument, operationUpdatePlan, ruleActions,
+                bindRuleToDuration, ontologyValidator, unitValidator, parserTokens));
+    }
+
+    /**
+     * Add operationId to #operations
+     */
+    private RequestParserMultiple createOperationUpdateRequest()
+        throws InvalidCreateOperationException, InvalidParseOperationException {
+        UpdateMultiQuery updateQuery = new UpdateMultiQuery();
+        updateQuery
+            .addActions(push(VitamFieldsHelper.operations(), VitamThreadUtils.getVitamSession().getRequestId()));
+
+        final RequestParserMultiple updateRequest = new UpdateParserMultiple(new MongoDbVarNameAdapter());
+        updateRequest.parse(updateQuery.getFinalUpdateById());
+        return updateRequest;
+    }
+
+    private ObjectNode applyRuleActions(MetadataDocument<?> document, JsonNode jsonDocument,
+        MongoDbInMemoryUpdatePlan operationUpdatePlan, RuleActions ruleActions,
+        Map<String, DurationData> bindRuleToDuration, OntologyValidator ontologyValidator,
+        UnitValidator unitValidator, DynamicParserTokens parserTokens)
+        throws InvalidParseOperationException, MetadataValidationException {
+        final MongoDbInMemory mongoInMemory = new MongoDbInMemory(jsonDocument, parserTokens);
+        mongoInMemory.getUpdateJson(operationUpdatePlan);
+
+        // Update rules
+        final ObjectNode updatedJsonDocument =
+            (ObjectNode) mongoInMemory.getUpdateJsonForRule(ruleActions, bindRuleToDuration);
+
+        fieldHistoryManager.trigger(jsonDocument, updatedJsonDocument);
+
+        Integer documentVersion = document.getVersion();
+        int newDocumentVersion = documentVersion + 1;
+        Integer atomicVersion = document.getAtomicVersion();
+        int newAtomicVersion = atomicVersion == null ? newDocumentVersion : atomicVersion + 1;
+
+        updatedJsonDocument.put(VitamDocument.VERSION, newDocumentVersion);
+        updatedJsonDocument.put(MetadataDocument.ATOMIC_VERSION, newAtomicVersion);
+
+        // Ontology checks & format transformation
+        final ObjectNode transformedUpdatedDocument
+            = ontologyValidator.verifyAndReplaceFields(updatedJsonDocument);
+
+        // Unit validation
+        unitValidator.validateUnit(transformedUpdatedDocument);
+
+        return updatedJsonDocument;
+    }
+
     /**
      * The request should be already analyzed.
      *
@@ -383,6 +446,33 @@ public class DbRequest {
         return result;
     }
 
+    /**
+     * Execute an update request on documents, by batches: documents of a batch are fetched, transformed in parallel,
+     * written in one bulk request and indexed in one bulk request. Only the documents modified concurrently are
+     * retried.
+     *
+     * @param requestParser the update request
+     * @param documentIds the ids of the documents to update
+     * @param metadataCollection the collection of the documents
+     * @return the updated documents, and the error of each document that could not be updated
+     * @throws InvalidParseOperationException if the update actions are malformed
+     */
+    public BulkUpdatedDocuments execBulkUpdateRequest(final RequestParserMultiple requestParser,
+        Collection<String> documentIds, MetadataCollections metadataCollection, OntologyValidator ontologyValidator,
+        UnitValidator unitValidator, List<OntologyModel> ontologyModels) throws InvalidParseOperationException {
+
+        final DynamicParserTokens parserTokens =
+            new DynamicParserTokens(metadataCollection.getVitamDescriptionResolver(), ontologyModels);
+        final MongoDbInMemoryUpdatePlan updatePlan = MongoDbInMemoryUpdatePlan.compile(requestParser, parserTokens);
+        final BulkUpdatedDocuments result = bulkUpdateDocuments(documentIds, metadataCollection,
+            (document, jsonDocument) -> applyUpdateRequest(document, jsonDocument, updatePlan, metadataCollection,
+                ontologyValidator, unitValidator, parserTokens));
+        if (GlobalDatasDb.PRINT_REQUEST) {
+            LOGGER.debug("Results: {}", result.getUpdatedDocuments());
+        }
+        return result;
+    }
+
     /**
      * Check Unit at startup against Roots
      *
@@ -911,6 +1001,9 @@ public class DbRequest {
         OntologyValidator ontologyValidator, UnitValidator unitValidator, List<OntologyModel> ontologyModels) throws InvalidParseOperationException, MetaDataExecutionException,
         MetaDataNotFoundException, MetadataValidationException {
         final Integer tenantId = ParameterHelper.getTenantParameter();
+        final DynamicParserTokens parserTokens =
+            new DynamicParserTokens(metadataCollection.getVitamDescriptionResolver(), ontologyModels);
+        final MongoDbInMemoryUpdatePlan updatePlan = MongoDbInMemoryUpdatePlan.compile(requestParser, parserTokens);
 
         int tries = 0;
         while (tries < 3) {
@@ -926,33 +1019,11 @@ public class DbRequest {
                 throw new MetaDataNotFoundException("Document not found by id " + documentId);
             }
 
-            final Integer documentVersion = document.getVersion();
-
             final JsonNode jsonDocument = JsonHandler.toJsonNode(document);
-            DynamicParserTokens parserTokens = new DynamicParserTokens(metadataCollection.getVitamDescriptionResolver(), ontologyModels);
-            final MongoDbInMemory mongoInMemory = new MongoDbInMemory(jsonDocument, parserTokens);
-            final ObjectNode updatedJsonDocument = (ObjectNode) mongoInMemory.getUpdateJson(requestParser);
-
-            if (metadataCollection == MetadataCollections.UNIT) {
-                fieldHistoryManager.trigger(jsonDocument, updatedJsonDocument);
-            }
-
-            int newDocumentVersion =
-                incrementDocumentVersionIfRequired(metadataCollection, mongoInMemory, documentVersion);
-            updatedJsonDocument.put(VitamDocument.VERSION, newDocumentVersion);
-
-            Integer atomicVersion = document.getAtomicVersion();
-            int newAtomicVersion = atomicVersion == null ? newDocumentVersion : atomicVersion + 1;
-            updatedJsonDocument.put(MetadataDocument.ATOMIC_VERSION, newAtomicVersion);
-
-            // Ontology checks & format transformation
             final ObjectNode transformedUpdatedDocument =
-                ontologyValidator.verifyAndReplaceFields(updatedJsonDocument);
-
-            if (metadataCollection == MetadataCollections.UNIT) {
-                // Unit validation
-                unitValidator.validateUnit(transformedUpdatedDocument);
-            }
+                applyUpdateRequest(document, jsonDocument, updatePlan, metadataCollection, ontologyValidator,
+                    unitValidator, parserTokens);
+            Integer atomicVersion = document.getAtomicVersion();
 
             // Make Update
             final Bson condition;
@@ -984,6 +1055,342 @@ public class DbRequest {
         throw new MetaDataExecutionException("Can not modify document " + documentId);
     }
 
+    private ObjectNode applyUpdateRequest(MetadataDocument<?> document, JsonNode jsonDocument,
+        MongoDbInMemoryUpdatePlan updatePlan, MetadataCollections metadataCollection,
+        OntologyValidator ontologyValidator, UnitValidator unitValidator, DynamicParserTokens parserTokens)
+        throws InvalidParseOperationException, MetadataValidationException {
+        final Integer documentVersion = document.getVersion();
+
+        final MongoDbInMemory mongoInMemory = new MongoDbInMemory(jsonDocument, parserTokens);
+        final ObjectNode updatedJsonDocument = (ObjectNode) mongoInMemory.getUpdateJson(updatePlan);
+
+        if (metadataCollection == MetadataCollections.UNIT) {
+            fieldHistoryManager.trigger(jsonDocument, updatedJsonDocument);
+        }
+
+        int newDocumentVersion =
+            incrementDocumentVersionIfRequired(metadataCollection, mongoInMemory, documentVersion);
+        updatedJsonDocument.put(VitamDocument.VERSION, newDocumentVersion);
+
+        Integer atomicVersion = document.getAtomicVersion();
+        int newAtomicVersion = atomicVersion == null ? newDocumentVersion : atomicVersion + 1;
+        updatedJsonDocument.put(MetadataDocument.ATOMIC_VERSION, newAtomicVersion);
+
+        // Ontology checks & format transformation
+        final ObjectNode transformedUpdatedDocument =
+            ontologyValidator.verifyAndReplaceFields(updatedJsonDocument);
+
+        if (metadataCollection == MetadataCollections.UNIT) {
+            // Unit validation
+            unitValidator.validateUnit(transformedUpdatedDocument);
+        }
+        return transformedUpdatedDocument;
+    }
+
+    /**
+     * In memory transformation of a document
+     */
+    @FunctionalInterface
+    private interface DocumentTransformation {
+        /**
+         * @param document the current document
+         * @param jsonDocument the current document as json
+         * @return the document to persist, with its new version and atomic version
+         */
+        ObjectNode apply(MetadataDocument<?> document, JsonNode jsonDocument)
+            throws InvalidParseOperationException, MetadataValidationException;
+    }
+
+    /**
+     * A document transformed in memory, or the error raised by its transformation
+     */
+    private static final class PreparedUpdate {
+        private final String documentId;
+        private JsonNode beforeUpdate;
+        private MetadataDocument<?> updatedDocument;
+        private JsonNode afterUpdate;
+        private Integer atomicVersion;
+        private Exception error;
+
+        private PreparedUpdate(String documentId) {
+            this.documentId = documentId;
+        }
+
+        private Bson getCondition() {
+            if (atomicVersion == null) {
+                return and(eq(MetadataDocument.ID, documentId),
+                    exists(MetadataDocument.ATOMIC_VERSION, false));
+            }
+            return and(eq(MetadataDocument.ID, documentId),
+                eq(MetadataDocument.ATOMIC_VERSION, atomicVersion));
+        }
+    }
+
+    private BulkUpdatedDocuments bulkUpdateDocuments(Collection<String> documentIds,
+        MetadataCollections metadataCollection, DocumentTransformation transformation) {
+        final Integer tenantId = ParameterHelper.getTenantParameter();
+        final BulkUpdatedDocuments result = new BulkUpdatedDocuments();
+
+        final List<String> conflictingIds = new ArrayList<>();
+        for (List<String> batchIds : Lists
+            .partition(new ArrayList<>(new LinkedHashSet<>(documentIds)), VitamConfiguration.getBatchSize())) {
+            conflictingIds.addAll(bulkUpdateBatch(batchIds, metadataCollection, transformation, tenantId, result));
+        }
+        // Documents modified concurrently are retried one by one, so that each write outcome is known for sure
+        for (String documentId : conflictingIds) {
+            retryBulkUpdate(documentId, metadataCollection, transformation, tenantId, result);
+        }
+        return result;
+    }
+
+    private void retryBulkUpdate(String documentId, MetadataCollections metadataCollection,
+        DocumentTransformation transformation, Integer tenantId, BulkUpdatedDocuments result) {
+
+        final MongoCollection<MetadataDocument<?>> collection = metadataCollection.getCollection();
+        for (int tries = 1; tries < 3; tries++) {
+            final MetadataDocument<?> document = collection.find(and(
+                eq(MetadataDocument.ID, documentId),
+                eq(MetadataDocument.TENANT_ID, tenantId)
+            )).first();
+            if (document == null) {
+                result.addError(documentId, new MetaDataNotFoundException("Document not found by id " + documentId));
+                return;
+            }
+
+            final PreparedUpdate preparedUpdate = prepareUpdate(document, transformation);
+            if (preparedUpdate.error != null) {
+                result.addError(documentId, preparedUpdate.error);
+                return;
+            }
+
+            final UpdateResult updateResult;
+            try {
+                updateResult = collection.replaceOne(preparedUpdate.getCondition(), preparedUpdate.updatedDocument);
+            } catch (final MongoException e) {
+                LOGGER.error("Update failed for document " + documentId, e);
+                result.addError(documentId, new MetaDataExecutionException(e));
+                return;
+            }
+            if (updateResult.getMatchedCount() == 1) {
+                indexWrittenUpdates(metadataCollection, tenantId, Collections.singletonList(preparedUpdate), result);
+                return;
+            }
+        }
+        result.addError(documentId, new MetaDataExecutionException("Can not modify document " + documentId));
+    }
+
+    /**
+     * @return the ids of the documents modified concurrently, to be retried
+     */
+    private List<String> bulkUpdateBatch(List<String> batchIds, MetadataCollections metadataCollection,
+        DocumentTransformation transformation, Integer tenantId, BulkUpdatedDocuments result) {
+
+        final MongoCollection<MetadataDocument<?>> collection = metadataCollection.getCollection();
+        final Map<String, MetadataDocument<?>> documents = findByIds(collection, batchIds, tenantId);
+
+        final List<MetadataDocument<?>> foundDocuments = new ArrayList<>();
+        for (String documentId : batchIds) {
+            final MetadataDocument<?> document = documents.get(documentId);
+            if (document == null) {
+                result.addError(documentId, new MetaDataNotFoundException("Document not found by id " + documentId));
+            } else {
+                foundDocuments.add(document);
+            }
+        }
+
+        final List<PreparedUpdate> preparedUpdates = new ArrayList<>();
+        for (PreparedUpdate preparedUpdate : prepareUpdates(foundDocuments, transformation)) {
+            if (preparedUpdate.error != null) {
+                result.addError(preparedUpdate.documentId, preparedUpdate.error);
+            } else {
+                preparedUpdates.add(preparedUpdate);
+            }
+        }
+        if (preparedUpdates.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        final List<ReplaceOneModel<MetadataDocument<?>>> replacements = preparedUpdates.stream()
+            .map(preparedUpdate -> new ReplaceOneModel<MetadataDocument<?>>(preparedUpdate.getCondition(),
+                preparedUpdate.updatedDocument))
+            .collect(Collectors.toList());
+
+        final List<PreparedUpdate> writtenUpdates = new ArrayList<>();
+        final List<String> conflictingIds = new ArrayList<>();
+        try {
+            BulkWriteResult bulkWriteResult =
+                collection.bulkWrite(replacements, new BulkWriteOptions().ordered(false));
+            if (bulkWriteResult.getMatchedCount() == preparedUpdates.size()) {
+                writtenUpdates.addAll(preparedUpdates);
+            } else {
+                checkWrittenUpdates(collection, preparedUpdates, tenantId, writtenUpdates, conflictingIds, result);
+            }
+        } catch (final MongoBulkWriteException e) {
+            LOGGER.error("Bulk update failed for some documents", e);
+            final List<PreparedUpdate> remainingUpdates = new ArrayList<>(preparedUpdates);
+            for (BulkWriteError writeError : e.getWriteErrors()) {
+                final PreparedUpdate failedUpdate = preparedUpdates.get(writeError.getIndex());
+                result.addError(failedUpdate.documentId, new MetaDataExecutionException(writeError.getMessage()));
+                remainingUpdates.remove(failedUpdate);
+            }
+            checkWrittenUpdates(collection, remainingUpdates, tenantId, writtenUpdates, conflictingIds, result);
+        } catch (final MongoException e) {
+            LOGGER.error("Bulk update failed", e);
+            preparedUpdates.forEach(
+                preparedUpdate -> result.addError(preparedUpdate.documentId, new MetaDataExecutionException(e)));
+            return conflictingIds;
+        }
+
+        indexWrittenUpdates(metadataCollection, tenantId, writtenUpdates, result);
+        return conflictingIds;
+    }
+
+    private void indexWrittenUpdates(MetadataCollections metadataCollection, Integer tenantId,
+        List<PreparedUpdate> writtenUpdates, BulkUpdatedDocuments result) {
+        try {
+            metadataCollection.getEsClient().updateFullDocuments(metadataCollection, tenantId,
+                writtenUpdates.stream().map(writtenUpdate -> writtenUpdate.updatedDocument)
+                    .collect(Collectors.toList()));
+            writtenUpdates.forEach(writtenUpdate -> result.addUpdatedDocument(
+                new UpdatedDocument(writtenUpdate.documentId, writtenUpdate.beforeUpdate, writtenUpdate.afterUpdate)));
+        } catch (final MetaDataExecutionException | RuntimeException e) {
+            writtenUpdates.forEach(writtenUpdate -> result.addError(writtenUpdate.documentId, e));
+        }
+    }
+
+    private Map<String, MetadataDocument<?>> findByIds(MongoCollection<MetadataDocument<?>> collection,
+        Collection<String> documentIds, Integer tenantId) {
+        final Map<String, MetadataDocument<?>> documents = new HashMap<>();
+        try (MongoCursor<MetadataDocument<?>> cursor = collection
+            .find(and(in(MetadataDocument.ID, documentIds), eq(MetadataDocument.TENANT_ID, tenantId)))
+            .iterator()) {
+            while (cursor.hasNext()) {
+                final MetadataDocument<?> document = cursor.next();
+                documents.put(document.getId(), document);
+            }
+        }
+        return documents;
+    }
+
+    /**
+     * Transform documents in memory, in parallel when there are enough of them
+     */
+    private List<PreparedUpdate> prepareUpdates(List<MetadataDocument<?>> documents,
+        DocumentTransformation transformation) {
+        final int parallelism = Math.min(Runtime.getRuntime().availableProcessors(),
+            documents.size() / MIN_DOCUMENTS_PER_TRANSFORMATION_TASK);
+        if (parallelism <= 1) {
+            return documents.stream()
+                .map(document -> prepareUpdate(document, transformation))
+                .collect(Collectors.toList());
+        }
+        final int chunkSize = (documents.size() + parallelism - 1) / parallelism;
+        final List<CompletableFuture<List<PreparedUpdate>>> futures = Lists.partition(documents, chunkSize).stream()
+            .map(chunk -> CompletableFuture.supplyAsync(() -> chunk.stream()
+                .map(document -> prepareUpdate(document, transformation))
+                .collect(Collectors.toList()), VitamThreadPoolExecutor.getDefaultExecutor()))
+            .collect(Collectors.toList());
+        return futures.stream()
+            .flatMap(future -> future.join().stream())
+            .collect(Collectors.toList());
+    }
+
+    private PreparedUpdate prepareUpdate(MetadataDocument<?> document, DocumentTransformation transformation) {
+        final PreparedUpdate preparedUpdate = new PreparedUpdate(document.getId());
+        try {
+            preparedUpdate.beforeUpdate = JsonHandler.toJsonNode(document);
+            final ObjectNode updatedJsonDocument = transformation.apply(document, preparedUpdate.beforeUpdate);
+            preparedUpdate.updatedDocument = (MetadataDocument<?>) document.newInstance(updatedJsonDocument);
+            preparedUpdate.afterUpdate = updatedJsonDocument;
+            preparedUpdate.atomicVersion = document.getAtomicVersion();
+        } catch (final Exception e) {
+            preparedUpdate.error = e;
+        }
+        return preparedUpdate;
+    }
+
+    /**
+     * Outcome of a replacement of a bulk write, as seen from the document now in database
+     */
+    enum WriteStatus {
+        /**
+         * The document is the one we wrote
+         */
+        WRITTEN,
+        /**
+         * The document was modified concurrently and does not contain our update : it can be retried
+         */
+        CONFLICT,
+        /**
+         * The document was modified again after a write : our update may or may not be part of it
+         */
+        UNKNOWN
+    }
+
+    /**
+     * A document with a lower atomic version (_av) was modified concurrently before our write. A document with our
+     * atomic version is ours only if it has our content : another writer starting from the same atomic version ends
+     * up with the same version numbers. A document with a higher atomic version may already contain our update.
+     *
+     * @param currentDocument the document as it is now in database
+     * @param writtenDocument the document we tried to write
+     * @return the outcome of the write
+     * @throws InvalidParseOperationException
+     */
+    @VisibleForTesting
+    static WriteStatus getWriteStatus(MetadataDocument<?> currentDocument, MetadataDocument<?> writtenDocument)
+        throws InvalidParseOperationException {
+        final Integer currentAtomicVersion = currentDocument.getAtomicVersion();
+        final int writtenAtomicVersion = writtenDocument.getAtomicVersion();
+        if (currentAtomicVersion == null || currentAtomicVersion < writtenAtomicVersion) {
+            return WriteStatus.CONFLICT;
+        }
+        if (currentAtomicVersion > writtenAtomicVersion) {
+            return WriteStatus.UNKNOWN;
+        }
+        return JsonHandler.toJsonNode(currentDocument).equals(JsonHandler.toJsonNode(writtenDocument)) ?
+            WriteStatus.WRITTEN : WriteStatus.CONFLICT;
+    }
+
+    /**
+     * The bulk write result does not tell which replacements matched : check documents as they are now in database.
+     * Written documents are indexed, conflicting ones are retried. A document modified again after a write is
+     * reported as an error rather than risking to apply the update twice.
+     */
+    private void checkWrittenUpdates(MongoCollection<MetadataDocument<?>> collection,
+        List<PreparedUpdate> preparedUpdates, Integer tenantId, List<PreparedUpdate> writtenUpdates,
+        List<String> conflictingIds, BulkUpdatedDocuments result) {
+        if (preparedUpdates.isEmpty()) {
+            return;
+        }
+        final Map<String, MetadataDocument<?>> currentDocuments = findByIds(collection,
+            preparedUpdates.stream().map(preparedUpdate -> preparedUpdate.documentId).collect(Collectors.toList()),
+            tenantId);
+        for (PreparedUpdate preparedUpdate : preparedUpdates) {
+            final MetadataDocument<?> currentDocument = currentDocuments.get(preparedUpdate.documentId);
+            if (currentDocument == null) {
+                result.addError(preparedUpdate.documentId,
+                    new MetaDataNotFoundException("Document not found by id " + preparedUpdate.documentId));
+                continue;
+            }
+            try {
+                switch (getWriteStatus(currentDocument, preparedUpdate.updatedDocument)) {
+                    case WRITTEN:
+                        writtenUpdates.add(preparedUpdate);
+                        break;
+                    case CONFLICT:
+                        conflictingIds.add(preparedUpdate.documentId);
+                        break;
+                    default:
+                        result.addError(preparedUpdate.documentId, new MetaDataExecutionException(
+                            "Document " + preparedUpdate.documentId + " modified concurrently, update status unknown"));
+                }
+            } catch (final InvalidParseOperationException e) {
+                result.addError(preparedUpdate.documentId, e);
+            }
+        }
+    }
+
     private int incrementDocumentVersionIfRequired(MetadataCollections metadataCollection,
         MongoDbInMemory mongoInMemory,
         int documentVersion) {
@@ -52,12 +52,14 @@ import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequestBuilder;
 import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.search.SearchPhaseExecutionException;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.SearchType;
 import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.action.update.UpdateResponse;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.XContentType;
@@ -71,6 +73,7 @@ import org.elasticsearch.search.aggregations.Aggregations;
 import org.elasticsearch.search.sort.SortBuilder;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -399,21 +402,21 @@ public class ElasticsearchAccessMetadata extends ElasticsearchAccess {
     public void insertFullDocuments(MetadataCollections collection, Integer tenantId,
         Collection<? extends MetadataDocument> documents)
         throws MetaDataExecutionException {
-        BulkRequestBuilder bulkRequestBuilder = getClient().prepareBulk();
+        final String index = getAliasName(collection, tenantId);
+        final List<IndexRequest> indexRequests = new ArrayList<>(documents.size());
 
         documents.forEach(document -> {
             String id = (String) document.remove(VitamDocument.ID);
             try {
                 String source = BsonHelper.stringify(document);
-                bulkRequestBuilder
-                    .add(getClient().prepareIndex(getAliasName(collection, tenantId), VitamCollection.TYPEUNIQUE, id)
-                        .setSource(source, XContentType.JSON));
+                indexRequests
+                    .add(new IndexRequest(index, VitamCollection.TYPEUNIQUE, id).source(source, XContentType.JSON));
             } finally {
                 document.put(VitamDocument.ID, id);
             }
         });
 
-        BulkResponse bulkRes = bulkRequestBuilder.setRefreshPolicy(RefreshPolicy.IMMEDIATE).execute().actionGet();
+        BulkResponse bulkRes = getBulkIndexer().execute(indexRequests, RefreshPolicy.IMMEDIATE);
 
         LOGGER.debug("Written document {}", bulkRes.getItems().length);
         if (bulkRes.hasFailures()) {
@@ -426,6 +429,45 @@ public class ElasticsearchAccessMetadata extends ElasticsearchAccess {
     }
 
 
+    /**
+     * Update several elements fully, in one bulk request
+     *
+     * @param collection
+     * @param tenantId
+     * @param documents full documents to update
+     * @throws MetaDataExecutionException
+     */
+    public void updateFullDocuments(MetadataCollections collection, Integer tenantId,
+        Collection<? extends MetadataDocument> documents)
+        throws MetaDataExecutionException {
+        if (documents.isEmpty()) {
+            return;
+        }
+        final String index = getAliasName(collection, tenantId);
+        final List<UpdateRequest> updateRequests = new ArrayList<>(documents.size());
+
+        documents.forEach(document -> {
+            String id = (String) document.remove(VitamDocument.ID);
+            try {
+                String source = BsonHelper.stringify(document);
+                updateRequests.add(
+                    new UpdateRequest(index, VitamCollection.getTypeunique(), id).doc(source, XContentType.JSON));
+            } finally {
+                document.put(VitamDocument.ID, id);
+            }
+        });
+
+        BulkResponse bulkRes = getBulkIndexer().execute(updateRequests, RefreshPolicy.IMMEDIATE);
+
+        LOGGER.debug("Updated document {}", bulkRes.getItems().length);
+        if (bulkRes.hasFailures()) {
+            LOGGER.error("##### Bulk Request failure with error: " + bulkRes.buildFailureMessage());
+            throw new MetaDataExecutionException(String
+                .format("Could not update documents on ES. collection=%s, status=%s", collection,
+                    bulkRes.status()));
+        }
+    }
+
     /**
      * Update one element fully
      *
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.metadata.core.reconstruction;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.base.Stopwatch;
+import fr.gouv.vitam.metadata.core.database.collections.MetadataCollections;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress & rate metrics of metadata reconstruction, per collection and tenant.
+ * Exposed in the metric registry under {@value #METRICS_PREFIX}.&lt;collection&gt;.&lt;tenant&gt;
+ */
+final class ReconstructionMetrics {
+
+    private static final String METRICS_PREFIX = "metadata.reconstruction";
+
+    private final MetricRegistry registry;
+
+    ReconstructionMetrics(MetricRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @return the metrics of a new reconstruction run of a collection on a tenant. Registry metrics are shared by
+     * all the runs of the collection and tenant, the write rate is the one of this run
+     */
+    TenantCollectionMetrics startRun(MetadataCollections collection, int tenant) {
+        return new TenantCollectionMetrics(registry,
+            MetricRegistry.name(METRICS_PREFIX, collection.getName(), Integer.toString(tenant)));
+    }
+
+    static final class TenantCollectionMetrics {
+
+        private final Timer fileLoading;
+        private final Meter loadedFiles;
+        private final Meter missingFiles;
+        private final Meter writtenDocuments;
+        private final Meter deletedDocuments;
+        private final OffsetGauge offset;
+        private final Stopwatch runTime = Stopwatch.createStarted();
+        private long runWrittenDocuments;
+
+        private TenantCollectionMetrics(MetricRegistry registry, String name) {
+            fileLoading = registry.timer(MetricRegistry.name(name, "fileLoading"));
+            loadedFiles = registry.meter(MetricRegistry.name(name, "loadedFiles"));
+            missingFiles = registry.meter(MetricRegistry.name(name, "missingFiles"));
+            writtenDocuments = registry.meter(MetricRegistry.name(name, "writtenDocuments"));
+            deletedDocuments = registry.meter(MetricRegistry.name(name, "deletedDocuments"));
+            // The already registered gauge is returned if any : its offset is shared by all runs
+            offset = registry.gauge(MetricRegistry.name(name, "offset"), OffsetGauge::new);
+        }
+
+        Timer.Context startFileLoading() {
+            return fileLoading.time();
+        }
+
+        void fileLoaded() {
+            loadedFiles.mark();
+        }
+
+        void fileMissing() {
+            missingFiles.mark();
+        }
+
+        void documentsWritten(int count) {
+            writtenDocuments.mark(count);
+            runWrittenDocuments += count;
+        }
+
+        void documentsDeleted(int count) {
+            deletedDocuments.mark(count);
+        }
+
+        void offsetReached(long newOffset) {
+            offset.value.set(newOffset);
+        }
+
+        /**
+         * @return rate of written documents (per second) since this run started
+         */
+        double getWriteRate() {
+            long elapsed = runTime.elapsed(TimeUnit.NANOSECONDS);
+            return elapsed == 0 ? 0.0 : runWrittenDocuments * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+        }
+    }
+
+    /**
+     * Last reached offset
+     */
+    static final class OffsetGauge implements Gauge<Long> {
+
+        private final AtomicLong value = new AtomicLong();
+
+        @Override
+        public Long getValue() {
+            return value.get();
+        }
+    }
+}
@@ -26,6 +26,7 @@
  *******************************************************************************/
 package fr.gouv.vitam.metadata.core.reconstruction;
 
+import com.codahale.metrics.Timer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -56,7 +57,9 @@ import fr.gouv.vitam.common.logging.SysErrLogger;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.model.StatusCode;
+import fr.gouv.vitam.common.serverv2.application.CommonBusinessApplication;
 import fr.gouv.vitam.common.storage.compress.VitamArchiveStreamFactory;
+import fr.gouv.vitam.common.thread.VitamThreadFactory;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.logbook.common.exception.LogbookClientBadRequestException;
 import fr.gouv.vitam.logbook.common.exception.LogbookClientException;
@@ -93,7 +96,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Filters.and;
@@ -122,6 +131,11 @@ public class ReconstructionService {
 
     private static final String $_SET = "$set";
 
+    /**
+     * Default number of backup files loaded concurrently from offers
+     */
+    public static final int DEFAULT_LOAD_THREADS = 16;
+
     private RestoreBackupService restoreBackupService;
 
     private VitamRepositoryProvider vitamRepositoryProvider;
@@ -130,6 +144,10 @@ public class ReconstructionService {
 
     private OffsetRepository offsetRepository;
 
+    private final ExecutorService loadExecutor;
+
+    private final ReconstructionMetrics metrics;
+
     /**
      * Constructor
      *
@@ -138,8 +156,20 @@ public class ReconstructionService {
      */
     public ReconstructionService(VitamRepositoryProvider vitamRepositoryProvider,
         OffsetRepository offsetRepository) {
+        this(vitamRepositoryProvider, offsetRepository, DEFAULT_LOAD_THREADS);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param vitamRepositoryProvider vitamRepositoryProvider
+     * @param offsetRepository offsetRepository
+     * @param loadThreads number of backup files loaded concurrently from offers
+     */
+    public ReconstructionService(VitamRepositoryProvider vitamRepositoryProvider,
+        OffsetRepository offsetRepository, int loadThreads) {
         this(vitamRepositoryProvider, new RestoreBackupService(), LogbookLifeCyclesClientFactory.getInstance(),
-            offsetRepository);
+            offsetRepository, loadThreads);
     }
 
     /**
@@ -154,10 +184,41 @@ public class ReconstructionService {
     public ReconstructionService(VitamRepositoryProvider vitamRepositoryProvider,
         RestoreBackupService recoverBackupService, LogbookLifeCyclesClientFactory logbookLifecycleClientFactory,
         OffsetRepository offsetRepository) {
+        this(vitamRepositoryProvider, recoverBackupService, logbookLifecycleClientFactory, offsetRepository,
+            DEFAULT_LOAD_THREADS);
+    }
+
+    /**
+     * Constructor for tests
+     *
+     * @param vitamRepositoryProvider vitamRepositoryProvider
+     * @param recoverBackupService recoverBackupService
+     * @param logbookLifecycleClientFactory logbookLifecycleClientFactory
+     * @param offsetRepository
+     * @param loadThreads number of backup files loaded concurrently from offers
+     */
+    @VisibleForTesting
+    public ReconstructionService(VitamRepositoryProvider vitamRepositoryProvider,
+        RestoreBackupService recoverBackupService, LogbookLifeCyclesClientFactory logbookLifecycleClientFactory,
+        OffsetRepository offsetRepository, int loadThreads) {
+        ParametersChecker.checkValue("loadThreads", loadThreads, 1);
         this.vitamRepositoryProvider = vitamRepositoryProvider;
         this.restoreBackupService = recoverBackupService;
         this.logbookLifeCyclesClientFactory = logbookLifecycleClientFactory;
         this.offsetRepository = offsetRepository;
+        // Idle load threads are released between reconstructions
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(loadThreads, loadThreads, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), VitamThreadFactory.getInstance());
+        executor.allowCoreThreadTimeOut(true);
+        this.loadExecutor = executor;
+        this.metrics = new ReconstructionMetrics(CommonBusinessApplication.getBusinessMetricsRegistry());
+    }
+
+    /**
+     * Stop the threads loading backup files from offers. Pending loads are cancelled.
+     */
+    public void close() {
+        loadExecutor.shutdownNow();
     }
 
     /**
@@ -321,41 +382,40 @@ public class ReconstructionService {
 
             Iterator<List<OfferLog>> bulkListing = new BulkIterator<>(listing, VitamConfiguration.getRestoreBulkSize());
 
-            while (bulkListing.hasNext()) {
+            ReconstructionMetrics.TenantCollectionMetrics tenantCollectionMetrics = metrics.startRun(collection, tenant);
 
-                List<OfferLog> listingBulk = bulkListing.next();
+            // Pipeline : next bulk listing & backup files are loaded while current bulk is being written
+            ReconstructionBulk nextBulk = bulkListing.hasNext() ?
+                prefetchBulk(collection, tenant, bulkListing.next(), tenantCollectionMetrics) : null;
 
-                List<OfferLog> writtenMetadata = new ArrayList<>();
-                List<String> deletedMetadataIds = new ArrayList<>();
+            try {
+                while (nextBulk != null) {
 
-                for (OfferLog offerLog : listingBulk) {
+                    ReconstructionBulk bulk = nextBulk;
+                    nextBulk = bulkListing.hasNext() ?
+                        prefetchBulk(collection, tenant, bulkListing.next(), tenantCollectionMetrics) : null;
 
-                    switch (offerLog.getAction()) {
+                    processWrittenMetadata(collection, tenant, bulk.writtenMetadata,
+                        awaitMetadataSet(bulk.fileLoadings), tenantCollectionMetrics);
+                    tenantCollectionMetrics.documentsWritten(bulk.writtenMetadata.size());
 
-                        case WRITE:
-                            writtenMetadata.add(offerLog);
-                            break;
+                    processDeletedMetadata(collection, bulk.deletedMetadataIds);
+                    tenantCollectionMetrics.documentsDeleted(bulk.deletedMetadataIds.size());
 
-                        case DELETE:
-                            deletedMetadataIds.add(metadataFilenameToGuid(offerLog.getFileName()));
-                            break;
+                    newOffset = Iterables.getLast(bulk.listingBulk).getSequence();
+                    tenantCollectionMetrics.offsetReached(newOffset);
 
-                        default:
-                            throw new UnsupportedOperationException(
-                                "Unsupported offer log action " + offerLog.getAction());
-                    }
+                    // log the reconstruction of Vitam collection.
+                    LOGGER.info(String.format(
+                        "[Reconstruction]: the collection {%s} has been reconstructed on the tenant {%s} from {offset:%s} to {offset:%s} at %s (%.1f documents/s)",
+                        collection.name(), tenant, offset, newOffset, LocalDateUtil.now(),
+                        tenantCollectionMetrics.getWriteRate()));
+                }
+            } finally {
+                if (nextBulk != null) {
+                    // Error occurred. Prefetched data is not needed anymore
+                    cancelLoadings(nextBulk.fileLoadings);
                 }
-
-                processWrittenMetadata(collection, tenant, writtenMetadata);
-
-                processDeletedMetadata(collection, deletedMetadataIds);
-
-                newOffset = Iterables.getLast(listingBulk).getSequence();
-
-                // log the reconstruction of Vitam collection.
-                LOGGER.info(String.format(
-                    "[Reconstruction]: the collection {%s} has been reconstructed on the tenant {%s} from {offset:%s} at %s",
-                    collection.name(), tenant, offset, LocalDateUtil.now()));
             }
 
             offsetRepository.createOrUpdateOffset(tenant, collection.getName(), newOffset);
@@ -376,7 +436,9 @@ public class ReconstructionService {
     /**
      * reconstruct Vitam collection from the backup data.
      */
-    private void processWrittenMetadata(MetadataCollections collection, int tenant, List<OfferLog> writtenMetadata)
+    private void processWrittenMetadata(MetadataCollections collection, int tenant, List<OfferLog> writtenMetadata,
+        List<MetadataBackupModel> prefetchedDataFromOffer,
+        ReconstructionMetrics.TenantCollectionMetrics tenantCollectionMetrics)
         throws StorageException, DatabaseException, LogbookClientException, InvalidParseOperationException {
 
         if (writtenMetadata.isEmpty()) {
@@ -385,7 +447,11 @@ public class ReconstructionService {
 
         for (int retry = VitamConfiguration.getOptimisticLockRetryNumber(); retry > 0; retry--) {
 
-            List<MetadataBackupModel> dataFromOffer = loadMetadataSet(collection, tenant, writtenMetadata);
+            // Prefetched data is used on first try only, as models are updated with existing graph data
+            List<MetadataBackupModel> dataFromOffer = prefetchedDataFromOffer != null ?
+                prefetchedDataFromOffer :
+                awaitMetadataSet(loadMetadataFiles(collection, tenant, writtenMetadata, tenantCollectionMetrics));
+            prefetchedDataFromOffer = null;
 
             if (dataFromOffer.isEmpty()) {
                 // NOP
@@ -421,35 +487,128 @@ public class ReconstructionService {
         throw new DatabaseException("Optimistic lock number of retry reached");
     }
 
-    private List<MetadataBackupModel> loadMetadataSet(MetadataCollections collection, int tenant,
-        List<OfferLog> writtenMetadata) throws StorageException {
+    /**
+     * Splits listing bulk into written & deleted metadata, and starts loading written metadata from offers
+     */
+    private ReconstructionBulk prefetchBulk(MetadataCollections collection, int tenant, List<OfferLog> listingBulk,
+        ReconstructionMetrics.TenantCollectionMetrics tenantCollectionMetrics) {
+
+        List<OfferLog> writtenMetadata = new ArrayList<>();
+        List<String> deletedMetadataIds = new ArrayList<>();
 
-        // FIXME : parallel processing
-        List<MetadataBackupModel> dataFromOffer = new ArrayList<>();
-        for (OfferLog offerLog : writtenMetadata) {
+        for (OfferLog offerLog : listingBulk) {
 
-            try {
-                MetadataBackupModel model = restoreBackupService
-                    .loadData(VitamConfiguration.getDefaultStrategy(), collection, offerLog.getFileName(), offerLog.getSequence());
+            switch (offerLog.getAction()) {
+
+                case WRITE:
+                    writtenMetadata.add(offerLog);
+                    break;
+
+                case DELETE:
+                    deletedMetadataIds.add(metadataFilenameToGuid(offerLog.getFileName()));
+                    break;
+
+                default:
+                    throw new UnsupportedOperationException(
+                        "Unsupported offer log action " + offerLog.getAction());
+            }
+        }
+
+        return new ReconstructionBulk(listingBulk, writtenMetadata, deletedMetadataIds,
+            loadMetadataFiles(collection, tenant, writtenMetadata, tenantCollectionMetrics));
+    }
+
+    /**
+     * Starts loading (and parsing) backup files concurrently, with at most loadThreads files being loaded at the
+     * same time.
+     *
+     * @return one loading per file, in listing order. Missing files are loaded as null.
+     */
+    private List<CompletableFuture<MetadataBackupModel>> loadMetadataFiles(MetadataCollections collection,
+        int tenant, List<OfferLog> writtenMetadata,
+        ReconstructionMetrics.TenantCollectionMetrics tenantCollectionMetrics) {
+
+        final String scopedXRequestId = VitamThreadUtils.getVitamSession().getRequestId();
 
-                if (model.getMetadatas() == null || model.getLifecycle() == null || model.getOffset() == null) {
-                    throw new StorageException(String.format(
-                        "[Reconstruction]: Invalid data to reconstruct in file {%s} for the collection {%s} on the tenant {%s}",
-                        offerLog.getFileName(), collection, tenant));
+        return writtenMetadata.stream()
+            .map(offerLog -> CompletableFuture.supplyAsync(() -> {
+                VitamThreadUtils.getVitamSession().setTenantId(tenant);
+                VitamThreadUtils.getVitamSession().setRequestId(scopedXRequestId);
+                try {
+                    return loadMetadata(collection, tenant, offerLog, tenantCollectionMetrics);
+                } finally {
+                    // Load threads are shared by all tenants & requests
+                    VitamThreadUtils.getVitamSession().erase();
                 }
+            }, loadExecutor))
+            .collect(Collectors.toList());
+    }
 
-                dataFromOffer.add(model);
+    /**
+     * @return the loaded metadata, or null if file could not be found
+     */
+    private MetadataBackupModel loadMetadata(MetadataCollections collection, int tenant, OfferLog offerLog,
+        ReconstructionMetrics.TenantCollectionMetrics tenantCollectionMetrics) {
 
-            } catch (StorageNotFoundException ex) {
-                // 2 possibilities :
-                // - File have never been written to offer (atomic commit bug in offer. Should be fixed in dedicated bug)
-                // - File have been deleted meanwhile (it's ok to skip)
-                LOGGER.warn(String.format(
-                    "[Reconstruction]: Could not find file {%s} for the collection {%s} on the tenant {%s}. Corrupted file (atomicity bug) OR eliminated? ",
-                    offerLog.getFileName(), collection, tenant));
+        try (Timer.Context ignored = tenantCollectionMetrics.startFileLoading()) {
+
+            MetadataBackupModel model = restoreBackupService
+                .loadData(VitamConfiguration.getDefaultStrategy(), collection, offerLog.getFileName(),
+                    offerLog.getSequence());
+
+            if (model == null || model.getMetadatas() == null || model.getLifecycle() == null ||
+                model.getOffset() == null) {
+                throw new CompletionException(new StorageException(String.format(
+                    "[Reconstruction]: Invalid data to reconstruct in file {%s} for the collection {%s} on the tenant {%s}",
+                    offerLog.getFileName(), collection, tenant)));
             }
+
+            tenantCollectionMetrics.fileLoaded();
+            return model;
+
+        } catch (StorageNotFoundException ex) {
+            // 2 possibilities :
+            // - File have never been written to offer (atomic commit bug in offer. Should be fixed in dedicated bug)
+            // - File have been deleted meanwhile (it's ok to skip)
+            LOGGER.warn(String.format(
+                "[Reconstruction]: Could not find file {%s} for the collection {%s} on the tenant {%s}. Corrupted file (atomicity bug) OR eliminated? ",
+                offerLog.getFileName(), collection, tenant));
+            tenantCollectionMetrics.fileMissing();
+            return null;
+        }
+    }
+
+    /**
+     * @return the loaded metadata, in listing order. Missing files are skipped.
+     */
+    private List<MetadataBackupModel> awaitMetadataSet(List<CompletableFuture<MetadataBackupModel>> fileLoadings)
+        throws StorageException {
+        try {
+            List<MetadataBackupModel> dataFromOffer = new ArrayList<>();
+            for (CompletableFuture<MetadataBackupModel> fileLoading : fileLoadings) {
+                MetadataBackupModel model = fileLoading.join();
+                if (model != null) {
+                    dataFromOffer.add(model);
+                }
+            }
+            return dataFromOffer;
+        } catch (CompletionException e) {
+            // Other files of the set are not needed anymore
+            cancelLoadings(fileLoadings);
+            if (e.getCause() instanceof StorageException) {
+                throw (StorageException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new VitamRuntimeException(e.getCause());
+        }
+    }
+
+    private void cancelLoadings(List<CompletableFuture<MetadataBackupModel>> fileLoadings) {
+        for (CompletableFuture<MetadataBackupModel> fileLoading : fileLoadings) {
+            fileLoading.cancel(false);
         }
-        return dataFromOffer;
     }
 
     private void processDeletedMetadata(MetadataCollections collection, List<String> deletedMetadataIds)
@@ -799,4 +958,20 @@ public class ReconstructionService {
             LOGGER.error("[Reconstruction]: Error while remove older documents having only graph data", e);
         }
     }
+
+    private static final class ReconstructionBulk {
+
+        private final List<OfferLog> listingBulk;
+        private final List<OfferLog> writtenMetadata;
+        private final List<String> deletedMetadataIds;
+        private final List<CompletableFuture<MetadataBackupModel>> fileLoadings;
+
+        private ReconstructionBulk(List<OfferLog> listingBulk, List<OfferLog> writtenMetadata,
+            List<String> deletedMetadataIds, List<CompletableFuture<MetadataBackupModel>> fileLoadings) {
+            this.listingBulk = listingBulk;
+            this.writtenMetadata = writtenMetadata;
+            this.deletedMetadataIds = deletedMetadataIds;
+            this.fileLoadings = fileLoadings;
+        }
+    }
 }
@@ -26,10 +26,14 @@
  *******************************************************************************/
 package fr.gouv.vitam.metadata.core.rules;
 
+import fr.gouv.vitam.common.ParametersChecker;
 import fr.gouv.vitam.common.SedaConstants;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.model.VitamConstants;
 import fr.gouv.vitam.common.model.unit.RuleCategoryModel;
 import fr.gouv.vitam.common.model.unit.RuleModel;
+import fr.gouv.vitam.common.model.rules.BaseInheritedResponseModel;
 import fr.gouv.vitam.common.model.rules.InheritedPropertyResponseModel;
 import fr.gouv.vitam.common.model.rules.InheritedRuleCategoryResponseModel;
 import fr.gouv.vitam.common.model.rules.InheritedRuleResponseModel;
@@ -57,6 +61,28 @@ import static org.apache.commons.collections4.ListUtils.union;
  */
 public class ComputeInheritedRuleService {
 
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(ComputeInheritedRuleService.class);
+
+    /**
+     * Default max number of inheritance paths reported per inherited rule / property.
+     */
+    public static final int DEFAULT_MAX_PATHS_PER_INHERITED_RULE = 1000;
+
+    private final int maxPathsPerInheritedRule;
+
+    public ComputeInheritedRuleService() {
+        this(DEFAULT_MAX_PATHS_PER_INHERITED_RULE);
+    }
+
+    /**
+     * @param maxPathsPerInheritedRule max number of inheritance paths reported per inherited rule / property. In
+     * multi-parent hierarchies, the number of paths grows combinatorially with depth. Extra paths are dropped.
+     */
+    public ComputeInheritedRuleService(int maxPathsPerInheritedRule) {
+        ParametersChecker.checkValue("maxPathsPerInheritedRule", maxPathsPerInheritedRule, 1);
+        this.maxPathsPerInheritedRule = maxPathsPerInheritedRule;
+    }
+
     /**
      * Computes inherited rules given local unit rule definitions
      *
@@ -167,7 +193,7 @@ public class ComputeInheritedRuleService {
 
         return ruleCategoryModel.getRules().stream()
             .map(ruleModel -> new InheritedRuleResponseModel(unitRuleModel.getId(),
-                unitRuleModel.getOriginatingAgency(), singletonList(singletonList(unitRuleModel.getId())),
+                unitRuleModel.getOriginatingAgency(), singletonList(InheritancePath.of(unitRuleModel.getId())),
                 ruleModel.getRule(), ruleModel.getStartDate(), ruleModel.getEndDate()))
             .collect(Collectors.toList());
     }
@@ -206,27 +232,42 @@ public class ComputeInheritedRuleService {
 
             parentUnitInheritedRuleCategory.getRules().stream()
                 .filter(rule -> !filteredRuleIds.contains(rule.getRuleId()))
-                .forEach(rule -> inheritedRulesFromParents.add(new InheritedRuleResponseModel(
+                .forEach(rule -> inheritedRulesFromParents.add(withPathsTruncation(new InheritedRuleResponseModel(
                     rule.getUnitId(), rule.getOriginatingAgency(),
                     prependPaths(rule.getPaths(), unitRuleModel.getId()), rule.getRuleId(),
                     rule.getStartDate(), rule.getEndDate()
-                )));
+                ), singletonList(rule))));
         }
 
         return mergeInheritedRulesFromParents(inheritedRulesFromParents);
     }
 
     private List<List<String>> prependPaths(List<List<String>> paths, String unitId) {
-        List<List<String>> result = new ArrayList<>();
-        for (List<String> path : paths) {
-            List<String> newPath = new ArrayList<>(path.size() + 1);
-            newPath.add(unitId);
-            newPath.addAll(path);
-            result.add(newPath);
+        // Parent paths are shared, not copied
+        int nbPaths = Math.min(paths.size(), maxPathsPerInheritedRule);
+        if (nbPaths < paths.size()) {
+            LOGGER.warn("Too many inheritance paths for unit {} ({}). Only {} paths are kept", unitId,
+                paths.size(), maxPathsPerInheritedRule);
+        }
+        List<List<String>> result = new ArrayList<>(nbPaths);
+        for (int i = 0; i < nbPaths; i++) {
+            result.add(InheritancePath.prepend(unitId, paths.get(i)));
         }
         return result;
     }
 
+    /**
+     * Paths of an inherited rule / property are truncated if the paths it is built from were, or if they exceed the
+     * max number of paths
+     */
+    private <T extends BaseInheritedResponseModel> T withPathsTruncation(T inherited,
+        List<? extends BaseInheritedResponseModel> inheritedFrom) {
+        boolean truncated = inheritedFrom.stream().anyMatch(BaseInheritedResponseModel::isPathsTruncated) ||
+            inheritedFrom.stream().mapToInt(item -> item.getPaths().size()).sum() > maxPathsPerInheritedRule;
+        inherited.setPathsTruncated(truncated);
+        return inherited;
+    }
+
     /**
      * Merges rules inherited from multiple paths (same origin unit id & same rule id).
      */
@@ -248,14 +289,14 @@ public class ComputeInheritedRuleService {
                 inheritedRule = firstInheritedRule;
             } else {
 
-                List<List<String>> mergedPaths =
-                    inheritedRulesToMerge.stream()
-                        .flatMap(r -> r.getPaths().stream())
-                        .collect(Collectors.toList());
+                List<List<String>> mergedPaths = mergePaths(
+                    inheritedRulesToMerge.stream().map(InheritedRuleResponseModel::getPaths)
+                        .collect(Collectors.toList()),
+                    "rule " + firstInheritedRule.getRuleId(), firstInheritedRule.getUnitId());
 
-                inheritedRule = new InheritedRuleResponseModel(firstInheritedRule.getUnitId(),
+                inheritedRule = withPathsTruncation(new InheritedRuleResponseModel(firstInheritedRule.getUnitId(),
                     firstInheritedRule.getOriginatingAgency(), mergedPaths, firstInheritedRule.getRuleId(),
-                    firstInheritedRule.getStartDate(), firstInheritedRule.getEndDate());
+                    firstInheritedRule.getStartDate(), firstInheritedRule.getEndDate()), inheritedRulesToMerge);
             }
             result.add(inheritedRule);
         }
@@ -263,6 +304,19 @@ public class ComputeInheritedRuleService {
         return result;
     }
 
+    private List<List<String>> mergePaths(List<List<List<String>>> pathsToMerge, String inheritedItem,
+        String originUnitId) {
+        int nbPaths = pathsToMerge.stream().mapToInt(List::size).sum();
+        if (nbPaths > maxPathsPerInheritedRule) {
+            LOGGER.warn("Too many inheritance paths for {} of unit {} ({}). Only {} paths are kept", inheritedItem,
+                originUnitId, nbPaths, maxPathsPerInheritedRule);
+        }
+        return pathsToMerge.stream()
+            .flatMap(List::stream)
+            .limit(maxPathsPerInheritedRule)
+            .collect(Collectors.toList());
+    }
+
     private List<InheritedPropertyResponseModel> computeInheritedProperties(UnitRuleModel unitRuleModel,
         Map<String, UnitInheritedRulesResponseModel> unitInheritedRulesByUnitIdMap, String ruleCategory,
         RuleCategoryModel ruleCategoryModel) {
@@ -300,7 +354,7 @@ public class ComputeInheritedRuleService {
 
         return ruleCategoryModel.getProperties().entrySet().stream()
             .map(property -> new InheritedPropertyResponseModel(unitRuleModel.getId(),
-                unitRuleModel.getOriginatingAgency(), singletonList(singletonList(unitRuleModel.getId())),
+                unitRuleModel.getOriginatingAgency(), singletonList(InheritancePath.of(unitRuleModel.getId())),
                 property.getKey(), property.getValue()))
             .collect(Collectors.toList());
     }
@@ -329,10 +383,10 @@ public class ComputeInheritedRuleService {
 
             parentUnitInheritedRuleCategory.getProperties().stream()
                 .filter(property -> !filteredProperties.contains(property.getPropertyName()))
-                .forEach(property -> inheritedPropertiesFromParents.add(new InheritedPropertyResponseModel(
-                    property.getUnitId(), property.getOriginatingAgency(),
-                    prependPaths(property.getPaths(), unitRuleModel.getId()),
-                    property.getPropertyName(), property.getPropertyValue())));
+                .forEach(property -> inheritedPropertiesFromParents.add(withPathsTruncation(
+                    new InheritedPropertyResponseModel(property.getUnitId(), property.getOriginatingAgency(),
+                        prependPaths(property.getPaths(), unitRuleModel.getId()),
+                        property.getPropertyName(), property.getPropertyValue()), singletonList(property))));
         }
 
         return mergeInheritedPropertiesFromParents(inheritedPropertiesFromParents);
@@ -360,14 +414,15 @@ public class ComputeInheritedRuleService {
                 inheritedProperty = firstInheritedProperty;
             } else {
 
-                List<List<String>> mergedPaths =
-                    inheritedPropertiesToMerge.stream()
-                        .flatMap(r -> r.getPaths().stream())
-                        .collect(Collectors.toList());
+                List<List<String>> mergedPaths = mergePaths(
+                    inheritedPropertiesToMerge.stream().map(InheritedPropertyResponseModel::getPaths)
+                        .collect(Collectors.toList()),
+                    "property " + firstInheritedProperty.getPropertyName(), firstInheritedProperty.getUnitId());
 
-                inheritedProperty = new InheritedPropertyResponseModel(firstInheritedProperty.getUnitId(),
-                    firstInheritedProperty.getOriginatingAgency(), mergedPaths,
-                    firstInheritedProperty.getPropertyName(), firstInheritedProperty.getPropertyValue());
+                inheritedProperty = withPathsTruncation(new InheritedPropertyResponseModel(
+                    firstInheritedProperty.getUnitId(), firstInheritedProperty.getOriginatingAgency(), mergedPaths,
+                    firstInheritedProperty.getPropertyName(), firstInheritedProperty.getPropertyValue()),
+                    inheritedPropertiesToMerge);
             }
 
             result.add(inheritedProperty);
@@ -398,7 +453,7 @@ public class ComputeInheritedRuleService {
             // Add an implicit property
             return singletonList(new InheritedPropertyResponseModel(
                 unitRuleModel.getId(), unitRuleModel.getOriginatingAgency(),
-                singletonList(singletonList(unitRuleModel.getId())), RuleCategoryModel.FINAL_ACTION,
+                singletonList(InheritancePath.of(unitRuleModel.getId())), RuleCategoryModel.FINAL_ACTION,
                 VitamConstants.AppraisalRuleFinalAction.KEEP.value()));
         }
 
@@ -427,7 +482,7 @@ public class ComputeInheritedRuleService {
         }
         return globalProperties.entrySet().stream()
             .map(globalProperty -> new InheritedPropertyResponseModel(unitRuleModel.getId(),
-                unitRuleModel.getOriginatingAgency(), singletonList(singletonList(unitRuleModel.getId())),
+                unitRuleModel.getOriginatingAgency(), singletonList(InheritancePath.of(unitRuleModel.getId())),
                 globalProperty.getKey(), globalProperty.getValue()))
             .collect(Collectors.toList());
     }
@@ -452,10 +507,10 @@ public class ComputeInheritedRuleService {
 
             parentUnitInheritedGlobalProperties.stream()
                 .filter(property -> !filteredProperties.contains(property.getPropertyName()))
-                .forEach(property -> inheritedPropertiesFromParents.add(new InheritedPropertyResponseModel(
-                    property.getUnitId(), property.getOriginatingAgency(),
-                    prependPaths(property.getPaths(), unitRuleModel.getId()),
-                    property.getPropertyName(), property.getPropertyValue())));
+                .forEach(property -> inheritedPropertiesFromParents.add(withPathsTruncation(
+                    new InheritedPropertyResponseModel(property.getUnitId(), property.getOriginatingAgency(),
+                        prependPaths(property.getPaths(), unitRuleModel.getId()),
+                        property.getPropertyName(), property.getPropertyValue()), singletonList(property))));
         }
 
         return mergeInheritedPropertiesFromParents(inheritedPropertiesFromParents);
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.metadata.core.rules;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable inheritance path (unit id list from a child unit up to the unit declaring a rule / property).
+ *
+ * Paths are stored as linked nodes so that prepending a child unit id is O(1) and shares the whole parent path instead
+ * of copying it. In deep multi-parent hierarchies, every path inherited from a parent unit is thus stored once,
+ * whatever the number of descendants inheriting it. Unit ids are only materialized while iterating (serialization).
+ */
+final class InheritancePath extends AbstractList<String> {
+
+    private final String unitId;
+    private final InheritancePath parentPath;
+    private final int size;
+
+    private InheritancePath(String unitId, InheritancePath parentPath) {
+        this.unitId = unitId;
+        this.parentPath = parentPath;
+        this.size = parentPath == null ? 1 : parentPath.size + 1;
+    }
+
+    /**
+     * @param unitId the unit declaring a rule / property
+     * @return a single unit path
+     */
+    static InheritancePath of(String unitId) {
+        return new InheritancePath(unitId, null);
+    }
+
+    /**
+     * @param childUnitId the child unit id to prepend
+     * @param path the parent path
+     * @return a path starting with childUnitId and sharing the parent path (copied only if not an InheritancePath)
+     */
+    static InheritancePath prepend(String childUnitId, List<String> path) {
+        return new InheritancePath(childUnitId, path instanceof InheritancePath ? (InheritancePath) path : copyOf(path));
+    }
+
+    private static InheritancePath copyOf(List<String> path) {
+        InheritancePath result = null;
+        for (int i = path.size() - 1; i >= 0; i--) {
+            result = new InheritancePath(path.get(i), result);
+        }
+        return result;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        InheritancePath node = this;
+        for (int i = 0; i < index; i++) {
+            node = node.parentPath;
+        }
+        return node.unitId;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+
+            private InheritancePath next = InheritancePath.this;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public String next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                String result = next.unitId;
+                next = next.parentPath;
+                return result;
+            }
+        };
+    }
+}
@@ -29,6 +29,9 @@ package fr.gouv.vitam.metadata.core.rules;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Iterables;
 import fr.gouv.vitam.common.database.builder.query.VitamFieldsHelper;
 import fr.gouv.vitam.common.database.builder.request.configuration.BuilderToken;
 import fr.gouv.vitam.common.database.builder.request.multiple.SelectMultiQuery;
@@ -50,13 +53,16 @@ import fr.gouv.vitam.metadata.core.MetaDataImpl;
 import fr.gouv.vitam.common.model.rules.UnitInheritedRulesResponseModel;
 import fr.gouv.vitam.common.model.rules.UnitRuleModel;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class MetadataRuleService {
@@ -72,17 +78,68 @@ public class MetadataRuleService {
      */
     private static final int MAX_ELASTIC_SEARCH_IN_REQUEST_SIZE = 1000;
 
+    private static final String[] UNIT_RULE_PROJECTION = {
+        VitamFieldsHelper.id(),
+        VitamFieldsHelper.version(),
+        VitamFieldsHelper.unitups(),
+        VitamFieldsHelper.originatingAgency(),
+        VitamFieldsHelper.management()};
+
+    private static final String[] UNIT_VERSION_PROJECTION = {
+        VitamFieldsHelper.id(),
+        VitamFieldsHelper.version()};
+
+    /**
+     * Default max number of unit rules kept in cache
+     */
+    public static final int DEFAULT_UNIT_RULE_CACHE_MAX_ENTRIES = 100_000;
+
+    /**
+     * Default unit rule cache access timeout
+     */
+    public static final int DEFAULT_UNIT_RULE_CACHE_TIMEOUT_IN_SECONDS = 300;
+
     private final ComputeInheritedRuleService computeInheritedRuleService;
     private final MetaDataImpl metaData;
 
+    /**
+     * Unit rules by unit id, with the unit version they were loaded with.
+     * Top level units (fonds, series...) are shared by most units, and rarely updated. Cached entries are checked
+     * against the current unit version before being reused, so that updates from any metadata instance are seen.
+     */
+    private final Cache<String, CachedUnitRule> unitRuleCache;
+
     public MetadataRuleService(MetaDataImpl metaData) {
         this(new ComputeInheritedRuleService(), metaData);
     }
 
+    /**
+     * @param metaData metadata
+     * @param maxPathsPerInheritedRule max number of inheritance paths reported per inherited rule / property
+     * @param unitRuleCacheMaxEntries max number of unit rules kept in cache
+     * @param unitRuleCacheTimeoutInSeconds unit rule cache access timeout
+     */
+    public MetadataRuleService(MetaDataImpl metaData, int maxPathsPerInheritedRule, int unitRuleCacheMaxEntries,
+        int unitRuleCacheTimeoutInSeconds) {
+        this(new ComputeInheritedRuleService(maxPathsPerInheritedRule), metaData, unitRuleCacheMaxEntries,
+            unitRuleCacheTimeoutInSeconds);
+    }
+
     @VisibleForTesting
     MetadataRuleService(ComputeInheritedRuleService computeInheritedRuleService, MetaDataImpl metaData) {
+        this(computeInheritedRuleService, metaData, DEFAULT_UNIT_RULE_CACHE_MAX_ENTRIES,
+            DEFAULT_UNIT_RULE_CACHE_TIMEOUT_IN_SECONDS);
+    }
+
+    @VisibleForTesting
+    MetadataRuleService(ComputeInheritedRuleService computeInheritedRuleService, MetaDataImpl metaData,
+        int unitRuleCacheMaxEntries, int unitRuleCacheTimeoutInSeconds) {
         this.computeInheritedRuleService = computeInheritedRuleService;
         this.metaData = metaData;
+        this.unitRuleCache = CacheBuilder.newBuilder()
+            .maximumSize(unitRuleCacheMaxEntries)
+            .expireAfterAccess(unitRuleCacheTimeoutInSeconds, TimeUnit.SECONDS)
+            .build();
     }
 
     /**
@@ -149,7 +206,7 @@ public class MetadataRuleService {
     private Map<String, UnitRuleModel> loadUnitRuleHierarchy(Collection<String> unitIds)
         throws InvalidParseOperationException, MetaDataNotFoundException, MetaDataDocumentSizeException,
         MetaDataExecutionException, BadRequestException, VitamDBException {
-        // Result map
+        // Loaded units (null if not found)
         Map<String, UnitRuleModel> unitRulesById = new HashMap<>();
 
         // The remaining units to load
@@ -157,32 +214,71 @@ public class MetadataRuleService {
 
         while (!unitsToLoad.isEmpty()) {
 
-            // Load units by bulk (ES $in query size is limited)
-            Set<String> bulkIds = unitsToLoad.stream()
-                .limit(MAX_ELASTIC_SEARCH_IN_REQUEST_SIZE)
-                .collect(Collectors.toSet());
+            // Walk up cached ancestors without hitting the database
+            Map<String, CachedUnitRule> cachedUnitRules = new HashMap<>();
+            Set<String> unitsToFetch = new HashSet<>();
+            Deque<String> queue = new ArrayDeque<>(unitsToLoad);
+            while (!queue.isEmpty()) {
+                String unitId = queue.poll();
+                if (unitRulesById.containsKey(unitId) || cachedUnitRules.containsKey(unitId) ||
+                    unitsToFetch.contains(unitId)) {
+                    continue;
+                }
+                CachedUnitRule cachedUnitRule = unitRuleCache.getIfPresent(unitId);
+                if (cachedUnitRule == null) {
+                    unitsToFetch.add(unitId);
+                } else {
+                    cachedUnitRules.put(unitId, cachedUnitRule);
+                    queue.addAll(cachedUnitRule.unitRuleModel.getUp());
+                }
+            }
 
-            // Pre-fill with null values (in case entry is not found)
-            for (String bulkId : bulkIds) {
-                unitRulesById.put(bulkId, null);
+            // Only reuse cached unit rules that are still up to date
+            if (!cachedUnitRules.isEmpty()) {
+                Map<String, Integer> unitVersions = loadUnitVersions(cachedUnitRules.keySet());
+                for (Map.Entry<String, CachedUnitRule> entry : cachedUnitRules.entrySet()) {
+                    if (entry.getValue().version.equals(unitVersions.get(entry.getKey()))) {
+                        unitRulesById.put(entry.getKey(), entry.getValue().unitRuleModel);
+                    } else {
+                        unitRuleCache.invalidate(entry.getKey());
+                        unitsToFetch.add(entry.getKey());
+                    }
+                }
             }
 
-            // Load bulk units
-            List<UnitRuleModel> foundUnitRules = loadBulkUnitRules(bulkIds);
-            for (UnitRuleModel unitRuleModel : foundUnitRules) {
-                unitRulesById.put(unitRuleModel.getId(), unitRuleModel);
-                for (String up : unitRuleModel.getUp()) {
-                    if (!unitRulesById.containsKey(up)) {
-                        unitsToLoad.add(up);
+            // Load missing / updated units by bulk (ES $in query size is limited)
+            for (List<String> bulkIds : Iterables.partition(unitsToFetch, MAX_ELASTIC_SEARCH_IN_REQUEST_SIZE)) {
+
+                // Pre-fill with null values (in case entry is not found)
+                for (String bulkId : bulkIds) {
+                    unitRulesById.put(bulkId, null);
+                }
+
+                for (JsonNode unitRuleJsonNode : loadBulkUnits(bulkIds, UNIT_RULE_PROJECTION)) {
+                    UnitRuleModel unitRuleModel = JsonHandler.getFromJsonNode(unitRuleJsonNode, UnitRuleModel.class);
+                    unitRulesById.put(unitRuleModel.getId(), unitRuleModel);
+
+                    JsonNode version = unitRuleJsonNode.get(VitamFieldsHelper.version());
+                    if (version != null && version.isInt()) {
+                        unitRuleCache.put(unitRuleModel.getId(), new CachedUnitRule(version.asInt(), unitRuleModel));
                     }
                 }
             }
 
-            unitsToLoad.removeAll(bulkIds);
+            // Parent units that are not loaded yet
+            unitsToLoad = getUnitHierarchy(unitIds, unitRulesById).stream()
+                .filter(unitId -> !unitRulesById.containsKey(unitId))
+                .collect(Collectors.toSet());
+        }
+
+        // Ignore units reached through outdated cache entries only
+        Map<String, UnitRuleModel> unitHierarchy = new HashMap<>();
+        for (String unitId : getUnitHierarchy(unitIds, unitRulesById)) {
+            unitHierarchy.put(unitId, unitRulesById.get(unitId));
         }
 
         // Ensure all units have been loaded
-        List<String> notFoundUnits = unitRulesById.entrySet().stream()
+        List<String> notFoundUnits = unitHierarchy.entrySet().stream()
             .filter(entry -> entry.getValue() == null)
             .map(Map.Entry::getKey)
             .collect(Collectors.toList());
@@ -194,29 +290,65 @@ public class MetadataRuleService {
             throw new MetaDataNotFoundException("Could not find " + notFoundUnits.size() + " units: " + unitsToPrint);
         }
 
-        return unitRulesById;
+        return unitHierarchy;
     }
 
-    private List<UnitRuleModel> loadBulkUnitRules(Set<String> unitIds)
+    /**
+     * @return the ids of the units and of all their (known) ancestors
+     */
+    private Set<String> getUnitHierarchy(Collection<String> unitIds, Map<String, UnitRuleModel> unitRulesById) {
+        Set<String> result = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>(unitIds);
+        while (!queue.isEmpty()) {
+            String unitId = queue.poll();
+            if (result.add(unitId)) {
+                UnitRuleModel unitRuleModel = unitRulesById.get(unitId);
+                if (unitRuleModel != null) {
+                    queue.addAll(unitRuleModel.getUp());
+                }
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Integer> loadUnitVersions(Set<String> unitIds)
+        throws InvalidParseOperationException, MetaDataNotFoundException, MetaDataDocumentSizeException,
+        MetaDataExecutionException, BadRequestException, VitamDBException {
+
+        Map<String, Integer> unitVersions = new HashMap<>();
+        for (List<String> bulkIds : Iterables.partition(unitIds, MAX_ELASTIC_SEARCH_IN_REQUEST_SIZE)) {
+            for (JsonNode unit : loadBulkUnits(bulkIds, UNIT_VERSION_PROJECTION)) {
+                JsonNode version = unit.get(VitamFieldsHelper.version());
+                if (version != null && version.isInt()) {
+                    unitVersions.put(unit.get(VitamFieldsHelper.id()).asText(), version.asInt());
+                }
+            }
+        }
+        return unitVersions;
+    }
+
+    private List<JsonNode> loadBulkUnits(List<String> unitIds, String... projection)
         throws InvalidParseOperationException, MetaDataNotFoundException, MetaDataDocumentSizeException,
         MetaDataExecutionException, BadRequestException, VitamDBException {
 
         SelectMultiQuery select = new SelectMultiQuery();
         select.addRoots(unitIds.toArray(new String[0]));
-        select.addUsedProjection(
-            VitamFieldsHelper.id(),
-            VitamFieldsHelper.unitups(),
-            VitamFieldsHelper.originatingAgency(),
-            VitamFieldsHelper.management());
+        select.addUsedProjection(projection);
 
         RequestResponseOK<JsonNode> response =
             (RequestResponseOK<JsonNode>) metaData.selectUnitsByQuery(select.getFinalSelect());
 
-        List<UnitRuleModel> unitRules = new ArrayList<>();
-        for (JsonNode unitRuleJsonNode : response.getResults()) {
-            unitRules.add(JsonHandler.getFromJsonNode(unitRuleJsonNode, UnitRuleModel.class));
-        }
+        return response.getResults();
+    }
 
-        return unitRules;
+    private static final class CachedUnitRule {
+
+        private final Integer version;
+        private final UnitRuleModel unitRuleModel;
+
+        private CachedUnitRule(Integer version, UnitRuleModel unitRuleModel) {
+            this.version = version;
+            this.unitRuleModel = unitRuleModel;
+        }
     }
 }
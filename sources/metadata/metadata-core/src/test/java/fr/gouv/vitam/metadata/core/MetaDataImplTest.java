@@ -61,6 +61,7 @@ import fr.gouv.vitam.metadata.core.database.collections.Result;
 import fr.gouv.vitam.metadata.core.database.collections.ResultDefault;
 import fr.gouv.vitam.metadata.core.database.collections.Unit;
 import fr.gouv.vitam.metadata.core.model.UpdateUnit;
+import fr.gouv.vitam.metadata.core.model.BulkUpdatedDocuments;
 import fr.gouv.vitam.metadata.core.model.UpdatedDocument;
 import fr.gouv.vitam.metadata.core.validation.OntologyValidator;
 import fr.gouv.vitam.metadata.core.validation.UnitValidator;
@@ -442,11 +443,14 @@ public class MetaDataImplTest {
             new ResultDefault(FILTERARGS.UNITS).addFinal(unit1Before),
             new ResultDefault(FILTERARGS.UNITS).addFinal(unit2Before));
 
-        when(request.execUpdateRequest(any(), any(), eq(MetadataCollections.UNIT), any(OntologyValidator.class),
+        BulkUpdatedDocuments updatedDocuments = new BulkUpdatedDocuments();
+        updatedDocuments.addUpdatedDocument(
+            new UpdatedDocument("unitId1", JsonHandler.toJsonNode(unit1Before), JsonHandler.toJsonNode(unit1After)));
+        updatedDocuments.addUpdatedDocument(
+            new UpdatedDocument("unitId2", JsonHandler.toJsonNode(unit2Before), JsonHandler.toJsonNode(unit2After)));
+        when(request.execBulkUpdateRequest(any(), any(), eq(MetadataCollections.UNIT), any(OntologyValidator.class),
             any(UnitValidator.class), anyList()))
-            .thenReturn(
-                new UpdatedDocument("unit1", JsonHandler.toJsonNode(unit1Before), JsonHandler.toJsonNode(unit1After)),
-                new UpdatedDocument("unit2", JsonHandler.toJsonNode(unit2Before), JsonHandler.toJsonNode(unit2After)));
+            .thenReturn(updatedDocuments);
 
         // When
         final JsonNode updateRequest = JsonHandler.getFromFile(PropertiesUtils.findFile("updateUnits.json"));
@@ -33,6 +33,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
 import fr.gouv.vitam.common.LocalDateUtil;
 import fr.gouv.vitam.common.PropertiesUtils;
 import fr.gouv.vitam.common.database.builder.query.VitamFieldsHelper;
@@ -88,6 +89,7 @@ import fr.gouv.vitam.functional.administration.client.AdminManagementClientFacto
 import fr.gouv.vitam.metadata.api.exception.MetaDataAlreadyExistException;
 import fr.gouv.vitam.metadata.api.exception.MetaDataExecutionException;
 import fr.gouv.vitam.metadata.api.exception.MetaDataNotFoundException;
+import fr.gouv.vitam.metadata.core.model.BulkUpdatedDocuments;
 import fr.gouv.vitam.metadata.core.model.UpdatedDocument;
 import fr.gouv.vitam.metadata.core.trigger.FieldHistoryManager;
 import fr.gouv.vitam.metadata.core.trigger.History;
@@ -126,6 +128,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static fr.gouv.vitam.common.database.builder.query.QueryHelper.and;
 import static fr.gouv.vitam.common.database.builder.query.QueryHelper.eq;
@@ -2778,6 +2781,187 @@ public class DbRequestTest {
             .isInstanceOf(MetadataValidationException.class);
     }
 
+    @RunWithCustomExecutor
+    @Test
+    public void testBulkUpdateRequestOK() throws Exception {
+        // Given
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID_0);
+        VitamThreadUtils.getVitamSession().setRequestId("aeeaaaaaacagqkjjaaxpwallds4xu6iaaaaq");
+
+        final List<String> unitIds = Arrays.asList(
+            "aeaqaaaabeghay2jabzuaalbarkww4iaaabb", "aeaqaaaabeghay2jabzuaalbarkww4iaaabc");
+        final String unknownUnitId = "aeaqaaaabeghay2jabzuaalbarkww4iaaabd";
+        for (String unitId : unitIds) {
+            final Unit unit = new Unit(JsonHandler.createObjectNode()
+                .put("_id", unitId).put("Title", "Old title").put("_tenant", TENANT_ID_0).put("_v", 0)
+                .put("_av", 0));
+            MetadataCollections.UNIT.getCollection().insertOne(unit);
+            MetadataCollections.UNIT.getEsClient()
+                .insertFullDocument(MetadataCollections.UNIT, TENANT_ID_0, unitId, unit);
+        }
+
+        final UpdateParserMultiple updateParser = new UpdateParserMultiple(mongoDbVarNameAdapter);
+        updateParser.parse(JsonHandler.getFromString(
+            "{\"$roots\": [], \"$query\": [], \"$action\": [{\"$set\": {\"Title\": \"New title\"}}]}"));
+
+        OntologyValidator dummyOntologyValidator = mock(OntologyValidator.class);
+        doAnswer((args) -> args.getArgument(0)).when(dummyOntologyValidator).verifyAndReplaceFields(any());
+
+        final DbRequest dbRequest = new DbRequest();
+
+        // When
+        BulkUpdatedDocuments result = dbRequest.execBulkUpdateRequest(updateParser,
+            Arrays.asList(unitIds.get(0), unitIds.get(1), unknownUnitId), MetadataCollections.UNIT,
+            dummyOntologyValidator, mock(UnitValidator.class), Collections.emptyList());
+
+        // Then
+        assertThat(result.getUpdatedDocuments()).containsOnlyKeys(unitIds.get(0), unitIds.get(1));
+        assertThat(result.getErrors()).containsOnlyKeys(unknownUnitId);
+        assertThat(result.getError(unknownUnitId)).isInstanceOf(MetaDataNotFoundException.class);
+        for (String unitId : unitIds) {
+            UpdatedDocument updatedDocument = result.getUpdatedDocument(unitId);
+            assertThat(updatedDocument.getBeforeUpdate().get("Title").asText()).isEqualTo("Old title");
+            assertThat(updatedDocument.getAfterUpdate().get("Title").asText()).isEqualTo("New title");
+
+            MetadataDocument<?> unit =
+                (MetadataDocument<?>) MetadataCollections.UNIT.getCollection().find(Filters.eq("_id", unitId)).first();
+            assertThat(unit.getString("Title")).isEqualTo("New title");
+            assertThat(unit.getVersion()).isEqualTo(1);
+            assertThat(unit.getAtomicVersion()).isEqualTo(1);
+        }
+    }
+
+    @RunWithCustomExecutor
+    @Test
+    public void testBulkUpdateRequestShouldRetryDocumentModifiedConcurrently() throws Exception {
+        // Given
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID_0);
+        VitamThreadUtils.getVitamSession().setRequestId("aeeaaaaaacagqkjjaaxpwallds4xu6iaaaaq");
+
+        final String concurrentUnitId = "aeaqaaaabeghay2jabzuaalbarkww4iaaabb";
+        final String otherUnitId = "aeaqaaaabeghay2jabzuaalbarkww4iaaabc";
+        insertUnitsForBulkUpdate(concurrentUnitId, otherUnitId);
+
+        // Another writer updates the document from the same _av while we transform it : same _av & _v as ours
+        final AtomicBoolean concurrentUpdateDone = new AtomicBoolean();
+        OntologyValidator ontologyValidator = mock(OntologyValidator.class);
+        doAnswer((args) -> {
+            ObjectNode document = args.getArgument(0);
+            if (concurrentUnitId.equals(document.get("_id").asText()) && !concurrentUpdateDone.getAndSet(true)) {
+                updateUnitConcurrently(concurrentUnitId);
+            }
+            return document;
+        }).when(ontologyValidator).verifyAndReplaceFields(any());
+
+        // When
+        BulkUpdatedDocuments result = new DbRequest().execBulkUpdateRequest(createTitleUpdateParser(),
+            Arrays.asList(concurrentUnitId, otherUnitId), MetadataCollections.UNIT, ontologyValidator,
+            mock(UnitValidator.class), Collections.emptyList());
+
+        // Then : the update is retried on top of the concurrent one
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getUpdatedDocuments()).containsOnlyKeys(concurrentUnitId, otherUnitId);
+        assertThat(result.getUpdatedDocument(concurrentUnitId).getBeforeUpdate().get("Description").asText())
+            .isEqualTo("Concurrent description");
+
+        MetadataDocument<?> concurrentUnit = (MetadataDocument<?>) MetadataCollections.UNIT.getCollection()
+            .find(Filters.eq("_id", concurrentUnitId)).first();
+        assertThat(concurrentUnit.getString("Title")).isEqualTo("New title");
+        assertThat(concurrentUnit.getString("Description")).isEqualTo("Concurrent description");
+        assertThat(concurrentUnit.getAtomicVersion()).isEqualTo(2);
+        assertThat(concurrentUnit.getVersion()).isEqualTo(2);
+
+        MetadataDocument<?> otherUnit = (MetadataDocument<?>) MetadataCollections.UNIT.getCollection()
+            .find(Filters.eq("_id", otherUnitId)).first();
+        assertThat(otherUnit.getString("Title")).isEqualTo("New title");
+        assertThat(otherUnit.getAtomicVersion()).isEqualTo(1);
+    }
+
+    @RunWithCustomExecutor
+    @Test
+    public void testBulkUpdateRequestShouldFailAfterRetriesWhenDocumentKeepsBeingModified() throws Exception {
+        // Given
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID_0);
+        VitamThreadUtils.getVitamSession().setRequestId("aeeaaaaaacagqkjjaaxpwallds4xu6iaaaaq");
+
+        final String concurrentUnitId = "aeaqaaaabeghay2jabzuaalbarkww4iaaabb";
+        final String otherUnitId = "aeaqaaaabeghay2jabzuaalbarkww4iaaabc";
+        insertUnitsForBulkUpdate(concurrentUnitId, otherUnitId);
+
+        // Another writer updates the document each time we transform it
+        OntologyValidator ontologyValidator = mock(OntologyValidator.class);
+        doAnswer((args) -> {
+            ObjectNode document = args.getArgument(0);
+            if (concurrentUnitId.equals(document.get("_id").asText())) {
+                updateUnitConcurrently(concurrentUnitId);
+            }
+            return document;
+        }).when(ontologyValidator).verifyAndReplaceFields(any());
+
+        // When
+        BulkUpdatedDocuments result = new DbRequest().execBulkUpdateRequest(createTitleUpdateParser(),
+            Arrays.asList(concurrentUnitId, otherUnitId), MetadataCollections.UNIT, ontologyValidator,
+            mock(UnitValidator.class), Collections.emptyList());
+
+        // Then : 1 bulk write + 2 retries, never applied
+        assertThat(result.getUpdatedDocuments()).containsOnlyKeys(otherUnitId);
+        assertThat(result.getErrors()).containsOnlyKeys(concurrentUnitId);
+        assertThat(result.getError(concurrentUnitId)).isInstanceOf(MetaDataExecutionException.class);
+
+        MetadataDocument<?> concurrentUnit = (MetadataDocument<?>) MetadataCollections.UNIT.getCollection()
+            .find(Filters.eq("_id", concurrentUnitId)).first();
+        assertThat(concurrentUnit.getString("Title")).isEqualTo("Old title");
+        assertThat(concurrentUnit.getAtomicVersion()).isEqualTo(3);
+    }
+
+    @Test
+    public void testGetWriteStatus() throws Exception {
+        // Given
+        Unit writtenUnit = createUnitForWriteStatus("New title", 2);
+
+        // When / Then
+        assertThat(DbRequest.getWriteStatus(createUnitForWriteStatus("New title", 2), writtenUnit))
+            .isEqualTo(DbRequest.WriteStatus.WRITTEN);
+        // Same versions, written by a concurrent writer
+        assertThat(DbRequest.getWriteStatus(createUnitForWriteStatus("Concurrent title", 2), writtenUnit))
+            .isEqualTo(DbRequest.WriteStatus.CONFLICT);
+        // Modified before our write
+        assertThat(DbRequest.getWriteStatus(createUnitForWriteStatus("Concurrent title", 1), writtenUnit))
+            .isEqualTo(DbRequest.WriteStatus.CONFLICT);
+        // Modified after a write that may have been ours : must not be applied twice
+        assertThat(DbRequest.getWriteStatus(createUnitForWriteStatus("New title", 3), writtenUnit))
+            .isEqualTo(DbRequest.WriteStatus.UNKNOWN);
+    }
+
+    private void insertUnitsForBulkUpdate(String... unitIds) throws Exception {
+        for (String unitId : unitIds) {
+            final Unit unit = new Unit(JsonHandler.createObjectNode()
+                .put("_id", unitId).put("Title", "Old title").put("_tenant", TENANT_ID_0).put("_v", 0)
+                .put("_av", 0));
+            MetadataCollections.UNIT.getCollection().insertOne(unit);
+            MetadataCollections.UNIT.getEsClient()
+                .insertFullDocument(MetadataCollections.UNIT, TENANT_ID_0, unitId, unit);
+        }
+    }
+
+    private void updateUnitConcurrently(String unitId) {
+        MetadataCollections.UNIT.getCollection().updateOne(Filters.eq("_id", unitId), Updates.combine(
+            Updates.set("Description", "Concurrent description"), Updates.inc("_v", 1), Updates.inc("_av", 1)));
+    }
+
+    private UpdateParserMultiple createTitleUpdateParser() throws Exception {
+        final UpdateParserMultiple updateParser = new UpdateParserMultiple(mongoDbVarNameAdapter);
+        updateParser.parse(JsonHandler.getFromString(
+            "{\"$roots\": [], \"$query\": [], \"$action\": [{\"$set\": {\"Title\": \"New title\"}}]}"));
+        return updateParser;
+    }
+
+    private Unit createUnitForWriteStatus(String title, int atomicVersion) {
+        return new Unit(JsonHandler.createObjectNode()
+            .put("_id", "aeaqaaaabeghay2jabzuaalbarkww4iaaabb").put("Title", title).put("_tenant", TENANT_ID_0)
+            .put("_v", atomicVersion).put("_av", atomicVersion));
+    }
+
     @RunWithCustomExecutor
     @Test
     public void shouldAllowInheritanceBeforeBlockingRule() throws Exception {
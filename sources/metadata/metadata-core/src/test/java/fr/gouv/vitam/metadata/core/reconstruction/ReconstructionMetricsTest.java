@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.metadata.core.reconstruction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+import fr.gouv.vitam.metadata.core.database.collections.MetadataCollections;
+
+public class ReconstructionMetricsTest {
+
+    private static final String METRICS_NAME =
+        MetricRegistry.name("metadata.reconstruction", MetadataCollections.UNIT.getName(), "0");
+
+    @Test
+    public void should_share_offset_gauge_between_instances() {
+        // Given
+        MetricRegistry registry = new MetricRegistry();
+        ReconstructionMetrics.TenantCollectionMetrics firstRun =
+            new ReconstructionMetrics(registry).startRun(MetadataCollections.UNIT, 0);
+        ReconstructionMetrics.TenantCollectionMetrics secondRun =
+            new ReconstructionMetrics(registry).startRun(MetadataCollections.UNIT, 0);
+
+        // When
+        firstRun.offsetReached(10L);
+        secondRun.offsetReached(20L);
+
+        // Then
+        Gauge<?> offset = registry.getGauges().get(MetricRegistry.name(METRICS_NAME, "offset"));
+        assertThat(offset.getValue()).isEqualTo(20L);
+    }
+
+    @Test
+    public void should_compute_write_rate_of_the_run_only() throws Exception {
+        // Given
+        MetricRegistry registry = new MetricRegistry();
+        ReconstructionMetrics metrics = new ReconstructionMetrics(registry);
+        ReconstructionMetrics.TenantCollectionMetrics firstRun = metrics.startRun(MetadataCollections.UNIT, 0);
+        firstRun.documentsWritten(1_000_000);
+
+        // When
+        ReconstructionMetrics.TenantCollectionMetrics secondRun = metrics.startRun(MetadataCollections.UNIT, 0);
+        Thread.sleep(100);
+        secondRun.documentsWritten(10);
+
+        // Then : at most 10 documents in 100 ms, whatever the documents written by previous runs
+        assertThat(secondRun.getWriteRate()).isGreaterThan(0.0).isLessThanOrEqualTo(100.0);
+        assertThat(registry.meter(MetricRegistry.name(METRICS_NAME, "writtenDocuments")).getCount())
+            .isEqualTo(1_000_010L);
+    }
+}
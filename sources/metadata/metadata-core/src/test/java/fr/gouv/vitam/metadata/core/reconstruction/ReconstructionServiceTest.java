@@ -42,6 +42,8 @@ import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.mongodb.MongoBulkWriteException;
@@ -73,6 +75,7 @@ import fr.gouv.vitam.storage.engine.common.model.Order;
 import org.apache.commons.collections4.IteratorUtils;
 import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -99,6 +102,8 @@ public class ReconstructionServiceTest {
 
     private OffsetRepository offsetRepository;
 
+    private ReconstructionService reconstructionService;
+
     @Before
     public void setup() {
         vitamRepositoryProvider = mock(VitamRepositoryFactory.class);
@@ -117,6 +122,13 @@ public class ReconstructionServiceTest {
         requestItem.setCollection("UNIT").setTenant(10).setLimit(100);
     }
 
+    @After
+    public void tearDown() {
+        if (reconstructionService != null) {
+            reconstructionService.close();
+        }
+    }
+
     @RunWithCustomExecutor
     @Test
     public void should_return_new_offset_when_item_unit_is_ok() throws Exception {
@@ -132,7 +144,7 @@ public class ReconstructionServiceTest {
         ArgumentCaptor<List<JsonNode>> unitLfcsCaptor = ArgumentCaptor.forClass(List.class);
         doNothing().when(logbookLifecycleClient).createRawbulkUnitlifecycles(unitLfcsCaptor.capture());
 
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
 
@@ -166,7 +178,7 @@ public class ReconstructionServiceTest {
         ArgumentCaptor<List<JsonNode>> unitLfcsCaptor = ArgumentCaptor.forClass(List.class);
         doNothing().when(logbookLifecycleClient).createRawbulkUnitlifecycles(unitLfcsCaptor.capture());
 
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
 
@@ -201,7 +213,7 @@ public class ReconstructionServiceTest {
             .thenReturn(getGotMetadataBackupModel("101", 101L));
         doNothing().when(logbookLifecycleClient).createRawbulkObjectgrouplifecycles(any());
 
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         FindIterable findIterable = mock(FindIterable.class);
@@ -235,7 +247,7 @@ public class ReconstructionServiceTest {
             .thenThrow(new StorageNotFoundException(""));
         doNothing().when(logbookLifecycleClient).createRawbulkObjectgrouplifecycles(any());
 
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         FindIterable findIterable = mock(FindIterable.class);
@@ -273,7 +285,7 @@ public class ReconstructionServiceTest {
             .loadData(VitamConfiguration.getDefaultStrategy(), DataCategory.OBJECTGROUP_GRAPH, "2018-04-20-17-00-01-444_2018-05-20-17-00-01-445"))
             .thenReturn(new FakeInputStream(1, true));
 
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         FindIterable findIterable = mock(FindIterable.class);
@@ -312,7 +324,7 @@ public class ReconstructionServiceTest {
             .loadData(VitamConfiguration.getDefaultStrategy(), DataCategory.OBJECTGROUP_GRAPH, "2018-04-20-17-00-01-444_2018-05-20-17-00-01-445"))
             .thenThrow(new StorageNotFoundException(""));
 
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         FindIterable findIterable = mock(FindIterable.class);
@@ -351,7 +363,7 @@ public class ReconstructionServiceTest {
             .loadData(VitamConfiguration.getDefaultStrategy(), DataCategory.UNIT_GRAPH, "2018-04-20-17-00-01-444_2018-05-20-17-00-01-445"))
             .thenReturn(new FakeInputStream(1, true));
 
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         FindIterable findIterable = mock(FindIterable.class);
@@ -390,7 +402,7 @@ public class ReconstructionServiceTest {
             .loadData(VitamConfiguration.getDefaultStrategy(), DataCategory.UNIT_GRAPH, "2018-04-20-17-00-01-444_2018-05-20-17-00-01-445"))
             .thenReturn(new FakeInputStream(1, true));
 
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         FindIterable findIterable = mock(FindIterable.class);
@@ -421,7 +433,7 @@ public class ReconstructionServiceTest {
             requestItem.getLimit(), Order.ASC, VitamConfiguration.getRestoreBulkSize())).
             thenReturn(IteratorUtils.emptyIterator());
 
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         // when
@@ -439,7 +451,7 @@ public class ReconstructionServiceTest {
     public void should_throw_IllegalArgumentException_when_item_is_negative() {
         // given
         requestItem.setLimit(-5);
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         // when + then
@@ -451,7 +463,7 @@ public class ReconstructionServiceTest {
     @Test
     public void should_throw_IllegalArgumentException_when_item_is_null() {
         // given
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         // when + then
@@ -463,7 +475,7 @@ public class ReconstructionServiceTest {
     @Test
     public void should_throw_IllegalArgumentException_when_item_collection_is_null() {
         // given
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         // when + then
@@ -475,7 +487,7 @@ public class ReconstructionServiceTest {
     @Test
     public void should_throw_IllegalArgumentException_when_item_collection_is_invalid() {
         // given
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         // when + then
@@ -487,7 +499,7 @@ public class ReconstructionServiceTest {
     @Test
     public void should_throw_IllegalArgumentException_when_item_tenant_is_null() {
         // given
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         // when + then
@@ -520,7 +532,7 @@ public class ReconstructionServiceTest {
                 throw new DatabaseException("mongo error");
             }
         }).when(mongoRepository).update(any(List.class));
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         FindIterable<Document> findIterable = mock(FindIterable.class);
@@ -557,7 +569,7 @@ public class ReconstructionServiceTest {
         doNothing().when(logbookLifecycleClient).createRawbulkUnitlifecycles(any());
         doThrow(new DatabaseException("Elasticsearch error")).when(esRepository).save(any(List.class));
 
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
 
@@ -592,7 +604,7 @@ public class ReconstructionServiceTest {
             .when(logbookLifecycleClient)
             .createRawbulkUnitlifecycles(any());
 
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
 
@@ -632,7 +644,7 @@ public class ReconstructionServiceTest {
             .when(logbookLifecycleClient)
             .createRawbulkUnitlifecycles(any());
 
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         // When
@@ -660,7 +672,7 @@ public class ReconstructionServiceTest {
         when(restoreBackupService.loadData(VitamConfiguration.getDefaultStrategy(), MetadataCollections.UNIT, "101", 101L))
             .thenReturn(getUnitMetadataBackupModel("101", 101L));
 
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         // When
@@ -691,7 +703,7 @@ public class ReconstructionServiceTest {
         when(findIterable.iterator()).thenReturn(iterator);
         when(iterator.hasNext()).thenReturn(Boolean.FALSE);
 
-        ReconstructionService reconstructionService =
+        reconstructionService =
             new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
                 offsetRepository);
         // when
@@ -704,6 +716,61 @@ public class ReconstructionServiceTest {
         assertThat(realResponseItem.getStatus()).isEqualTo(StatusCode.OK);
     }
 
+    @RunWithCustomExecutor
+    @Test
+    public void should_load_files_of_current_and_next_bulks_concurrently() throws Exception {
+        int restoreBulkSize = VitamConfiguration.getRestoreBulkSize();
+        try {
+            // given : 2 bulks of 2 files. Each file loading blocks until all 4 files are being loaded
+            VitamConfiguration.setRestoreBulkSize(2);
+            when(offsetRepository.findOffsetBy(10, MetadataCollections.UNIT.getName())).thenReturn(100L);
+            when(restoreBackupService.getListing(VitamConfiguration.getDefaultStrategy(), DataCategory.UNIT, 100L,
+                requestItem.getLimit(), Order.ASC, 2)).thenReturn(
+                IteratorUtils.arrayIterator(getOfferLog(100L), getOfferLog(101L), getOfferLog(102L), getOfferLog(103L)));
+
+            CountDownLatch concurrentLoads = new CountDownLatch(4);
+            for (long sequence = 100L; sequence <= 103L; sequence++) {
+                String id = Long.toString(sequence);
+                Long offset = sequence;
+                when(restoreBackupService.loadData(VitamConfiguration.getDefaultStrategy(), MetadataCollections.UNIT,
+                    id, sequence)).thenAnswer(args -> {
+                    concurrentLoads.countDown();
+                    if (!concurrentLoads.await(10, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("Files not loaded concurrently");
+                    }
+                    return getUnitMetadataBackupModel(id, offset);
+                });
+            }
+            ArgumentCaptor<List<JsonNode>> unitLfcsCaptor = ArgumentCaptor.forClass(List.class);
+            doNothing().when(logbookLifecycleClient).createRawbulkUnitlifecycles(unitLfcsCaptor.capture());
+
+            FindIterable findIterable = mock(FindIterable.class);
+            final MongoCursor<String> iterator = mock(MongoCursor.class);
+            when(mongoRepository.findDocuments(any(), any())).thenReturn(findIterable);
+            when(findIterable.iterator()).thenReturn(iterator);
+            when(iterator.hasNext()).thenReturn(Boolean.FALSE);
+
+            reconstructionService =
+                new ReconstructionService(vitamRepositoryProvider, restoreBackupService, logbookLifecycleClientFactory,
+                    offsetRepository, 4);
+
+            // when
+            ReconstructionResponseItem realResponseItem = reconstructionService.reconstruct(requestItem);
+
+            // then
+            assertThat(realResponseItem.getStatus()).isEqualTo(StatusCode.OK);
+            verify(offsetRepository).createOrUpdateOffset(10, MetadataCollections.UNIT.getName(), 103L);
+            verify(mongoRepository, times(2)).update(anyList());
+            assertThat(unitLfcsCaptor.getAllValues()).hasSize(2);
+            assertThat(unitLfcsCaptor.getAllValues().get(0)).extracting(lfc -> lfc.get("_id").asText())
+                .containsExactly("100", "101");
+            assertThat(unitLfcsCaptor.getAllValues().get(1)).extracting(lfc -> lfc.get("_id").asText())
+                .containsExactly("102", "103");
+        } finally {
+            VitamConfiguration.setRestoreBulkSize(restoreBulkSize);
+        }
+    }
+
     private MetadataBackupModel getUnitMetadataBackupModel(String id, Long offset) {
         MetadataBackupModel model = new MetadataBackupModel();
         model.setUnit(new Document("_id", id).append("_v", 0));
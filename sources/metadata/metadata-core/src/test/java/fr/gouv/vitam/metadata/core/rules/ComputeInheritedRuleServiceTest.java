@@ -1,9 +1,15 @@
 package fr.gouv.vitam.metadata.core.rules;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import fr.gouv.vitam.common.PropertiesUtils;
 import fr.gouv.vitam.common.exception.InvalidParseOperationException;
 import fr.gouv.vitam.common.json.JsonHandler;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.model.VitamConstants;
+import fr.gouv.vitam.common.model.rules.InheritedRuleResponseModel;
 import fr.gouv.vitam.common.utils.JsonSorter;
 import fr.gouv.vitam.common.model.rules.UnitInheritedRulesResponseModel;
 import fr.gouv.vitam.common.model.rules.UnitRuleModel;
@@ -17,9 +23,14 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class ComputeInheritedRuleServiceTest {
 
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(ComputeInheritedRuleServiceTest.class);
+
     @Test
     public void computeInheritedRules_empty() throws Exception {
 
@@ -124,6 +135,85 @@ public class ComputeInheritedRuleServiceTest {
         runTest(inputDataSet, expectedDataSetResult);
     }
 
+    @Test
+    public void computeInheritedRules_DeepMultipleParentsHierarchy_PathsCapped() throws Exception {
+
+        // Given : 20 levels of 2 units, each unit having both units of the previous level as parents
+        // (2^19 distinct paths from a leaf unit to root rules)
+        int nbLevels = 20;
+        int maxPaths = 1000;
+        Map<String, UnitRuleModel> inputUnitRuleModelMap = createDeepMultipleParentsHierarchy(nbLevels);
+        ComputeInheritedRuleService instance = new ComputeInheritedRuleService(maxPaths);
+
+        // When
+        long start = System.nanoTime();
+        Map<String, UnitInheritedRulesResponseModel> response =
+            instance.computeInheritedRules(inputUnitRuleModelMap);
+        String json = JsonHandler.unprettyPrint(JsonHandler.toJsonNode(response));
+        LOGGER.info("Computed & serialized inherited rules of {} units in {} ms ({} chars)",
+            inputUnitRuleModelMap.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), json.length());
+
+        // Then
+        InheritedRuleResponseModel leafRule = response.get("unit_" + (nbLevels - 1) + "_0")
+            .getRuleCategories().get(VitamConstants.TAG_RULE_STORAGE).getRules().get(0);
+        assertThat(leafRule.getUnitId()).isEqualTo("unit_0_0");
+        assertThat(leafRule.getPaths()).hasSize(maxPaths);
+        assertThat(leafRule.getPaths()).doesNotHaveDuplicates();
+        assertThat(leafRule.isPathsTruncated()).isTrue();
+        assertThat(JsonHandler.toJsonNode(leafRule).get("PathsTruncated").booleanValue()).isTrue();
+        for (List<String> path : leafRule.getPaths()) {
+            assertThat(path).hasSize(nbLevels);
+            assertThat(path.get(0)).isEqualTo("unit_" + (nbLevels - 1) + "_0");
+            assertThat(path.get(nbLevels - 1)).isEqualTo("unit_0_0");
+        }
+    }
+
+    @Test
+    public void computeInheritedRules_MultipleParentsHierarchy_AllPathsWithinCap() throws Exception {
+
+        // Given
+        int nbLevels = 8;
+        Map<String, UnitRuleModel> inputUnitRuleModelMap = createDeepMultipleParentsHierarchy(nbLevels);
+        ComputeInheritedRuleService instance = new ComputeInheritedRuleService();
+
+        // When
+        Map<String, UnitInheritedRulesResponseModel> response =
+            instance.computeInheritedRules(inputUnitRuleModelMap);
+
+        // Then
+        InheritedRuleResponseModel leafRule = response.get("unit_" + (nbLevels - 1) + "_1")
+            .getRuleCategories().get(VitamConstants.TAG_RULE_STORAGE).getRules().get(0);
+        assertThat(leafRule.getPaths()).hasSize(1 << (nbLevels - 1));
+        assertThat(leafRule.getPaths()).doesNotHaveDuplicates();
+        assertThat(leafRule.isPathsTruncated()).isFalse();
+        assertThat(JsonHandler.toJsonNode(leafRule).has("PathsTruncated")).isFalse();
+        assertThat(JsonHandler.toJsonNode(leafRule.getPaths()).get(0)).hasSize(nbLevels);
+    }
+
+    private Map<String, UnitRuleModel> createDeepMultipleParentsHierarchy(int nbLevels)
+        throws InvalidParseOperationException {
+        Map<String, UnitRuleModel> result = new HashMap<>();
+        for (int level = 0; level < nbLevels; level++) {
+            for (int i = 0; i < 2; i++) {
+                ObjectNode unitJson = JsonHandler.createObjectNode();
+                unitJson.put("#id", "unit_" + level + "_" + i);
+                unitJson.put("#originating_agency", "sp1");
+                ArrayNode ups = unitJson.putArray("#unitups");
+                if (level > 0) {
+                    ups.add("unit_" + (level - 1) + "_0").add("unit_" + (level - 1) + "_1");
+                }
+                ObjectNode management = unitJson.putObject("#management");
+                if (level == 0 && i == 0) {
+                    management.putObject(VitamConstants.TAG_RULE_STORAGE).putArray("Rules").addObject()
+                        .put("Rule", "STO-00001").put("StartDate", "2015-01-01").put("EndDate", "2016-01-01");
+                }
+                UnitRuleModel unitRuleModel = JsonHandler.getFromJsonNode(unitJson, UnitRuleModel.class);
+                result.put(unitRuleModel.getId(), unitRuleModel);
+            }
+        }
+        return result;
+    }
+
     private void runTest(String inputDataSet, String expectedDataSetResult)
         throws InvalidParseOperationException, IOException {
         Map<String, UnitRuleModel> inputUnitRuleModelMap =
@@ -1,6 +1,8 @@
 package fr.gouv.vitam.metadata.core.rules;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import fr.gouv.vitam.common.PropertiesUtils;
 import fr.gouv.vitam.common.database.builder.request.configuration.BuilderToken;
 import fr.gouv.vitam.common.database.builder.request.multiple.SelectMultiQuery;
@@ -8,25 +10,32 @@ import fr.gouv.vitam.common.exception.InvalidParseOperationException;
 import fr.gouv.vitam.common.json.JsonHandler;
 import fr.gouv.vitam.common.model.RequestResponseOK;
 import fr.gouv.vitam.common.model.rules.UnitInheritedRulesResponseModel;
+import fr.gouv.vitam.common.model.rules.UnitRuleModel;
 import fr.gouv.vitam.metadata.core.MetaDataImpl;
 
 import net.javacrumbs.jsonunit.JsonAssert;
 import net.javacrumbs.jsonunit.core.Option;
 import org.apache.commons.io.IOUtils;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static fr.gouv.vitam.common.database.builder.query.QueryHelper.exists;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class MetadataRuleServiceTest {
@@ -84,6 +93,74 @@ public class MetadataRuleServiceTest {
             , JsonAssert.when(Option.IGNORING_ARRAY_ORDER));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void selectUnitsWithInheritedRules_reuseCachedUnitsUntilUpdated() throws Exception {
+
+        // Given
+        ComputeInheritedRuleService computeInheritedRuleService = mock(ComputeInheritedRuleService.class);
+        MetaDataImpl metadata = mock(MetaDataImpl.class);
+
+        when(metadata.selectUnitsByQuery((any()))).thenReturn(
+            // First call : requested unit, then all its hierarchy
+            response(unit("guid_3", 0, "sp1", "guid_2")),
+            response(unit("guid_3", 0, "sp1", "guid_2")),
+            response(unit("guid_2", 0, "sp1", "guid_1")),
+            response(unit("guid_1", 0, "sp1")),
+            // Second call : requested unit, versions of cached units, then updated units only
+            response(unit("guid_3", 0, "sp1", "guid_2")),
+            response(version("guid_3", 0), version("guid_2", 0), version("guid_1", 1)),
+            response(unit("guid_1", 1, "sp2"))
+        );
+
+        Map<String, UnitInheritedRulesResponseModel> computedRules = new HashMap<>();
+        computedRules.put("guid_3", new UnitInheritedRulesResponseModel());
+        doReturn(computedRules).when(computeInheritedRuleService).computeInheritedRules(anyMap());
+
+        SelectMultiQuery select = new SelectMultiQuery();
+        select.addQueries(exists("Title"));
+        select.addUsedProjection("Title");
+        JsonNode selectDsl = select.getFinalSelect();
+
+        MetadataRuleService instance = new MetadataRuleService(computeInheritedRuleService, metadata);
+
+        // When
+        instance.selectUnitsWithInheritedRules(selectDsl);
+        instance.selectUnitsWithInheritedRules(selectDsl);
+
+        // Then
+        verify(metadata, times(7)).selectUnitsByQuery(any());
+
+        ArgumentCaptor<Map<String, UnitRuleModel>> unitRulesCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(computeInheritedRuleService, times(2)).computeInheritedRules(unitRulesCaptor.capture());
+        Map<String, UnitRuleModel> unitRules = unitRulesCaptor.getAllValues().get(1);
+        assertThat(unitRules.keySet()).containsExactlyInAnyOrder("guid_1", "guid_2", "guid_3");
+        assertThat(unitRules.get("guid_1").getOriginatingAgency()).isEqualTo("sp2");
+        assertThat(unitRules.get("guid_2").getUp()).containsExactly("guid_1");
+    }
+
+    private ObjectNode unit(String id, int version, String originatingAgency, String... ups) {
+        ObjectNode unit = version(id, version);
+        unit.put("#originating_agency", originatingAgency);
+        ArrayNode unitups = unit.putArray("#unitups");
+        for (String up : ups) {
+            unitups.add(up);
+        }
+        unit.putObject("#management");
+        return unit;
+    }
+
+    private ObjectNode version(String id, int version) {
+        ObjectNode unit = JsonHandler.createObjectNode();
+        unit.put("#id", id);
+        unit.put("#version", version);
+        return unit;
+    }
+
+    private RequestResponseOK<JsonNode> response(JsonNode... units) {
+        return new RequestResponseOK<JsonNode>().addAllResults(Arrays.asList(units));
+    }
+
     private RequestResponseOK<JsonNode> responseFromResource(String filename)
         throws IOException, InvalidParseOperationException {
         return new RequestResponseOK<>().addAllResults(
@@ -90,7 +90,10 @@ public class BusinessApplication extends Application {
 
             GraphFactory.initialize(vitamRepositoryProvider, metadata);
 
-            MetadataRuleService metadataRuleService = new MetadataRuleService(metadata);
+            MetadataRuleService metadataRuleService =
+                new MetadataRuleService(metadata, metaDataConfiguration.getInheritedRulesMaxPathsPerRule(),
+                    metaDataConfiguration.getUnitRuleCacheMaxEntries(),
+                    metaDataConfiguration.getUnitRuleCacheTimeoutInSeconds());
             MetadataResource metaDataResource = new MetadataResource(metadata, metadataRuleService, metaDataConfiguration);
             MetadataRawResource metadataRawResource = new MetadataRawResource(vitamRepositoryProvider);
             MetadataManagementResource metadataReconstruction =
@@ -159,7 +159,8 @@ public class MetadataManagementResource {
     @VisibleForTesting
     MetadataManagementResource(VitamRepositoryProvider vitamRepositoryProvider,
         OffsetRepository offsetRepository, MetaDataImpl metadata, MetaDataConfiguration configuration) {
-        this(new ReconstructionService(vitamRepositoryProvider, offsetRepository),
+        this(new ReconstructionService(vitamRepositoryProvider, offsetRepository,
+                configuration.getReconstructionLoadThreads()),
             new StoreGraphService(vitamRepositoryProvider),
             GraphComputeServiceImpl.initialize(vitamRepositoryProvider, metadata),
             new ReclassificationDistributionService(metadata),
@@ -0,0 +1,88 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019) <p> contact.vitam@culture.gouv.fr <p>
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently. <p> This software is governed by the CeCILL 2.1 license under French law and
+ * abiding by the rules of distribution of free software. You can use, modify and/ or redistribute the software under
+ * the terms of the CeCILL 2.1 license as circulated by CEA, CNRS and INRIA at the following URL
+ * "http://www.cecill.info". <p> As a counterpart to the access to the source code and rights to copy, modify and
+ * redistribute granted by the license, users are provided only with a limited warranty and the software's author, the
+ * holder of the economic rights, and the successive licensors have only limited liability. <p> In this respect, the
+ * user's attention is drawn to the risks associated with loading, using, modifying and/or developing or reproducing the
+ * software by the user in light of its specific status of free software, that may mean that it is complicated to
+ * manipulate, and that also therefore means that it is reserved for developers and experienced professionals having
+ * in-depth computer knowledge. Users are therefore encouraged to load and test the software's suitability as regards
+ * their requirements in conditions enabling the security of their systems and/or data to be ensured and, more
+ * generally, to use and operate it in the same conditions as regards security. <p> The fact that you are presently
+ * reading this means that you have had knowledge of the CeCILL 2.1 license and that you accept its terms.
+ */
+
+package fr.gouv.vitam.processing.distributor.v2;
+
+/**
+ * Bulk size of a step adapted to the observed duration of its worker tasks.
+ * <p>
+ * The average processing time of one element is estimated from the completed tasks, and the bulk size is reduced so
+ * that a task takes about the target duration. Smaller bulks spread slow elements over all the workers of the family
+ * instead of queuing them behind a single one at the end of the step. The bulk size never exceeds the one defined by
+ * the step.
+ */
+public class AdaptiveBulkSize {
+
+    /**
+     * Weight of the last observed task in the average element duration
+     */
+    private static final double SMOOTHING_FACTOR = 0.2;
+
+    private final int maxBulkSize;
+    private final long targetTaskDuration;
+    private double averageElementDuration = -1;
+
+    /**
+     * @param maxBulkSize the bulk size defined by the step
+     * @param targetTaskDuration the target duration of a task in milliseconds, 0 to always use maxBulkSize
+     */
+    public AdaptiveBulkSize(int maxBulkSize, long targetTaskDuration) {
+        if (maxBulkSize < 1) {
+            throw new IllegalArgumentException("bulk size must be positive");
+        }
+        this.maxBulkSize = maxBulkSize;
+        this.targetTaskDuration = targetTaskDuration;
+    }
+
+    /**
+     * Record the duration of a completed task
+     *
+     * @param elements number of elements processed by the task
+     * @param duration duration of the task in milliseconds
+     */
+    public synchronized void record(int elements, long duration) {
+        if (elements <= 0 || duration < 0) {
+            return;
+        }
+        double elementDuration = (double) duration / elements;
+        if (averageElementDuration < 0) {
+            averageElementDuration = elementDuration;
+        } else {
+            averageElementDuration =
+                SMOOTHING_FACTOR * elementDuration + (1 - SMOOTHING_FACTOR) * averageElementDuration;
+        }
+    }
+
+    /**
+     * @return the bulk size to use for the next tasks
+     */
+    public synchronized int getBulkSize() {
+        if (targetTaskDuration <= 0 || averageElementDuration <= 0) {
+            return maxBulkSize;
+        }
+        long bulkSize = (long) (targetTaskDuration / averageElementDuration);
+        return (int) Math.max(1, Math.min(maxBulkSize, bulkSize));
+    }
+
+    /**
+     * @return the bulk size defined by the step
+     */
+    public int getMaxBulkSize() {
+        return maxBulkSize;
+    }
+}
@@ -59,20 +59,21 @@ import fr.gouv.vitam.worker.client.WorkerClientFactory;
 import fr.gouv.vitam.worker.client.exception.PauseCancelException;
 import fr.gouv.vitam.worker.client.exception.WorkerUnreachableException;
 import fr.gouv.vitam.worker.common.DescriptionStep;
+import fr.gouv.vitam.worker.core.distribution.JsonArrayIterator;
+import fr.gouv.vitam.worker.core.distribution.JsonLineGenericIterator;
 import fr.gouv.vitam.worker.core.distribution.JsonLineModel;
 import fr.gouv.vitam.workspace.client.WorkspaceClient;
 import fr.gouv.vitam.workspace.client.WorkspaceClientFactory;
 import fr.gouv.vitam.workspace.client.WorkspaceBufferingInputStream;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageNotFoundException;
+import org.apache.commons.collections4.IteratorUtils;
 import org.apache.commons.collections4.iterators.PeekingIterator;
 
 import javax.ws.rs.core.Response;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -82,7 +83,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
@@ -123,6 +126,8 @@ public class ProcessDistributorImpl implements ProcessDistributor {
         "DistributorIndex not found for the operation";
     private static final String AN_EXCEPTION_HAS_BEEN_THROWN_WHEN_TRYING_TO_PERSIST_DISTRIBUTOR_INDEX =
         "An Exception has been thrown when trying to persist DistributorIndex";
+    private static final TypeReference<JsonLineModel> JSON_LINE_MODEL_TYPE = new TypeReference<JsonLineModel>() {
+    };
 
     private final ProcessDataAccess processDataAccess;
     private final ProcessDataManagement processDataManagement;
@@ -203,6 +208,8 @@ public class ProcessDistributorImpl implements ProcessDistributor {
          */
         boolean useDistributorIndex = !PauseRecover.NO_RECOVER.equals(pauseRecover) &&
             PauseOrCancelAction.ACTION_RECOVER.equals(step.getPauseOrCancelAction());
+        final AdaptiveBulkSize bulkSize = new AdaptiveBulkSize(findBulkSize(step.getDistribution()),
+            VitamConfiguration.getWorkerBulkTargetDuration());
 
         final int tenantId = VitamThreadUtils.getVitamSession().getTenantId();
         step.setStepResponses(new ItemStatus(step.getStepName()));
@@ -225,7 +232,6 @@ public class ProcessDistributorImpl implements ProcessDistributor {
             workParams.putParameterValue(WorkerParameterName.workflowStatusKo,
                 processDataAccess.findOneProcessWorkflow(operationId, tenantId).getStatus().name());
 
-            List<String> objectsList = new ArrayList<>();
             if (step.getDistribution().getKind().equals(DistributionKind.LIST_ORDERING_IN_FILE)) {
                 try (final WorkspaceClient workspaceClient = workspaceClientFactory.getClient()) {
                     // Test regarding Unit to be indexed
@@ -249,13 +255,12 @@ public class ProcessDistributorImpl implements ProcessDistributor {
                             final String level = guidFieldList.getKey();
                             final JsonNode guid = guidFieldList.getValue();
                             if (guid != null && guid.size() > 0) {
-                                for (final JsonNode _idGuid : guid) {
-                                    // include the GUID in the new URI
-                                    objectsList.add(_idGuid.asText() + JSON_EXTENSION);
-                                }
+                                // include the GUID in the new URI
+                                Iterator<JsonLineModel> levelElements = IteratorUtils.transformedIterator(
+                                    guid.elements(), _idGuid -> new JsonLineModel(_idGuid.asText() + JSON_EXTENSION));
                                 boolean distributorIndexUsed =
-                                    distributeOnList(workParams, step, level, objectsList, useDistributorIndex,
-                                        tenantId);
+                                    distributeOnStream(workParams, step, level, levelElements, false,
+                                        useDistributorIndex, tenantId, bulkSize);
                                 /*
                                  * If the distributorIndex is used in the previous level
                                  * Then do not use index in the next level
@@ -263,7 +268,6 @@ public class ProcessDistributorImpl implements ProcessDistributor {
                                 if (useDistributorIndex && distributorIndexUsed) {
                                     useDistributorIndex = false;
                                 }
-                                objectsList.clear();
 
                                 // If fatal occurs, do not continue distribution
                                 if (step.getStepResponses().getGlobalStatus().isGreaterOrEqualToFatal()) {
@@ -284,58 +288,46 @@ public class ProcessDistributorImpl implements ProcessDistributor {
                                 .toJsonNode().get("$results").get(0).toString(),
                             new TypeReference<List<URI>>() {
                             });
-                    for (URI uri : objectsListUri) {
-                        objectsList.add(uri.getPath());
-                    }
                     workParams.setObjectMetadataList(Collections.emptyList());
                     // Iterate over Objects List
-                    distributeOnList(workParams, step, NOLEVEL, objectsList, useDistributorIndex, tenantId);
+                    Iterator<JsonLineModel> objectsList = IteratorUtils
+                        .transformedIterator(objectsListUri.iterator(), uri -> new JsonLineModel(uri.getPath()));
+                    distributeOnStream(workParams, step, NOLEVEL, objectsList, false, useDistributorIndex,
+                        tenantId, bulkSize);
                 }
             } else if (step.getDistribution().getKind().equals(DistributionKind.LIST_IN_FILE)) {
-                try (final WorkspaceClient workspaceClient = workspaceClientFactory.getClient()) {
-                    // List from Workspace
-                    Response response = null;
-                    final JsonNode ogIdList;
-                    try {
-                        response =
-                            workspaceClient.getObject(workParams.getContainerName(), step.getDistribution().getElement());
-                        ogIdList = JsonHandler.getFromInputStream((InputStream) response.getEntity());
-                    } finally {
-                        workspaceClient.consumeAnyEntityAndClose(response);
-                    }
-                    if (ogIdList.isArray()) {
-                        for (JsonNode node : ogIdList) {
-                            objectsList.add(node.textValue());
-                        }
-                    }
+                // List from Workspace, parsed while distributing
+                try (InputStream inputStream = openBufferedDistributionFile(workParams, step);
+                    JsonArrayIterator objectsList = new JsonArrayIterator(inputStream)) {
+
                     // Iterate over Objects List
-                    distributeOnList(workParams, step, NOLEVEL, objectsList, useDistributorIndex, tenantId);
+                    distributeOnStream(workParams, step, NOLEVEL,
+                        IteratorUtils.transformedIterator(objectsList, JsonLineModel::new), false,
+                        useDistributorIndex, tenantId, bulkSize);
                 }
             } else if (step.getDistribution().getKind().equals(DistributionKind.LIST_IN_JSONL_FILE)) {
 
                 // distribute on stream
+                try (InputStream inputStream = openBufferedDistributionFile(workParams, step);
+                    JsonLineGenericIterator<JsonLineModel> objectsList =
+                        new JsonLineGenericIterator<>(inputStream, JSON_LINE_MODEL_TYPE)) {
 
-                File tmpDirectory = new File(VitamConfiguration.getVitamTmpFolder());
-
-                try (InputStream inputStream = new WorkspaceBufferingInputStream(workspaceClientFactory,
-                    workParams.getContainerName(), step.getDistribution().getElement(),
-                    serverConfiguration.getMaxDistributionOnDiskBufferSize(),
-                    serverConfiguration.getMaxDistributionInMemoryBufferSize(), tmpDirectory);
-                    BufferedReader br = new BufferedReader(
-                        new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-
-                    distributeOnStream(workParams, step, br, useDistributorIndex, tenantId);
+                    distributeOnStream(workParams, step, NOLEVEL, objectsList, true, useDistributorIndex,
+                        tenantId, bulkSize);
                 }
 
             } else {
                 // update the number of element to process
+                final String objectName;
                 if (step.getDistribution().getElement() == null ||
                     step.getDistribution().getElement().trim().isEmpty()) {
-                    objectsList.add(workParams.getContainerName());
+                    objectName = workParams.getContainerName();
                 } else {
-                    objectsList.add(step.getDistribution().getElement());
+                    objectName = step.getDistribution().getElement();
                 }
-                distributeOnList(workParams, step, NOLEVEL, objectsList, useDistributorIndex, tenantId);
+                distributeOnStream(workParams, step, NOLEVEL,
+                    Collections.singletonList(new JsonLineModel(objectName)).iterator(), false, useDistributorIndex,
+                    tenantId, bulkSize);
             }
         } catch (final IllegalArgumentException e) {
             step.getStepResponses().increment(StatusCode.FATAL);
@@ -356,233 +348,49 @@ public class ProcessDistributorImpl implements ProcessDistributor {
     }
 
     /**
+     * Distribute the elements read from the given iterator. Elements are consumed lazily : worker tasks are
+     * dispatched as soon as a bulk is filled, and at most one batch of
+     * {@link VitamConfiguration#getDistributeurBatchSize()} bulks is in flight between two DistributorIndex
+     * checkpoints.
+     * <p>
      * The returned boolean is used in case where useDistributorIndex is true
      * if the returned boolean false, means that we want that useDistributorIndex should keep true
      * Else if the returned boolean true, means we have already used the distibutorIndex,
      * Then in case of multi-level for the next level do not use the distributorIndex
      *
-     * @param workerParameters
-     * @param step
-     * @param objectsList
-     * @param tenantId
+     * @param workerParameters workerParameters
+     * @param step step
+     * @param level the level of the distributed elements ({@link ProcessDistributor#NOLEVEL} if none)
+     * @param elements the elements to distribute
+     * @param withMetadata true if the params of each element have to be sent to the workers
+     * @param initFromDistributorIndex true if the distribution restarts from the persisted DistributorIndex
+     * @param tenantId tenantId
+     * @param adaptiveBulkSize the bulk size of the step, adapted to the duration of the worker tasks
      * @return return true if distributor index is used false else
      * @throws ProcessingException
      */
-    private boolean distributeOnList(WorkerParameters workerParameters, Step step, String level,
-        List<String> objectsList, boolean initFromDistributorIndex, Integer tenantId) throws ProcessingException {
+    private boolean distributeOnStream(WorkerParameters workerParameters, Step step, String level,
+        Iterator<JsonLineModel> elements, boolean withMetadata, boolean initFromDistributorIndex, Integer tenantId,
+        AdaptiveBulkSize adaptiveBulkSize) throws ProcessingException {
 
         final String operationId = workerParameters.getContainerName();
         final String requestId = VitamThreadUtils.getVitamSession().getRequestId();
         final String contractId = VitamThreadUtils.getVitamSession().getContractId();
         final String contextId = VitamThreadUtils.getVitamSession().getContextId();
         final String applicationId = VitamThreadUtils.getVitamSession().getApplicationSessionId();
-        final String uniqueStepId = step.getId();
 
-        if (objectsList == null || objectsList.isEmpty()) {
+        if (!elements.hasNext()) {
             step.getStepResponses().setItemsStatus(OBJECTS_LIST_EMPTY,
                 new ItemStatus(OBJECTS_LIST_EMPTY).increment(step.getDistribution().getStatusOnEmptyDistribution()));
             return false;
         }
 
-        int offset = 0;
-        int sizeList = objectsList.size();
-        boolean updateElementToProcess = true;
-        DistributorIndex distributorIndex;
-
-        final List<String> remainingElementsFromRecover = new ArrayList<>();
-        /*
-         * initFromDistributorIndex true if start after stop
-         *
-         * Get the distributor Index from the workspace
-         * the current step identifier should be equals to the step identifier in the distributorIndex
-         * else the current step is not correctly initialized in th state machine
-         *
-         * In the current step in case of the multiple level,
-         * if the current level is not equals to the level in the initFromDistributorIndex
-         * Then return false to passe to the next step
-         */
-        if (initFromDistributorIndex) {
-            try {
-                distributorIndex = processDataManagement.getDistributorIndex(DISTRIBUTOR_INDEX, operationId);
-                if (null == distributorIndex) {
-                    throw new ProcessingException("DistributorIndex not found for the operation" + operationId);
-                }
-
-                if (!distributorIndex.getStepId().equals(step.getId())) {
-                    throw new ProcessingException(
-                        "You run the wrong step " + step.getId() + ". The step from saved distributor index is : " +
-                            distributorIndex.getStepId());
-                }
-                /*
-                 * Handle the next level if the current level is not equals to the distributorIndex level
-                 * This mean that the current level us already treated
-                 */
-                if (!distributorIndex.getLevel().equals(level)) {
-                    return false;
-                }
-                /*
-                 * If all elements of the step are treated then response with the ItemStatus of the distributorIndex
-                 */
-                if (distributorIndex.isLevelFinished()) {
-                    step.setStepResponses(distributorIndex.getItemStatus());
-                    return true;
-                }
-                /*
-                 * Initialize from distributor index
-                 */
-                offset = distributorIndex.getOffset();
-                distributorIndex.getItemStatus().getItemsStatus()
-                    .remove(PauseOrCancelAction.ACTION_PAUSE.name());
-                step.setStepResponses(distributorIndex.getItemStatus());
-                /*
-                 * As elements to process are calculated before stop of the server,
-                 * do not recalculate them after restart
-                 */
-                updateElementToProcess = false;
-                if (null != distributorIndex.getRemainingElements()) {
-                    remainingElementsFromRecover.addAll(distributorIndex.getRemainingElements());
-                }
-
-            } catch (Exception e) {
-                throw new ProcessingException("Can't get distibutor index from workspace", e);
-            }
-        }
-        /*
-         * Update only if level is finished in the distributorIndex
-         * In the cas of multiple level, we add the size of each level
-         * Prevent adding twice the size of the current executing level
-         */
-        if (updateElementToProcess) {
-            // update the number of element to process before start
-            processDataAccess.updateStep(operationId, uniqueStepId, sizeList, false, tenantId);
-        }
-
-        final Set<ItemStatus> cancelled = new HashSet<>();
-        final Set<ItemStatus> paused = new HashSet<>();
-        boolean fatalOccurred = false;
-
-        while (offset < sizeList && !fatalOccurred) {
-
-            int bulkSize = findBulkSize(step.getDistribution());
-            int batchSize = VitamConfiguration.getDistributeurBatchSize() * bulkSize;
-
-            int nextOffset = sizeList > offset + batchSize ? offset + batchSize : sizeList;
-            List<String> subList = objectsList.subList(offset, nextOffset);
-            List<CompletableFuture<ItemStatus>> completableFutureList = new ArrayList<>();
-            List<WorkerTask> currentWorkerTaskList = new ArrayList<>();
-
-            /*
-             * When server stop and in the batch of elements we have remaining elements (not yet treated)
-             * Then after restart we treat only those not yet treated elements of this batch
-             * If all elements of the batch were treated,
-             * then at this point, we are automatically in the new batch
-             * and we have to treat all elements of this batch
-             */
-            boolean emptyRemainingElements = remainingElementsFromRecover.isEmpty();
-
-            if (!emptyRemainingElements) {
-                subList = new ArrayList<>(subList);
-                subList.retainAll(remainingElementsFromRecover);
-            }
-
-            prepareCurrentWorkerTaskAndCompletableLists(workerParameters, step, tenantId, operationId, requestId,
-                contractId, contextId, applicationId, bulkSize, subList, completableFutureList, currentWorkerTaskList);
-
-            CompletableFuture<List<ItemStatus>> sequence = sequence(completableFutureList);
-
-            CompletableFuture<ItemStatus> reduce =
-                getItemStatusCompletableFuture(step, cancelled, paused, sequence);
-
-            try {
-                // store information
-                final ItemStatus itemStatus = reduce.get();
-                /*
-                 * As pause can occurs on not started WorkerTask,
-                 * so we have to get the corresponding elements in order to execute them after restart
-                 */
-                List<String> remainingElements = new ArrayList<>();
-                currentWorkerTaskList.forEach(e -> {
-                    if (!e.isCompleted()) {
-                        remainingElements.add(e.getObjectName());
-                    }
-                });
-
-
-                if (itemStatus.getGlobalStatus().isGreaterOrEqualToFatal()) {
-                    // Do not update index as we have to restart from old saved index
-                    checkCancelledOrPaused(cancelled, paused);
-                    return true;
-                }
-                if (remainingElements.isEmpty()) {
-                    offset = nextOffset;
-                }
-
-                distributorIndex =
-                    new DistributorIndex(level, offset, itemStatus, requestId, uniqueStepId, remainingElements);
-
-                // All elements of the current level are treated so finish it
-                if (offset >= sizeList) {
-                    distributorIndex.setLevelFinished(true);
-                }
-
-                // update persisted DistributorIndex if not Fatal
-                updatePersitedDistributorIndexIfNotFatal(operationId, offset, distributorIndex, itemStatus,
-                    "Error while persist DistributorIndex");
-
-                checkCancelledOrPaused(cancelled, paused);
-
-            } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException(e);
-            }
-
-
-        }
-        return true;
-    }
-
-    private void updatePersitedDistributorIndexIfNotFatal(String operationId, int offset,
-        DistributorIndex distributorIndex, ItemStatus itemStatus, String message) throws ProcessingException {
-        try {
-            processDataManagement.persistDistributorIndex(DISTRIBUTOR_INDEX, operationId, distributorIndex);
-            LOGGER
-                .debug("Store for the container " + operationId + " the DistributorIndex offset" + offset +
-                    " GlobalStatus " + itemStatus.getGlobalStatus());
-        } catch (Exception e) {
-            throw new ProcessingException(message, e);
-        }
-    }
-
-    @VisibleForTesting
-    Integer findBulkSize(Distribution distribution) {
-        return firstNonNull(distribution.getBulkSize(), VitamConfiguration.getWorkerBulkSize());
-    }
-
-    /**
-     * Distribution on stream.
-     *
-     * @param workerParameters workerParameters
-     * @param step step
-     * @param bufferedReader
-     * @param initFromDistributorIndex
-     * @param tenantId
-     * @return
-     */
-    private boolean distributeOnStream(WorkerParameters workerParameters, Step step,
-        BufferedReader bufferedReader, boolean initFromDistributorIndex, Integer tenantId)
-        throws ProcessingException {
-
-        final String operationId = workerParameters.getContainerName();
-        final String requestId = VitamThreadUtils.getVitamSession().getRequestId();
-        final String contractId = VitamThreadUtils.getVitamSession().getContractId();
-        final String contextId = VitamThreadUtils.getVitamSession().getContextId();
-        final String applicationId = VitamThreadUtils.getVitamSession().getApplicationSessionId();
-
         // initialization
         int offset = 0;
 
         boolean updateElementToProcess = true;
         DistributorIndex distributorIndex;
-        final List<String> remainingElementsFromRecover = new ArrayList<>();
+        final Set<String> remainingElementsFromRecover = new HashSet<>();
 
         /*
          * Check if the initialization is from the DistributorIndex :
@@ -597,8 +405,6 @@ public class ProcessDistributorImpl implements ProcessDistributor {
          * if the current level is not equals to the level in the initFromDistributorIndex
          * Then return false to passe to the next step
          */
-
-
         if (initFromDistributorIndex) {
 
             try {
@@ -613,7 +419,13 @@ public class ProcessDistributorImpl implements ProcessDistributor {
                             distributorIndex.getStepId());
                 }
 
-
+                /*
+                 * Handle the next level if the current level is not equals to the distributorIndex level
+                 * This mean that the current level us already treated
+                 */
+                if (!level.equals(distributorIndex.getLevel())) {
+                    return false;
+                }
 
                 /*
                  * If all elements of the step are treated then response with the ItemStatus of the distributorIndex
@@ -627,21 +439,20 @@ public class ProcessDistributorImpl implements ProcessDistributor {
                  * Initialization from DistributorIndex
                  */
                 offset = distributorIndex.getOffset();
-
-                skipOffsetLines(bufferedReader, offset);
+                for (int i = 0; i < offset && elements.hasNext(); i++) {
+                    elements.next();
+                }
 
                 distributorIndex.getItemStatus().getItemsStatus()
                     .remove(PauseOrCancelAction.ACTION_PAUSE.name());
                 step.setStepResponses(distributorIndex.getItemStatus());
 
                 /*
-                 * As elements to process are calculated before stop of the server,
-                 * do not recalculate them after restart
+                 * Elements of the interrupted batch are already counted before stop of the server,
+                 * do not count them again after restart
                  */
                 updateElementToProcess = false;
-                if (distributorIndex.getRemainingElements() != null &&
-                    !distributorIndex.getRemainingElements().isEmpty()) {
-
+                if (distributorIndex.getRemainingElements() != null) {
                     remainingElementsFromRecover.addAll(distributorIndex.getRemainingElements());
                 }
 
@@ -654,80 +465,75 @@ public class ProcessDistributorImpl implements ProcessDistributor {
         final Set<ItemStatus> cancelled = new HashSet<>();
         final Set<ItemStatus> paused = new HashSet<>();
 
+        // The batch size does not depend on the adapted bulk size so that a restart reads the same batches
+        final int globalBatchSize = VitamConfiguration.getDistributeurBatchSize() * adaptiveBulkSize.getMaxBulkSize();
 
-        int bulkSize = findBulkSize(step.getDistribution());
-        int globalBatchSize = VitamConfiguration.getDistributeurBatchSize() * bulkSize;
-
-        PeekingIterator<String> linesPeekIterator = new PeekingIterator<>(bufferedReader.lines().iterator());
-
-        boolean isEmptyDistribution = !initFromDistributorIndex && !linesPeekIterator.hasNext();
-        if (isEmptyDistribution) {
-            step.getStepResponses().setItemsStatus(OBJECTS_LIST_EMPTY,
-                new ItemStatus(OBJECTS_LIST_EMPTY).increment(step.getDistribution().getStatusOnEmptyDistribution()));
-            return false;
-        }
+        final PeekingIterator<JsonLineModel> elementsPeekIterator = new PeekingIterator<>(elements);
 
-        while (linesPeekIterator.hasNext()) {
+        while (elementsPeekIterator.hasNext()) {
 
-            int nextOffset = offset + globalBatchSize;
-            List<JsonLineModel> distributionList = new ArrayList<>();
             List<CompletableFuture<ItemStatus>> completableFutureList = new ArrayList<>();
             List<WorkerTask> currentWorkerTaskList = new ArrayList<>();
+            final int bulkSize = adaptiveBulkSize.getBulkSize();
+            List<JsonLineModel> bulk = new ArrayList<>(bulkSize);
+            int elementsRead = 0;
 
-            for (int i = offset; i < nextOffset && linesPeekIterator.hasNext(); i++) {
-
-                JsonLineModel currentJsonLineModel = readJsonLineModelFromBufferFromString(linesPeekIterator.next());
+            try {
+                while (elementsRead < globalBatchSize && elementsPeekIterator.hasNext()) {
+
+                    JsonLineModel currentJsonLineModel = elementsPeekIterator.next();
+                    elementsRead++;
+
+                    /*
+                     * When server stop and in the batch of elements we have remaining elements (not yet treated)
+                     * Then after restart we treat only those not yet treated elements of this batch
+                     */
+                    if (remainingElementsFromRecover.isEmpty() ||
+                        remainingElementsFromRecover.contains(currentJsonLineModel.getId())) {
+                        bulk.add(currentJsonLineModel);
+                    }
 
-                distributionList.add(currentJsonLineModel);
+                    JsonLineModel nextJsonLineModel =
+                        elementsPeekIterator.hasNext() ? elementsPeekIterator.peek() : null;
 
-                JsonLineModel nextJsonLineModel = null;
+                    boolean isLevelChanged =
+                        nextJsonLineModel != null &&
+                            currentJsonLineModel.getDistribGroup() != null &&
+                            nextJsonLineModel.getDistribGroup() != null &&
+                            !currentJsonLineModel.getDistribGroup().equals(nextJsonLineModel.getDistribGroup());
 
-                if (linesPeekIterator.hasNext()) {
-                    nextJsonLineModel = readJsonLineModelFromBufferFromString(linesPeekIterator.peek());
-                }
+                    // Dispatch the bulk without waiting for the whole batch to be read
+                    if (!bulk.isEmpty() && (bulk.size() >= bulkSize || isLevelChanged ||
+                        elementsRead >= globalBatchSize || nextJsonLineModel == null)) {
+                        if (updateElementToProcess) {
+                            processDataAccess.updateStep(operationId, step.getId(), bulk.size(), false, tenantId);
+                        }
+                        prepareWorkerTask(workerParameters, step, tenantId, operationId, requestId, contractId,
+                            contextId, applicationId, bulk, withMetadata, adaptiveBulkSize, completableFutureList,
+                            currentWorkerTaskList);
+                        bulk = new ArrayList<>(bulkSize);
+                    }
 
-                boolean isLevelCompatible =
-                    nextJsonLineModel != null &&
-                        currentJsonLineModel.getDistribGroup() != null &&
-                        nextJsonLineModel.getDistribGroup() != null &&
-                        !currentJsonLineModel.getDistribGroup().equals(nextJsonLineModel.getDistribGroup());
-                //consider Level
-                if (isLevelCompatible) {
-                    break;
+                    //consider Level
+                    if (isLevelChanged) {
+                        break;
+                    }
                 }
-            }
-
-            /*
-             * Update only if level is finished in the distributorIndex
-             * In the cas of multiple level, we add the size of each level
-             * Prevent adding twice the size of the current executing level
-             */
-            if (updateElementToProcess) {
-                // update the number of elements to process before start
-                processDataAccess.updateStep(operationId, step.getId(), distributionList.size(), false, tenantId);
-            }
-
-            /*
-             * When server stop and in the batch of elements we have remaining elements (not yet treated)
-             * Then after restart we treat only those not yet treated elements of this batch
-             * If all elements of the batch were treated,
-             * then at this point, we are automatically in the new batch
-             * and we have to treat all elements of this batch
-             */
-            if (!remainingElementsFromRecover.isEmpty()) {
-
-                ArrayList<JsonLineModel> retainedList = new ArrayList<>();
-                for (JsonLineModel model : distributionList) {
-                    if (remainingElementsFromRecover.contains(model.getId())) {
-                        retainedList.add(model);
+            } catch (RuntimeException e) {
+                // Do not leave already dispatched tasks running behind a failed distribution
+                for (CompletableFuture<ItemStatus> completableFuture : completableFutureList) {
+                    try {
+                        completableFuture.join();
+                    } catch (CancellationException | CompletionException taskException) {
+                        e.addSuppressed(taskException);
                     }
                 }
-                distributionList = retainedList;
+                throw e;
             }
 
-            prepareCurrentWorkerTaskAndCompletableListsOnStream(workerParameters, step, tenantId, operationId,
-                requestId, contractId, contextId, applicationId, bulkSize, distributionList, completableFutureList,
-                currentWorkerTaskList);
+            // Only the first batch after a restart is filtered and already counted
+            updateElementToProcess = true;
+            remainingElementsFromRecover.clear();
 
             CompletableFuture<List<ItemStatus>> sequence = sequence(completableFutureList);
 
@@ -741,120 +547,84 @@ public class ProcessDistributorImpl implements ProcessDistributor {
                  * so we have to get the corresponding elements in order to execute them after restart
                  */
                 List<String> remainingElements =
-                    currentWorkerTaskList.stream().filter(x -> !x.isCompleted()).map(WorkerTask::getObjectName)
+                    currentWorkerTaskList.stream().filter(x -> !x.isCompleted())
+                        .flatMap(x -> x.getObjectNameList().stream())
                         .collect(Collectors.toList());
 
                 if (itemStatus.getGlobalStatus().isGreaterOrEqualToFatal()) {
                     // Do not update index as we have to restart from old saved index
                     checkCancelledOrPaused(cancelled, paused);
                     return true;
-
                 }
 
                 if (remainingElements.isEmpty()) {
-                    offset = nextOffset;
+                    offset += elementsRead;
                 }
                 // update && persist DistributorIndex if not Fatal
                 distributorIndex =
-                    new DistributorIndex(ProcessDistributor.NOLEVEL, offset, itemStatus, requestId, step.getId(),
-                        remainingElements);
+                    new DistributorIndex(level, offset, itemStatus, requestId, step.getId(), remainingElements);
                 // All elements of the current level are treated so finish it
-                if (!linesPeekIterator.hasNext()) {
+                if (remainingElements.isEmpty() && !elementsPeekIterator.hasNext()) {
                     distributorIndex.setLevelFinished(true);
                 }
                 updatePersitedDistributorIndexIfNotFatal(operationId, offset, distributorIndex, itemStatus,
                     AN_EXCEPTION_HAS_BEEN_THROWN_WHEN_TRYING_TO_PERSIST_DISTRIBUTOR_INDEX);
 
-
                 checkCancelledOrPaused(cancelled, paused);
 
             } catch (InterruptedException | ExecutionException e) {
-
                 throw new ProcessingException(e);
             }
         }
         return true;
     }
 
-    private void skipOffsetLines(BufferedReader bufferedReader, int offset) throws ProcessingException {
-        for (int i = 0; i < offset; i++) {
-            try {
-                bufferedReader.readLine();
-            } catch (IOException e) {
-                throw new ProcessingException(e);
-            }
-        }
-    }
-
-    private JsonLineModel readJsonLineModelFromBufferFromString(String value) throws ProcessingException {
+    private void updatePersitedDistributorIndexIfNotFatal(String operationId, int offset,
+        DistributorIndex distributorIndex, ItemStatus itemStatus, String message) throws ProcessingException {
         try {
-            return JsonHandler.getFromString(value, JsonLineModel.class);
-        } catch (InvalidParseOperationException e) {
-            throw new ProcessingException("Invalid Model", e);
+            processDataManagement.persistDistributorIndex(DISTRIBUTOR_INDEX, operationId, distributorIndex);
+            LOGGER
+                .debug("Store for the container " + operationId + " the DistributorIndex offset" + offset +
+                    " GlobalStatus " + itemStatus.getGlobalStatus());
+        } catch (Exception e) {
+            throw new ProcessingException(message, e);
         }
     }
 
-    private void prepareCurrentWorkerTaskAndCompletableLists(WorkerParameters workerParameters, Step step,
-        Integer tenantId, String operationId, String requestId, String contractId, String contextId,
-        String applicationId,
-        int bulkSize, List<String> subList, List<CompletableFuture<ItemStatus>> completableFutureList,
-        List<WorkerTask> currentWorkerTaskList) {
-        int subOffset = 0;
-        int subListSize = subList.size();
-
-        while (subOffset < subListSize) {
-            int nextSubOffset = subListSize > subOffset + bulkSize ?
-                subOffset + bulkSize : subListSize;
-
-            // split the list of items to be processed according to the capacity of the workers
-            List<String> newSubList = subList.subList(subOffset, nextSubOffset);
-
-            // prepare & instanciate the worker tasks
-            workerParameters.setObjectNameList(newSubList);
-
-            final WorkerTask workerTask =
-                new WorkerTask(
-                    new DescriptionStep(step, ((DefaultWorkerParameters) workerParameters).newInstance()),
-                    tenantId, requestId, contractId, contextId, applicationId, workerClientFactory);
-
-            currentWorkerTaskList.add(workerTask);
-            completableFutureList.add(prepare(workerTask, operationId, tenantId));
-
-            subOffset = nextSubOffset;
-        }
+    @VisibleForTesting
+    Integer findBulkSize(Distribution distribution) {
+        return firstNonNull(distribution.getBulkSize(), VitamConfiguration.getWorkerBulkSize());
     }
 
-    private void prepareCurrentWorkerTaskAndCompletableListsOnStream(WorkerParameters workerParameters, Step step,
-        Integer tenantId, String operationId, String requestId, String contractId, String contextId,
-        String applicationId,
-        int bulkSize, List<JsonLineModel> distributionList, List<CompletableFuture<ItemStatus>> completableFutureList,
-        List<WorkerTask> currentWorkerTaskList) {
-        int distribOffSet = 0;
-        int distributionSize = distributionList.size();
-
-        while (distribOffSet < distributionSize) {
-            int nextDistributionOffset = distributionSize > distribOffSet + bulkSize ?
-                distribOffSet + bulkSize : distributionSize;
+    private InputStream openBufferedDistributionFile(WorkerParameters workParams, Step step)
+        throws IOException, ContentAddressableStorageNotFoundException {
+        File tmpDirectory = new File(VitamConfiguration.getVitamTmpFolder());
+        return new WorkspaceBufferingInputStream(workspaceClientFactory,
+            workParams.getContainerName(), step.getDistribution().getElement(),
+            serverConfiguration.getMaxDistributionOnDiskBufferSize(),
+            serverConfiguration.getMaxDistributionInMemoryBufferSize(), tmpDirectory);
+    }
 
-            // split the list of items to be processed according to the capacity of the workers
-            List<JsonLineModel> newSubList = distributionList.subList(distribOffSet, nextDistributionOffset);
+    private void prepareWorkerTask(WorkerParameters workerParameters, Step step, Integer tenantId,
+        String operationId, String requestId, String contractId, String contextId, String applicationId,
+        List<JsonLineModel> bulk, boolean withMetadata, AdaptiveBulkSize adaptiveBulkSize,
+        List<CompletableFuture<ItemStatus>> completableFutureList, List<WorkerTask> currentWorkerTaskList) {
 
-            // prepare & instantiate the worker tasks
-            workerParameters
-                .setObjectNameList(newSubList.stream().map(JsonLineModel::getId).collect(Collectors.toList()));
+        // prepare & instantiate the worker task
+        workerParameters
+            .setObjectNameList(bulk.stream().map(JsonLineModel::getId).collect(Collectors.toList()));
+        if (withMetadata) {
             workerParameters
-                .setObjectMetadataList(newSubList.stream().map(JsonLineModel::getParams).collect(Collectors.toList()));
-
-            final WorkerTask workerTask =
-                new WorkerTask(
-                    new DescriptionStep(step, ((DefaultWorkerParameters) workerParameters).newInstance()),
-                    tenantId, requestId, contractId, contextId, applicationId, workerClientFactory);
+                .setObjectMetadataList(bulk.stream().map(JsonLineModel::getParams).collect(Collectors.toList()));
+        }
 
-            currentWorkerTaskList.add(workerTask);
-            completableFutureList.add(prepare(workerTask, operationId, tenantId));
+        final WorkerTask workerTask =
+            new WorkerTask(
+                new DescriptionStep(step, ((DefaultWorkerParameters) workerParameters).newInstance()),
+                tenantId, requestId, contractId, contextId, applicationId, workerClientFactory);
 
-            distribOffSet = nextDistributionOffset;
-        }
+        currentWorkerTaskList.add(workerTask);
+        completableFutureList.add(prepare(workerTask, operationId, tenantId, adaptiveBulkSize));
     }
 
     private CompletableFuture<ItemStatus> getItemStatusCompletableFuture(Step step, Set<ItemStatus> cancelled,
@@ -891,9 +661,11 @@ public class ProcessDistributorImpl implements ProcessDistributor {
      * @param task task
      * @param operationId
      * @param tenantId
+     * @param adaptiveBulkSize
      * @return
      */
-    private CompletableFuture<ItemStatus> prepare(WorkerTask task, String operationId, int tenantId) {
+    private CompletableFuture<ItemStatus> prepare(WorkerTask task, String operationId, int tenantId,
+        AdaptiveBulkSize adaptiveBulkSize) {
         Step step = task.getStep();
         final WorkerFamilyManager wmf = workerManager.findWorkerBy(step.getWorkerGroupId());
         if (null == wmf) {
@@ -926,6 +698,7 @@ public class ProcessDistributorImpl implements ProcessDistributor {
                 if (StatusCode.UNKNOWN.equals(is.getGlobalStatus()) || StatusCode.FATAL.equals(is.getGlobalStatus())) {
                     return is;
                 }
+                adaptiveBulkSize.record(task.getObjectNameList().size(), task.getDuration());
                 // update processed elements
                 processDataAccess
                     .updateStep(operationId, step.getId(), task.getObjectNameList().size(), true, tenantId);
@@ -53,6 +53,7 @@ public class WorkerTask implements Supplier<ItemStatus> {
     private final String contextId;
     private final String applicationId;
     private volatile WorkerTaskState workerTaskState = WorkerTaskState.PENDING;
+    private volatile long duration = -1;
 
     private WorkerClientFactory workerClientFactory = null;
 
@@ -115,7 +116,12 @@ public class WorkerTask implements Supplier<ItemStatus> {
                     case ACTION_RECOVER:
                     case ACTION_REPLAY:
                         workerTaskState = WorkerTaskState.RUNNING;
-                        return workerClient.submitStep(descriptionStep);
+                        final long start = System.currentTimeMillis();
+                        try {
+                            return workerClient.submitStep(descriptionStep);
+                        } finally {
+                            duration = System.currentTimeMillis() - start;
+                        }
                     case ACTION_PAUSE:
                         // The current elements will be persisted in the distributorIndex in the remaining elements
                         workerTaskState = WorkerTaskState.PAUSE;
@@ -206,4 +212,11 @@ public class WorkerTask implements Supplier<ItemStatus> {
     public boolean isCompleted() {
         return WorkerTaskState.COMPLETED.equals(workerTaskState);
     }
+
+    /**
+     * @return the duration in milliseconds of the call to the worker, -1 if the worker was not called
+     */
+    public long getDuration() {
+        return duration;
+    }
 }
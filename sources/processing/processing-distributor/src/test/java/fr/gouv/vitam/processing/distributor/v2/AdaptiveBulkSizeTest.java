@@ -0,0 +1,68 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019) <p> contact.vitam@culture.gouv.fr <p>
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently. <p> This software is governed by the CeCILL 2.1 license under French law and
+ * abiding by the rules of distribution of free software. You can use, modify and/ or redistribute the software under
+ * the terms of the CeCILL 2.1 license as circulated by CEA, CNRS and INRIA at the following URL
+ * "http://www.cecill.info". <p> As a counterpart to the access to the source code and rights to copy, modify and
+ * redistribute granted by the license, users are provided only with a limited warranty and the software's author, the
+ * holder of the economic rights, and the successive licensors have only limited liability. <p> In this respect, the
+ * user's attention is drawn to the risks associated with loading, using, modifying and/or developing or reproducing the
+ * software by the user in light of its specific status of free software, that may mean that it is complicated to
+ * manipulate, and that also therefore means that it is reserved for developers and experienced professionals having
+ * in-depth computer knowledge. Users are therefore encouraged to load and test the software's suitability as regards
+ * their requirements in conditions enabling the security of their systems and/or data to be ensured and, more
+ * generally, to use and operate it in the same conditions as regards security. <p> The fact that you are presently
+ * reading this means that you have had knowledge of the CeCILL 2.1 license and that you accept its terms.
+ */
+
+package fr.gouv.vitam.processing.distributor.v2;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AdaptiveBulkSizeTest {
+
+    @Test
+    public void should_use_step_bulk_size_when_no_task_completed() {
+        assertThat(new AdaptiveBulkSize(10, 1000L).getBulkSize()).isEqualTo(10);
+    }
+
+    @Test
+    public void should_reduce_bulk_size_when_tasks_are_slow() {
+        AdaptiveBulkSize adaptiveBulkSize = new AdaptiveBulkSize(10, 1000L);
+        // 500 ms per element
+        adaptiveBulkSize.record(10, 5000L);
+        assertThat(adaptiveBulkSize.getBulkSize()).isEqualTo(2);
+
+        // 10 s per element
+        adaptiveBulkSize.record(1, 10000L);
+        adaptiveBulkSize.record(1, 10000L);
+        assertThat(adaptiveBulkSize.getBulkSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_restore_bulk_size_when_tasks_become_fast() {
+        AdaptiveBulkSize adaptiveBulkSize = new AdaptiveBulkSize(10, 1000L);
+        adaptiveBulkSize.record(10, 50000L);
+        assertThat(adaptiveBulkSize.getBulkSize()).isEqualTo(1);
+        for (int i = 0; i < 50; i++) {
+            adaptiveBulkSize.record(10, 100L);
+        }
+        assertThat(adaptiveBulkSize.getBulkSize()).isEqualTo(10);
+    }
+
+    @Test
+    public void should_not_adapt_when_disabled() {
+        AdaptiveBulkSize adaptiveBulkSize = new AdaptiveBulkSize(10, 0L);
+        adaptiveBulkSize.record(10, 50000L);
+        assertThat(adaptiveBulkSize.getBulkSize()).isEqualTo(10);
+    }
+
+    @Test
+    public void should_reject_invalid_bulk_size() {
+        assertThatThrownBy(() -> new AdaptiveBulkSize(0, 1000L)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
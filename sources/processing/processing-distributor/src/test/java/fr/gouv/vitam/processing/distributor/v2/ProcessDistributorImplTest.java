@@ -81,10 +81,16 @@ import java.io.PrintWriter;
 import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static fr.gouv.vitam.common.GlobalDataRest.X_CHUNK_LENGTH;
 import static fr.gouv.vitam.common.GlobalDataRest.X_CONTENT_LENGTH;
@@ -97,6 +103,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
@@ -964,4 +971,145 @@ public class ProcessDistributorImplTest {
         assertThat(is.getStatusMeter().get(0)).isGreaterThan(0); // statusCode UNkNWON
     }
 
+    @Test
+    @RunWithCustomExecutor
+    public void should_distribute_json_array_file_by_bulks_in_order() throws Exception {
+        // Given
+        String listElements = "list_guids_with_7_elements.json";
+        when(processWorkflow.getStatus()).thenReturn(StatusCode.STARTED);
+        givenWorkspaceClientReturnsFileContent(PropertiesUtils.getResourceFile(listElements), operationId,
+            listElements);
+        List<List<String>> submittedBulks = givenWorkerClientRecordsSubmittedBulks();
+
+        // When
+        ItemStatus itemStatus = processDistributor
+            .distribute(workerParameters, getStep(DistributionKind.LIST_IN_FILE, listElements, 5), operationId,
+                PauseRecover.NO_RECOVER);
+
+        // Then
+        assertThat(itemStatus.getGlobalStatus()).isEqualTo(StatusCode.OK);
+        assertThat(submittedBulks).hasSize(2);
+        assertThat(submittedBulks.stream().flatMap(List::stream).collect(Collectors.toList())).containsExactly(
+            "94fb3884-bf49-4f93-bfb0-6c1859430ca6", "097f50f8-5333-464d-95ff-80b5aaf5da2c",
+            "941ffa5c-f487-45d9-9072-e82a25940bb2", "5669cf4a-cd84-4f92-bc2e-0cd7393643d6",
+            "f5cd0edd-ccd5-4275-b86a-e4ea77687ded", "5669cf4a-cd84-4f92-bc2e-0cd7393643d4",
+            "f5cd0edd-ccd5-4275-b86a-e4ea77687ae1");
+    }
+
+    @Test
+    @RunWithCustomExecutor
+    public void should_dispatch_worker_task_before_whole_batch_is_read() throws Exception {
+        // Given
+        when(processWorkflow.getStatus()).thenReturn(StatusCode.STARTED);
+        File file = createJsonLineFile(new String[] {"id1", "id2", "id3"}, new Integer[] {null, null, null});
+        givenWorkspaceClientReturnsFileContent(file, operationId, file.getAbsolutePath());
+
+        CountDownLatch firstBulkSubmitted = new CountDownLatch(1);
+        when(workerClient.submitStep(any())).thenAnswer(invocation -> {
+            firstBulkSubmitted.countDown();
+            return getMockedItemStatus(StatusCode.OK);
+        });
+
+        // The last bulk of the batch is only read once the first bulk is sent to a worker
+        AtomicInteger readBulks = new AtomicInteger();
+        AtomicBoolean dispatchedWhileReading = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (readBulks.incrementAndGet() == 3) {
+                dispatchedWhileReading.set(firstBulkSubmitted.await(10, TimeUnit.SECONDS));
+            }
+            return null;
+        }).when(processDataAccess).updateStep(eq(operationId), any(), anyLong(), eq(false), any());
+
+        // When
+        ItemStatus itemStatus = processDistributor
+            .distribute(workerParameters, getStep(DistributionKind.LIST_IN_JSONL_FILE, file.getAbsolutePath(), 1),
+                operationId, PauseRecover.NO_RECOVER);
+
+        // Then
+        assertThat(itemStatus.getGlobalStatus()).isEqualTo(StatusCode.OK);
+        assertThat(readBulks.get()).isEqualTo(3);
+        assertThat(dispatchedWhileReading.get()).isTrue();
+        verify(workerClient, times(3)).submitStep(any());
+    }
+
+    @Test
+    @RunWithCustomExecutor
+    public void should_only_distribute_remaining_elements_of_interrupted_batch_after_restart() throws Exception {
+        // Given
+        int distributeurBatchSize = VitamConfiguration.getDistributeurBatchSize();
+        VitamConfiguration.setDistributeurBatchSize(2);
+        try {
+            when(processWorkflow.getStatus()).thenReturn(StatusCode.STARTED);
+            File file = createJsonLineFile(new String[] {"id1", "id2", "id3", "id4"},
+                new Integer[] {null, null, null, null});
+            givenWorkspaceClientReturnsFileContent(file, operationId, file.getAbsolutePath());
+            List<List<String>> submittedBulks = givenWorkerClientRecordsSubmittedBulks();
+
+            Step step = getStep(DistributionKind.LIST_IN_JSONL_FILE, file.getAbsolutePath(), 1);
+            step.setPauseOrCancelAction(PauseOrCancelAction.ACTION_RECOVER);
+            // id1 was processed before the server stopped, id2 was not
+            DistributorIndex distributorIndex = new DistributorIndex(ProcessDistributor.NOLEVEL, 0,
+                new ItemStatus(), FAKE_REQUEST_ID, step.getId(), Collections.singletonList("id2"));
+            when(processDataManagement.getDistributorIndex("distributorIndex", operationId))
+                .thenReturn(distributorIndex);
+
+            // When
+            ItemStatus itemStatus =
+                processDistributor.distribute(workerParameters, step, operationId,
+                    PauseRecover.RECOVER_FROM_API_PAUSE);
+
+            // Then
+            assertThat(itemStatus.getGlobalStatus()).isEqualTo(StatusCode.OK);
+            assertThat(submittedBulks.stream().flatMap(List::stream).collect(Collectors.toList()))
+                .containsExactlyInAnyOrder("id2", "id3", "id4");
+            // Elements of the interrupted batch are already counted, only the next batch is counted
+            verify(processDataAccess, times(2))
+                .updateStep(eq(operationId), eq(step.getId()), eq(1L), eq(false), eq(TENANT));
+        } finally {
+            VitamConfiguration.setDistributeurBatchSize(distributeurBatchSize);
+        }
+    }
+
+    @Test
+    @RunWithCustomExecutor
+    public void should_not_mix_distribution_groups_in_a_bulk() throws Exception {
+        // Given
+        when(processWorkflow.getStatus()).thenReturn(StatusCode.STARTED);
+        File file = createJsonLineFile(new String[] {"id1", "id2", "id3", "id4"}, new Integer[] {1, 1, 2, 2});
+        givenWorkspaceClientReturnsFileContent(file, operationId, file.getAbsolutePath());
+        List<List<String>> submittedBulks = givenWorkerClientRecordsSubmittedBulks();
+
+        // When
+        ItemStatus itemStatus = processDistributor
+            .distribute(workerParameters, getStep(DistributionKind.LIST_IN_JSONL_FILE, file.getAbsolutePath(), 5),
+                operationId, PauseRecover.NO_RECOVER);
+
+        // Then : a group is completed before the next one is dispatched
+        assertThat(itemStatus.getGlobalStatus()).isEqualTo(StatusCode.OK);
+        assertThat(submittedBulks).containsExactly(Arrays.asList("id1", "id2"), Arrays.asList("id3", "id4"));
+    }
+
+    private List<List<String>> givenWorkerClientRecordsSubmittedBulks() throws Exception {
+        List<List<String>> submittedBulks = Collections.synchronizedList(new ArrayList<>());
+        when(workerClient.submitStep(any())).thenAnswer(invocation -> {
+            DescriptionStep descriptionStep = invocation.getArgument(0);
+            submittedBulks.add(new ArrayList<>(descriptionStep.getWorkParams().getObjectNameList()));
+            return getMockedItemStatus(StatusCode.OK);
+        });
+        return submittedBulks;
+    }
+
+    private File createJsonLineFile(String[] ids, Integer[] distribGroups) throws IOException {
+        File file = testFolder.newFile();
+        try (PrintWriter writer = new PrintWriter(new FileOutputStream(file))) {
+            for (int i = 0; i < ids.length; i++) {
+                writer.append("{ \"id\": \"").append(ids[i]).append("\"");
+                if (distribGroups[i] != null) {
+                    writer.append(", \"distribGroup\": ").append(String.valueOf(distribGroups[i]));
+                }
+                writer.append(", \"params\": {}}\n");
+            }
+        }
+        return file;
+    }
 }
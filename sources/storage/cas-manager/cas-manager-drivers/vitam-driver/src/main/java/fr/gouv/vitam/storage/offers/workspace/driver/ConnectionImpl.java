@@ -42,6 +42,8 @@ import fr.gouv.vitam.storage.driver.exception.StorageDriverException;
 import fr.gouv.vitam.storage.driver.exception.StorageDriverNotFoundException;
 import fr.gouv.vitam.storage.driver.exception.StorageDriverPreconditionFailedException;
 import fr.gouv.vitam.storage.driver.exception.StorageDriverServiceUnavailableException;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetRequest;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetResult;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutRequest;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutResult;
 import fr.gouv.vitam.storage.driver.model.StorageCapacityResult;
@@ -378,6 +380,46 @@ public class ConnectionImpl extends AbstractConnection {
         }
     }
 
+    @Override
+    public StorageBulkGetResult bulkGetObjects(StorageBulkGetRequest request) throws StorageDriverException {
+        ParametersChecker.checkParameter(REQUEST_IS_A_MANDATORY_PARAMETER, request);
+        ParametersChecker.checkParameter(GUID_IS_A_MANDATORY_PARAMETER, request.getObjectIds());
+        ParametersChecker.checkParameter(GUID_IS_A_MANDATORY_PARAMETER, request.getObjectIds().toArray());
+        ParametersChecker.checkParameter(TENANT_IS_A_MANDATORY_PARAMETER, request.getTenantId());
+        ParametersChecker.checkParameter(TYPE_IS_A_MANDATORY_PARAMETER, request.getType());
+        ParametersChecker.checkParameter(TYPE_IS_NOT_VALID, DataCategory.getByFolder(request.getType()));
+        Response response = null;
+        try {
+            response = performRequest(HttpMethod.GET,
+                "/bulk/objects/" + DataCategory.getByFolder(request.getType()),
+                getDefaultHeaders(request.getTenantId(), null, null, null, null),
+                request.getObjectIds(), MediaType.APPLICATION_JSON_TYPE, MediaType.APPLICATION_OCTET_STREAM_TYPE);
+
+            final Response.Status status = Response.Status.fromStatusCode(response.getStatus());
+            switch (status) {
+                case OK:
+                    return new StorageBulkGetResult(request.getTenantId(), request.getType(),
+                        request.getObjectIds(), response);
+                case NOT_FOUND:
+                    throw new StorageDriverNotFoundException(getDriverName(),
+                        "Objects " + request.getObjectIds() + " not found");
+                case PRECONDITION_FAILED:
+                    LOGGER.error("Precondition failed");
+                    throw new StorageDriverPreconditionFailedException(getDriverName(), "Precondition failed");
+                default:
+                    LOGGER.error(INTERNAL_SERVER_ERROR + " : " + status.getReasonPhrase());
+                    throw new StorageDriverException(getDriverName(), INTERNAL_SERVER_ERROR, true);
+            }
+        } catch (final VitamClientInternalException e1) {
+            LOGGER.error(VitamCodeHelper.getLogMessage(VitamCode.STORAGE_TECHNICAL_INTERNAL_ERROR), e1);
+            throw new StorageDriverException(getDriverName(), true, e1);
+        } finally {
+            if (response != null && response.getStatus() != Status.OK.getStatusCode()) {
+                consumeAnyEntityAndClose(response);
+            }
+        }
+    }
+
     @Override
     public StorageRemoveResult removeObject(StorageRemoveRequest request) throws StorageDriverException {
         ParametersChecker.checkParameter(REQUEST_IS_A_MANDATORY_PARAMETER, request);
@@ -49,6 +49,8 @@ import fr.gouv.vitam.storage.driver.exception.StorageDriverConflictException;
 import fr.gouv.vitam.storage.driver.exception.StorageDriverException;
 import fr.gouv.vitam.storage.driver.exception.StorageDriverNotFoundException;
 import fr.gouv.vitam.storage.driver.exception.StorageDriverPreconditionFailedException;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetRequest;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetResult;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutRequest;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutResult;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutResultEntry;
@@ -240,6 +242,14 @@ public class ConnectionImplTest extends ResteasyTestApplication {
             return mock.put();
         }
 
+        @GET
+        @Path("/bulk/objects/{type}")
+        @Consumes(MediaType.APPLICATION_JSON)
+        @Produces(MediaType.APPLICATION_OCTET_STREAM)
+        public Response bulkGetObjects(@PathParam("type") DataCategory type, List<String> objectIds) {
+            return mock.get();
+        }
+
         protected void consumeAndCloseStream(InputStream stream) {
             try {
                 if (null != stream) {
@@ -849,6 +859,33 @@ public class ConnectionImplTest extends ResteasyTestApplication {
             "Tue Aug 31 10:20:56 SGT 2016", "Tue Aug 31 10:20:56 SGT 2016");
     }
 
+    @Test
+    public void bulkGetObjectsOK() throws Exception {
+        final InputStream stream = new ByteArrayInputStream("Test".getBytes());
+        when(mock.get()).thenReturn(Response.status(Status.OK).entity(stream).build());
+        final StorageBulkGetRequest request =
+            new StorageBulkGetRequest(tenant, DataCategory.OBJECT.getFolder(), Arrays.asList("GUID1", "GUID2"));
+        try (Connection connection = driver.connect(offer.getId())) {
+            final StorageBulkGetResult result = connection.bulkGetObjects(request);
+            assertNotNull(result.getObject());
+            assertThat(result.getObjectIds()).containsExactly("GUID1", "GUID2");
+            result.getObject().close();
+        }
+    }
+
+    @Test
+    public void bulkGetObjectsNotFound() throws Exception {
+        when(mock.get()).thenReturn(Response.status(Status.NOT_FOUND).build());
+        final StorageBulkGetRequest request =
+            new StorageBulkGetRequest(tenant, DataCategory.OBJECT.getFolder(), Arrays.asList("GUID1", "GUID2"));
+        try (Connection connection = driver.connect(offer.getId())) {
+            connection.bulkGetObjects(request);
+            fail("Expected exception");
+        } catch (final StorageDriverException exc) {
+            assertEquals(StorageDriverNotFoundException.class, exc.getClass());
+        }
+    }
+
     @Test(expected = StorageDriverException.class)
     public void bulkPutObjectsWithoutRequestKO() throws Exception {
         try (Connection connection = driver.connect(offer.getId())) {
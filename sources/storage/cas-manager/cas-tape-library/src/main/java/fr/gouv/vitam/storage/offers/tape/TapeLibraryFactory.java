@@ -26,17 +26,22 @@
  *******************************************************************************/
 package fr.gouv.vitam.storage.offers.tape;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import fr.gouv.vitam.common.ParametersChecker;
 import fr.gouv.vitam.common.database.server.mongodb.MongoDbAccess;
 import fr.gouv.vitam.common.exception.VitamRuntimeException;
 import fr.gouv.vitam.common.json.JsonHandler;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.serverv2.application.CommonBusinessApplication;
 import fr.gouv.vitam.common.storage.tapelibrary.TapeDriveConf;
 import fr.gouv.vitam.common.storage.tapelibrary.TapeLibraryConf;
 import fr.gouv.vitam.common.storage.tapelibrary.TapeLibraryConfiguration;
 import fr.gouv.vitam.common.storage.tapelibrary.TapeRobotConf;
 import fr.gouv.vitam.storage.engine.common.collection.OfferCollections;
+import fr.gouv.vitam.storage.engine.common.model.QueueMessageType;
+import fr.gouv.vitam.storage.engine.common.model.QueueState;
 import fr.gouv.vitam.storage.engine.common.model.TapeCatalog;
 import fr.gouv.vitam.storage.offers.tape.cas.ArchiveOutputRetentionPolicy;
 import fr.gouv.vitam.storage.offers.tape.cas.ArchiveReferentialRepository;
@@ -52,6 +57,7 @@ import fr.gouv.vitam.storage.offers.tape.cas.WriteOrderCreator;
 import fr.gouv.vitam.storage.offers.tape.cas.WriteOrderCreatorBootstrapRecovery;
 import fr.gouv.vitam.storage.offers.tape.dto.TapeLibrarySpec;
 import fr.gouv.vitam.storage.offers.tape.dto.TapeResponse;
+import fr.gouv.vitam.storage.offers.tape.exception.QueueException;
 import fr.gouv.vitam.storage.offers.tape.exception.TapeCatalogException;
 import fr.gouv.vitam.storage.offers.tape.impl.TapeDriveManager;
 import fr.gouv.vitam.storage.offers.tape.impl.TapeRobotManager;
@@ -81,6 +87,7 @@ import java.util.concurrent.ConcurrentMap;
 public class TapeLibraryFactory {
 
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(TapeLibraryFactory.class);
+    private static final String TAPE_LIBRARY_METRICS = "TapeLibrary";
 
     private static final TapeLibraryFactory instance = new TapeLibraryFactory();
     private static final ConcurrentMap<String, TapeLibraryPool> tapeLibraryPool = new ConcurrentHashMap<>();
@@ -152,6 +159,7 @@ public class TapeLibraryFactory {
 
         // Change all running orders to ready state
         readWriteQueue.initializeOnBootstrap();
+        registerQueueMetrics(readWriteQueue);
 
         // Create tar creation orders from inputFiles folder
         writeOrderCreatorBootstrapRecovery.initializeOnBootstrap();
@@ -217,12 +225,14 @@ public class TapeLibraryFactory {
             forceRewindOnBootstrap(driveServices, driveTape);
 
             // Start all workers
-            tapeDriveWorkerManagers
-                .put(tapeLibraryIdentifier,
-                    new TapeDriveWorkerManager(readWriteQueue, archiveReferentialRepository,
-                        readRequestReferentialRepository, libraryPool, driveTape,
-                        configuration.getInputTarStorageFolder(), configuration.isForceOverrideNonEmptyCartridges(),
-                        archiveOutputRetentionPolicy));
+            TapeDriveWorkerManager tapeDriveWorkerManager =
+                new TapeDriveWorkerManager(readWriteQueue, archiveReferentialRepository,
+                    readRequestReferentialRepository, libraryPool, driveTape,
+                    configuration.getInputTarStorageFolder(), configuration.isForceOverrideNonEmptyCartridges(),
+                    archiveOutputRetentionPolicy);
+            tapeDriveWorkerManager.registerMetrics(CommonBusinessApplication.getBusinessMetricsRegistry(),
+                MetricRegistry.name(TAPE_LIBRARY_METRICS, tapeLibraryIdentifier));
+            tapeDriveWorkerManagers.put(tapeLibraryIdentifier, tapeDriveWorkerManager);
         }
 
         // Everything's alright. Start tar creation listeners
@@ -235,6 +245,25 @@ public class TapeLibraryFactory {
         }
     }
 
+    /**
+     * Register the number of read and write orders waiting for a drive
+     */
+    private void registerQueueMetrics(QueueRepository readWriteQueue) {
+        for (QueueMessageType messageType : new QueueMessageType[] {QueueMessageType.ReadOrder,
+            QueueMessageType.WriteOrder, QueueMessageType.WriteBackupOrder}) {
+            CommonBusinessApplication.getBusinessMetricsRegistry().register(
+                MetricRegistry.name(TAPE_LIBRARY_METRICS, "queue", messageType.name(), "ready"),
+                (Gauge<Long>) () -> {
+                    try {
+                        return readWriteQueue.count(messageType, QueueState.READY);
+                    } catch (QueueException e) {
+                        LOGGER.warn("Cannot count ready " + messageType + " in queue", e);
+                        return -1L;
+                    }
+                });
+        }
+    }
+
     public TapeLibraryContentAddressableStorage getTapeLibraryContentAddressableStorage() {
         return tapeLibraryContentAddressableStorage;
     }
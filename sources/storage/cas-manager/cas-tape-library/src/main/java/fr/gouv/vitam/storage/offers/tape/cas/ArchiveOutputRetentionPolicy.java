@@ -29,7 +29,11 @@ package fr.gouv.vitam.storage.offers.tape.cas;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
 import com.google.common.cache.RemovalListener;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.TreeRangeSet;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.thread.VitamThreadFactory;
@@ -46,11 +50,14 @@ import java.util.concurrent.TimeUnit;
  * FIXME:   should purge by remaining disk space < 20% for example
  * Or disk space should be large enough
  * The problem if someone read multiple tar file in same time then the risque of full disk is possible
+ *
+ * Archives may be partially read from tape : the file then only holds the byte ranges read so far (at their offset
+ * in the archive), and the cache keeps track of these ranges.
  */
 public class ArchiveOutputRetentionPolicy {
 
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(ArchiveOutputRetentionPolicy.class);
-    private final Cache<String, Path> cache;
+    private final Cache<String, CachedArchive> cache;
     private final long cacheTimeoutInMinutes;
     private final ReadRequestReferentialCleaner requestReferentialCleaner;
     private final Executor cleanUpExecutor = Executors.newFixedThreadPool(1, VitamThreadFactory.getInstance());
@@ -68,8 +75,13 @@ public class ArchiveOutputRetentionPolicy {
         cache = CacheBuilder.newBuilder()
             .expireAfterAccess(cacheTimeoutInMinutes, timeUnit)
             .concurrencyLevel(concurrencyLevel)
-            .removalListener((RemovalListener<String, Path>) removalNotification -> cleanUpExecutor
-                .execute(() -> cleanUpExpiredEntry(removalNotification.getKey(), removalNotification.getValue()))).build();
+            .removalListener((RemovalListener<String, CachedArchive>) removalNotification -> {
+                // A replaced entry points to the same file, that is still in use
+                if (removalNotification.getCause() != RemovalCause.REPLACED) {
+                    cleanUpExecutor.execute(() -> cleanUpExpiredEntry(removalNotification.getKey(),
+                        removalNotification.getValue().path));
+                }
+            }).build();
 
         // CleanUp to force call to removalListener (This is needed in case where we have just read and no write operations to cache)
         Executors
@@ -94,15 +106,46 @@ public class ArchiveOutputRetentionPolicy {
     }
 
     public void put(String archiveId, Path path) {
-        cache.put(archiveId, path);
+        cache.put(archiveId, new CachedArchive(path, Range.all()));
         LOGGER.debug(
             String.format("Add archive file (%s) cache retention in file system.", path.toFile().getAbsolutePath()));
     }
 
+    /**
+     * Add a byte range read from tape to a partially read archive file
+     *
+     * @param archiveId the archive id
+     * @param path the archive file
+     * @param range the byte range of the archive now available in the file
+     */
+    public synchronized void put(String archiveId, Path path, Range<Long> range) {
+        CachedArchive cachedArchive = cache.getIfPresent(archiveId);
+        if (null != cachedArchive && cachedArchive.path.equals(path)) {
+            cachedArchive.add(range);
+        } else {
+            cache.put(archiveId, new CachedArchive(path, range));
+        }
+        LOGGER.debug(String.format("Add range %s of archive file (%s) cache retention in file system.", range,
+            path.toFile().getAbsolutePath()));
+    }
+
     public Path get(String archiveId) {
         LOGGER.debug(
             String.format("Access to archive file (%s) from cache retention in file system.", archiveId));
-        return cache.getIfPresent(archiveId);
+        CachedArchive cachedArchive = cache.getIfPresent(archiveId);
+        return null == cachedArchive ? null : cachedArchive.path;
+    }
+
+    /**
+     * @param archiveId the archive id
+     * @param range the byte range of the archive to read
+     * @return the archive file if the whole range is available in it, null otherwise
+     */
+    public Path get(String archiveId, Range<Long> range) {
+        LOGGER.debug(String.format("Access to range %s of archive file (%s) from cache retention in file system.",
+            range, archiveId));
+        CachedArchive cachedArchive = cache.getIfPresent(archiveId);
+        return null == cachedArchive || !cachedArchive.encloses(range) ? null : cachedArchive.path;
     }
 
     public void invalidate(String archiveId) {
@@ -124,4 +167,23 @@ public class ArchiveOutputRetentionPolicy {
     public long getCacheTimeoutInMinutes() {
         return cacheTimeoutInMinutes;
     }
-}
\ No newline at end of file
+
+    private static final class CachedArchive {
+
+        private final Path path;
+        private final RangeSet<Long> ranges = TreeRangeSet.create();
+
+        private CachedArchive(Path path, Range<Long> range) {
+            this.path = path;
+            this.ranges.add(range);
+        }
+
+        private synchronized void add(Range<Long> range) {
+            ranges.add(range);
+        }
+
+        private synchronized boolean encloses(Range<Long> range) {
+            return ranges.encloses(range);
+        }
+    }
+}
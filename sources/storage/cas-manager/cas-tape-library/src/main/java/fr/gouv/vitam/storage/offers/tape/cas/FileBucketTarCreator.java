@@ -27,6 +27,7 @@
 package fr.gouv.vitam.storage.offers.tape.cas;
 
 import fr.gouv.vitam.common.LocalDateUtil;
+import fr.gouv.vitam.common.VitamConfiguration;
 import fr.gouv.vitam.common.digest.Digest;
 import fr.gouv.vitam.common.digest.DigestType;
 import fr.gouv.vitam.common.json.JsonHandler;
@@ -146,8 +147,14 @@ public class FileBucketTarCreator extends QueueProcessor<TarCreatorMessage> {
                 createTarFile();
             }
 
-            Digest digest = new Digest(DigestType.fromValue(message.getDigestAlgorithm()));
-            InputStream digestInputStream = digest.getDigestInputStream(inputStream.get());
+            // A file stored as a single entry with the default digest type has the same digest as its entry :
+            // no need to hash its content twice
+            DigestType digestType = DigestType.fromValue(message.getDigestAlgorithm());
+            boolean singleEntryDigest = message.getSize() <= maxTarEntrySize &&
+                digestType == VitamConfiguration.getDefaultDigestType();
+            Digest digest = singleEntryDigest ? null : new Digest(digestType);
+            InputStream digestInputStream =
+                singleEntryDigest ? inputStream.get() : digest.getDigestInputStream(inputStream.get());
             long remainingSize = message.getSize();
             List<TarEntryDescription> tarEntryDescriptions = new ArrayList<>();
 
@@ -178,12 +185,14 @@ public class FileBucketTarCreator extends QueueProcessor<TarCreatorMessage> {
             this.currentTarAppender.flush();
             this.currentTarOutputStream.fsync();
 
-            if (!digest.digestHex().equals(message.getDigestValue())) {
+            String fileDigestValue =
+                singleEntryDigest ? tarEntryDescriptions.get(0).getDigestValue() : digest.digestHex();
+            if (!fileDigestValue.equals(message.getDigestValue())) {
                 throw new QueueProcessingException(
                     QueueProcessingException.RetryPolicy.FATAL_SHUTDOWN,
                     "Invalid file digest. request=" + JsonHandler.unprettyPrint(message) +
                         ". Actual digest=" +
-                        digest.digestHex() + ".");
+                        fileDigestValue + ".");
             }
 
             indexInObjectReferential(message, tarEntryDescriptions);
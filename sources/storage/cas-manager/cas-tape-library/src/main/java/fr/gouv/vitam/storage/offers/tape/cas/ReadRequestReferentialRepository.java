@@ -28,6 +28,7 @@ package fr.gouv.vitam.storage.offers.tape.cas;
 
 import com.mongodb.MongoException;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.model.Updates;
@@ -46,6 +47,8 @@ import fr.gouv.vitam.storage.offers.tape.worker.tasks.ReadTask;
 import org.bson.Document;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 public class ReadRequestReferentialRepository implements ReadRequestReferentialCleaner {
@@ -125,6 +128,60 @@ public class ReadRequestReferentialRepository implements ReadRequestReferentialC
         }
     }
 
+    /**
+     * Find the read requests where the given archive id has the given location
+     *
+     * @param archiveId
+     * @param tarLocation
+     * @return the read requests
+     * @throws ReadRequestReferentialException
+     */
+    public List<TapeReadRequestReferentialEntity> findByArchiveLocation(String archiveId, TarLocation tarLocation)
+        throws ReadRequestReferentialException {
+
+        List<TapeReadRequestReferentialEntity> readRequests = new ArrayList<>();
+        try (MongoCursor<Document> cursor = collection.find(
+            Filters.eq(TapeReadRequestReferentialEntity.TAR_LOCATIONS + "." + archiveId, tarLocation.name()))
+            .iterator()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                try {
+                    readRequests.add(fromBson(document, TapeReadRequestReferentialEntity.class));
+                } catch (InvalidParseOperationException e) {
+                    throw new IllegalStateException("Could not parse document from DB " + JSON.serialize(document), e);
+                }
+            }
+        } catch (MongoException ex) {
+            throw new ReadRequestReferentialException("Could not find read requests with archive " + archiveId, ex);
+        }
+        return readRequests;
+    }
+
+    /**
+     * Update location of a given archive id in a single read request
+     *
+     * @param requestId
+     * @param archiveId
+     * @param tarLocation
+     * @throws ReadRequestReferentialException
+     */
+    public void updateReadRequest(String requestId, String archiveId, TarLocation tarLocation)
+        throws ReadRequestReferentialException {
+
+        try {
+            collection.updateOne(
+                Filters.and(
+                    Filters.eq(TapeReadRequestReferentialEntity.ID, requestId),
+                    Filters.exists(TapeReadRequestReferentialEntity.TAR_LOCATIONS + "." + archiveId)),
+                Updates.set(TapeReadRequestReferentialEntity.TAR_LOCATIONS + "." + archiveId, tarLocation.name()),
+                new UpdateOptions().upsert(false)
+            );
+        } catch (MongoException ex) {
+            throw new ReadRequestReferentialException(
+                "Could not update read request " + requestId + " for " + archiveId, ex);
+        }
+    }
+
     private Document toBson(Object object) {
         return Document.parse(JsonHandler.unprettyPrint(object));
     }
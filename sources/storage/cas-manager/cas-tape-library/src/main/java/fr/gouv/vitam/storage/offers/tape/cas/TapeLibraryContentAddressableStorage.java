@@ -26,6 +26,7 @@
  *******************************************************************************/
 package fr.gouv.vitam.storage.offers.tape.cas;
 
+import com.google.common.collect.Range;
 import fr.gouv.vitam.common.LocalDateUtil;
 import fr.gouv.vitam.common.ParametersChecker;
 import fr.gouv.vitam.common.VitamConfiguration;
@@ -85,11 +86,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.Vector;
 import java.util.stream.Collectors;
 
@@ -258,7 +257,11 @@ public class TapeLibraryContentAddressableStorage implements ContentAddressableS
             }
 
             Path targetPath = Paths.get(outputTarStorageFolder).resolve(tarEntry.getTarFileId()).toAbsolutePath();
-            if (targetPath.toFile().exists()) {
+            // A partially read TAR may not hold the entry yet. Ranges read are only known by the cache : a TAR file
+            // left on disk by a previous run may be sparse, so it is not used until read again from tape.
+            boolean entryOnDisk = null != archiveOutputRetentionPolicy.get(tarEntry.getTarFileId(),
+                Range.closedOpen(tarEntry.getStartPos(), TarHelper.getEntryEndPos(tarEntry)));
+            if (entryOnDisk && targetPath.toFile().exists()) {
                 return TarHelper.readEntryAtPos(targetPath, tarEntry);
             } else {
                 throw new UnavailableFileException(
@@ -278,7 +281,7 @@ public class TapeLibraryContentAddressableStorage implements ContentAddressableS
         String readRequestId = GUIDFactory.newGUID().getId();
 
         Map<String, TarLocation> tarLocationMap = new HashMap<>();
-        Set<String> archiveSet = new HashSet<>();
+        Map<String, Range<Long>> tarRanges = new HashMap<>();
         try {
             for (String objectName : objectsIds) {
 
@@ -305,27 +308,31 @@ public class TapeLibraryContentAddressableStorage implements ContentAddressableS
                 }
 
                 for (TarEntryDescription o : tarEntryDescriptions) {
-                    // If Tar in cache then already in DISK. Access TAR in cache increase expire time
-                    archiveSet.add(o.getTarFileId());
-
-                    String tarFileIdWithoutExtension = StringUtils.substringBeforeLast(o.getTarFileId(), ".");
-                    Path path = archiveOutputRetentionPolicy.get(o.getTarFileId());
-                    if (null != path) {
-                        tarLocationMap.putIfAbsent(tarFileIdWithoutExtension, TarLocation.DISK);
-                    } else {
-                        tarLocationMap.putIfAbsent(tarFileIdWithoutExtension, TarLocation.TAPE);
-                    }
+                    // Only the entries of the TAR are to be read : keep the range of the TAR that covers them
+                    tarRanges.merge(o.getTarFileId(),
+                        Range.closedOpen(o.getStartPos(), TarHelper.getEntryEndPos(o)), Range::span);
                 }
 
 
                 filesInTape.add(new FileInTape(objectName, object.get().getStorageId(), tarEntryDescriptions));
             }
 
+            for (Map.Entry<String, Range<Long>> tarRange : tarRanges.entrySet()) {
+                // If the range of the TAR is in cache then already in DISK. Access TAR in cache increase expire time
+                String tarFileIdWithoutExtension = StringUtils.substringBeforeLast(tarRange.getKey(), ".");
+                Path path = archiveOutputRetentionPolicy.get(tarRange.getKey(), tarRange.getValue());
+                if (null != path) {
+                    tarLocationMap.putIfAbsent(tarFileIdWithoutExtension, TarLocation.DISK);
+                } else {
+                    tarLocationMap.putIfAbsent(tarFileIdWithoutExtension, TarLocation.TAPE);
+                }
+            }
+
             tapeReadRequestReferentialEntity =
                 new TapeReadRequestReferentialEntity(readRequestId, containerName, tarLocationMap, filesInTape);
             readRequestReferentialRepository.insert(tapeReadRequestReferentialEntity);
 
-            for (String tarId : archiveSet) {
+            for (String tarId : tarRanges.keySet()) {
                 Optional<TapeArchiveReferentialEntity> tapeLibraryTarReferentialEntity =
                     archiveReferentialRepository.find(tarId);
                 if (!tapeLibraryTarReferentialEntity.isPresent()) {
@@ -347,14 +354,24 @@ public class TapeLibraryContentAddressableStorage implements ContentAddressableS
                 String tapeCode = ((TapeLibraryOnTapeArchiveStorageLocation) tarLocation).getTapeCode();
                 Integer filePosition = ((TapeLibraryOnTapeArchiveStorageLocation) tarLocation).getFilePosition();
                 String bucketId = getBucketByTapeCode(tapeCode);
-                ReadOrder readOrder = new ReadOrder(readRequestId, tapeCode, filePosition, tarId, bucketId);
-
-                // add read orders to worker queue
+                // Stop reading at the end of the last entry, unless it is at the end of the TAR
+                Range<Long> range = tarRanges.get(tarId);
+                Long tarSize = tapeLibraryTarReferentialEntity.get().getSize();
+                Long endOffset = null != tarSize && range.upperEndpoint() < tarSize ? range.upperEndpoint() : null;
+                ReadOrder readOrder = new ReadOrder(readRequestId, tapeCode, filePosition, tarId, bucketId)
+                    .setStartOffset(range.lowerEndpoint())
+                    .setEndOffset(endOffset);
+
+                // add read orders to worker queue, unless a pending order already covers the range
                 readWriteQueue.addIfAbsent(
                     Arrays.asList(
                         new QueryCriteria(ReadOrder.FILE_NAME, tarId, QueryCriteriaOperator.EQ),
                         new QueryCriteria(ReadOrder.MESSAGE_TYPE, QueueMessageType.ReadOrder.name(),
-                            QueryCriteriaOperator.EQ)),
+                            QueryCriteriaOperator.EQ),
+                        new QueryCriteria(ReadOrder.START_OFFSET, range.lowerEndpoint(), QueryCriteriaOperator.LTE),
+                        null == endOffset ?
+                            new QueryCriteria(ReadOrder.END_OFFSET, null, QueryCriteriaOperator.EQ) :
+                            new QueryCriteria(ReadOrder.END_OFFSET, endOffset, QueryCriteriaOperator.GTE)),
                     readOrder);
             }
 
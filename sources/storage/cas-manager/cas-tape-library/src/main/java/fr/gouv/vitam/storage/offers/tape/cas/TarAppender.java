@@ -33,27 +33,44 @@ import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.stream.ExtendedFileOutputStream;
 import fr.gouv.vitam.storage.engine.common.model.TarEntryDescription;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
-import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.commons.compress.archivers.tar.TarConstants;
+import org.apache.commons.compress.archivers.zip.ZipEncoding;
+import org.apache.commons.compress.archivers.zip.ZipEncodingHelper;
 import org.apache.commons.io.IOUtils;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.Arrays;
 
+/**
+ * Appends entries to a tar file.
+ *
+ * Headers and record padding are written directly to the output stream, and entry content is read once into a
+ * reusable buffer that feeds both the entry digest and the whole tar digest before being written out.
+ */
 public class TarAppender implements AutoCloseable {
 
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(TarAppender.class);
 
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final ZipEncoding ENTRY_NAME_ENCODING =
+        ZipEncodingHelper.getZipEncoding(StandardCharsets.UTF_8.name());
+    private static final byte[] ZERO_RECORD = new byte[TarConstants.DEFAULT_RCDSIZE];
+
     private final String tarId;
     private final long maxTarSize;
 
     private final OutputStream outputStream;
-    private final TarArchiveOutputStream tarArchiveOutputStream;
     private final Digest digest;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final byte[] headerBuffer = new byte[TarConstants.DEFAULT_RCDSIZE];
     private int entryCount;
     private long bytesWritten = 0L;
+    private boolean closed = false;
 
     public TarAppender(Path outputTarFilePath, String tarId, long maxTarSize) throws IOException {
         this(new ExtendedFileOutputStream(outputTarFilePath, true), tarId, maxTarSize);
@@ -64,9 +81,6 @@ public class TarAppender implements AutoCloseable {
         this.tarId = tarId;
         this.maxTarSize = maxTarSize;
         digest = new Digest(VitamConfiguration.getDefaultDigestType());
-        OutputStream digestOutputStream = digest.getDigestOutputStream(outputStream);
-        tarArchiveOutputStream = new TarArchiveOutputStream(digestOutputStream);
-        tarArchiveOutputStream.setLongFileMode(TarArchiveOutputStream.LONGFILE_GNU);
     }
 
     public boolean canAppend(long size) {
@@ -75,7 +89,7 @@ public class TarAppender implements AutoCloseable {
             throw new IllegalStateException("Invalid entry size. MAX=" + TarConstants.MAXSIZE);
         }
 
-        long currentPos = tarArchiveOutputStream.getBytesWritten();
+        long currentPos = bytesWritten;
         long contentWithPaddingSize = (size + TarConstants.DEFAULT_RCDSIZE - 1L) + TarConstants.DEFAULT_RCDSIZE;
 
         // Header (1 record) + content size (padded to record size) + footer (2 empty records)
@@ -92,25 +106,34 @@ public class TarAppender implements AutoCloseable {
 
         try {
 
-            long startPos = tarArchiveOutputStream.getBytesWritten();
+            long startPos = bytesWritten;
 
-            TarArchiveEntry tarEntry = new TarArchiveEntry(entryName);
-            tarEntry.setSize(size);
-            tarArchiveOutputStream.putArchiveEntry(tarEntry);
+            writeEntryHeaders(entryName, size);
 
-            Digest digest = new Digest(VitamConfiguration.getDefaultDigestType());
-            InputStream digestInputStream = digest.getDigestInputStream(inputStream);
-            IOUtils.copy(digestInputStream, tarArchiveOutputStream);
+            Digest entryDigest = new Digest(VitamConfiguration.getDefaultDigestType());
+            long remainingSize = size;
+            while (remainingSize > 0L) {
+                int read = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remainingSize));
+                if (read < 0) {
+                    throw new EOFException("Unexpected end of stream for entry " + entryName + ". Expected " + size +
+                        " bytes, got " + (size - remainingSize));
+                }
+                entryDigest.update(buffer, 0, read);
+                write(buffer, 0, read);
+                remainingSize -= read;
+            }
+            if (inputStream.read() != -1) {
+                throw new IOException("Entry " + entryName + " is larger than its declared size " + size);
+            }
+            writePadding(size);
 
-            tarArchiveOutputStream.closeArchiveEntry();
-            long endPos = tarArchiveOutputStream.getBytesWritten();
+            long endPos = bytesWritten;
 
-            String entryDigestValue = digest.digestHex();
+            String entryDigestValue = entryDigest.digestHex();
 
             LOGGER.info("Written {} [{} bytes] into tar file {} [{}-{}] with digest {}",
                 entryName, size, tarId, startPos, endPos, entryDigestValue);
             entryCount++;
-            bytesWritten = tarArchiveOutputStream.getBytesWritten();
 
             return new TarEntryDescription(this.tarId, entryName, startPos, size, entryDigestValue);
 
@@ -120,20 +143,67 @@ public class TarAppender implements AutoCloseable {
         }
     }
 
+    private void writeEntryHeaders(String entryName, long size) throws IOException {
+
+        byte[] nameBytes = entryName.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes.length >= TarConstants.NAMELEN) {
+            // GNU long name : a dedicated entry holding the null terminated name
+            TarArchiveEntry longNameEntry =
+                new TarArchiveEntry(TarConstants.GNU_LONGLINK, TarConstants.LF_GNUTYPE_LONGNAME);
+            longNameEntry.setSize(nameBytes.length + 1L);
+            writeHeader(longNameEntry);
+            write(nameBytes, 0, nameBytes.length);
+            write(ZERO_RECORD, 0, 1);
+            writePadding(nameBytes.length + 1L);
+        }
+
+        TarArchiveEntry tarEntry = new TarArchiveEntry(entryName);
+        tarEntry.setSize(size);
+        writeHeader(tarEntry);
+    }
+
+    private void writeHeader(TarArchiveEntry tarEntry) throws IOException {
+        Arrays.fill(headerBuffer, (byte) 0);
+        tarEntry.writeEntryHeader(headerBuffer, ENTRY_NAME_ENCODING, false);
+        write(headerBuffer, 0, headerBuffer.length);
+    }
+
+    private void writePadding(long dataSize) throws IOException {
+        int padding = (int) ((TarConstants.DEFAULT_RCDSIZE - dataSize % TarConstants.DEFAULT_RCDSIZE)
+            % TarConstants.DEFAULT_RCDSIZE);
+        write(ZERO_RECORD, 0, padding);
+    }
+
+    private void write(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return;
+        }
+        outputStream.write(bytes, offset, length);
+        digest.update(bytes, offset, length);
+        bytesWritten += length;
+    }
+
     public void flush() throws IOException {
-        tarArchiveOutputStream.flush();
         outputStream.flush();
     }
 
     public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
         try {
-            tarArchiveOutputStream.flush();
+            // Footer (2 empty records), padded to the default tar block size
+            write(ZERO_RECORD, 0, ZERO_RECORD.length);
+            write(ZERO_RECORD, 0, ZERO_RECORD.length);
+            while (bytesWritten % TarConstants.DEFAULT_BLKSIZE != 0L) {
+                write(ZERO_RECORD, 0, ZERO_RECORD.length);
+            }
             outputStream.flush();
-            tarArchiveOutputStream.close();
+            outputStream.close();
         } finally {
             IOUtils.closeQuietly(outputStream);
         }
-        this.bytesWritten = tarArchiveOutputStream.getBytesWritten();
     }
 
     public String getTarId() {
@@ -32,12 +32,14 @@ import fr.gouv.vitam.common.stream.ExactSizeInputStream;
 import fr.gouv.vitam.storage.engine.common.model.TarEntryDescription;
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarConstants;
 import org.apache.commons.io.IOUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.channels.Channels;
 import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -58,6 +60,10 @@ public final class TarHelper {
             TarArchiveInputStream tarArchiveInputStream = new TarArchiveInputStream(inputStream);
 
             ArchiveEntry tarEntry = tarArchiveInputStream.getNextEntry();
+            if (tarEntry == null) {
+                throw new IOException("No tar entry found at position " + entryDescription.getStartPos() +
+                    ". Expected '" + entryDescription.getEntryName() + "'");
+            }
             if (!tarEntry.getName().equals(entryDescription.getEntryName())) {
                 throw new IOException(
                     "Tar entry name conflict. Expected '" + entryDescription.getEntryName() + "', found '" +
@@ -81,4 +87,25 @@ public final class TarHelper {
             throw e;
         }
     }
+
+    /**
+     * Computes the position of the end of an entry in its tar file (headers and record padding included).
+     * The [startPos, endPos) range is all that is needed to read back the entry with readEntryAtPos.
+     *
+     * @param entryDescription the entry
+     * @return the position following the last record of the entry
+     */
+    public static long getEntryEndPos(TarEntryDescription entryDescription) {
+        long headersSize = TarConstants.DEFAULT_RCDSIZE;
+        int nameLength = entryDescription.getEntryName().getBytes(StandardCharsets.UTF_8).length;
+        if (nameLength >= TarConstants.NAMELEN) {
+            // GNU long name : an extra header followed by the name (null terminated)
+            headersSize += TarConstants.DEFAULT_RCDSIZE + padToRecordSize(nameLength + 1L);
+        }
+        return entryDescription.getStartPos() + headersSize + padToRecordSize(entryDescription.getSize());
+    }
+
+    private static long padToRecordSize(long size) {
+        return (size + TarConstants.DEFAULT_RCDSIZE - 1L) / TarConstants.DEFAULT_RCDSIZE * TarConstants.DEFAULT_RCDSIZE;
+    }
 }
@@ -332,6 +332,16 @@ public class TapeCatalogServiceImpl implements TapeCatalogService {
         return tapeCatalogRepository.receive(inQuery, inUpdate, messageType, usePriority);
     }
 
+    @Override
+    public <T> Optional<T> receive(Bson inQuery, QueueMessageType messageType, Bson sort) throws QueueException {
+        return tapeCatalogRepository.receive(inQuery, messageType, sort);
+    }
+
+    @Override
+    public long count(QueueMessageType messageType, QueueState state) throws QueueException {
+        return tapeCatalogRepository.count(messageType, state);
+    }
+
     private Document toBson(Object object) {
         return Document.parse(JsonHandler.unprettyPrint(object));
     }
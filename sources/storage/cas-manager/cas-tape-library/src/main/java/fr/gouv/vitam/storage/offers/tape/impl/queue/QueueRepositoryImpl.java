@@ -195,6 +195,29 @@ public class QueueRepositoryImpl implements QueueRepository {
     @Override
     public <T> Optional<T> receive(Bson inQuery, Bson inUpdate, QueueMessageType messageType, boolean usePriority)
         throws QueueException {
+        Bson sort = usePriority ?
+            Sorts.ascending(QueueMessageEntity.PRIORITY, QueueMessageEntity.TAG_CREATION_DATE) :
+            Sorts.ascending(QueueMessageEntity.TAG_CREATION_DATE);
+        return receive(inQuery, inUpdate, messageType, sort);
+    }
+
+    @Override
+    public <T> Optional<T> receive(Bson inQuery, QueueMessageType messageType, Bson sort) throws QueueException {
+        return receive(inQuery, null, messageType, sort);
+    }
+
+    @Override
+    public long count(QueueMessageType messageType, QueueState state) throws QueueException {
+        try {
+            return collection.countDocuments(and(eq(QueueMessageEntity.STATE, state.getState()),
+                eq(QueueMessageEntity.MESSAGE_TYPE, messageType.name())));
+        } catch (Exception e) {
+            throw new QueueException(e);
+        }
+    }
+
+    private <T> Optional<T> receive(Bson inQuery, Bson inUpdate, QueueMessageType messageType, Bson sort)
+        throws QueueException {
 
         Bson query = inQuery != null ?
             and(eq(QueueMessageEntity.STATE, QueueState.READY.getState()),
@@ -205,11 +228,7 @@ public class QueueRepositoryImpl implements QueueRepository {
 
         FindOneAndUpdateOptions option = new FindOneAndUpdateOptions();
         option.returnDocument(ReturnDocument.AFTER);
-        if (usePriority) {
-            option.sort(Sorts.ascending(QueueMessageEntity.PRIORITY, QueueMessageEntity.TAG_CREATION_DATE));
-        } else {
-            option.sort(Sorts.ascending(QueueMessageEntity.TAG_CREATION_DATE));
-        }
+        option.sort(sort);
         option.upsert(false);
 
         Bson update = inUpdate != null ?
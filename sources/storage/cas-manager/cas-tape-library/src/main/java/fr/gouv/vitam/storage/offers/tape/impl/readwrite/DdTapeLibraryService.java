@@ -44,6 +44,15 @@ public class DdTapeLibraryService implements TapeReadWriteService {
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(DdTapeLibraryService.class);
     public static final String IF = "if=";
     public static final String OF = "of=";
+    public static final String BS = "bs=";
+    public static final String SKIP = "skip=";
+    public static final String SEEK = "seek=";
+    public static final String COUNT = "count=";
+    public static final String CONV_NOTRUNC = "conv=notrunc";
+    /**
+     * Size of the tape blocks (dd default block size, used when files are written to tape)
+     */
+    public static final int BLOCK_SIZE = 512;
     private final TapeDriveConf tapeDriveConf;
     private final ProcessExecutor processExecutor;
     private final String inputDirectory;
@@ -99,6 +108,37 @@ public class DdTapeLibraryService implements TapeReadWriteService {
 
     }
 
+    @Override
+    public TapeResponse readFromTape(String outputPath, long startOffset, Long endOffset) {
+        ParametersChecker.checkParameter("Arguments outputPath is required", outputPath);
+        ParametersChecker.checkValue("startOffset", startOffset, 0L);
+        if (startOffset % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Start offset " + startOffset + " is not aligned on tape blocks");
+        }
+        if (endOffset != null && endOffset <= startOffset) {
+            throw new IllegalArgumentException("Invalid range [" + startOffset + ", " + endOffset + ")");
+        }
+
+        // Blocks before the range are skipped on tape and left as a hole in the output file
+        long firstBlock = startOffset / BLOCK_SIZE;
+        List<String> args = Lists.newArrayList(IF + tapeDriveConf.getDevice(),
+            OF + Paths.get(this.getOutputDirectory()).resolve(outputPath).toAbsolutePath(),
+            BS + BLOCK_SIZE, SKIP + firstBlock, SEEK + firstBlock, CONV_NOTRUNC);
+        if (endOffset != null) {
+            args.add(COUNT + ((endOffset + BLOCK_SIZE - 1) / BLOCK_SIZE - firstBlock));
+        }
+
+        LOGGER.debug("Execute script : {},timeout: {}, args : {}", tapeDriveConf.getDdPath(),
+            tapeDriveConf.getTimeoutInMilliseconds(),
+            args);
+        Output output =
+            getExecutor()
+                .execute(tapeDriveConf.getDdPath(), tapeDriveConf.isUseSudo(), tapeDriveConf.getTimeoutInMilliseconds(),
+                    args);
+
+        return parseCommonResponse(output);
+    }
+
     private TapeResponse parseCommonResponse(Output output) {
         TapeResponse response;
 
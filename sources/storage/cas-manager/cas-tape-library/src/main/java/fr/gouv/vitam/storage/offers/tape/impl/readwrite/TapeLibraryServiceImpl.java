@@ -45,12 +45,14 @@ import fr.gouv.vitam.storage.offers.tape.exception.ReadWriteException;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeDriveService;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeLibraryService;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeLoadUnloadService;
+import fr.gouv.vitam.storage.offers.tape.spec.TapeReadWriteService;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeRobotPool;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeRobotService;
 import org.apache.commons.io.FileUtils;
 
 import java.io.File;
 import java.util.Objects;
+import java.util.function.Function;
 
 public class TapeLibraryServiceImpl implements TapeLibraryService {
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(TapeLibraryServiceImpl.class);
@@ -172,6 +174,18 @@ public class TapeLibraryServiceImpl implements TapeLibraryService {
 
     @Override
     public void read(TapeCatalog tape, Integer position, String outputPath) throws ReadWriteException {
+        read(tape, position, readWriteService -> readWriteService.readFromTape(outputPath), false);
+    }
+
+    @Override
+    public void read(TapeCatalog tape, Integer position, String outputPath, long startOffset, Long endOffset)
+        throws ReadWriteException {
+        read(tape, position, readWriteService -> readWriteService.readFromTape(outputPath, startOffset, endOffset),
+            endOffset != null);
+    }
+
+    private void read(TapeCatalog tape, Integer position, Function<TapeReadWriteService, TapeResponse> readCommand,
+        boolean stopsBeforeEndOfFile) throws ReadWriteException {
         ReadWriteException throwedException = null;
 
         // retry
@@ -193,15 +207,29 @@ public class TapeLibraryServiceImpl implements TapeLibraryService {
                 goToPosition(tape, position, ReadWriteErrorCode.KO_ON_GO_TO_POSITION);
 
                 // read file from tape
-                TapeResponse response = tapeDriveService.getReadWriteService(TapeDriveService.ReadWriteCmd.DD)
-                    .readFromTape(outputPath);
+                TapeResponse response =
+                    readCommand.apply(tapeDriveService.getReadWriteService(TapeDriveService.ReadWriteCmd.DD));
 
                 if (!response.isOK()) {
                     throwedException = new ReadWriteException("Error when reading file from tape",
                         ReadWriteErrorCode.KO_ON_READ_FROM_TAPE, response);
+                    rewindAfterReadError(tape);
                     continue;
                 }
 
+                if (stopsBeforeEndOfFile) {
+                    // The read stopped in the middle of the file : skip its end so that the tape is positioned
+                    // after the file mark, as it is after a full read
+                    TapeResponse moveResponse = tapeDriveService.getDriveCommandService().move(1, false);
+                    if (!moveResponse.isOK()) {
+                        throwedException = new ReadWriteException(MSG_PREFIX + TAPE_MSG + tape.getCode() +
+                            " Action : FSF after partial read Error " + moveResponse.getErrorCode(),
+                            ReadWriteErrorCode.KO_ON_GO_TO_POSITION, moveResponse);
+                        rewindAfterReadError(tape);
+                        continue;
+                    }
+                }
+
                 tape.setCurrentPosition(tape.getCurrentPosition() + 1);
 
             } catch (ReadWriteException e) {
@@ -217,6 +245,18 @@ public class TapeLibraryServiceImpl implements TapeLibraryService {
         }
     }
 
+    /**
+     * The head stopped somewhere in the file being read : rewind the tape so that its current position is known again,
+     * before any retry and even if no retry is left.
+     */
+    private void rewindAfterReadError(TapeCatalog tape) {
+        try {
+            rewindTape(tape);
+        } catch (ReadWriteException e) {
+            LOGGER.error(MSG_PREFIX + TAPE_MSG + tape.getCode() + " Action : Rewind after read error", e);
+        }
+    }
+
     @Override
     public void loadTape(TapeCatalog tape) throws ReadWriteException {
         ParametersChecker
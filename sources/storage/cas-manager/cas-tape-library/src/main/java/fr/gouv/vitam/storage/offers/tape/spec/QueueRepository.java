@@ -29,6 +29,7 @@ package fr.gouv.vitam.storage.offers.tape.spec;
 import fr.gouv.vitam.common.database.server.query.QueryCriteria;
 import fr.gouv.vitam.storage.engine.common.model.QueueMessageEntity;
 import fr.gouv.vitam.storage.engine.common.model.QueueMessageType;
+import fr.gouv.vitam.storage.engine.common.model.QueueState;
 import fr.gouv.vitam.storage.offers.tape.exception.QueueException;
 import org.bson.conversions.Bson;
 
@@ -101,4 +102,14 @@ public interface QueueRepository {
     <T> Optional<T> receive(Bson inQuery, Bson inUpdate, QueueMessageType messageType, boolean usePriority)
         throws QueueException;
 
+    /**
+     * Receive the first ready message matching the query in the given sort order
+     */
+    <T> Optional<T> receive(Bson inQuery, QueueMessageType messageType, Bson sort) throws QueueException;
+
+    /**
+     * @return the number of messages of the given type in the given state
+     */
+    long count(QueueMessageType messageType, QueueState state) throws QueueException;
+
 }
@@ -44,6 +44,19 @@ public interface TapeLibraryService {
 
     void read(TapeCatalog tape, Integer position, String outputPath) throws ReadWriteException;
 
+    /**
+     * Read a byte range of the file at the given position of the tape into outputPath, at the same offset
+     *
+     * @param tape the tape
+     * @param position the position of the file on tape
+     * @param outputPath mini-path to the output file from output directory
+     * @param startOffset offset of the first byte to read (a multiple of the tape block size)
+     * @param endOffset offset of the byte following the last byte to read (null to read until the end of the file)
+     * @throws ReadWriteException
+     */
+    void read(TapeCatalog tape, Integer position, String outputPath, long startOffset, Long endOffset)
+        throws ReadWriteException;
+
     void loadTape(TapeCatalog tape) throws ReadWriteException;
 
     void unloadTape(TapeCatalog tape) throws ReadWriteException;
@@ -43,6 +43,17 @@ public interface TapeReadWriteService {
      */
     TapeResponse readFromTape(String outputPath);
 
+    /**
+     * Read a byte range of the current file of the tape. The range is written at the same offset in the output file,
+     * that only holds the ranges read so far (other bytes are left untouched).
+     *
+     * @param outputPath mini-path to file from workingDir
+     * @param startOffset offset of the first byte to read. Must be a multiple of the tape block size
+     * @param endOffset offset of the byte following the last byte to read (null to read until the end of the file)
+     * @return TapeResponse
+     */
+    TapeResponse readFromTape(String outputPath, long startOffset, Long endOffset);
+
     ProcessExecutor getExecutor();
 
     String getOutputDirectory();
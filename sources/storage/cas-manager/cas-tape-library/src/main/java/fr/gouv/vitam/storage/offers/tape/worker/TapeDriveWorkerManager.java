@@ -26,6 +26,9 @@
  *******************************************************************************/
 package fr.gouv.vitam.storage.offers.tape.worker;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.mongodb.client.model.Sorts;
 import fr.gouv.vitam.common.ParametersChecker;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
@@ -45,6 +48,7 @@ import fr.gouv.vitam.storage.offers.tape.exception.QueueException;
 import fr.gouv.vitam.storage.offers.tape.spec.QueueRepository;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeDriveService;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeLibraryPool;
+import org.bson.conversions.Bson;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -58,7 +62,9 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gte;
 import static com.mongodb.client.model.Filters.nin;
 
 public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDriveOrderProducer {
@@ -70,6 +76,7 @@ public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDrive
     private final Map<Integer, OptimisticDriveResourceStatus> optimisticDriveResourceStatusMap =
         new ConcurrentHashMap<>();
     private final ArchiveOutputRetentionPolicy archiveOutputRetentionPolicy;
+    private final Counter tapeMounts = new Counter();
 
     public TapeDriveWorkerManager(
         QueueRepository readWriteQueue,
@@ -129,6 +136,23 @@ public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDrive
         CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[workers.size()])).join();
     }
 
+    /**
+     * Register the tape mount counter of the drives of this manager
+     *
+     * @param registry the metric registry
+     * @param name the prefix of the metrics
+     */
+    public void registerMetrics(MetricRegistry registry, String name) {
+        registry.register(MetricRegistry.name(name, "tapeMounts"), tapeMounts);
+    }
+
+    /**
+     * @return the number of tapes loaded into the drives since startup
+     */
+    public long getTapeMountCount() {
+        return tapeMounts.getCount();
+    }
+
     @Override
     public QueueRepository getQueue() {
         return readWriteQueue;
@@ -142,15 +166,20 @@ public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDrive
     @Override
     public synchronized Optional<? extends ReadWriteOrder> produce(TapeDriveWorker driveWorker) throws QueueException {
 
-        OptimisticDriveResourceStatus optimisticDriveResourceStatus =
-            optimisticDriveResourceStatusMap
-                .computeIfAbsent(driveWorker.getIndex(), i -> new OptimisticDriveResourceStatus());
+        String currentTapeCode = driveWorker.getCurrentTape() != null ? driveWorker.getCurrentTape().getCode() : null;
+
+        OptimisticDriveResourceStatus optimisticDriveResourceStatus = optimisticDriveResourceStatusMap
+            .computeIfAbsent(driveWorker.getIndex(), i -> new OptimisticDriveResourceStatus(currentTapeCode));
+
+        // The tape of the drive changed since its previous order : it was loaded by this order
+        if (currentTapeCode != null && !currentTapeCode.equals(optimisticDriveResourceStatus.lastTapeCode)) {
+            tapeMounts.inc();
+        }
 
         optimisticDriveResourceStatus.lastBucket =
             driveWorker.getCurrentTape() != null ? driveWorker.getCurrentTape().getBucket() : null;
 
-        optimisticDriveResourceStatus.lastTapeCode =
-            driveWorker.getCurrentTape() != null ? driveWorker.getCurrentTape().getCode() : null;
+        optimisticDriveResourceStatus.lastTapeCode = currentTapeCode;
 
         optimisticDriveResourceStatus.targetBucket = null;
         optimisticDriveResourceStatus.targetTapeCode = null;
@@ -199,7 +228,7 @@ public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDrive
             order = selectWriteOrderByBucket(driveWorker.getCurrentTape().getBucket());
 
             if (!order.isPresent()) {
-                order = selectReadOrderByTapeCode(driveWorker.getCurrentTape().getCode());
+                order = selectReadOrderOnCurrentTape(driveWorker.getCurrentTape());
             }
         }
 
@@ -238,7 +267,7 @@ public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDrive
 
         if (driveWorker.getCurrentTape() != null) {
 
-            order = selectReadOrderByTapeCode(driveWorker.getCurrentTape().getCode());
+            order = selectReadOrderOnCurrentTape(driveWorker.getCurrentTape());
 
             if (!order.isPresent()) {
                 order = selectWriteOrderByBucket(driveWorker.getCurrentTape().getBucket());
@@ -268,11 +297,33 @@ public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDrive
         return readWriteQueue.receive(queueMessageType);
     }
 
-    private Optional<? extends ReadWriteOrder> selectReadOrderByTapeCode(String tapeCode) throws QueueException {
-        return readWriteQueue.receive(
-            eq(ReadOrder.TAPE_CODE, tapeCode),
-            QueueMessageType.ReadOrder
-        );
+    /**
+     * Elevator selection of the read orders of the loaded tape : the nearest file ahead of the current position of
+     * the tape, then, once the end of the pending files is reached, back to the first pending file of the tape.
+     * Read orders of a tape are thus all served during a single mount, with the tape moving forward only.
+     * Priority remains the first sort criteria of each pass, file position only orders read orders of the same
+     * priority.
+     */
+    private Optional<? extends ReadWriteOrder> selectReadOrderOnCurrentTape(TapeCatalog currentTape)
+        throws QueueException {
+        Bson sort = Sorts.ascending(QueueMessageEntity.PRIORITY, ReadOrder.FILE_POSITION);
+        Integer currentPosition = currentTape.getCurrentPosition();
+        Optional<? extends ReadWriteOrder> order = Optional.empty();
+        if (currentPosition != null) {
+            order = readWriteQueue.receive(
+                and(eq(ReadOrder.TAPE_CODE, currentTape.getCode()), gte(ReadOrder.FILE_POSITION, currentPosition)),
+                QueueMessageType.ReadOrder,
+                sort
+            );
+        }
+        if (!order.isPresent()) {
+            order = readWriteQueue.receive(
+                eq(ReadOrder.TAPE_CODE, currentTape.getCode()),
+                QueueMessageType.ReadOrder,
+                sort
+            );
+        }
+        return order;
     }
 
     private Optional<? extends ReadWriteOrder> selectWriteOrderExcludingActiveBuckets() throws QueueException {
@@ -320,5 +371,9 @@ public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDrive
 
         private String targetTapeCode;
         private String targetBucket;
+
+        private OptimisticDriveResourceStatus(String lastTapeCode) {
+            this.lastTapeCode = lastTapeCode;
+        }
     }
 }
@@ -26,6 +26,7 @@
  *******************************************************************************/
 package fr.gouv.vitam.storage.offers.tape.worker.tasks;
 
+import com.google.common.collect.Range;
 import fr.gouv.vitam.common.ParametersChecker;
 import fr.gouv.vitam.common.database.server.query.QueryCriteria;
 import fr.gouv.vitam.common.database.server.query.QueryCriteriaOperator;
@@ -39,10 +40,12 @@ import fr.gouv.vitam.storage.engine.common.model.QueueState;
 import fr.gouv.vitam.storage.engine.common.model.ReadOrder;
 import fr.gouv.vitam.storage.engine.common.model.TapeCatalog;
 import fr.gouv.vitam.storage.engine.common.model.TapeLocationType;
+import fr.gouv.vitam.storage.engine.common.model.TapeReadRequestReferentialEntity;
 import fr.gouv.vitam.storage.engine.common.model.TapeState;
 import fr.gouv.vitam.storage.engine.common.model.TarLocation;
 import fr.gouv.vitam.storage.offers.tape.cas.ArchiveOutputRetentionPolicy;
 import fr.gouv.vitam.storage.offers.tape.cas.ReadRequestReferentialRepository;
+import fr.gouv.vitam.storage.offers.tape.cas.TarHelper;
 import fr.gouv.vitam.storage.offers.tape.exception.QueueException;
 import fr.gouv.vitam.storage.offers.tape.exception.ReadRequestReferentialException;
 import fr.gouv.vitam.storage.offers.tape.exception.ReadWriteErrorCode;
@@ -212,7 +215,17 @@ public class ReadTask implements Future<ReadWriteResult> {
             Path targetPath =
                 Paths.get(tapeLibraryService.getOutputDirectory()).resolve(readOrder.getFileName()).toAbsolutePath();
 
-            Path tarInCache = archiveOutputRetentionPolicy.get(readOrder.getFileName());
+            String tarFileIdWithoutExtension = StringUtils.substringBeforeLast(readOrder.getFileName(), ".");
+
+            if (readOrder.isPartialRead()) {
+                readRangeFromTape(sourcePath, targetPath);
+
+                // Only read requests whose entries are all available are now on disk
+                updatePartiallyReadRequests(tarFileIdWithoutExtension);
+                return;
+            }
+
+            Path tarInCache = archiveOutputRetentionPolicy.get(readOrder.getFileName(), Range.all());
 
 
             if (null == tarInCache || !targetPath.toFile().exists()) {
@@ -227,7 +240,6 @@ public class ReadTask implements Future<ReadWriteResult> {
             // Add file to retention policy
             archiveOutputRetentionPolicy.put(readOrder.getFileName(), targetPath);
 
-            String tarFileIdWithoutExtension = StringUtils.substringBeforeLast(readOrder.getFileName(), ".");
             readRequestReferentialRepository
                 .updateReadRequests(
                     tarFileIdWithoutExtension,
@@ -251,6 +263,58 @@ public class ReadTask implements Future<ReadWriteResult> {
         }
     }
 
+    /**
+     * Read the range of the order into the archive file. Bytes outside the ranges read are never written, so the
+     * archive file on disk only takes the space of the entries read (sparse file).
+     */
+    private void readRangeFromTape(Path sourcePath, Path targetPath) throws ReadWriteException, IOException {
+        long startOffset = readOrder.getStartOffset() == null ? 0L : readOrder.getStartOffset();
+        Range<Long> range = readOrder.getEndOffset() == null ?
+            Range.atLeast(startOffset) :
+            Range.closedOpen(startOffset, readOrder.getEndOffset());
+
+        if (null != archiveOutputRetentionPolicy.get(readOrder.getFileName(), range) &&
+            targetPath.toFile().exists()) {
+            // Range already read
+            archiveOutputRetentionPolicy.put(readOrder.getFileName(), targetPath, range);
+            return;
+        }
+
+        if (null != archiveOutputRetentionPolicy.get(readOrder.getFileName()) && targetPath.toFile().exists()) {
+            // Other ranges of the archive are on disk : add the range to the existing file
+            tapeLibraryService.read(workerCurrentTape, readOrder.getFilePosition(), readOrder.getFileName(),
+                startOffset, readOrder.getEndOffset());
+        } else {
+            FileUtils.deleteQuietly(sourcePath.toFile());
+
+            tapeLibraryService.read(workerCurrentTape, readOrder.getFilePosition(),
+                readOrder.getFileName() + TEMP_EXT, startOffset, readOrder.getEndOffset());
+            // Mark file as done (remove .tmp extension)
+            Files.move(sourcePath, targetPath, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        archiveOutputRetentionPolicy.put(readOrder.getFileName(), targetPath, range);
+    }
+
+    private void updatePartiallyReadRequests(String tarFileIdWithoutExtension)
+        throws ReadRequestReferentialException {
+        List<TapeReadRequestReferentialEntity> readRequests =
+            readRequestReferentialRepository.findByArchiveLocation(tarFileIdWithoutExtension, TarLocation.TAPE);
+
+        for (TapeReadRequestReferentialEntity readRequest : readRequests) {
+            boolean allEntriesOnDisk = readRequest.getFiles().stream()
+                .flatMap(fileInTape -> fileInTape.getFileSegments().stream())
+                .filter(entry -> entry.getTarFileId().equals(readOrder.getFileName()))
+                .allMatch(entry -> null != archiveOutputRetentionPolicy.get(readOrder.getFileName(),
+                    Range.closedOpen(entry.getStartPos(), TarHelper.getEntryEndPos(entry))));
+
+            if (allEntriesOnDisk) {
+                readRequestReferentialRepository
+                    .updateReadRequest(readRequest.getRequestId(), tarFileIdWithoutExtension, TarLocation.DISK);
+            }
+        }
+    }
+
     /**
      * Get eligible tape from catalog
      *
@@ -1,5 +1,6 @@
 package fr.gouv.vitam.storage.offers.tape.cas;
 
+import com.google.common.collect.Range;
 import fr.gouv.vitam.common.guid.GUIDFactory;
 import fr.gouv.vitam.storage.offers.tape.exception.ReadRequestReferentialException;
 import org.assertj.core.api.Assertions;
@@ -32,6 +33,22 @@ public class ArchiveOutputRetentionPolicyTest {
         verify(readRequestReferentialCleaner, VerificationModeFactory.atLeastOnce()).cleanUp();
     }
 
+    @Test
+    public void test_put_get_ranges_ok() {
+        ArchiveOutputRetentionPolicy archiveOutputRetentionPolicy =
+            new ArchiveOutputRetentionPolicy(1, TimeUnit.MINUTES, 1, mock(ReadRequestReferentialCleaner.class));
+        archiveOutputRetentionPolicy.put("aaa", Paths.get("aaa"), Range.closedOpen(1024L, 2048L));
+        archiveOutputRetentionPolicy.put("aaa", Paths.get("aaa"), Range.closedOpen(2048L, 4096L));
+
+        Assertions.assertThat(archiveOutputRetentionPolicy.get("aaa")).isNotNull();
+        Assertions.assertThat(archiveOutputRetentionPolicy.get("aaa", Range.closedOpen(1536L, 3072L))).isNotNull();
+        Assertions.assertThat(archiveOutputRetentionPolicy.get("aaa", Range.closedOpen(0L, 1536L))).isNull();
+        Assertions.assertThat(archiveOutputRetentionPolicy.get("aaa", Range.all())).isNull();
+
+        archiveOutputRetentionPolicy.put("aaa", Paths.get("aaa"));
+        Assertions.assertThat(archiveOutputRetentionPolicy.get("aaa", Range.all())).isNotNull();
+    }
+
     @Test
     public void test_remove_listener_when_expire_entry()
         throws IOException, InterruptedException, ReadRequestReferentialException {
@@ -7,6 +7,8 @@ import fr.gouv.vitam.common.digest.DigestType;
 import fr.gouv.vitam.common.model.MetadatasObject;
 import fr.gouv.vitam.common.storage.ContainerInformation;
 import fr.gouv.vitam.common.storage.cas.container.api.ObjectContent;
+import fr.gouv.vitam.storage.engine.common.model.QueueMessageEntity;
+import fr.gouv.vitam.storage.engine.common.model.ReadOrder;
 import fr.gouv.vitam.storage.engine.common.model.TapeArchiveReferentialEntity;
 import fr.gouv.vitam.storage.engine.common.model.TapeCatalog;
 import fr.gouv.vitam.storage.engine.common.model.TapeLibraryObjectReferentialId;
@@ -23,6 +25,7 @@ import fr.gouv.vitam.storage.offers.tape.spec.QueueRepository;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeCatalogService;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageNotFoundException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerException;
+import fr.gouv.vitam.workspace.api.exception.UnavailableFileException;
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Rule;
@@ -425,6 +428,15 @@ public class TapeLibraryContentAddressableStorageTest {
             .createReadOrderRequest("0_object", Arrays.asList("aeaaaaaaaaecntv2ab5tmallrz6wdwqaaaaq"));
         assertThat(readOrderId).isNotNull();
 
+        // Only the range of the entry is to be read
+        ArgumentCaptor<QueueMessageEntity> readOrderCaptor = ArgumentCaptor.forClass(QueueMessageEntity.class);
+        verify(readWriteQueueRepository).addIfAbsent(any(), readOrderCaptor.capture());
+        ReadOrder readOrder = (ReadOrder) readOrderCaptor.getValue();
+        assertThat(readOrder.getFileName()).isEqualTo(tarId);
+        assertThat(readOrder.getFilePosition()).isEqualTo(248);
+        assertThat(readOrder.getStartOffset()).isEqualTo(1024L);
+        assertThat(readOrder.getEndOffset()).isEqualTo(2048L);
+
         TapeReadRequestReferentialEntity tapeReadRequestReferentialEntity =
             mock(TapeReadRequestReferentialEntity.class);
         when(tapeReadRequestReferentialEntity.isCompleted()).thenReturn(true);
@@ -471,6 +483,8 @@ public class TapeLibraryContentAddressableStorageTest {
         );
 
         Files.copy(PropertiesUtils.getResourcePath("tar/" + tarId), Paths.get(outputTarsPath + "/" + tarId));
+        when(archiveOutputRetentionPolicy.get(eq(tarId), any()))
+            .thenReturn(Paths.get(outputTarsPath).resolve(tarId));
 
         // When / Then
         when(objectReferentialRepository.find(anyString(), anyString())).thenReturn(objectReferentialEntity);
@@ -483,6 +497,47 @@ public class TapeLibraryContentAddressableStorageTest {
         assertThat(IOUtils.toString(response.getInputStream(), StandardCharsets.UTF_8.name())).isEqualTo("test 1");
     }
 
+    @Test
+    public void getObjectFromTarLeftOnDiskByPreviousRunUnavailable() throws Exception {
+        // Given : a TAR file on disk, but no range of it known by the cache (after a restart)
+        int fileSize = 6;
+        String tarId = "20190625115513038-406fceff-2c4f-475c-898f-493331756eda.tar";
+        TapeLibraryObjectReferentialId objectReferentialId =
+            new TapeLibraryObjectReferentialId("0_object", "aeaaaaaaaafklihzablkmallwljiqoiaaaaq");
+        TapeLibraryTarObjectStorageLocation tarObjectStorageLocation = new TapeLibraryTarObjectStorageLocation(
+            Arrays.asList(
+                new TarEntryDescription(
+                    tarId,
+                    "0_object/aeaaaaaaaaecntv2ab5tmallrz6wdwqaaaaq-aeaaaaaaaaecntv2ab5meallrz6w2eaaaaaq-0",
+                    1024, fileSize,
+                    "86c0bc701ef6b5dd21b080bc5bb2af38097baa6237275da83a52f092c9eae3e4e4b0247391620bd732fe824d18bd3bb6c37e62ec73a8cf3585c6a799399861b1"
+                )));
+        Optional<TapeObjectReferentialEntity> objectReferentialEntity = Optional.of(new TapeObjectReferentialEntity(
+            objectReferentialId, fileSize, "SHA-512",
+            "86c0bc701ef6b5dd21b080bc5bb2af38097baa6237275da83a52f092c9eae3e4e4b0247391620bd732fe824d18bd3bb6c37e62ec73a8cf3585c6a799399861b1",
+            "aeaaaaaaaafklihzablkmallwljiqoiaaaaq-aeaaaaaaaafklihzabqb2allwljjpiaaaaaq", tarObjectStorageLocation, null,
+            null));
+
+        Optional<TapeArchiveReferentialEntity> tarReferentialEntity = Optional.of(
+            new TapeArchiveReferentialEntity(tarId,
+                new TapeLibraryOnTapeArchiveStorageLocation("VIT002L6", 248), 5120L,
+                "60566c5d1821190fe9d1df5a7c112ff7b9ff3aec0fbcc6b9934cbebc3f9b33ef1c0aef1c1acd2291c8adb23e6cdcd36b34a2cf9fa564e9f686ea3baf5447e222",
+                null)
+        );
+
+        // The file may be sparse : it must not be read
+        Files.copy(PropertiesUtils.getResourcePath("tar/" + tarId), Paths.get(outputTarsPath + "/" + tarId));
+        when(archiveOutputRetentionPolicy.get(anyString(), any())).thenReturn(null);
+
+        when(objectReferentialRepository.find(anyString(), anyString())).thenReturn(objectReferentialEntity);
+        when(archiveReferentialRepository.find(anyString())).thenReturn(tarReferentialEntity);
+
+        // When / Then
+        assertThatThrownBy(
+            () -> tapeLibraryContentAddressableStorage.getObject("0_object", "aeaaaaaaaaecntv2ab5tmallrz6wdwqaaaaq"))
+            .isInstanceOf(UnavailableFileException.class);
+    }
+
     @Test
     public void getObjectWith2SegmentsOK()
         throws ObjectReferentialException, IOException, ContentAddressableStorageNotFoundException,
@@ -520,6 +575,8 @@ public class TapeLibraryContentAddressableStorageTest {
         );
 
         Files.copy(PropertiesUtils.getResourcePath("tar/" + tarId), Paths.get(outputTarsPath + "/" + tarId));
+        when(archiveOutputRetentionPolicy.get(eq(tarId), any()))
+            .thenReturn(Paths.get(outputTarsPath).resolve(tarId));
 
         // When / Then
         when(objectReferentialRepository.find(anyString(), anyString())).thenReturn(objectReferentialEntity);
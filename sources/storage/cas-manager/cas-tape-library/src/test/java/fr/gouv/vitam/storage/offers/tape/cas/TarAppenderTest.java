@@ -3,17 +3,25 @@ package fr.gouv.vitam.storage.offers.tape.cas;
 import fr.gouv.vitam.common.VitamConfiguration;
 import fr.gouv.vitam.common.digest.Digest;
 import fr.gouv.vitam.storage.engine.common.model.TarEntryDescription;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarConstants;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.NullInputStream;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 import static fr.gouv.vitam.storage.offers.tape.cas.TarTestHelper.checkEntryAtPos;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class TarAppenderTest {
 
@@ -72,4 +80,68 @@ public class TarAppenderTest {
             assertThat(tarAppender.canAppend(10_000L)).isFalse();
         }
     }
+
+    @Test
+    public void testLongEntryNameAndTarLayout() throws IOException {
+
+        // Given
+        Path tarFilePath = temporaryFolder.getRoot().toPath().resolve(TAR_FILE_ID);
+        String longEntryName = StringUtils.repeat("x", 150);
+        byte[] data1 = "data1".getBytes();
+        byte[] data2 = new byte[1500];
+        Arrays.fill(data2, (byte) 'a');
+
+        TarEntryDescription entry1;
+        TarEntryDescription entry2;
+        long bytesWritten;
+        String tarDigest;
+        try (TarAppender tarAppender = new TarAppender(tarFilePath, TAR_FILE_ID, 1_000_000L)) {
+
+            // When
+            entry1 = tarAppender.append(longEntryName, new ByteArrayInputStream(data1), data1.length);
+            entry2 = tarAppender.append("entry2", new ByteArrayInputStream(data2), data2.length);
+            tarAppender.close();
+            bytesWritten = tarAppender.getBytesWritten();
+            tarDigest = tarAppender.getDigestValue();
+        }
+
+        // Then
+        assertThat(entry1.getStartPos()).isEqualTo(0L);
+        assertThat(TarHelper.getEntryEndPos(entry1)).isEqualTo(entry2.getStartPos());
+        checkEntryAtPos(tarFilePath, entry1);
+        checkEntryAtPos(tarFilePath, entry2);
+
+        // Tar file padded to the default block size
+        assertThat(bytesWritten).isEqualTo(Files.size(tarFilePath));
+        assertThat(bytesWritten % TarConstants.DEFAULT_BLKSIZE).isEqualTo(0L);
+        assertThat(tarDigest).isEqualTo(
+            new Digest(VitamConfiguration.getDefaultDigestType()).update(tarFilePath.toFile()).digestHex());
+
+        // Readable by a standard tar reader
+        try (TarArchiveInputStream tarArchiveInputStream = new TarArchiveInputStream(
+            Files.newInputStream(tarFilePath))) {
+            TarArchiveEntry tarEntry = tarArchiveInputStream.getNextTarEntry();
+            assertThat(tarEntry.getName()).isEqualTo(longEntryName);
+            assertThat(IOUtils.toByteArray(tarArchiveInputStream)).isEqualTo(data1);
+            tarEntry = tarArchiveInputStream.getNextTarEntry();
+            assertThat(tarEntry.getName()).isEqualTo("entry2");
+            assertThat(IOUtils.toByteArray(tarArchiveInputStream)).isEqualTo(data2);
+            assertThat(tarArchiveInputStream.getNextTarEntry()).isNull();
+        }
+    }
+
+    @Test
+    public void testEntryWithUnexpectedSize() throws IOException {
+
+        // Given
+        Path tarFilePath = temporaryFolder.getRoot().toPath().resolve(TAR_FILE_ID);
+        TarAppender tarAppender1 = new TarAppender(tarFilePath, TAR_FILE_ID, 1_000_000L);
+        TarAppender tarAppender2 = new TarAppender(tarFilePath, TAR_FILE_ID, 1_000_000L);
+
+        // When / Then (output stream closed on error)
+        assertThatThrownBy(() -> tarAppender1.append("entry1", new NullInputStream(10L), 20L))
+            .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> tarAppender2.append("entry1", new NullInputStream(30L), 20L))
+            .isInstanceOf(IOException.class);
+    }
 }
@@ -159,6 +159,69 @@ public class DdTapeLibraryServiceTest {
         assertThat(args.getValue()).contains("of=/tmp/my_fake_file.tar", "if=/dev/nst0");
     }
 
+    @Test
+    public void test_read_range_from_tape_OK() {
+        when(tapeDriveConf.getDdPath()).thenReturn(COMMAND_DD);
+        when(tapeDriveConf.getDevice()).thenReturn(DEVICE_NST_0);
+        when(tapeDriveConf.getTimeoutInMilliseconds()).thenReturn(1_000l);
+
+        DdTapeLibraryService ddTapeLibraryService =
+            new DdTapeLibraryService(tapeDriveConf, processExecutor, "/tmp", "/tmp");
+
+        Output output = mock(Output.class);
+        when(output.getExitCode()).thenReturn(0);
+        when(processExecutor.execute(anyString(), anyBoolean(), anyLong(), anyList())).thenReturn(output);
+
+        TapeResponse response = ddTapeLibraryService.readFromTape(MY_FAKE_FILE_TAR, 1024L, 2100L);
+
+        assertThat(response.isOK()).isTrue();
+
+        ArgumentCaptor<List> args = ArgumentCaptor.forClass(List.class);
+        verify(processExecutor, VerificationModeFactory.times(1))
+            .execute(anyString(), anyBoolean(), anyLong(), args.capture());
+
+        // Blocks [2, 5) of 512 bytes, written at the same offset of the output file
+        assertThat(args.getValue()).containsExactly("if=/dev/nst0", "of=/tmp/my_fake_file.tar", "bs=512", "skip=2",
+            "seek=2", "conv=notrunc", "count=3");
+    }
+
+    @Test
+    public void test_read_range_from_tape_until_end_of_file_OK() {
+        when(tapeDriveConf.getDdPath()).thenReturn(COMMAND_DD);
+        when(tapeDriveConf.getDevice()).thenReturn(DEVICE_NST_0);
+        when(tapeDriveConf.getTimeoutInMilliseconds()).thenReturn(1_000l);
+
+        DdTapeLibraryService ddTapeLibraryService =
+            new DdTapeLibraryService(tapeDriveConf, processExecutor, "/tmp", "/tmp");
+
+        Output output = mock(Output.class);
+        when(output.getExitCode()).thenReturn(0);
+        when(processExecutor.execute(anyString(), anyBoolean(), anyLong(), anyList())).thenReturn(output);
+
+        ddTapeLibraryService.readFromTape(MY_FAKE_FILE_TAR, 1024L, null);
+
+        ArgumentCaptor<List> args = ArgumentCaptor.forClass(List.class);
+        verify(processExecutor, VerificationModeFactory.times(1))
+            .execute(anyString(), anyBoolean(), anyLong(), args.capture());
+
+        // No count : read until the file mark
+        assertThat(args.getValue()).containsExactly("if=/dev/nst0", "of=/tmp/my_fake_file.tar", "bs=512", "skip=2",
+            "seek=2", "conv=notrunc");
+    }
+
+    @Test
+    public void test_read_range_from_tape_not_aligned_KO() {
+        DdTapeLibraryService ddTapeLibraryService =
+            new DdTapeLibraryService(tapeDriveConf, processExecutor, "/tmp", "/tmp");
+
+        try {
+            ddTapeLibraryService.readFromTape(MY_FAKE_FILE_TAR, 1000L, 2048L);
+            fail("should fail");
+        } catch (IllegalArgumentException e) {
+            // Ok
+        }
+    }
+
     @Test
     public void test_get_executor() {
         DdTapeLibraryService ddTapeLibraryService =
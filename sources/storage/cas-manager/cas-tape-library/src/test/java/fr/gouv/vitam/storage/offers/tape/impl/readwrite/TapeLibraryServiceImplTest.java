@@ -0,0 +1,90 @@
+package fr.gouv.vitam.storage.offers.tape.impl.readwrite;
+
+import fr.gouv.vitam.common.model.StatusCode;
+import fr.gouv.vitam.common.storage.tapelibrary.TapeDriveConf;
+import fr.gouv.vitam.storage.engine.common.model.TapeCatalog;
+import fr.gouv.vitam.storage.offers.tape.dto.TapeResponse;
+import fr.gouv.vitam.storage.offers.tape.exception.ReadWriteException;
+import fr.gouv.vitam.storage.offers.tape.spec.TapeDriveCommandService;
+import fr.gouv.vitam.storage.offers.tape.spec.TapeDriveService;
+import fr.gouv.vitam.storage.offers.tape.spec.TapeReadWriteService;
+import fr.gouv.vitam.storage.offers.tape.spec.TapeRobotPool;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TapeLibraryServiceImplTest {
+
+    private static final String OUTPUT_PATH = "my_fake_file.tar";
+
+    private TapeDriveCommandService tapeDriveCommandService;
+    private TapeReadWriteService tapeReadWriteService;
+    private TapeLibraryServiceImpl tapeLibraryService;
+
+    @Before
+    public void setUp() {
+        TapeDriveService tapeDriveService = mock(TapeDriveService.class);
+        TapeDriveConf tapeDriveConf = mock(TapeDriveConf.class);
+        when(tapeDriveConf.getIndex()).thenReturn(0);
+        when(tapeDriveService.getTapeDriveConf()).thenReturn(tapeDriveConf);
+
+        tapeDriveCommandService = mock(TapeDriveCommandService.class);
+        tapeReadWriteService = mock(TapeReadWriteService.class);
+        when(tapeDriveService.getDriveCommandService()).thenReturn(tapeDriveCommandService);
+        when(tapeDriveService.getReadWriteService(TapeDriveService.ReadWriteCmd.DD)).thenReturn(tapeReadWriteService);
+
+        TapeRobotPool tapeRobotPool = mock(TapeRobotPool.class);
+        when(tapeRobotPool.getLibraryIdentifier()).thenReturn("LIB-1");
+
+        tapeLibraryService = new TapeLibraryServiceImpl(tapeDriveService, tapeRobotPool);
+
+        when(tapeDriveCommandService.rewind()).thenReturn(new TapeResponse(StatusCode.OK));
+        when(tapeDriveCommandService.move(2, false)).thenReturn(new TapeResponse(StatusCode.OK));
+        when(tapeReadWriteService.readFromTape(OUTPUT_PATH, 1024L, 2048L)).thenReturn(new TapeResponse(StatusCode.OK));
+    }
+
+    @Test
+    public void should_rewind_before_retrying_partial_read_when_skipping_end_of_file_fails() throws Exception {
+        // Given
+        TapeCatalog tape = new TapeCatalog().setCode("VIT0001").setCurrentPosition(0);
+        when(tapeDriveCommandService.move(1, false))
+            .thenReturn(new TapeResponse(StatusCode.KO))
+            .thenReturn(new TapeResponse(StatusCode.OK));
+
+        // When
+        tapeLibraryService.read(tape, 2, OUTPUT_PATH, 1024L, 2048L);
+
+        // Then
+        InOrder inOrder = inOrder(tapeDriveCommandService, tapeReadWriteService);
+        inOrder.verify(tapeDriveCommandService).move(2, false);
+        inOrder.verify(tapeReadWriteService).readFromTape(OUTPUT_PATH, 1024L, 2048L);
+        inOrder.verify(tapeDriveCommandService).move(1, false);
+        // Head stopped in the middle of the file
+        inOrder.verify(tapeDriveCommandService, atLeastOnce()).rewind();
+        inOrder.verify(tapeDriveCommandService).move(2, false);
+        inOrder.verify(tapeReadWriteService).readFromTape(OUTPUT_PATH, 1024L, 2048L);
+        inOrder.verify(tapeDriveCommandService).move(1, false);
+        inOrder.verifyNoMoreInteractions();
+
+        assertThat(tape.getCurrentPosition()).isEqualTo(3);
+    }
+
+    @Test
+    public void should_leave_tape_rewound_when_skipping_end_of_file_keeps_failing() {
+        // Given
+        TapeCatalog tape = new TapeCatalog().setCode("VIT0001").setCurrentPosition(0);
+        when(tapeDriveCommandService.move(1, false)).thenReturn(new TapeResponse(StatusCode.KO));
+
+        // When / Then
+        assertThatThrownBy(() -> tapeLibraryService.read(tape, 2, OUTPUT_PATH, 1024L, 2048L))
+            .isInstanceOf(ReadWriteException.class);
+        assertThat(tape.getCurrentPosition()).isEqualTo(0);
+    }
+}
@@ -1,5 +1,6 @@
 package fr.gouv.vitam.storage.offers.tape.worker;
 
+import com.mongodb.MongoClient;
 import fr.gouv.vitam.common.logging.SysErrLogger;
 import fr.gouv.vitam.common.storage.tapelibrary.ReadWritePriority;
 import fr.gouv.vitam.storage.engine.common.model.QueueMessageEntity;
@@ -15,17 +16,22 @@ import fr.gouv.vitam.storage.offers.tape.exception.QueueException;
 import fr.gouv.vitam.storage.offers.tape.spec.QueueRepository;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeLibraryPool;
 import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.internal.verification.Times;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -197,13 +203,15 @@ public class TapeDriveWorkerManagerTest {
         ReadOrder readOrder = mock(ReadOrder.class);
         when(readOrder.isWriteOrder()).thenReturn(false);
         when(queueRepository.receive(any(), eq(QueueMessageType.WriteOrder))).thenReturn(Optional.empty());
-        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder))).thenReturn(Optional.of(readOrder));
+        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class)))
+            .thenReturn(Optional.of(readOrder));
 
         // Test consume write order
         Optional<? extends ReadWriteOrder> order = tapeDriveWorkerManager.consume(driveWorker);
 
         verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.WriteOrder));
-        verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(0)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.WriteOrder));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.ReadOrder));
 
@@ -234,7 +242,8 @@ public class TapeDriveWorkerManagerTest {
         Optional<? extends ReadWriteOrder> order = tapeDriveWorkerManager.consume(driveWorker);
 
         verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.WriteOrder));
-        verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(0)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.WriteOrder));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.ReadOrder));
 
@@ -267,7 +276,8 @@ public class TapeDriveWorkerManagerTest {
         Optional<? extends ReadWriteOrder> order = tapeDriveWorkerManager.consume(driveWorker);
 
         verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.WriteOrder));
-        verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(0)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class));
         verify(queueRepository, new Times(1)).receive(eq(QueueMessageType.WriteOrder));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.ReadOrder));
 
@@ -295,14 +305,15 @@ public class TapeDriveWorkerManagerTest {
         when(queueRepository.receive(eq(QueueMessageType.WriteOrder))).thenReturn(Optional.empty());
 
 
-        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder))).thenReturn(Optional.empty())
+        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder)))
             .thenReturn(Optional.of(readOrder));
 
         // Test consume write order
         Optional<? extends ReadWriteOrder> order = tapeDriveWorkerManager.consume(driveWorker);
 
         verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.WriteOrder));
-        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class));
         verify(queueRepository, new Times(1)).receive(eq(QueueMessageType.WriteOrder));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.ReadOrder));
 
@@ -330,9 +341,7 @@ public class TapeDriveWorkerManagerTest {
         when(queueRepository.receive(eq(QueueMessageType.WriteOrder))).thenReturn(Optional.empty());
 
 
-        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder)))
-            .thenReturn(Optional.empty())
-            .thenReturn(Optional.empty());
+        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder))).thenReturn(Optional.empty());
 
         when(queueRepository.receive(eq(QueueMessageType.ReadOrder))).thenReturn(Optional.of(readOrder));
 
@@ -340,7 +349,8 @@ public class TapeDriveWorkerManagerTest {
         Optional<? extends ReadWriteOrder> order = tapeDriveWorkerManager.consume(driveWorker);
 
         verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.WriteOrder));
-        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class));
         verify(queueRepository, new Times(1)).receive(eq(QueueMessageType.WriteOrder));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.ReadOrder));
 
@@ -366,9 +376,7 @@ public class TapeDriveWorkerManagerTest {
         when(queueRepository.receive(eq(QueueMessageType.WriteOrder))).thenReturn(Optional.empty());
 
 
-        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder)))
-            .thenReturn(Optional.empty())
-            .thenReturn(Optional.empty());
+        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder))).thenReturn(Optional.empty());
 
         when(queueRepository.receive(eq(QueueMessageType.ReadOrder))).thenReturn(Optional.empty());
 
@@ -376,7 +384,8 @@ public class TapeDriveWorkerManagerTest {
         Optional<? extends ReadWriteOrder> order = tapeDriveWorkerManager.consume(driveWorker);
 
         verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.WriteOrder));
-        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class));
         verify(queueRepository, new Times(1)).receive(eq(QueueMessageType.WriteOrder));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.ReadOrder));
 
@@ -400,13 +409,14 @@ public class TapeDriveWorkerManagerTest {
 
         ReadOrder readOrder = mock(ReadOrder.class);
         when(readOrder.isWriteOrder()).thenReturn(false);
-        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder))).thenReturn(Optional.of(
-            readOrder));
+        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class)))
+            .thenReturn(Optional.of(readOrder));
         // Test consume write order
         Optional<? extends ReadWriteOrder> order = tapeDriveWorkerManager.consume(driveWorker);
         // Get write order => not found
         verify(queueRepository, new Times(0)).receive(any(), eq(QueueMessageType.WriteOrder));
-        verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(0)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.WriteOrder));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.ReadOrder));
 
@@ -433,7 +443,8 @@ public class TapeDriveWorkerManagerTest {
         Optional<? extends ReadWriteOrder> order = tapeDriveWorkerManager.consume(driveWorker);
 
         verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.WriteOrder));
-        verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(0)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.WriteOrder));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.ReadOrder));
 
@@ -455,7 +466,6 @@ public class TapeDriveWorkerManagerTest {
         ReadOrder readOrder = mock(ReadOrder.class);
         when(readOrder.isWriteOrder()).thenReturn(false);
         when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder)))
-            .thenReturn(Optional.empty())
             .thenReturn(Optional.of(readOrder));
 
         when(queueRepository.receive(any(), eq(QueueMessageType.WriteOrder))).thenReturn(Optional.empty());
@@ -464,7 +474,8 @@ public class TapeDriveWorkerManagerTest {
         Optional<? extends ReadWriteOrder> order = tapeDriveWorkerManager.consume(driveWorker);
 
         verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.WriteOrder));
-        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.WriteOrder));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.ReadOrder));
 
@@ -490,15 +501,14 @@ public class TapeDriveWorkerManagerTest {
         when(queueRepository.receive(eq(QueueMessageType.ReadOrder))).thenReturn(Optional.of(readOrder));
 
 
-        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder)))
-            .thenReturn(Optional.empty())
-            .thenReturn(Optional.empty());
+        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder))).thenReturn(Optional.empty());
 
         // Test consume write order
         Optional<? extends ReadWriteOrder> order = tapeDriveWorkerManager.consume(driveWorker);
 
         verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.WriteOrder));
-        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class));
         verify(queueRepository, new Times(1)).receive(eq(QueueMessageType.WriteOrder));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.ReadOrder));
 
@@ -519,9 +529,7 @@ public class TapeDriveWorkerManagerTest {
 
         WriteOrder writeOrder = mock(WriteOrder.class);
         when(writeOrder.isWriteOrder()).thenReturn(true);
-        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder)))
-            .thenReturn(Optional.empty())
-            .thenReturn(Optional.empty());
+        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder))).thenReturn(Optional.empty());
 
         when(queueRepository.receive(eq(QueueMessageType.ReadOrder))).thenReturn(Optional.empty());
 
@@ -534,7 +542,8 @@ public class TapeDriveWorkerManagerTest {
         Optional<? extends ReadWriteOrder> order = tapeDriveWorkerManager.consume(driveWorker);
 
         verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.WriteOrder));
-        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.WriteOrder));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.ReadOrder));
 
@@ -563,9 +572,7 @@ public class TapeDriveWorkerManagerTest {
         when(queueRepository.receive(eq(QueueMessageType.ReadOrder))).thenReturn(Optional.empty());
 
 
-        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder)))
-            .thenReturn(Optional.empty())
-            .thenReturn(Optional.empty());
+        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder))).thenReturn(Optional.empty());
 
         when(queueRepository.receive(eq(QueueMessageType.WriteOrder))).thenReturn(Optional.of(writeOrder));
 
@@ -573,7 +580,8 @@ public class TapeDriveWorkerManagerTest {
         Optional<? extends ReadWriteOrder> order = tapeDriveWorkerManager.consume(driveWorker);
 
         verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.WriteOrder));
-        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class));
         verify(queueRepository, new Times(1)).receive(eq(QueueMessageType.WriteOrder));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.ReadOrder));
 
@@ -600,9 +608,7 @@ public class TapeDriveWorkerManagerTest {
         when(queueRepository.receive(eq(QueueMessageType.WriteOrder))).thenReturn(Optional.empty());
 
 
-        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder)))
-            .thenReturn(Optional.empty())
-            .thenReturn(Optional.empty());
+        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder))).thenReturn(Optional.empty());
 
         when(queueRepository.receive(eq(QueueMessageType.ReadOrder))).thenReturn(Optional.empty());
 
@@ -610,7 +616,8 @@ public class TapeDriveWorkerManagerTest {
         Optional<? extends ReadWriteOrder> order = tapeDriveWorkerManager.consume(driveWorker);
 
         verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.WriteOrder));
-        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(1)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(2)).receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class));
         verify(queueRepository, new Times(1)).receive(eq(QueueMessageType.WriteOrder));
         verify(queueRepository, new Times(0)).receive(eq(QueueMessageType.ReadOrder));
 
@@ -618,4 +625,78 @@ public class TapeDriveWorkerManagerTest {
     }
 
     // TODO: 28/03/19 test shutdown
+
+    @Test
+    public void test_consume_produce_current_tape_read_orders_served_ahead_of_current_position_first()
+        throws QueueException {
+        TapeDriveWorker driveWorker = mock(TapeDriveWorker.class);
+        TapeCatalog tapeCatalog = mock(TapeCatalog.class);
+        when(tapeCatalog.getCode()).thenReturn("TAPE-1");
+        when(tapeCatalog.getCurrentPosition()).thenReturn(12);
+        when(driveWorker.getCurrentTape()).thenReturn(tapeCatalog);
+        when(driveWorker.getIndex()).thenReturn(1);
+        when(driveWorker.getPriority())
+            .thenReturn(ReadWritePriority.READ);
+
+        ReadOrder readOrder = mock(ReadOrder.class);
+        when(readOrder.isWriteOrder()).thenReturn(false);
+        // No pending read order after the current position => back to the first pending file of the tape
+        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class)))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(readOrder));
+
+        Optional<? extends ReadWriteOrder> order = tapeDriveWorkerManager.consume(driveWorker);
+
+        ArgumentCaptor<Bson> queries = ArgumentCaptor.forClass(Bson.class);
+        ArgumentCaptor<Bson> sorts = ArgumentCaptor.forClass(Bson.class);
+        verify(queueRepository, new Times(2))
+            .receive(queries.capture(), eq(QueueMessageType.ReadOrder), sorts.capture());
+        verify(queueRepository, new Times(0)).receive(any(), eq(QueueMessageType.ReadOrder));
+        verify(queueRepository, new Times(0)).receive(any(), eq(QueueMessageType.WriteOrder));
+
+        List<Bson> values = queries.getAllValues();
+        Assertions.assertThat(values.get(0).toString()).contains("TAPE-1").contains(ReadOrder.FILE_POSITION);
+        Assertions.assertThat(values.get(1).toString()).contains("TAPE-1").doesNotContain(ReadOrder.FILE_POSITION);
+        // Priority first, then file position
+        for (Bson sort : sorts.getAllValues()) {
+            Assertions.assertThat(sort.toBsonDocument(Document.class, MongoClient.getDefaultCodecRegistry()).keySet())
+                .containsExactly(QueueMessageEntity.PRIORITY, ReadOrder.FILE_POSITION);
+        }
+
+        Assertions.assertThat(order).isPresent();
+        Assertions.assertThat(order.get().isWriteOrder()).isFalse();
+    }
+
+    @Test
+    public void test_produce_count_tape_mounts() throws QueueException {
+        TapeDriveWorker driveWorker = mock(TapeDriveWorker.class);
+        TapeCatalog firstTape = mock(TapeCatalog.class);
+        when(firstTape.getCode()).thenReturn("TAPE-1");
+        TapeCatalog secondTape = mock(TapeCatalog.class);
+        when(secondTape.getCode()).thenReturn("TAPE-2");
+        when(driveWorker.getIndex()).thenReturn(1);
+        when(driveWorker.getPriority()).thenReturn(ReadWritePriority.READ);
+        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder), any(Bson.class)))
+            .thenReturn(Optional.empty());
+        when(queueRepository.receive(any(), eq(QueueMessageType.ReadOrder))).thenReturn(Optional.empty());
+        when(queueRepository.receive(any(), eq(QueueMessageType.WriteOrder))).thenReturn(Optional.empty());
+
+        AtomicReference<TapeCatalog> currentTape = new AtomicReference<>();
+        when(driveWorker.getCurrentTape()).thenAnswer(o -> currentTape.get());
+
+        // Empty drive, then the same tape twice, then another tape
+        tapeDriveWorkerManager.produce(driveWorker);
+        Assertions.assertThat(tapeDriveWorkerManager.getTapeMountCount()).isEqualTo(0);
+
+        currentTape.set(firstTape);
+        tapeDriveWorkerManager.produce(driveWorker);
+        Assertions.assertThat(tapeDriveWorkerManager.getTapeMountCount()).isEqualTo(1);
+
+        tapeDriveWorkerManager.produce(driveWorker);
+        Assertions.assertThat(tapeDriveWorkerManager.getTapeMountCount()).isEqualTo(1);
+
+        currentTape.set(secondTape);
+        tapeDriveWorkerManager.produce(driveWorker);
+        Assertions.assertThat(tapeDriveWorkerManager.getTapeMountCount()).isEqualTo(2);
+    }
 }
@@ -1,15 +1,21 @@
 package fr.gouv.vitam.storage.offers.tape.worker.tasks;
 
+import com.google.common.collect.Range;
 import fr.gouv.vitam.common.guid.GUIDFactory;
 import fr.gouv.vitam.common.logging.SysErrLogger;
 import fr.gouv.vitam.common.model.StatusCode;
 import fr.gouv.vitam.common.storage.tapelibrary.TapeDriveConf;
+import fr.gouv.vitam.storage.engine.common.model.FileInTape;
 import fr.gouv.vitam.storage.engine.common.model.QueueState;
 import fr.gouv.vitam.storage.engine.common.model.ReadOrder;
 import fr.gouv.vitam.storage.engine.common.model.TapeCatalog;
 import fr.gouv.vitam.storage.engine.common.model.TapeLocation;
 import fr.gouv.vitam.storage.engine.common.model.TapeLocationType;
+import fr.gouv.vitam.storage.engine.common.model.TapeReadRequestReferentialEntity;
+import fr.gouv.vitam.storage.engine.common.model.TarEntryDescription;
+import fr.gouv.vitam.storage.engine.common.model.TarLocation;
 import fr.gouv.vitam.storage.offers.tape.cas.ArchiveOutputRetentionPolicy;
+import fr.gouv.vitam.storage.offers.tape.cas.ReadRequestReferentialCleaner;
 import fr.gouv.vitam.storage.offers.tape.cas.ReadRequestReferentialRepository;
 import fr.gouv.vitam.storage.offers.tape.dto.TapeDriveState;
 import fr.gouv.vitam.storage.offers.tape.dto.TapeDriveStatus;
@@ -40,17 +46,21 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class ReadTaskTest {
@@ -744,4 +754,70 @@ public class ReadTaskTest {
         assertThat(result.getCurrentTape().getCurrentPosition()).isEqualTo(FILE_POSITION + 1);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testReadTaskPartialReadOnlyMarksCoveredReadRequestsOnDisk() throws Exception {
+        // When
+        when(tapeDriveService.getTapeDriveConf()).thenAnswer(o -> mock(TapeDriveConf.class));
+        TapeCatalog tapeCatalog = new TapeCatalog()
+            .setLibrary(FAKE_LIBRARY)
+            .setCode(FAKE_TAPE_CODE)
+            .setCurrentPosition(FILE_POSITION)
+            .setCurrentLocation(new TapeLocation(DRIVE_INDEX, TapeLocationType.DRIVE));
+
+        ReadOrder readOrder = new ReadOrder().setTapeCode(FAKE_TAPE_CODE)
+            .setFilePosition(FILE_POSITION)
+            .setFileName(fileName)
+            .setStartOffset(1024L)
+            .setEndOffset(2048L);
+
+        ArchiveOutputRetentionPolicy retentionPolicy =
+            new ArchiveOutputRetentionPolicy(1, TimeUnit.MINUTES, 1, mock(ReadRequestReferentialCleaner.class));
+
+        ReadTask readTask =
+            new ReadTask(readOrder, tapeCatalog, new TapeLibraryServiceImpl(tapeDriveService, tapeRobotPool),
+                tapeCatalogService, readRequestReferentialRepository, retentionPolicy);
+
+        doAnswer(
+            invocationOnMock -> {
+                fileTest = Files.createFile(Paths.get(outputDirectory + File.separator + fileName + ReadTask.TEMP_EXT));
+                return new TapeResponse(StatusCode.OK);
+            }
+        ).when(tapeReadWriteService).readFromTape(startsWith(fileName), eq(1024L), eq(2048L));
+
+        when(tapeDriveService.getDriveCommandService())
+            .thenReturn(tapeDriveCommandService);
+        when(tapeDriveCommandService.rewind()).thenReturn(new TapeResponse(StatusCode.OK));
+        when(tapeDriveCommandService.move(anyInt(), anyBoolean())).thenReturn(new TapeResponse(StatusCode.OK));
+
+        String tarIdWithoutExtension = fileName.substring(0, fileName.length() - 4);
+        TapeReadRequestReferentialEntity coveredRequest = new TapeReadRequestReferentialEntity("covered", "container",
+            Collections.singletonMap(tarIdWithoutExtension, TarLocation.TAPE), Collections.singletonList(
+            new FileInTape("obj1", "obj1", Collections.singletonList(
+                new TarEntryDescription(fileName, "container/obj1-0", 1024L, 500L, "digest")))));
+        TapeReadRequestReferentialEntity otherRequest = new TapeReadRequestReferentialEntity("other", "container",
+            Collections.singletonMap(tarIdWithoutExtension, TarLocation.TAPE), Collections.singletonList(
+            new FileInTape("obj2", "obj2", Collections.singletonList(
+                new TarEntryDescription(fileName, "container/obj2-0", 4096L, 500L, "digest")))));
+        when(readRequestReferentialRepository.findByArchiveLocation(tarIdWithoutExtension, TarLocation.TAPE))
+            .thenReturn(Arrays.asList(coveredRequest, otherRequest));
+
+        ReadWriteResult result = readTask.get();
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(StatusCode.OK);
+        assertThat(result.getOrderState()).isEqualTo(QueueState.COMPLETED);
+        // Remaining of the file skipped after the range
+        verify(tapeDriveCommandService).move(1, false);
+        assertThat(result.getCurrentTape().getCurrentPosition()).isEqualTo(FILE_POSITION + 1);
+
+        fileTest = Paths.get(outputDirectory).resolve(fileName);
+        assertThat(retentionPolicy.get(fileName, Range.closedOpen(1024L, 2048L))).isEqualTo(fileTest);
+        assertThat(retentionPolicy.get(fileName, Range.all())).isNull();
+
+        verify(readRequestReferentialRepository).updateReadRequest("covered", tarIdWithoutExtension, TarLocation.DISK);
+        verify(readRequestReferentialRepository, never())
+            .updateReadRequest(eq("other"), anyString(), any());
+        verify(readRequestReferentialRepository, never()).updateReadRequests(anyString(), any());
+    }
+}
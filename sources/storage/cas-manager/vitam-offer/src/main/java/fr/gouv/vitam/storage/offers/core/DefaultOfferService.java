@@ -33,6 +33,7 @@ import fr.gouv.vitam.common.digest.DigestType;
 import fr.gouv.vitam.common.storage.ContainerInformation;
 import fr.gouv.vitam.common.storage.cas.container.api.ObjectContent;
 import fr.gouv.vitam.common.stream.MultiplexedStreamReader;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetResultEntry;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutResult;
 import fr.gouv.vitam.storage.driver.model.StorageMetadataResult;
 import fr.gouv.vitam.storage.engine.common.model.DataCategory;
@@ -48,6 +49,7 @@ import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerExce
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -69,6 +71,19 @@ public interface DefaultOfferService {
     String getObjectDigest(String containerName, String objectId, DigestType digestAlgorithm)
         throws ContentAddressableStorageException;
 
+    /**
+     * Get offer storage digests of a set of objects. Digests are computed concurrently, by at most
+     * digestComputationParallelism threads shared by all requests.
+     *
+     * @param containerName the container with the objects
+     * @param objectIds the objects names / ids
+     * @param digestAlgorithm the digest algorithm
+     * @return the offer computed digests by object id (objects not found in the container are absent from the map)
+     * @throws ContentAddressableStorageException thrown on storage error
+     */
+    Map<String, String> getObjectDigests(String containerName, List<String> objectIds, DigestType digestAlgorithm)
+        throws ContentAddressableStorageException;
+
     /**
      * Get object on offer as an inputStream
      *
@@ -81,6 +96,18 @@ public interface DefaultOfferService {
     ObjectContent getObject(String containerName, String objectId)
         throws ContentAddressableStorageNotFoundException, ContentAddressableStorageException;
 
+    /**
+     * Get the size and the stored digest of a set of objects, before streaming them in a bulk retrieval.
+     *
+     * @param containerName the container containing the objects
+     * @param objectIds the objects ids
+     * @return the entries of the objects, in the objectIds order
+     * @throws ContentAddressableStorageNotFoundException thrown when any of the objects does not exist
+     * @throws ContentAddressableStorageException thrown when a server error occurs
+     */
+    List<StorageBulkGetResultEntry> getBulkObjectEntries(String containerName, List<String> objectIds)
+        throws ContentAddressableStorageException;
+
     /**
      * create read order (asynchronous read from tape to local FS) for the given @containerName and objects list.
      * Return read order ID
@@ -44,6 +44,7 @@ import fr.gouv.vitam.common.json.JsonHandler;
 import fr.gouv.vitam.common.logging.VitamLogLevel;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.model.MetadatasObject;
 import fr.gouv.vitam.common.performance.PerformanceLogger;
 import fr.gouv.vitam.common.storage.ContainerInformation;
 import fr.gouv.vitam.common.storage.StorageConfiguration;
@@ -54,6 +55,8 @@ import fr.gouv.vitam.common.storage.cas.container.api.VitamStorageMetadata;
 import fr.gouv.vitam.common.storage.constants.StorageProvider;
 import fr.gouv.vitam.common.stream.ExactSizeInputStream;
 import fr.gouv.vitam.common.stream.MultiplexedStreamReader;
+import fr.gouv.vitam.common.thread.VitamThreadFactory;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetResultEntry;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutResult;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutResultEntry;
 import fr.gouv.vitam.storage.driver.model.StorageMetadataResult;
@@ -79,9 +82,15 @@ import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -96,6 +105,8 @@ public class DefaultOfferServiceImpl implements DefaultOfferService {
 
     private final Map<String, String> mapXCusor;
 
+    private final ExecutorService digestExecutor;
+
     private OfferLogDatabaseService offerDatabaseService;
     private final ReadRequestReferentialRepository readRequestReferentialRepository;
     private StorageConfiguration configuration;
@@ -121,6 +132,13 @@ public class DefaultOfferServiceImpl implements DefaultOfferService {
         defaultStorage = StoreContextBuilder.newStoreContext(configuration, mongoDBAccess);
         mapXCusor = new HashMap<>();
 
+        // Shared by all digest computations, so that the disk load stays bounded whatever the number of requests
+        int digestParallelism = Math.max(1, configuration.getDigestComputationParallelism());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(digestParallelism, digestParallelism, 60L,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<>(), VitamThreadFactory.getInstance());
+        executor.allowCoreThreadTimeOut(true);
+        digestExecutor = executor;
+
         if (StorageProvider.TAPE_LIBRARY.getValue().equalsIgnoreCase(configuration.getProvider())) {
             this.readRequestReferentialRepository =
                 new ReadRequestReferentialRepository(mongoDBAccess.getMongoDatabase()
@@ -144,6 +162,63 @@ public class DefaultOfferServiceImpl implements DefaultOfferService {
         }
     }
 
+    @Override
+    public Map<String, String> getObjectDigests(String containerName, List<String> objectIds,
+        DigestType digestAlgorithm) throws ContentAddressableStorageException {
+        if (objectIds.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        Stopwatch times = Stopwatch.createStarted();
+        Map<String, Future<Optional<String>>> digestFutures = new LinkedHashMap<>();
+        try {
+            for (String objectId : objectIds) {
+                digestFutures.put(objectId, digestExecutor
+                    .submit(() -> computeObjectDigestIfExists(containerName, objectId, digestAlgorithm)));
+            }
+
+            Map<String, String> digests = new LinkedHashMap<>();
+            for (Map.Entry<String, Future<Optional<String>>> digestFuture : digestFutures.entrySet()) {
+                awaitDigest(digestFuture.getValue())
+                    .ifPresent(digest -> digests.put(digestFuture.getKey(), digest));
+            }
+            return digests;
+        } finally {
+            // Do not keep computing digests of a failed request
+            for (Future<Optional<String>> digestFuture : digestFutures.values()) {
+                digestFuture.cancel(true);
+            }
+            PerformanceLogger.getInstance()
+                .log("STP_Offer_" + configuration.getProvider(), containerName, "BULK_COMPUTE_DIGEST",
+                    times.elapsed(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private Optional<String> computeObjectDigestIfExists(String containerName, String objectId,
+        DigestType digestAlgorithm) throws ContentAddressableStorageException {
+        try {
+            return Optional.of(defaultStorage.getObjectDigest(containerName, objectId, digestAlgorithm, true));
+        } catch (ContentAddressableStorageNotFoundException e) {
+            LOGGER.warn("Could not compute digest of object " + objectId + " of container " + containerName +
+                ". Object not found", e);
+            return Optional.empty();
+        }
+    }
+
+    private Optional<String> awaitDigest(Future<Optional<String>> digestFuture)
+        throws ContentAddressableStorageException {
+        try {
+            return digestFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContentAddressableStorageServerException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ContentAddressableStorageException) {
+                throw (ContentAddressableStorageException) e.getCause();
+            }
+            throw new ContentAddressableStorageServerException(e.getCause());
+        }
+    }
+
     @Override
     public ObjectContent getObject(String containerName, String objectId)
         throws ContentAddressableStorageException {
@@ -157,6 +232,27 @@ public class DefaultOfferServiceImpl implements DefaultOfferService {
         }
     }
 
+    @Override
+    public List<StorageBulkGetResultEntry> getBulkObjectEntries(String containerName, List<String> objectIds)
+        throws ContentAddressableStorageException {
+        Stopwatch times = Stopwatch.createStarted();
+        try {
+            List<StorageBulkGetResultEntry> entries = new ArrayList<>();
+            for (String objectId : objectIds) {
+                // Stored digest, not recomputed
+                MetadatasObject metadata = defaultStorage.getObjectMetadata(containerName, objectId, false);
+                entries.add(new StorageBulkGetResultEntry(objectId, metadata.getDigest(), metadata.getFileSize()));
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new ContentAddressableStorageServerException(e);
+        } finally {
+            PerformanceLogger.getInstance()
+                .log("STP_Offer_" + configuration.getProvider(), containerName, "BULK_GET_METADATA",
+                    times.elapsed(TimeUnit.MILLISECONDS));
+        }
+    }
+
     @Override
     public Optional<TapeReadRequestReferentialEntity> createReadOrderRequest(String containerName,
         List<String> objectsIds)
@@ -0,0 +1,253 @@
+/**
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.database;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.thread.VitamThreadFactory;
+import fr.gouv.vitam.storage.engine.common.model.OfferLog;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageDatabaseException;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit writer for offer logs.<br>
+ * <br>
+ * Offer logs written concurrently are queued, and a single writer thread persists them by batches : one sequence
+ * block reservation and one insertMany for the whole batch, instead of two database round trips per offer log. As
+ * batches are written one after the other, sequences are inserted in increasing order.<br>
+ * <br>
+ * Callers are blocked until their offer log is persisted. When some offer logs of a batch are rejected by the
+ * database, only their callers are failed.<br>
+ * <br>
+ * The writer thread is stopped by {@link #close()}, once offer logs already queued are persisted.
+ */
+class OfferLogBatchWriter {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(OfferLogBatchWriter.class);
+
+    private static final long POLL_TIMEOUT_IN_MILLIS = 100L;
+
+    private final OfferLogDatabaseService offerLogDatabaseService;
+    private final int maxBatchSize;
+    private final long maxBatchDelayInMillis;
+    private final BlockingQueue<PendingOfferLog> queue;
+    private final Thread writerThread;
+    private volatile boolean closed;
+
+    /**
+     * Constructor
+     *
+     * @param offerLogDatabaseService service used to persist batches
+     * @param maxBatchSize max number of offer logs per batch
+     * @param maxBatchDelayInMillis max time to wait for more offer logs once a batch is started (0 : only batch
+     * offer logs already waiting)
+     */
+    OfferLogBatchWriter(OfferLogDatabaseService offerLogDatabaseService, int maxBatchSize,
+        long maxBatchDelayInMillis) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        if (maxBatchDelayInMillis < 0) {
+            throw new IllegalArgumentException("maxBatchDelayInMillis must be positive or zero");
+        }
+        this.offerLogDatabaseService = offerLogDatabaseService;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelayInMillis = maxBatchDelayInMillis;
+        // Bounded queue : writers are throttled when the database cannot follow
+        this.queue = new ArrayBlockingQueue<>(maxBatchSize * 4);
+        this.writerThread = VitamThreadFactory.getInstance().newThread(this::run);
+        writerThread.setName("offer-log-writer");
+        writerThread.start();
+    }
+
+    /**
+     * Queue an offer log and wait for its persistence
+     *
+     * @param offerLog the offer log (its sequence is set by this writer)
+     * @throws ContentAddressableStorageServerException parsing error
+     * @throws ContentAddressableStorageDatabaseException database error
+     */
+    void write(OfferLog offerLog)
+        throws ContentAddressableStorageServerException, ContentAddressableStorageDatabaseException {
+        if (closed) {
+            throw new ContentAddressableStorageDatabaseException("Offer log writer is closed");
+        }
+        PendingOfferLog pendingOfferLog = new PendingOfferLog(offerLog);
+        try {
+            queue.put(pendingOfferLog);
+            // The writer thread may have stopped before taking this offer log
+            if (closed && queue.remove(pendingOfferLog)) {
+                throw new ContentAddressableStorageDatabaseException("Offer log writer is closed");
+            }
+            pendingOfferLog.persisted.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContentAddressableStorageDatabaseException("Interrupted while saving offer log", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ContentAddressableStorageServerException) {
+                throw (ContentAddressableStorageServerException) cause;
+            }
+            if (cause instanceof ContentAddressableStorageDatabaseException) {
+                throw (ContentAddressableStorageDatabaseException) cause;
+            }
+            throw new ContentAddressableStorageDatabaseException("Could not save offer log", cause);
+        }
+    }
+
+    /**
+     * Stop the writer thread once offer logs already queued are persisted. Later writes are rejected.
+     */
+    void close() {
+        closed = true;
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            LOGGER.warn("Interrupted while waiting for offer log writer to stop", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<PendingOfferLog> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            try {
+                PendingOfferLog first = queue.poll(POLL_TIMEOUT_IN_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                LOGGER.warn("Offer log writer interrupted", e);
+                Thread.currentThread().interrupt();
+                closed = true;
+                queue.drainTo(batch);
+                failAll(batch, new ContentAddressableStorageDatabaseException("Offer log writer interrupted", e));
+                return;
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void fillBatch(List<PendingOfferLog> batch) throws InterruptedException {
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxBatchDelayInMillis);
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            // Once closed, do not wait for offer logs that will never come
+            PendingOfferLog next = queue.poll(
+                Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_TIMEOUT_IN_MILLIS)), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                if (closed) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void writeBatch(List<PendingOfferLog> batch) {
+        List<OfferLog> offerLogs = new ArrayList<>(batch.size());
+        for (PendingOfferLog pendingOfferLog : batch) {
+            offerLogs.add(pendingOfferLog.offerLog);
+        }
+        try {
+            offerLogDatabaseService.insertOfferLogs(offerLogs);
+            for (PendingOfferLog pendingOfferLog : batch) {
+                pendingOfferLog.persisted.complete(null);
+            }
+        } catch (ContentAddressableStorageDatabaseException e) {
+            if (e.getCause() instanceof MongoBulkWriteException &&
+                ((MongoBulkWriteException) e.getCause()).getWriteConcernError() == null) {
+                // Unordered insert : every offer log not reported in error has been persisted
+                failRejected(batch, (MongoBulkWriteException) e.getCause());
+            } else {
+                LOGGER.error("Could not save a batch of " + batch.size() + " offer logs", e);
+                failAll(batch, e);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Could not save a batch of " + batch.size() + " offer logs", e);
+            failAll(batch, e);
+        }
+    }
+
+    private void failRejected(List<PendingOfferLog> batch, MongoBulkWriteException e) {
+        Map<Integer, BulkWriteError> writeErrors = new HashMap<>();
+        for (BulkWriteError writeError : e.getWriteErrors()) {
+            writeErrors.put(writeError.getIndex(), writeError);
+        }
+        LOGGER.error("Could not save " + writeErrors.size() + " offer logs of a batch of " + batch.size(), e);
+        for (int i = 0; i < batch.size(); i++) {
+            PendingOfferLog pendingOfferLog = batch.get(i);
+            BulkWriteError writeError = writeErrors.get(i);
+            if (writeError == null) {
+                pendingOfferLog.persisted.complete(null);
+            } else {
+                pendingOfferLog.persisted.completeExceptionally(new ContentAddressableStorageDatabaseException(
+                    String.format("Database Error while saving %s in OfferLog collection : %s",
+                        pendingOfferLog.offerLog.getFileName(), writeError.getMessage()), e));
+            }
+        }
+    }
+
+    private static void failAll(List<PendingOfferLog> batch, Exception e) {
+        for (PendingOfferLog pendingOfferLog : batch) {
+            pendingOfferLog.persisted.completeExceptionally(e);
+        }
+    }
+
+    private static final class PendingOfferLog {
+        private final OfferLog offerLog;
+        private final CompletableFuture<Void> persisted = new CompletableFuture<>();
+
+        private PendingOfferLog(OfferLog offerLog) {
+            this.offerLog = offerLog;
+        }
+    }
+}
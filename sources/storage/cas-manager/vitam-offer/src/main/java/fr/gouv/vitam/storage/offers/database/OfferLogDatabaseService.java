@@ -65,6 +65,8 @@ public class OfferLogDatabaseService {
 
     private OfferSequenceDatabaseService offerSequenceDatabaseService;
 
+    private OfferLogBatchWriter offerLogBatchWriter;
+
     /**
      * Constructor
      *
@@ -77,6 +79,29 @@ public class OfferLogDatabaseService {
         this.offerSequenceDatabaseService = offerSequenceDatabaseService;
     }
 
+    /**
+     * Constructor with group commit of offer logs saved concurrently
+     *
+     * @param offerSequenceDatabaseService offerSequenceService
+     * @param mongoDatabase mongoDatabase
+     * @param maxBatchSize max number of offer logs saved in one database request
+     * @param maxBatchDelayInMillis max time a batch waits for more offer logs
+     */
+    public OfferLogDatabaseService(OfferSequenceDatabaseService offerSequenceDatabaseService,
+        MongoDatabase mongoDatabase, int maxBatchSize, long maxBatchDelayInMillis) {
+        this(offerSequenceDatabaseService, mongoDatabase);
+        this.offerLogBatchWriter = new OfferLogBatchWriter(this, maxBatchSize, maxBatchDelayInMillis);
+    }
+
+    /**
+     * Stop the group commit of offer logs, once offer logs already queued are saved.
+     */
+    public void close() {
+        if (offerLogBatchWriter != null) {
+            offerLogBatchWriter.close();
+        }
+    }
+
     /**
      * Save on offerLog.
      *
@@ -88,6 +113,10 @@ public class OfferLogDatabaseService {
      */
     public void save(String containerName, String fileName, OfferLogAction action)
         throws ContentAddressableStorageServerException, ContentAddressableStorageDatabaseException {
+        if (offerLogBatchWriter != null) {
+            offerLogBatchWriter.write(new OfferLog(containerName, fileName, action));
+            return;
+        }
         try {
             OfferLog offerLog = new OfferLog(containerName, fileName, action);
             offerLog.setSequence(
@@ -115,14 +144,29 @@ public class OfferLogDatabaseService {
      * @throws ContentAddressableStorageDatabaseException database error
      */
     public void bulkSave(String containerName, List<String> fileNames, OfferLogAction action)
+        throws ContentAddressableStorageServerException, ContentAddressableStorageDatabaseException {
+        List<OfferLog> offerLogs = new ArrayList<>();
+        for (String fileName : fileNames) {
+            offerLogs.add(new OfferLog(containerName, fileName, action));
+        }
+        insertOfferLogs(offerLogs);
+    }
+
+    /**
+     * Reserve a block of sequences for the given offer logs, and insert them all at once
+     *
+     * @param offerLogs offer logs to insert, in sequence order
+     * @throws ContentAddressableStorageServerException parsing error
+     * @throws ContentAddressableStorageDatabaseException database error
+     */
+    void insertOfferLogs(List<OfferLog> offerLogs)
         throws ContentAddressableStorageServerException, ContentAddressableStorageDatabaseException {
         try {
             long nextSequence = offerSequenceDatabaseService
-                .getNextSequence(OfferSequenceDatabaseService.BACKUP_LOG_SEQUENCE_ID, fileNames.size());
+                .getNextSequence(OfferSequenceDatabaseService.BACKUP_LOG_SEQUENCE_ID, offerLogs.size());
 
             List<Document> documents = new ArrayList<>();
-            for (String fileName : fileNames) {
-                OfferLog offerLog = new OfferLog(containerName, fileName, action);
+            for (OfferLog offerLog : offerLogs) {
                 offerLog.setSequence(nextSequence);
 
                 String json;
@@ -140,7 +184,7 @@ public class OfferLogDatabaseService {
 
         } catch (MongoException e) {
             throw new ContentAddressableStorageDatabaseException(String.format(
-                "Database Error while saving %s in OfferLog collection", fileNames), e);
+                "Database Error while saving %d offer logs in OfferLog collection", offerLogs.size()), e);
         }
     }
 
@@ -110,5 +110,6 @@ public class DefaultOfferMain {
      */
     public void stop() throws VitamApplicationServerException {
         vitamStarter.stop();
+        OfferCommonApplication.getInstance().reset();
     }
 }
@@ -50,10 +50,12 @@ import fr.gouv.vitam.common.storage.cas.container.api.ObjectContent;
 import fr.gouv.vitam.common.storage.constants.ErrorMessage;
 import fr.gouv.vitam.common.stream.ExactSizeInputStream;
 import fr.gouv.vitam.common.stream.MultiplexedStreamReader;
+import fr.gouv.vitam.common.stream.MultiplexedStreamWriter;
 import fr.gouv.vitam.common.stream.SizedInputStream;
 import fr.gouv.vitam.common.stream.StreamUtils;
 import fr.gouv.vitam.common.stream.VitamAsyncInputStreamResponse;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetResultEntry;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutResult;
 import fr.gouv.vitam.storage.driver.model.StorageMetadataResult;
 import fr.gouv.vitam.storage.engine.common.model.DataCategory;
@@ -80,13 +82,18 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -147,6 +154,13 @@ public class DefaultOfferResource extends ApplicationStatusResource {
             ContainerInformation capacity = defaultOfferService.getCapacity(containerName);
             Response.ResponseBuilder response = Response.status(Status.OK);
             response.header("X-Usable-Space", capacity.getUsableSpace());
+            // Not provided by every storage, nor while the container is being indexed
+            if (capacity.getObjectCount() >= 0L) {
+                response.header("X-Object-Count", capacity.getObjectCount());
+            }
+            if (capacity.getUsedSpace() >= 0L) {
+                response.header("X-Used-Space", capacity.getUsedSpace());
+            }
             response.header(GlobalDataRest.X_TENANT_ID, xTenantId);
             return response.build();
         } catch (final ContentAddressableStorageNotFoundException exc) {
@@ -585,6 +599,127 @@ public class DefaultOfferResource extends ApplicationStatusResource {
         }
     }
 
+    /**
+     * Bulk get objects as a multiplexed stream.
+     * <p>
+     * Stream format is a header entry (json list of objects ids, sizes and digests) followed by one data entry per
+     * object, in the requested order.
+     * </p>
+     *
+     * @param type Object's type
+     * @param objectIds the ids of the objects
+     * @param headers http header
+     * @return the multiplexed stream
+     */
+    @GET
+    @Path("/bulk/objects/{type}")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public Response bulkGetObjects(@PathParam("type") DataCategory type, List<String> objectIds,
+        @Context HttpHeaders headers) {
+
+        final String xTenantId = headers.getHeaderString(GlobalDataRest.X_TENANT_ID);
+        if (Strings.isNullOrEmpty(xTenantId)) {
+            LOGGER.error(MISSING_THE_TENANT_ID_X_TENANT_ID);
+            return Response.status(Status.PRECONDITION_FAILED).build();
+        }
+        if (objectIds == null || objectIds.isEmpty()) {
+            LOGGER.error(MISSING_OBJECTS_IDS_LIST_PARAMETER);
+            return Response.status(Status.PRECONDITION_FAILED).build();
+        }
+        final String containerName = buildContainerName(type, xTenantId);
+
+        // Check objects existence & compute total stream size
+        byte[] header;
+        List<Long> entrySizes = new ArrayList<>();
+        try {
+            for (String objectId : objectIds) {
+                SanityChecker.checkParameter(objectId);
+            }
+            List<StorageBulkGetResultEntry> entries =
+                defaultOfferService.getBulkObjectEntries(containerName, objectIds);
+
+            header = JsonHandler.unprettyPrint(entries).getBytes(StandardCharsets.UTF_8);
+            entrySizes.add((long) header.length);
+            for (StorageBulkGetResultEntry entry : entries) {
+                entrySizes.add(entry.getSize());
+            }
+        } catch (final ContentAddressableStorageNotFoundException | UnavailableFileException e) {
+            LOGGER.warn(e);
+            return buildErrorResponse(VitamCode.STORAGE_NOT_FOUND, e.getMessage());
+        } catch (final ContentAddressableStorageException | InvalidParseOperationException e) {
+            LOGGER.error(e);
+            return buildErrorResponse(VitamCode.STORAGE_TECHNICAL_INTERNAL_ERROR, e.getMessage());
+        }
+
+        StreamingOutput streamingOutput = output -> {
+            try {
+                MultiplexedStreamWriter multiplexedStreamWriter = new MultiplexedStreamWriter(output);
+                multiplexedStreamWriter.appendEntry(header.length, new ByteArrayInputStream(header));
+
+                for (int i = 0; i < objectIds.size(); i++) {
+                    ObjectContent objectContent = defaultOfferService.getObject(containerName, objectIds.get(i));
+                    try (InputStream inputStream = objectContent.getInputStream()) {
+                        multiplexedStreamWriter.appendEntry(entrySizes.get(i + 1), inputStream);
+                    }
+                }
+
+                multiplexedStreamWriter.appendEndOfFile();
+
+            } catch (Exception e) {
+                LOGGER.error("Could not return bulk objects", e);
+                throw new WebApplicationException("Could not return bulk objects", e);
+            }
+        };
+
+        return Response.ok(streamingOutput)
+            .header(VitamHttpHeader.X_CONTENT_LENGTH.getName(), MultiplexedStreamWriter.getTotalStreamSize(entrySizes))
+            .build();
+    }
+
+    /**
+     * Compute the digests of a set of objects.
+     *
+     * @param type Object's type
+     * @param objectIds the ids of the objects
+     * @param xTenantId the tenantId
+     * @param xDigestAlgorithm the digest algorithm
+     * @return the digests by object id (objects not found are absent)
+     */
+    @GET
+    @Path("/bulk/objects/{type}/digests")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getObjectDigests(@PathParam("type") DataCategory type, List<String> objectIds,
+        @HeaderParam(GlobalDataRest.X_TENANT_ID) String xTenantId,
+        @HeaderParam(GlobalDataRest.X_DIGEST_ALGORITHM) String xDigestAlgorithm) {
+
+        if (Strings.isNullOrEmpty(xTenantId)) {
+            LOGGER.error(MISSING_THE_TENANT_ID_X_TENANT_ID);
+            return Response.status(Status.PRECONDITION_FAILED).build();
+        }
+        if (Strings.isNullOrEmpty(xDigestAlgorithm)) {
+            LOGGER.error("Missing digest");
+            return Response.status(Status.BAD_REQUEST).build();
+        }
+        if (objectIds == null || objectIds.isEmpty()) {
+            LOGGER.error(MISSING_OBJECTS_IDS_LIST_PARAMETER);
+            return Response.status(Status.PRECONDITION_FAILED).build();
+        }
+        final String containerName = buildContainerName(type, xTenantId);
+        try {
+            for (String objectId : objectIds) {
+                SanityChecker.checkParameter(objectId);
+            }
+            Map<String, String> digests = defaultOfferService
+                .getObjectDigests(containerName, objectIds, DigestType.fromValue(xDigestAlgorithm));
+            return Response.status(Status.OK).entity(digests).build();
+        } catch (final ContentAddressableStorageException | InvalidParseOperationException e) {
+            LOGGER.error(e);
+            return buildErrorResponse(VitamCode.STORAGE_TECHNICAL_INTERNAL_ERROR, e.getMessage());
+        }
+    }
+
     /**
      * Delete an Object
      *
@@ -60,6 +60,8 @@ public class OfferCommonApplication {
     private MongoDbAccess mongoDbAccess;
     private StorageConfiguration storageConfiguration;
 
+    private OfferLogDatabaseService offerLogDatabaseService;
+
     private DefaultOfferService defaultOfferService;
 
     synchronized void initialize(String configurationFile) {
@@ -72,7 +74,9 @@ public class OfferCommonApplication {
             MongoDatabase mongoDatabase = mongoClient.getDatabase(configuration.getDbName());
             OfferSequenceDatabaseService offerSequenceDatabaseService = new OfferSequenceDatabaseService(mongoDatabase);
 
-            OfferLogDatabaseService offerDatabaseService = new OfferLogDatabaseService(offerSequenceDatabaseService, mongoDatabase);
+            offerLogDatabaseService =
+                new OfferLogDatabaseService(offerSequenceDatabaseService, mongoDatabase,
+                    configuration.getOfferLogBatchSize(), configuration.getOfferLogBatchDelayInMillis());
 
             mongoDbAccess = new SimpleMongoDBAccess(mongoClient, configuration.getDbName());
 
@@ -84,13 +88,17 @@ public class OfferCommonApplication {
                     .setStoragePath(FileUtil.getFileCanonicalPath(storageConfiguration.getStoragePath()));
             }
 
-            defaultOfferService = new DefaultOfferServiceImpl(offerDatabaseService, mongoDbAccess);
+            defaultOfferService = new DefaultOfferServiceImpl(offerLogDatabaseService, mongoDbAccess);
         } catch (IOException | KeyManagementException | NoSuchAlgorithmException | KeyStoreException | CertificateException e) {
             throw new VitamRuntimeException(e);
         }
     }
 
     public synchronized void reset() {
+        if (offerLogDatabaseService != null) {
+            offerLogDatabaseService.close();
+            offerLogDatabaseService = null;
+        }
         this.defaultOfferService = null;
     }
 
@@ -43,6 +43,8 @@ public class OfferConfiguration extends DbConfigurationImpl {
     private String contextPath;
     private boolean authentication;
     private String swiftProjectName;
+    private int offerLogBatchSize = 1000;
+    private long offerLogBatchDelayInMillis = 0L;
 
     /**
      * @return the provider
@@ -195,4 +197,22 @@ public class OfferConfiguration extends DbConfigurationImpl {
         this.swiftProjectName = swiftProjectName;
         return this;
     }
+
+    public int getOfferLogBatchSize() {
+        return offerLogBatchSize;
+    }
+
+    public OfferConfiguration setOfferLogBatchSize(int offerLogBatchSize) {
+        this.offerLogBatchSize = offerLogBatchSize;
+        return this;
+    }
+
+    public long getOfferLogBatchDelayInMillis() {
+        return offerLogBatchDelayInMillis;
+    }
+
+    public OfferConfiguration setOfferLogBatchDelayInMillis(long offerLogBatchDelayInMillis) {
+        this.offerLogBatchDelayInMillis = offerLogBatchDelayInMillis;
+        return this;
+    }
 }
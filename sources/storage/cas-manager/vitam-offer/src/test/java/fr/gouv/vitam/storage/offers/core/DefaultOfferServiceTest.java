@@ -72,6 +72,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -274,6 +275,34 @@ public class DefaultOfferServiceTest {
         verify(offerDatabaseService, times(1)).save(CONTAINER_PATH, OBJECT_ID, OfferLogAction.WRITE);
     }
 
+    @Test
+    public void getObjectDigestsTest() throws Exception {
+        final DefaultOfferService offerService = new DefaultOfferServiceImpl(offerDatabaseService, mongoDbAccess);
+
+        // Given
+        File file1 = PropertiesUtils.findFile(ARCHIVE_FILE_TXT);
+        File file2 = PropertiesUtils.findFile(ARCHIVE_FILE2_TXT);
+        try (FileInputStream in = new FileInputStream(file1)) {
+            offerService.createObject(CONTAINER_PATH, OBJECT_ID, in, OBJECT_TYPE, null,
+                VitamConfiguration.getDefaultDigestType());
+        }
+        try (FileInputStream in = new FileInputStream(file2)) {
+            offerService.createObject(CONTAINER_PATH, OBJECT_ID_2, in, OBJECT_TYPE, null,
+                VitamConfiguration.getDefaultDigestType());
+        }
+
+        // When
+        Map<String, String> digests = offerService.getObjectDigests(CONTAINER_PATH,
+            Arrays.asList(OBJECT_ID, OBJECT_ID_2, OBJECT_ID_3), VitamConfiguration.getDefaultDigestType());
+
+        // Then
+        assertThat(digests).containsOnlyKeys(OBJECT_ID, OBJECT_ID_2);
+        assertThat(digests.get(OBJECT_ID))
+            .isEqualTo(Digest.digest(file1, VitamConfiguration.getDefaultDigestType()).toString());
+        assertThat(digests.get(OBJECT_ID_2))
+            .isEqualTo(Digest.digest(file2, VitamConfiguration.getDefaultDigestType()).toString());
+    }
+
     @Test
     public void getObjectTest() throws Exception {
         final DefaultOfferService offerService = new DefaultOfferServiceImpl(offerDatabaseService, mongoDbAccess);
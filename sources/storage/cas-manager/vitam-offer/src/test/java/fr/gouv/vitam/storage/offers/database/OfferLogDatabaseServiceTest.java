@@ -30,6 +30,8 @@ import com.mongodb.MongoException;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
 import com.mongodb.client.model.Sorts;
 import fr.gouv.vitam.common.database.collections.VitamCollection;
 import fr.gouv.vitam.common.guid.GUIDFactory;
@@ -55,11 +57,19 @@ import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -385,4 +395,140 @@ public class OfferLogDatabaseServiceTest {
             assertThat(document.get("Container")).isEqualTo(CONTAINER_OBJECT_0);
         }
     }
+
+    @Test
+    public void should_group_concurrent_saves_with_increasing_sequences() throws Exception {
+        // given
+        AtomicLong sequence = new AtomicLong(1L);
+        when(offerSequenceDatabaseService.getNextSequence(
+            Mockito.eq(OfferSequenceDatabaseService.BACKUP_LOG_SEQUENCE_ID), Mockito.anyLong()))
+            .thenAnswer(invocation -> sequence.getAndAdd(invocation.getArgument(1)));
+        // A batch is only written once full : with a long delay, 100 offer logs are written by 10 full batches
+        offerLogDatabaseService =
+            new OfferLogDatabaseService(offerSequenceDatabaseService, mongoRule.getMongoDatabase(), 10, 60_000L);
+        int nbFiles = 100;
+        ExecutorService executorService = Executors.newFixedThreadPool(20);
+
+        // when
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < nbFiles; i++) {
+            String fileName = "object_name_" + i + ".json";
+            futures.add(executorService.submit(() -> {
+                offerLogDatabaseService.save(CONTAINER_OBJECT_0, fileName, OfferLogAction.WRITE);
+                return null;
+            }));
+        }
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+        offerLogDatabaseService.close();
+
+        // then
+        verify(offerSequenceDatabaseService, Mockito.times(nbFiles / 10))
+            .getNextSequence(OfferSequenceDatabaseService.BACKUP_LOG_SEQUENCE_ID, 10L);
+        verify(offerSequenceDatabaseService, Mockito.times(nbFiles / 10))
+            .getNextSequence(Mockito.eq(OfferSequenceDatabaseService.BACKUP_LOG_SEQUENCE_ID), Mockito.anyLong());
+        verify(offerSequenceDatabaseService, Mockito.never())
+            .getNextSequence(OfferSequenceDatabaseService.BACKUP_LOG_SEQUENCE_ID);
+
+        List<Document> documents =
+            IteratorUtils.toList(mongoRule.getMongoCollection(OfferCollections.OFFER_LOG.getName())
+                .find(Filters.eq("Container", CONTAINER_OBJECT_0)).sort(Sorts.ascending("Sequence")).iterator());
+        assertThat(documents).hasSize(nbFiles);
+        for (int i = 0; i < nbFiles; i++) {
+            assertThat(((Number) documents.get(i).get("Sequence")).longValue()).isEqualTo(i + 1L);
+        }
+        assertThat(documents).extracting(document -> document.get("FileName")).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void should_only_fail_saves_rejected_in_a_batch() throws Exception {
+        // given
+        MongoCollection<Document> offerLogCollection =
+            mongoRule.getMongoCollection(OfferCollections.OFFER_LOG.getName());
+        String sequenceIndex = offerLogCollection.createIndex(Indexes.ascending("Sequence"),
+            new IndexOptions().unique(true));
+        try {
+            offerLogCollection.insertOne(new Document("Sequence", 2L).append("Container", CONTAINER_OBJECT_1));
+            when(offerSequenceDatabaseService.getNextSequence(
+                Mockito.eq(OfferSequenceDatabaseService.BACKUP_LOG_SEQUENCE_ID), Mockito.anyLong()))
+                .thenReturn(1L);
+            offerLogDatabaseService =
+                new OfferLogDatabaseService(offerSequenceDatabaseService, mongoRule.getMongoDatabase(), 3,
+                    60_000L);
+            ExecutorService executorService = Executors.newFixedThreadPool(3);
+
+            // when
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                String fileName = "object_name_" + i + ".json";
+                futures.add(executorService.submit(() -> {
+                    offerLogDatabaseService.save(CONTAINER_OBJECT_0, fileName, OfferLogAction.WRITE);
+                    return null;
+                }));
+            }
+            int failures = 0;
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ContentAddressableStorageDatabaseException.class);
+                    failures++;
+                }
+            }
+            executorService.shutdown();
+            offerLogDatabaseService.close();
+
+            // then
+            assertThat(failures).isEqualTo(1);
+            verify(offerSequenceDatabaseService).getNextSequence(OfferSequenceDatabaseService.BACKUP_LOG_SEQUENCE_ID,
+                3L);
+            List<Document> documents = IteratorUtils.toList(
+                offerLogCollection.find(Filters.eq("Container", CONTAINER_OBJECT_0)).sort(Sorts.ascending("Sequence"))
+                    .iterator());
+            assertThat(documents).extracting(document -> ((Number) document.get("Sequence")).longValue())
+                .containsExactly(1L, 3L);
+        } finally {
+            offerLogCollection.dropIndex(sequenceIndex);
+        }
+    }
+
+    @Test
+    public void should_save_pending_offer_logs_and_reject_new_ones_once_closed() throws Exception {
+        // given
+        CountDownLatch batchStarted = new CountDownLatch(1);
+        CountDownLatch releaseBatch = new CountDownLatch(1);
+        when(offerSequenceDatabaseService.getNextSequence(
+            Mockito.eq(OfferSequenceDatabaseService.BACKUP_LOG_SEQUENCE_ID), Mockito.anyLong()))
+            .thenAnswer(invocation -> {
+                batchStarted.countDown();
+                releaseBatch.await();
+                return 1L;
+            });
+        offerLogDatabaseService =
+            new OfferLogDatabaseService(offerSequenceDatabaseService, mongoRule.getMongoDatabase(), 1, 0L);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<Void> pendingSave = executorService.submit(() -> {
+            offerLogDatabaseService.save(CONTAINER_OBJECT_0, "object_name_0.json", OfferLogAction.WRITE);
+            return null;
+        });
+        batchStarted.await();
+
+        // when
+        Future<?> close = executorService.submit(() -> offerLogDatabaseService.close());
+        releaseBatch.countDown();
+        close.get();
+        pendingSave.get();
+        executorService.shutdown();
+
+        // then
+        List<Document> documents =
+            IteratorUtils.toList(mongoRule.getMongoCollection(OfferCollections.OFFER_LOG.getName())
+                .find(Filters.eq("FileName", "object_name_0.json")).iterator());
+        assertThat(documents).hasSize(1);
+        assertThatThrownBy(
+            () -> offerLogDatabaseService.save(CONTAINER_OBJECT_0, "object_name_1.json", OfferLogAction.WRITE))
+            .isInstanceOf(ContentAddressableStorageDatabaseException.class);
+    }
 }
@@ -27,6 +27,7 @@
 package fr.gouv.vitam.storage.offers.rest;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -52,10 +53,13 @@ import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.model.RequestResponseOK;
 import fr.gouv.vitam.common.mongo.MongoRule;
+import fr.gouv.vitam.common.server.application.VitamHttpHeader;
 import fr.gouv.vitam.common.server.application.configuration.MongoDbNode;
 import fr.gouv.vitam.common.storage.StorageConfiguration;
 import fr.gouv.vitam.common.storage.cas.container.api.ContentAddressableStorageAbstract;
+import fr.gouv.vitam.common.stream.MultiplexedStreamReader;
 import fr.gouv.vitam.common.stream.MultiplexedStreamWriter;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetResultEntry;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutResult;
 import fr.gouv.vitam.storage.engine.common.model.DataCategory;
 import fr.gouv.vitam.storage.engine.common.model.OfferLog;
@@ -86,6 +90,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static io.restassured.RestAssured.given;
 import static io.restassured.RestAssured.with;
@@ -571,6 +576,37 @@ public class DefaultOfferResourceTest {
             .statusCode(200);
     }
 
+    @Test
+    public void getObjectDigestsTest() throws Exception {
+        File file = PropertiesUtils.findFile(ARCHIVE_FILE_TXT);
+        try (FileInputStream in = new FileInputStream(file)) {
+            with().header(GlobalDataRest.X_TENANT_ID, "1")
+                .header(GlobalDataRest.VITAM_CONTENT_LENGTH, "8766")
+                .header(GlobalDataRest.X_DIGEST_ALGORITHM, DigestType.SHA512.getName())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM).content(in).when()
+                .put(OBJECTS_URI + "/" + DataCategory.UNIT.name() + OBJECT_ID_URI, "digest_id1");
+        }
+
+        // no tenant id
+        given().header(GlobalDataRest.X_DIGEST_ALGORITHM, DigestType.SHA512.getName())
+            .contentType(MediaType.APPLICATION_JSON).body(Arrays.asList("digest_id1"))
+            .when().get("/bulk/objects/{type}/digests", UNIT_CODE).then().statusCode(412);
+
+        // no digest type
+        given().header(GlobalDataRest.X_TENANT_ID, "1")
+            .contentType(MediaType.APPLICATION_JSON).body(Arrays.asList("digest_id1"))
+            .when().get("/bulk/objects/{type}/digests", UNIT_CODE).then().statusCode(400);
+
+        // ok, unknown objects are left out
+        Map<String, String> digests = given().header(GlobalDataRest.X_TENANT_ID, "1")
+            .header(GlobalDataRest.X_DIGEST_ALGORITHM, DigestType.SHA512.getName())
+            .contentType(MediaType.APPLICATION_JSON).body(Arrays.asList("digest_id1", "digest_unknown"))
+            .when().get("/bulk/objects/{type}/digests", UNIT_CODE)
+            .then().statusCode(200).extract().as(Map.class);
+        assertThat(digests).containsOnlyKeys("digest_id1");
+        assertThat(digests.get("digest_id1")).isEqualTo(Digest.digest(file, DigestType.SHA512).toString());
+    }
+
     @Test
     public void getObjectMetadataKO() {
         // test
@@ -823,6 +859,61 @@ public class DefaultOfferResourceTest {
         checkOfferDatabaseExistingDocument("2_object", "file4", 0);
     }
 
+    @Test
+    public void bulkGetObjectsTest() throws Exception {
+        checkOfferDatabaseEmptiness();
+
+        // Given
+        File testFileV1 = PropertiesUtils.findFile(ARCHIVE_FILE_TXT);
+        File testFileV2 = PropertiesUtils.findFile(ARCHIVE_FILE_V2_TXT);
+        bulkPutObjects(DataCategory.UNIT, Arrays.asList("file1", "file2"), Arrays.asList(testFileV1, testFileV2),
+            Status.CREATED);
+
+        // no tenant id
+        given().contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_OCTET_STREAM)
+            .body(Arrays.asList("file2", "file1")).when()
+            .get("/bulk/objects/{type}", UNIT_CODE).then().statusCode(412);
+
+        // object not found
+        given().header(GlobalDataRest.X_TENANT_ID, "2")
+            .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_OCTET_STREAM)
+            .body(Arrays.asList("file2", "file3")).when()
+            .get("/bulk/objects/{type}", UNIT_CODE).then().statusCode(404);
+
+        // When
+        io.restassured.response.Response response = given().header(GlobalDataRest.X_TENANT_ID, "2")
+            .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_OCTET_STREAM)
+            .body(Arrays.asList("file2", "file1")).when()
+            .get("/bulk/objects/{type}", UNIT_CODE)
+            .andReturn();
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(Status.OK.getStatusCode());
+        byte[] body = response.body().asByteArray();
+        assertThat(Long.parseLong(response.getHeader(VitamHttpHeader.X_CONTENT_LENGTH.getName())))
+            .isEqualTo(body.length);
+
+        try (MultiplexedStreamReader multiplexedStreamReader =
+            new MultiplexedStreamReader(new ByteArrayInputStream(body))) {
+
+            List<StorageBulkGetResultEntry> entries = JsonHandler.getFromInputStreamAsTypeRefence(
+                multiplexedStreamReader.readNextEntry().get(), new TypeReference<List<StorageBulkGetResultEntry>>() {
+                });
+            assertThat(entries).extracting(StorageBulkGetResultEntry::getObjectId).containsExactly("file2", "file1");
+
+            List<File> expectedFiles = Arrays.asList(testFileV2, testFileV1);
+            for (int i = 0; i < expectedFiles.size(); i++) {
+                Digest digest = new Digest(DigestType.SHA512);
+                digest.update(expectedFiles.get(i));
+                assertThat(entries.get(i).getSize()).isEqualTo(expectedFiles.get(i).length());
+                assertThat(entries.get(i).getDigest()).isEqualTo(digest.digestHex());
+                assertThat(multiplexedStreamReader.readNextEntry().get())
+                    .hasSameContentAs(new FileInputStream(expectedFiles.get(i)));
+            }
+            assertThat(multiplexedStreamReader.readNextEntry()).isEmpty();
+        }
+    }
+
     private void bulkPutObjects(DataCategory dataCategory, List<String> ids, List<File> files, Status expectedStatus)
         throws IOException, InvalidParseOperationException {
 
@@ -32,6 +32,8 @@ import fr.gouv.vitam.common.model.RequestResponse;
 import fr.gouv.vitam.storage.driver.exception.StorageDriverException;
 import fr.gouv.vitam.storage.driver.exception.StorageDriverNotFoundException;
 import fr.gouv.vitam.storage.driver.exception.StorageDriverPreconditionFailedException;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetRequest;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetResult;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutRequest;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutResult;
 import fr.gouv.vitam.storage.driver.model.StorageCapacityResult;
@@ -116,6 +118,16 @@ public interface Connection extends AutoCloseable {
      */
     StorageBulkPutResult bulkPutObjects(StorageBulkPutRequest request) throws StorageDriverException;
 
+    /**
+     * Bulk retrieve object files from the storage offer as a multiplexed stream.
+     *
+     * @param request the request to send. It contains the ids of the objects to retrieve.
+     * @return a result that contains the multiplexed stream (header entry then objects data)
+     * @throws StorageDriverNotFoundException if any of the objects is not found
+     * @throws StorageDriverException if any problem occurs during request
+     */
+    StorageBulkGetResult bulkGetObjects(StorageBulkGetRequest request) throws StorageDriverException;
+
     /**
      * Delete an object on the distant storage offer.
      *
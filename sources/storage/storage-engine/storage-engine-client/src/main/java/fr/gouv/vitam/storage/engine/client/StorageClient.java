@@ -178,6 +178,23 @@ public interface StorageClient extends BasicClient {
     Response getContainerAsync(String strategyId, String guid, DataCategory type, AccessLogInfoModel logInfo)
         throws StorageServerClientException, StorageNotFoundException;
 
+    /**
+     * Retrieves a set of binary objects as a multiplexed stream for a specific tenant/strategy, in a single request.
+     * <p>
+     * Stream format is a header entry (json list of StorageBulkGetResultEntry : objects ids, sizes and digests)
+     * followed by one data entry per object, in the guids order (see MultiplexedStreamReader). No access log is
+     * written.
+     *
+     * @param strategyId the storage strategy id
+     * @param type the objects type
+     * @param guids vitam guids of the objects to be returned
+     * @return the multiplexed stream
+     * @throws StorageServerClientException if the Server got an internal error
+     * @throws StorageNotFoundException if any of the objects does not exist
+     */
+    Response bulkGetObjects(String strategyId, DataCategory type, List<String> guids)
+        throws StorageServerClientException, StorageNotFoundException;
+
     /**
      * List object type in container
      *
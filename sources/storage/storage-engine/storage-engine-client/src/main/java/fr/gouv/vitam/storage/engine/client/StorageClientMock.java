@@ -26,9 +26,13 @@
  *******************************************************************************/
 package fr.gouv.vitam.storage.engine.client;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -57,6 +61,7 @@ import fr.gouv.vitam.common.VitamConfiguration;
 import fr.gouv.vitam.common.accesslog.AccessLogInfoModel;
 import fr.gouv.vitam.common.client.AbstractMockClient;
 import fr.gouv.vitam.common.client.VitamRequestIterator;
+import fr.gouv.vitam.common.digest.Digest;
 import fr.gouv.vitam.common.digest.DigestType;
 import fr.gouv.vitam.common.exception.InvalidParseOperationException;
 import fr.gouv.vitam.common.guid.GUIDFactory;
@@ -65,6 +70,8 @@ import fr.gouv.vitam.common.logging.SysErrLogger;
 import fr.gouv.vitam.common.model.RequestResponse;
 import fr.gouv.vitam.common.model.RequestResponseOK;
 import fr.gouv.vitam.common.parameter.ParameterHelper;
+import fr.gouv.vitam.common.stream.MultiplexedStreamWriter;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetResultEntry;
 import fr.gouv.vitam.storage.driver.model.StorageMetadataResult;
 import fr.gouv.vitam.storage.engine.client.exception.StorageAlreadyExistsClientException;
 import fr.gouv.vitam.storage.engine.client.exception.StorageNotFoundClientException;
@@ -207,6 +214,33 @@ public class StorageClientMock extends AbstractMockClient implements StorageClie
         }
     }
 
+    @Override
+    public Response bulkGetObjects(String strategyId, DataCategory type, List<String> guids)
+        throws StorageServerClientException {
+
+        byte[] content = MOCK_GET_FILE_CONTENT.getBytes(Charset.defaultCharset());
+        String digest = new Digest(VitamConfiguration.getDefaultDigestType()).update(content).digestHex();
+        List<StorageBulkGetResultEntry> entries = guids.stream()
+            .map(guid -> new StorageBulkGetResultEntry(guid, digest, content.length))
+            .collect(Collectors.toList());
+
+        try {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            MultiplexedStreamWriter multiplexedStreamWriter = new MultiplexedStreamWriter(byteArrayOutputStream);
+            byte[] header = JsonHandler.unprettyPrint(entries).getBytes(StandardCharsets.UTF_8);
+            multiplexedStreamWriter.appendEntry(header.length, new ByteArrayInputStream(header));
+            for (int i = 0; i < guids.size(); i++) {
+                multiplexedStreamWriter.appendEntry(content.length, new ByteArrayInputStream(content));
+            }
+            multiplexedStreamWriter.appendEndOfFile();
+
+            return new FakeInboundResponse(Status.OK, new ByteArrayInputStream(byteArrayOutputStream.toByteArray()),
+                MediaType.APPLICATION_OCTET_STREAM_TYPE, null);
+        } catch (IOException e) {
+            throw new StorageServerClientException(e);
+        }
+    }
+
     @Override
     public VitamRequestIterator<JsonNode> listContainer(String strategyId, DataCategory type) {
         MultivaluedHashMap<String, Object> headers = new MultivaluedHashMap<>();
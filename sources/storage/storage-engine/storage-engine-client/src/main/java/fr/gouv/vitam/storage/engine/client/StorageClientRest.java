@@ -533,6 +533,50 @@ class StorageClientRest extends DefaultClient implements StorageClient {
         }
     }
 
+    @Override
+    public Response bulkGetObjects(String strategyId, DataCategory type, List<String> guids)
+        throws StorageServerClientException, StorageNotFoundException {
+        Integer tenantId = ParameterHelper.getTenantParameter();
+        ParametersChecker.checkParameter(STRATEGY_ID_MUST_HAVE_A_VALID_VALUE, strategyId);
+        ParametersChecker.checkParameter(GUID_MUST_HAVE_A_VALID_VALUE, guids);
+        ParametersChecker.checkParameter(GUID_MUST_HAVE_A_VALID_VALUE, guids.toArray());
+        Response response = null;
+        boolean ok = false;
+        try {
+            response = performRequest(HttpMethod.GET, "/bulk/" + type.name(),
+                getDefaultHeaders(tenantId, strategyId, null, null),
+                guids, MediaType.APPLICATION_JSON_TYPE, MediaType.APPLICATION_OCTET_STREAM_TYPE);
+
+            final Response.Status status = Response.Status.fromStatusCode(response.getStatus());
+            switch (status) {
+                case OK:
+                    ok = true;
+                    return response;
+                case NOT_FOUND:
+                    throw new StorageNotFoundException(
+                        VitamCodeHelper.getCode(VitamCode.STORAGE_NOT_FOUND) + " : " + status.getReasonPhrase());
+                case PRECONDITION_FAILED:
+                    throw new StorageServerClientException(
+                        VitamCodeHelper.getCode(VitamCode.STORAGE_MISSING_HEADER) + ": " + status.getReasonPhrase());
+                default:
+                    final String log = VitamCodeHelper.getCode(VitamCode.STORAGE_TECHNICAL_INTERNAL_ERROR) + " : " +
+                        status.getReasonPhrase();
+                    LOGGER.error(log);
+                    throw new StorageServerClientException(log);
+            }
+        } catch (final VitamClientInternalException e) {
+            final String errorMessage =
+                VitamCodeHelper.getMessageFromVitamCode(VitamCode.STORAGE_TECHNICAL_INTERNAL_ERROR);
+            LOGGER.error(errorMessage, e);
+            throw new StorageServerClientException(errorMessage, e);
+        } finally {
+            // Only if KO
+            if (!ok) {
+                StorageClientRest.staticConsumeAnyEntityAndClose(response);
+            }
+        }
+    }
+
     @Override
     public VitamRequestIterator<JsonNode> listContainer(String strategyId, DataCategory type) {
         ParametersChecker.checkParameter("Strategy cannot be null", strategyId);
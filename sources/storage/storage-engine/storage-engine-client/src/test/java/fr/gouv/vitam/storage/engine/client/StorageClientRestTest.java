@@ -39,6 +39,7 @@ import static org.mockito.Mockito.when;
 import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.IntStream;
 
@@ -267,7 +268,15 @@ public class StorageClientRestTest extends ResteasyTestApplication {
             @PathParam("folder") String folder, BulkObjectStoreRequest bulkObjectStoreRequest) {
             return expectedResponse.post();
         }
-        
+
+        @Path("/bulk/{folder}")
+        @GET
+        @Produces(MediaType.APPLICATION_OCTET_STREAM)
+        @Consumes(MediaType.APPLICATION_JSON)
+        public Response bulkGetObjects(@PathParam("folder") String folder, List<String> objectIds) {
+            return expectedResponse.get();
+        }
+
         @GET
         @Path("/strategies")
         @Produces(MediaType.APPLICATION_JSON)
@@ -581,6 +590,49 @@ public class StorageClientRestTest extends ResteasyTestApplication {
         assertTrue(IOUtils.contentEquals(stream, stream2));
     }
 
+    @RunWithCustomExecutor
+    @Test
+    public void successBulkGetObjectsWhenFound() throws Exception {
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        when(mock.get()).thenReturn(Response.status(Status.OK).entity(StreamUtils.toInputStream("Vitam test")).build());
+        final InputStream stream =
+            client.bulkGetObjects("idStrategy", DataCategory.OBJECT, Arrays.asList("guid1", "guid2"))
+                .readEntity(InputStream.class);
+        assertNotNull(stream);
+        assertTrue(IOUtils.contentEquals(stream, StreamUtils.toInputStream("Vitam test")));
+    }
+
+    @RunWithCustomExecutor
+    @Test(expected = StorageNotFoundException.class)
+    public void failsBulkGetObjectsWhenNotFound() throws Exception {
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        when(mock.get()).thenReturn(Response.status(Status.NOT_FOUND).build());
+        client.bulkGetObjects("idStrategy", DataCategory.OBJECT, Arrays.asList("guid1", "guid2"));
+    }
+
+    @RunWithCustomExecutor
+    @Test(expected = StorageServerClientException.class)
+    public void failsBulkGetObjectsWhenPreconditionFailed() throws Exception {
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        when(mock.get()).thenReturn(Response.status(Status.PRECONDITION_FAILED).build());
+        client.bulkGetObjects("idStrategy", DataCategory.OBJECT, Arrays.asList("guid1", "guid2"));
+    }
+
+    @RunWithCustomExecutor
+    @Test(expected = StorageServerClientException.class)
+    public void failsBulkGetObjectsWhenInternalServerError() throws Exception {
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        when(mock.get()).thenReturn(Response.status(Status.INTERNAL_SERVER_ERROR).build());
+        client.bulkGetObjects("idStrategy", DataCategory.OBJECT, Arrays.asList("guid1", "guid2"));
+    }
+
+    @RunWithCustomExecutor
+    @Test(expected = IllegalArgumentException.class)
+    public void failsBulkGetObjectsWithoutObjectIds() throws Exception {
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        client.bulkGetObjects("idStrategy", DataCategory.OBJECT, null);
+    }
+
     @RunWithCustomExecutor
     @Test
     public void successBackupStorageLog() throws Exception {
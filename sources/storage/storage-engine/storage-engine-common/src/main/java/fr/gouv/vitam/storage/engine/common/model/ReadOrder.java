@@ -37,6 +37,8 @@ public class ReadOrder extends QueueMessageEntity implements ReadWriteOrder {
     public static final String FILE_POSITION = "filePosition";
     public static final String FILE_NAME = "fileName";
     public static final String BUCKET = "bucket";
+    public static final String START_OFFSET = "startOffset";
+    public static final String END_OFFSET = "endOffset";
 
     @JsonProperty(READ_REQUEST_ID)
     private String readRequestId;
@@ -53,6 +55,18 @@ public class ReadOrder extends QueueMessageEntity implements ReadWriteOrder {
     @JsonProperty(FILE_NAME)
     private String fileName;
 
+    /**
+     * Offset in the file of the first byte to read (null to read from the beginning of the file)
+     */
+    @JsonProperty(START_OFFSET)
+    private Long startOffset;
+
+    /**
+     * Offset in the file of the byte following the last byte to read (null to read until the end of the file)
+     */
+    @JsonProperty(END_OFFSET)
+    private Long endOffset;
+
     public ReadOrder() {
         super(GUIDFactory.newGUID().getId(), QueueMessageType.ReadOrder);
     }
@@ -114,4 +128,30 @@ public class ReadOrder extends QueueMessageEntity implements ReadWriteOrder {
         this.bucket = bucket;
         return this;
     }
+
+    public Long getStartOffset() {
+        return startOffset;
+    }
+
+    public ReadOrder setStartOffset(Long startOffset) {
+        this.startOffset = startOffset;
+        return this;
+    }
+
+    public Long getEndOffset() {
+        return endOffset;
+    }
+
+    public ReadOrder setEndOffset(Long endOffset) {
+        this.endOffset = endOffset;
+        return this;
+    }
+
+    /**
+     * @return true if only a part of the file is to be read
+     */
+    @JsonIgnore
+    public boolean isPartialRead() {
+        return (startOffset != null && startOffset > 0L) || endOffset != null;
+    }
 }
@@ -60,6 +60,12 @@ public class OfferSyncRequest {
     @JsonProperty("strategyId")
     private String strategyId;
 
+    /**
+     * resume from the last checkpoint of an interrupted synchronization
+     */
+    @JsonProperty("resume")
+    private boolean resume;
+
     /**
      * Constructor.
      */
@@ -120,4 +126,13 @@ public class OfferSyncRequest {
         this.strategyId = strategyId;
         return this;
     }
+
+    public boolean isResume() {
+        return resume;
+    }
+
+    public OfferSyncRequest setResume(boolean resume) {
+        this.resume = resume;
+        return this;
+    }
 }
@@ -218,6 +218,23 @@ public interface StorageDistribution extends VitamAutoCloseable {
     Response getContainerByCategory(String strategyId, String objectId, DataCategory category, String offerId)
         throws StorageException;
 
+    /**
+     * Get a set of objects binary data as a multiplexed stream, read from the first available offer of the strategy.
+     * <p>
+     * Stream format is a header entry (json list of objects ids, sizes and digests) followed by one data entry per
+     * object, in the objectIds order. No access log is written : objects reads that must be traced in the access log
+     * should use {@link #getContainerByCategory(String, String, DataCategory, AccessLogInfoModel)}.
+     *
+     * @param strategyId id of the strategy
+     * @param category category of the objects
+     * @param objectIds ids of the objects
+     * @return the multiplexed stream as a Response
+     * @throws StorageNotFoundException Thrown if any of the objects does not exist
+     * @throws StorageTechnicalException thrown if a technical error happened
+     */
+    Response bulkGetObjects(String strategyId, DataCategory category, List<String> objectIds)
+        throws StorageException;
+
     /**
      * Get a specific Object information
      *
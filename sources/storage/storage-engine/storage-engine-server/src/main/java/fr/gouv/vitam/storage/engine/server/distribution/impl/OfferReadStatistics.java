@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.storage.engine.server.distribution.impl;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
+import fr.gouv.vitam.storage.engine.common.referential.model.StorageOffer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live read statistics of the offers, used to route object reads to the fastest healthy offer.
+ *
+ * For each offer are kept an exponentially weighted moving average (EWMA) of the read latency and of the error rate,
+ * the number of reads in flight, and a latency timer whose percentiles give the delay after which a read is hedged.
+ * Everything is exposed in the metric registry under {@value #METRICS_PREFIX}.
+ */
+public class OfferReadStatistics {
+
+    static final String METRICS_PREFIX = "storage.offer.read";
+
+    /**
+     * Weight of the latest sample in the moving averages
+     */
+    private static final double EWMA_WEIGHT = 0.2;
+
+    /**
+     * Cost multiplier of an offer whose reads always fail
+     */
+    private static final double ERROR_COST_FACTOR = 10.0;
+
+    /**
+     * Statistics older than this are ignored, so that a previously slow or failing offer gets probed again
+     */
+    private static final long STATISTICS_VALIDITY_IN_NANOSECONDS = TimeUnit.MINUTES.toNanos(1);
+
+    private final MetricRegistry registry;
+    private final Map<String, OfferStatistics> statisticsByOffer = new ConcurrentHashMap<>();
+    private final Counter hedgedReads;
+    private final Counter hedgedReadsWonBySecondary;
+
+    public OfferReadStatistics(MetricRegistry registry) {
+        this.registry = registry;
+        this.hedgedReads = registry.counter(MetricRegistry.name(METRICS_PREFIX, "hedged"));
+        this.hedgedReadsWonBySecondary = registry.counter(MetricRegistry.name(METRICS_PREFIX, "hedgedWon"));
+    }
+
+    /**
+     * Sorts the offers by increasing read cost. The sort is stable : offers without recent statistics keep the
+     * strategy order, ahead of the others.
+     *
+     * @param storageOffers offers in strategy order
+     * @return a new list of the offers, cheapest first
+     */
+    public List<StorageOffer> sortByReadCost(List<StorageOffer> storageOffers) {
+        List<StorageOffer> sortedOffers = new ArrayList<>(storageOffers);
+        if (sortedOffers.size() > 1) {
+            long now = System.nanoTime();
+            Map<String, Double> costs = new HashMap<>();
+            for (StorageOffer storageOffer : sortedOffers) {
+                costs.put(storageOffer.getId(), getStatistics(storageOffer.getId()).getReadCost(now));
+            }
+            sortedOffers.sort(Comparator.comparingDouble(storageOffer -> costs.get(storageOffer.getId())));
+        }
+        return sortedOffers;
+    }
+
+    /**
+     * @param offerId the offer
+     * @return the start time of the read, to be given back to readSucceeded or readFailed
+     */
+    public long readStarted(String offerId) {
+        getStatistics(offerId).inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a read answered by the offer (not found answers included)
+     */
+    public void readSucceeded(String offerId, long startTime) {
+        getStatistics(offerId).readCompleted(startTime, false);
+    }
+
+    /**
+     * Records a read that failed on the offer side
+     */
+    public void readFailed(String offerId, long startTime) {
+        getStatistics(offerId).readCompleted(startTime, true);
+    }
+
+    /**
+     * @param offerId the offer
+     * @param percentile latency percentile (between 0 and 1) of the offer after which a read is hedged
+     * @param minDelayInMilliseconds lower bound of the delay, also used while no latency is known
+     * @return the delay after which a read to the offer should be hedged
+     */
+    public long getHedgingDelayInMilliseconds(String offerId, double percentile, long minDelayInMilliseconds) {
+        double latencyInNanoseconds = getStatistics(offerId).latency.getSnapshot().getValue(percentile);
+        return Math.max(minDelayInMilliseconds, TimeUnit.NANOSECONDS.toMillis((long) latencyInNanoseconds));
+    }
+
+    public void hedgedReadStarted() {
+        hedgedReads.inc();
+    }
+
+    public void hedgedReadWonBySecondary() {
+        hedgedReadsWonBySecondary.inc();
+    }
+
+    @VisibleForTesting
+    double getReadCost(String offerId) {
+        return getStatistics(offerId).getReadCost(System.nanoTime());
+    }
+
+    private OfferStatistics getStatistics(String offerId) {
+        return statisticsByOffer.computeIfAbsent(offerId, id -> new OfferStatistics(registry, id));
+    }
+
+    private static final class OfferStatistics {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Timer latency;
+        private final Meter errors;
+
+        private double averageLatencyInMilliseconds;
+        private double errorRate;
+        private long lastSampleTime;
+        private boolean hasSample;
+
+        private OfferStatistics(MetricRegistry registry, String offerId) {
+            latency = registry.timer(MetricRegistry.name(METRICS_PREFIX, offerId, "latency"));
+            errors = registry.meter(MetricRegistry.name(METRICS_PREFIX, offerId, "errors"));
+            registry.gauge(MetricRegistry.name(METRICS_PREFIX, offerId, "inFlight"),
+                () -> (Gauge<Integer>) inFlight::get);
+            registry.gauge(MetricRegistry.name(METRICS_PREFIX, offerId, "averageLatency"),
+                () -> (Gauge<Double>) this::getAverageLatencyInMilliseconds);
+            registry.gauge(MetricRegistry.name(METRICS_PREFIX, offerId, "errorRate"),
+                () -> (Gauge<Double>) this::getErrorRate);
+        }
+
+        private void readCompleted(long startTime, boolean error) {
+            long now = System.nanoTime();
+            long elapsed = now - startTime;
+            inFlight.decrementAndGet();
+            latency.update(elapsed, TimeUnit.NANOSECONDS);
+            if (error) {
+                errors.mark();
+            }
+
+            double elapsedInMilliseconds = elapsed / 1_000_000.0;
+            synchronized (this) {
+                if (hasSample) {
+                    averageLatencyInMilliseconds += EWMA_WEIGHT * (elapsedInMilliseconds - averageLatencyInMilliseconds);
+                    errorRate += EWMA_WEIGHT * ((error ? 1.0 : 0.0) - errorRate);
+                } else {
+                    averageLatencyInMilliseconds = elapsedInMilliseconds;
+                    errorRate = error ? 1.0 : 0.0;
+                    hasSample = true;
+                }
+                lastSampleTime = now;
+            }
+        }
+
+        private synchronized double getReadCost(long now) {
+            if (!hasSample || now - lastSampleTime > STATISTICS_VALIDITY_IN_NANOSECONDS) {
+                return 0.0;
+            }
+            return averageLatencyInMilliseconds * (1 + inFlight.get()) * (1 + ERROR_COST_FACTOR * errorRate);
+        }
+
+        private synchronized double getAverageLatencyInMilliseconds() {
+            return averageLatencyInMilliseconds;
+        }
+
+        private synchronized double getErrorRate() {
+            return errorRate;
+        }
+    }
+}
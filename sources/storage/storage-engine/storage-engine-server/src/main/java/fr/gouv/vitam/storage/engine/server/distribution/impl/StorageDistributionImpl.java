@@ -27,6 +27,7 @@
 
 package fr.gouv.vitam.storage.engine.server.distribution.impl;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -50,7 +51,9 @@ import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.model.RequestResponse;
 import fr.gouv.vitam.common.parameter.ParameterHelper;
 import fr.gouv.vitam.common.server.application.VitamHttpHeader;
+import fr.gouv.vitam.common.serverv2.application.CommonBusinessApplication;
 import fr.gouv.vitam.common.stream.MultiplePipedInputStream;
+import fr.gouv.vitam.common.stream.StreamUtils;
 import fr.gouv.vitam.common.stream.VitamAsyncInputStream;
 import fr.gouv.vitam.common.thread.VitamThreadFactory;
 import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
@@ -60,6 +63,8 @@ import fr.gouv.vitam.storage.driver.Driver;
 import fr.gouv.vitam.storage.driver.exception.StorageDriverConflictException;
 import fr.gouv.vitam.storage.driver.exception.StorageDriverException;
 import fr.gouv.vitam.storage.driver.exception.StorageDriverPreconditionFailedException;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetRequest;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetResult;
 import fr.gouv.vitam.storage.driver.model.StorageGetMetadataRequest;
 import fr.gouv.vitam.storage.driver.model.StorageGetResult;
 import fr.gouv.vitam.storage.driver.model.StorageListRequest;
@@ -115,12 +120,14 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -204,6 +211,10 @@ public class StorageDistributionImpl implements StorageDistribution {
     private final int batchDigestComputationTimeout;
     private final WorkspaceClientFactory workspaceClientFactory;
     private final BulkStorageDistribution bulkStorageDistribution;
+    private final OfferReadStatistics offerReadStatistics;
+    private final boolean readHedgingEnabled;
+    private final double readHedgingPercentile;
+    private final int readHedgingMinDelay;
 
     /**
      * Constructs the service with a given configuration
@@ -225,6 +236,10 @@ public class StorageDistributionImpl implements StorageDistribution {
         this.transfertTimeoutHelper = new TransfertTimeoutHelper(configuration.getTimeoutMsPerKB());
         this.bulkStorageDistribution = new BulkStorageDistribution(NB_RETRY, this.workspaceClientFactory,
             this.storageLogService, this.transfertTimeoutHelper);
+        this.offerReadStatistics = new OfferReadStatistics(CommonBusinessApplication.getBusinessMetricsRegistry());
+        this.readHedgingEnabled = configuration.isReadHedgingEnabled();
+        this.readHedgingPercentile = configuration.getReadHedgingPercentile();
+        this.readHedgingMinDelay = configuration.getReadHedgingMinDelay();
     }
 
     @VisibleForTesting
@@ -232,6 +247,17 @@ public class StorageDistributionImpl implements StorageDistribution {
         StorageLog storageLogService,
         ExecutorService batchExecutorService, int batchDigestComputationTimeout,
         BulkStorageDistribution bulkStorageDistribution) {
+        this(workspaceClientFactory, digestType, storageLogService, batchExecutorService,
+            batchDigestComputationTimeout, bulkStorageDistribution, new OfferReadStatistics(new MetricRegistry()),
+            false, 0.95, 100);
+    }
+
+    @VisibleForTesting
+    StorageDistributionImpl(WorkspaceClientFactory workspaceClientFactory, DigestType digestType,
+        StorageLog storageLogService,
+        ExecutorService batchExecutorService, int batchDigestComputationTimeout,
+        BulkStorageDistribution bulkStorageDistribution, OfferReadStatistics offerReadStatistics,
+        boolean readHedgingEnabled, double readHedgingPercentile, int readHedgingMinDelay) {
         urlWorkspace = null;
         this.transfertTimeoutHelper = new TransfertTimeoutHelper(100L);
         this.workspaceClientFactory = workspaceClientFactory;
@@ -240,6 +266,10 @@ public class StorageDistributionImpl implements StorageDistribution {
         this.batchExecutorService = batchExecutorService;
         this.batchDigestComputationTimeout = batchDigestComputationTimeout;
         this.bulkStorageDistribution = bulkStorageDistribution;
+        this.offerReadStatistics = offerReadStatistics;
+        this.readHedgingEnabled = readHedgingEnabled;
+        this.readHedgingPercentile = readHedgingPercentile;
+        this.readHedgingMinDelay = readHedgingMinDelay;
     }
 
     @Override
@@ -809,7 +839,8 @@ public class StorageDistributionImpl implements StorageDistribution {
         parameters.getMapParameters().put(StorageLogbookParameterName.agentIdentifiers, offers);
     }
 
-    private Driver retrieveDriverInternal(String offerId) throws StorageTechnicalException {
+    @VisibleForTesting
+    Driver retrieveDriverInternal(String offerId) throws StorageTechnicalException {
         try {
             return DriverManager.getDriverFor(offerId);
         } catch (final StorageDriverNotFoundException e) {
@@ -1155,7 +1186,8 @@ public class StorageDistributionImpl implements StorageDistribution {
     }
 
     /**
-     * getObjectResult.
+     * getObjectResult. Offers are tried by increasing read cost (see {@link OfferReadStatistics}), the strategy
+     * order breaking ties. When read hedging is enabled, the two cheapest offers are raced.
      *
      * @param tenantId tenantId
      * @param objectId objectID
@@ -1169,13 +1201,28 @@ public class StorageDistributionImpl implements StorageDistribution {
 
         throws StorageException {
 
-        StorageGetResult result;
+        List<StorageOffer> offersByReadCost = offerReadStatistics.sortByReadCost(storageOffers);
+        List<StorageOffer> remainingOffers = offersByReadCost;
         boolean offerOkNoBinary = false;
-        for (final StorageOffer storageOffer : storageOffers) {
-            final Driver driver = retrieveDriverInternal(storageOffer.getId());
-            try (Connection connection = driver.connect(storageOffer.getId())) {
-                final StorageObjectRequest request = new StorageObjectRequest(tenantId, type.getFolder(), objectId);
-                result = connection.getObject(request);
+        if (readHedgingEnabled && offersByReadCost.size() > 1) {
+            remainingOffers = offersByReadCost.subList(2, offersByReadCost.size());
+            try {
+                StorageGetResult result =
+                    hedgedRead(tenantId, objectId, type, offersByReadCost.get(0), offersByReadCost.get(1));
+                if (result != null) {
+                    return result;
+                }
+            } catch (final fr.gouv.vitam.storage.driver.exception.StorageDriverNotFoundException exc) {
+                LOGGER.warn(ERROR_WITH_THE_STORAGE_OBJECT_NOT_FOUND_TAKE_NEXT_OFFER_IN_STRATEGY_BY_PRIORITY, exc);
+                offerOkNoBinary = true;
+            } catch (final StorageDriverException exc) {
+                LOGGER.warn(ERROR_WITH_THE_STORAGE_TAKE_THE_NEXT_OFFER_IN_THE_STRATEGY_BY_PRIORITY, exc);
+            }
+        }
+
+        for (final StorageOffer storageOffer : remainingOffers) {
+            try {
+                StorageGetResult result = readObject(tenantId, objectId, type, storageOffer);
                 if (result.getObject() != null) {
                     return result;
                 }
@@ -1195,6 +1242,191 @@ public class StorageDistributionImpl implements StorageDistribution {
         }
     }
 
+    /**
+     * Reads an object from an offer, recording the read latency and outcome in the offer read statistics.
+     */
+    private StorageGetResult readObject(Integer tenantId, String objectId, DataCategory type,
+        StorageOffer storageOffer) throws StorageException, StorageDriverException {
+
+        final Driver driver = retrieveDriverInternal(storageOffer.getId());
+        final long startTime = offerReadStatistics.readStarted(storageOffer.getId());
+        final StorageGetResult result;
+        try (Connection connection = driver.connect(storageOffer.getId())) {
+            final StorageObjectRequest request = new StorageObjectRequest(tenantId, type.getFolder(), objectId);
+            result = connection.getObject(request);
+        } catch (final fr.gouv.vitam.storage.driver.exception.StorageDriverNotFoundException exc) {
+            // The offer answered : it is healthy
+            offerReadStatistics.readSucceeded(storageOffer.getId(), startTime);
+            throw exc;
+        } catch (final StorageDriverException | RuntimeException exc) {
+            offerReadStatistics.readFailed(storageOffer.getId(), startTime);
+            throw exc;
+        }
+        offerReadStatistics.readSucceeded(storageOffer.getId(), startTime);
+        return result;
+    }
+
+    private CompletableFuture<StorageGetResult> readObjectAsync(Integer tenantId, String objectId,
+        DataCategory type, StorageOffer storageOffer) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return readObject(tenantId, objectId, type, storageOffer);
+            } catch (StorageException | StorageDriverException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Reads an object from the primary offer. If the primary offer has not answered within its usual latency
+     * (the configured percentile), or has failed, the read is also sent to the secondary offer. The first response
+     * holding the object is returned, the other one is discarded.
+     *
+     * @return the object, or null if neither offer returned it
+     * @throws fr.gouv.vitam.storage.driver.exception.StorageDriverNotFoundException if an offer does not have the
+     * object
+     * @throws StorageDriverException if both offers failed
+     */
+    private StorageGetResult hedgedRead(Integer tenantId, String objectId, DataCategory type,
+        StorageOffer primaryOffer, StorageOffer secondaryOffer) throws StorageException, StorageDriverException {
+
+        final long hedgingDelay = offerReadStatistics
+            .getHedgingDelayInMilliseconds(primaryOffer.getId(), readHedgingPercentile, readHedgingMinDelay);
+
+        final CompletableFuture<StorageGetResult> primaryRead =
+            readObjectAsync(tenantId, objectId, type, primaryOffer);
+        final List<CompletableFuture<StorageGetResult>> pendingReads = new ArrayList<>();
+        pendingReads.add(primaryRead);
+
+        StorageDriverException notFoundException = null;
+        StorageDriverException lastException = null;
+        boolean secondaryStarted = false;
+        try {
+            while (!pendingReads.isEmpty()) {
+                waitForAnyRead(pendingReads, secondaryStarted ? 0L : hedgingDelay);
+
+                Iterator<CompletableFuture<StorageGetResult>> iterator = pendingReads.iterator();
+                while (iterator.hasNext()) {
+                    CompletableFuture<StorageGetResult> read = iterator.next();
+                    if (!read.isDone()) {
+                        continue;
+                    }
+                    iterator.remove();
+                    try {
+                        StorageGetResult result = read.join();
+                        if (result.getObject() != null) {
+                            if (read != primaryRead) {
+                                offerReadStatistics.hedgedReadWonBySecondary();
+                            }
+                            return result;
+                        }
+                    } catch (CompletionException e) {
+                        if (e.getCause() instanceof
+                            fr.gouv.vitam.storage.driver.exception.StorageDriverNotFoundException) {
+                            LOGGER.warn(ERROR_WITH_THE_STORAGE_OBJECT_NOT_FOUND_TAKE_NEXT_OFFER_IN_STRATEGY_BY_PRIORITY,
+                                e.getCause());
+                            notFoundException = (StorageDriverException) e.getCause();
+                        } else if (e.getCause() instanceof StorageDriverException) {
+                            LOGGER.warn(ERROR_WITH_THE_STORAGE_TAKE_THE_NEXT_OFFER_IN_THE_STRATEGY_BY_PRIORITY,
+                                e.getCause());
+                            lastException = (StorageDriverException) e.getCause();
+                        } else if (e.getCause() instanceof StorageException) {
+                            throw (StorageException) e.getCause();
+                        } else {
+                            throw new StorageTechnicalException(e.getCause());
+                        }
+                    }
+                }
+
+                if (!secondaryStarted) {
+                    // Primary offer slow or failed : read from the secondary one
+                    if (!pendingReads.isEmpty()) {
+                        offerReadStatistics.hedgedReadStarted();
+                    }
+                    pendingReads.add(readObjectAsync(tenantId, objectId, type, secondaryOffer));
+                    secondaryStarted = true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageTechnicalException(e);
+        } finally {
+            // Responses of the losing reads are no more needed
+            for (CompletableFuture<StorageGetResult> pendingRead : pendingReads) {
+                pendingRead.thenAccept(result -> StreamUtils.consumeAnyEntityAndClose(result.getObject()));
+            }
+        }
+
+        if (notFoundException != null) {
+            throw notFoundException;
+        }
+        if (lastException != null) {
+            throw lastException;
+        }
+        return null;
+    }
+
+    /**
+     * Waits until one of the reads is done, or the timeout has elapsed (no timeout if 0)
+     */
+    private void waitForAnyRead(List<CompletableFuture<StorageGetResult>> reads, long timeoutInMilliseconds)
+        throws InterruptedException {
+        CompletableFuture<Object> anyRead = CompletableFuture.anyOf(reads.toArray(new CompletableFuture[0]));
+        try {
+            if (timeoutInMilliseconds > 0L) {
+                anyRead.get(timeoutInMilliseconds, TimeUnit.MILLISECONDS);
+            } else {
+                anyRead.get();
+            }
+        } catch (ExecutionException | TimeoutException e) {
+            // Outcome of the reads handled by the caller
+        }
+    }
+
+    @Override
+    public Response bulkGetObjects(String strategyId, DataCategory category, List<String> objectIds)
+        throws StorageException {
+
+        // Check input params
+        Integer tenantId = ParameterHelper.getTenantParameter();
+        ParametersChecker.checkParameter(STRATEGY_ID_IS_MANDATORY, strategyId);
+        ParametersChecker.checkParameter(OBJECT_ID_IS_MANDATORY, objectIds);
+        ParametersChecker.checkParameter(OBJECT_ID_IS_MANDATORY, objectIds.toArray());
+
+        StorageStrategy storageStrategy = checkStrategy(strategyId);
+
+        List<StorageOffer> storageOffers = getOfferListFromHotStrategy(storageStrategy).stream()
+            .map(StorageDistributionImpl::apply)
+            // FIXME: Remove filter(StorageOffer::notAsyncRead) when adding cold strategy
+            .filter(StorageOffer::notAsyncRead)
+            .collect(Collectors.toList());
+
+        boolean offerOkNoBinary = false;
+        for (final StorageOffer storageOffer : offerReadStatistics.sortByReadCost(storageOffers)) {
+            final Driver driver = retrieveDriverInternal(storageOffer.getId());
+            try (Connection connection = driver.connect(storageOffer.getId())) {
+                final StorageBulkGetRequest request =
+                    new StorageBulkGetRequest(tenantId, category.getFolder(), objectIds);
+                StorageBulkGetResult result = connection.bulkGetObjects(request);
+                if (result.getObject() != null) {
+                    return result.getObject();
+                }
+            } catch (final fr.gouv.vitam.storage.driver.exception.StorageDriverNotFoundException exc) {
+                LOGGER.warn(ERROR_WITH_THE_STORAGE_OBJECT_NOT_FOUND_TAKE_NEXT_OFFER_IN_STRATEGY_BY_PRIORITY, exc);
+                offerOkNoBinary = true;
+            } catch (final StorageDriverException exc) {
+                LOGGER.warn(ERROR_WITH_THE_STORAGE_TAKE_THE_NEXT_OFFER_IN_THE_STRATEGY_BY_PRIORITY, exc);
+            }
+        }
+        if (offerOkNoBinary) {
+            throw new StorageNotFoundException(
+                VitamCodeHelper.getLogMessage(VitamCode.STORAGE_OBJECT_NOT_FOUND, objectIds));
+        } else {
+            LOGGER.error(VitamCodeHelper.getLogMessage(VitamCode.STORAGE_OFFER_NOT_FOUND));
+            throw new StorageTechnicalException(VitamCodeHelper.getLogMessage(VitamCode.STORAGE_OFFER_NOT_FOUND));
+        }
+    }
+
     @Override
     public JsonNode getContainerInformation(String strategyId, DataCategory type, String objectId,
         List<String> offerIds, boolean noCache)
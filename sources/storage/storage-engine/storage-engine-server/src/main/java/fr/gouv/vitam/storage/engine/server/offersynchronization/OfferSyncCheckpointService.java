@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.storage.engine.server.offersynchronization;
+
+import fr.gouv.vitam.common.exception.InvalidParseOperationException;
+import fr.gouv.vitam.common.json.JsonHandler;
+import fr.gouv.vitam.common.security.SafeFileChecker;
+import fr.gouv.vitam.common.thread.VitamThreadUtils;
+import fr.gouv.vitam.storage.engine.common.exception.StorageException;
+import fr.gouv.vitam.storage.engine.common.model.DataCategory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Durable checkpoints of offer synchronizations, so that a synchronization can be resumed from its last safe point
+ * after a restart.
+ *
+ * The status of the synchronization is stored as a json file, one per tenant, strategy, container, source offer and
+ * target offer. Checkpoints are disabled when no checkpoint directory is configured.
+ */
+public class OfferSyncCheckpointService {
+
+    private static final String CHECKPOINT_FILE_EXTENSION = ".json";
+    private static final String TMP_FILE_EXTENSION = ".tmp";
+
+    private final String checkpointDirectory;
+
+    /**
+     * @param checkpointDirectory the directory of the checkpoint files (null to disable checkpoints)
+     */
+    public OfferSyncCheckpointService(String checkpointDirectory) {
+        this.checkpointDirectory = checkpointDirectory;
+    }
+
+    /**
+     * Gets the last checkpoint of a synchronization for the current tenant
+     *
+     * @param sourceOffer the identifier of the source offer
+     * @param targetOffer the identifier of the target offer
+     * @param strategyId the strategy containing the two offers
+     * @param dataCategory the synchronized container
+     * @return the status of the synchronization at its last safe point, if any
+     * @throws StorageException on I/O or parsing error
+     */
+    public Optional<OfferSyncStatus> getCheckpoint(String sourceOffer, String targetOffer, String strategyId,
+        DataCategory dataCategory) throws StorageException {
+        if (checkpointDirectory == null) {
+            return Optional.empty();
+        }
+        File checkpointFile = getCheckpointFile(sourceOffer, targetOffer, strategyId, dataCategory.getCollectionName());
+        if (!checkpointFile.isFile()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(JsonHandler.getFromFile(checkpointFile, OfferSyncStatus.class));
+        } catch (InvalidParseOperationException e) {
+            throw new StorageException("Could not read offer synchronization checkpoint " + checkpointFile, e);
+        }
+    }
+
+    /**
+     * Saves the current status of a synchronization of the current tenant as its new checkpoint
+     *
+     * @param strategyId the strategy containing the two offers
+     * @param offerSyncStatus the status of the synchronization
+     * @throws StorageException on I/O error
+     */
+    public void saveCheckpoint(String strategyId, OfferSyncStatus offerSyncStatus) throws StorageException {
+        if (checkpointDirectory == null) {
+            return;
+        }
+        File checkpointFile = getCheckpointFile(offerSyncStatus.getSourceOffer(), offerSyncStatus.getTargetOffer(),
+            strategyId, offerSyncStatus.getContainer());
+        File tmpFile = new File(checkpointFile.getPath() + TMP_FILE_EXTENSION);
+        try {
+            Files.createDirectories(checkpointFile.getParentFile().toPath());
+            JsonHandler.writeAsFile(offerSyncStatus, tmpFile);
+            Files.move(tmpFile.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | InvalidParseOperationException e) {
+            throw new StorageException("Could not write offer synchronization checkpoint " + checkpointFile, e);
+        }
+    }
+
+    /**
+     * Deletes the checkpoint of a synchronization of the current tenant, once it is completed
+     *
+     * @param sourceOffer the identifier of the source offer
+     * @param targetOffer the identifier of the target offer
+     * @param strategyId the strategy containing the two offers
+     * @param dataCategory the synchronized container
+     * @throws StorageException on I/O error
+     */
+    public void deleteCheckpoint(String sourceOffer, String targetOffer, String strategyId,
+        DataCategory dataCategory) throws StorageException {
+        if (checkpointDirectory == null) {
+            return;
+        }
+        File checkpointFile = getCheckpointFile(sourceOffer, targetOffer, strategyId, dataCategory.getCollectionName());
+        try {
+            Files.deleteIfExists(checkpointFile.toPath());
+        } catch (IOException e) {
+            throw new StorageException("Could not delete offer synchronization checkpoint " + checkpointFile, e);
+        }
+    }
+
+    private File getCheckpointFile(String sourceOffer, String targetOffer, String strategyId, String container)
+        throws StorageException {
+        String fileName = String.join("_", Integer.toString(VitamThreadUtils.getVitamSession().getTenantId()),
+            strategyId, container, sourceOffer, targetOffer) + CHECKPOINT_FILE_EXTENSION;
+        try {
+            SafeFileChecker.checkSafeFilePath(checkpointDirectory, fileName);
+        } catch (IOException e) {
+            throw new StorageException("Invalid offer synchronization checkpoint file name " + fileName, e);
+        }
+        return new File(checkpointDirectory, fileName);
+    }
+}
@@ -26,11 +26,15 @@
  */
 package fr.gouv.vitam.storage.engine.server.offersynchronization;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.RateLimiter;
 import fr.gouv.vitam.common.LocalDateUtil;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.model.StatusCode;
+import fr.gouv.vitam.common.server.application.VitamHttpHeader;
 import fr.gouv.vitam.common.stream.StreamUtils;
 import fr.gouv.vitam.common.thread.VitamThreadFactory;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
@@ -45,18 +49,31 @@ import fr.gouv.vitam.storage.engine.server.exception.RuntimeStorageException;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 
 import javax.ws.rs.core.Response;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
  * Synchronization of a storage offer from another one.
+ *
+ * Offer log pages are pipelined : the next page is listed while the current one is synchronized, and up to
+ * offerSyncMaxPagesInProgress pages are synchronized at once, so that a large object does not stall the whole
+ * synchronization. Operations on a same object are still applied in the offer log order. The safe point offset is
+ * checkpointed each time all the operations of the oldest page in progress are done.
  */
 public class OfferSyncProcess {
 
@@ -65,25 +82,56 @@ public class OfferSyncProcess {
      */
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(OfferSyncProcess.class);
 
+    private static final int DEFAULT_MAX_PAGES_IN_PROGRESS = 2;
+
     private final RestoreOfferBackupService restoreOfferBackupService;
     private final StorageDistribution distribution;
+    private final OfferSyncCheckpointService offerSyncCheckpointService;
     private final int bulkSize;
     private final int offerSyncThreadPoolSize;
     private final int offerSyncNumberOfRetries;
     private final int offerSyncFirstAttemptWaitingTime;
     private final int offerSyncWaitingTime;
+    private final int offerSyncMaxPagesInProgress;
+    private final RateLimiter objectRateLimiter;
+    private final RateLimiter byteRateLimiter;
+
+    private final AtomicLong copiedObjects = new AtomicLong();
+    private final AtomicLong deletedObjects = new AtomicLong();
+    private final AtomicLong copiedBytes = new AtomicLong();
+    private final Stopwatch stopwatch = Stopwatch.createUnstarted();
 
     private OfferSyncStatus offerSyncStatus;
 
+    @VisibleForTesting
     public OfferSyncProcess(RestoreOfferBackupService restoreOfferBackupService, StorageDistribution distribution, int bulkSize, int offerSyncThreadPoolSize, int offerSyncNumberOfRetries, int offerSyncFirstAttemptWaitingTime, int offerSyncWaitingTime) {
+        this(restoreOfferBackupService, distribution, new OfferSyncCheckpointService(null), bulkSize,
+            offerSyncThreadPoolSize, offerSyncNumberOfRetries, offerSyncFirstAttemptWaitingTime, offerSyncWaitingTime,
+            DEFAULT_MAX_PAGES_IN_PROGRESS, 0, 0L);
+    }
+
+    /**
+     * @param offerSyncMaxObjectsPerSecond maximum number of objects copied or deleted per second (0 for no limit)
+     * @param offerSyncMaxBytesPerSecond maximum number of bytes copied per second (0 for no limit)
+     */
+    public OfferSyncProcess(RestoreOfferBackupService restoreOfferBackupService, StorageDistribution distribution,
+        OfferSyncCheckpointService offerSyncCheckpointService, int bulkSize, int offerSyncThreadPoolSize,
+        int offerSyncNumberOfRetries, int offerSyncFirstAttemptWaitingTime, int offerSyncWaitingTime,
+        int offerSyncMaxPagesInProgress, int offerSyncMaxObjectsPerSecond, long offerSyncMaxBytesPerSecond) {
         this.restoreOfferBackupService = restoreOfferBackupService;
         this.distribution = distribution;
+        this.offerSyncCheckpointService = offerSyncCheckpointService;
         this.bulkSize = bulkSize;
         this.offerSyncThreadPoolSize = offerSyncThreadPoolSize;
         this.offerSyncStatus = new OfferSyncStatus(VitamThreadUtils.getVitamSession().getRequestId(), StatusCode.UNKNOWN, null, null, null, null, null, null, null);
         this.offerSyncNumberOfRetries = offerSyncNumberOfRetries;
         this.offerSyncFirstAttemptWaitingTime = offerSyncFirstAttemptWaitingTime;
         this.offerSyncWaitingTime = offerSyncWaitingTime;
+        this.offerSyncMaxPagesInProgress = Math.max(1, offerSyncMaxPagesInProgress);
+        this.objectRateLimiter =
+            offerSyncMaxObjectsPerSecond > 0 ? RateLimiter.create(offerSyncMaxObjectsPerSecond) : null;
+        this.byteRateLimiter =
+            offerSyncMaxBytesPerSecond > 0 ? RateLimiter.create(offerSyncMaxBytesPerSecond) : null;
     }
 
     private static OfferLog getLastOfferLog(OfferLog offerLog1, OfferLog offerLog2) {
@@ -96,26 +144,60 @@ public class OfferSyncProcess {
      * @param sourceOffer the identifier of the source offer
      * @param targetOffer the identifier of the target offer
      * @param strategyId the strategy containing the two offers
-     * @param offset the offset of the process of the synchronisation
+     * @param offset the offset of the process of the synchronisation (null for a full synchronization)
      */
     public void synchronize(String sourceOffer, String targetOffer, String strategyId,
         DataCategory dataCategory, Long offset) {
+        synchronize(sourceOffer, targetOffer, strategyId, dataCategory, offset, false);
+    }
+
+    /**
+     * Synchronize an offer from another using the offset, or from the last checkpoint of an interrupted
+     * synchronization of the same offers and container. The checkpoint is deleted once the synchronization succeeds.
+     *
+     * @param sourceOffer the identifier of the source offer
+     * @param targetOffer the identifier of the target offer
+     * @param strategyId the strategy containing the two offers
+     * @param offset the offset of the process of the synchronisation (null for a full synchronization), used when
+     * not resuming or when there is no checkpoint
+     * @param resume true to resume from the last checkpoint, if any
+     */
+    public void synchronize(String sourceOffer, String targetOffer, String strategyId,
+        DataCategory dataCategory, Long offset, boolean resume) {
 
         this.offerSyncStatus = new OfferSyncStatus(
             VitamThreadUtils.getVitamSession().getRequestId(), StatusCode.UNKNOWN, getCurrentDate(), null,
             sourceOffer, targetOffer, dataCategory.getCollectionName(), offset, null);
+        this.copiedObjects.set(0L);
+        this.deletedObjects.set(0L);
+        this.copiedBytes.set(0L);
+        this.stopwatch.reset().start();
 
         ExecutorService executor = null;
+        ExecutorService listingExecutor = null;
         try {
             LOGGER.info(String.format(
                 "Start the synchronization process of the target offer {%s} from the source offer {%s} for category {%s}.",
                 targetOffer, sourceOffer, dataCategory));
 
+            Long startOffset = offset;
+            if (resume) {
+                Optional<OfferSyncStatus> checkpoint =
+                    offerSyncCheckpointService.getCheckpoint(sourceOffer, targetOffer, strategyId, dataCategory);
+                if (checkpoint.isPresent() && checkpoint.get().getCurrentOffset() != null) {
+                    startOffset = checkpoint.get().getCurrentOffset() + 1;
+                    this.offerSyncStatus.setStartOffset(startOffset);
+                    LOGGER.info(String.format("Resume offer synchronization from checkpoint offset %d", startOffset));
+                }
+            }
+
             executor = Executors.newFixedThreadPool(
                 this.offerSyncThreadPoolSize, VitamThreadFactory.getInstance());
+            listingExecutor = Executors.newSingleThreadExecutor(VitamThreadFactory.getInstance());
 
-            synchronize(executor, sourceOffer, targetOffer, strategyId, dataCategory, offset);
+            synchronize(executor, listingExecutor, sourceOffer, targetOffer, strategyId, dataCategory, startOffset);
             this.offerSyncStatus.setStatusCode(StatusCode.OK);
+            deleteCheckpoint(sourceOffer, targetOffer, strategyId, dataCategory);
 
         } catch (Throwable e) {
             this.offerSyncStatus.setStatusCode(StatusCode.KO);
@@ -123,10 +205,23 @@ public class OfferSyncProcess {
                 "[OfferSync]: An exception has been thrown when synchronizing {%s} offer from {%s} source offer with {%s} offset.",
                 targetOffer, sourceOffer, offset), e);
         } finally {
+            this.stopwatch.stop();
             this.offerSyncStatus.setEndDate(getCurrentDate());
             if (executor != null) {
                 executor.shutdown();
             }
+            if (listingExecutor != null) {
+                listingExecutor.shutdown();
+            }
+        }
+    }
+
+    private void deleteCheckpoint(String sourceOffer, String targetOffer, String strategyId,
+        DataCategory dataCategory) {
+        try {
+            offerSyncCheckpointService.deleteCheckpoint(sourceOffer, targetOffer, strategyId, dataCategory);
+        } catch (StorageException e) {
+            LOGGER.warn("Could not delete checkpoint of the completed offer synchronization", e);
         }
     }
 
@@ -134,32 +229,56 @@ public class OfferSyncProcess {
         return LocalDateUtil.getFormattedDateForMongo(LocalDateUtil.now());
     }
 
-    private void synchronize(ExecutorService executor, String sourceOffer, String targetOffer, String strategyId,
-        DataCategory dataCategory, Long startOffset) throws StorageException {
+    private void synchronize(ExecutorService executor, ExecutorService listingExecutor, String sourceOffer,
+        String targetOffer, String strategyId, DataCategory dataCategory, Long startOffset) throws StorageException {
+
+        Deque<OfferLogPage> pagesInProgress = new ArrayDeque<>();
+        Map<ImmutablePair<String, String>, CompletableFuture<Void>> lastObjectOperations = new HashMap<>();
 
         Long offset = startOffset;
-        while (true) {
-            // get the data to startSynchronization
-            List<OfferLog> rawOfferLogs = restoreOfferBackupService.getListing(
-                strategyId, sourceOffer, dataCategory, offset, bulkSize, Order.ASC);
+        try {
+            CompletableFuture<List<OfferLog>> listing =
+                getListingAsync(listingExecutor, strategyId, sourceOffer, dataCategory, offset);
+            while (true) {
+                // get the data to startSynchronization
+                List<OfferLog> rawOfferLogs = awaitListing(listing);
 
-            if (rawOfferLogs.isEmpty()) {
-                break;
-            }
+                if (rawOfferLogs.isEmpty()) {
+                    break;
+                }
+
+                long lastSequence = Iterables.getLast(rawOfferLogs).getSequence();
+                boolean isLastPage = rawOfferLogs.size() < bulkSize;
+                if (!isLastPage) {
+                    // Prefetch next page while the current one is synchronized
+                    listing = getListingAsync(listingExecutor, strategyId, sourceOffer, dataCategory, lastSequence + 1);
+                }
 
-            long lastSequence =
-                synchronizeOfferLogs(executor, sourceOffer, targetOffer, strategyId, dataCategory, rawOfferLogs,
-                    offset);
+                pagesInProgress.add(new OfferLogPage(offset, lastSequence,
+                    synchronizeOfferLogs(executor, sourceOffer, targetOffer, strategyId, dataCategory, rawOfferLogs,
+                        lastObjectOperations)));
 
-            this.offerSyncStatus.setCurrentOffset(lastSequence);
+                offset = lastSequence + 1;
 
-            offset = lastSequence + 1;
+                if (pagesInProgress.size() >= offerSyncMaxPagesInProgress) {
+                    completeOldestPage(pagesInProgress, lastObjectOperations, sourceOffer, targetOffer, strategyId,
+                        dataCategory);
+                }
 
-            LOGGER.info(String.format("Offer synchronization safe point offset : %s (from %s to %s for category %s)",
-                offset, sourceOffer, targetOffer, dataCategory));
+                if (isLastPage) {
+                    break;
+                }
+            }
+
+            while (!pagesInProgress.isEmpty()) {
+                completeOldestPage(pagesInProgress, lastObjectOperations, sourceOffer, targetOffer, strategyId,
+                    dataCategory);
+            }
 
-            if (rawOfferLogs.size() < bulkSize) {
-                break;
+        } finally {
+            // On error, do not release the synchronization while operations of other pages are still running
+            for (OfferLogPage page : pagesInProgress) {
+                awaitQuietly(page.getOperations().values());
             }
         }
 
@@ -167,9 +286,42 @@ public class OfferSyncProcess {
             startOffset, offset));
     }
 
-    private long synchronizeOfferLogs(ExecutorService executor, String sourceOffer,
-        String destinationOffer, String strategyId, DataCategory dataCategory, List<OfferLog> rawOfferLogs, Long offset)
-        throws StorageException {
+    private CompletableFuture<List<OfferLog>> getListingAsync(ExecutorService listingExecutor, String strategyId,
+        String sourceOffer, DataCategory dataCategory, Long offset) {
+
+        int tenantId = VitamThreadUtils.getVitamSession().getTenantId();
+        String requestId = VitamThreadUtils.getVitamSession().getRequestId();
+
+        return CompletableFuture.supplyAsync(() -> {
+            VitamThreadUtils.getVitamSession().setTenantId(tenantId);
+            VitamThreadUtils.getVitamSession().setRequestId(requestId);
+            try {
+                return restoreOfferBackupService.getListing(
+                    strategyId, sourceOffer, dataCategory, offset, bulkSize, Order.ASC);
+            } catch (StorageException e) {
+                throw new CompletionException(e);
+            }
+        }, listingExecutor);
+    }
+
+    private List<OfferLog> awaitListing(CompletableFuture<List<OfferLog>> listing) throws StorageException {
+        try {
+            return listing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof StorageException) {
+                throw (StorageException) e.getCause();
+            }
+            throw new StorageException(e.getCause());
+        }
+    }
+
+    private Map<ImmutablePair<String, String>, CompletableFuture<Void>> synchronizeOfferLogs(
+        ExecutorService executor, String sourceOffer, String destinationOffer, String strategyId,
+        DataCategory dataCategory, List<OfferLog> rawOfferLogs,
+        Map<ImmutablePair<String, String>, CompletableFuture<Void>> lastObjectOperations) {
 
         int tenantId = VitamThreadUtils.getVitamSession().getTenantId();
         String requestId = VitamThreadUtils.getVitamSession().getRequestId();
@@ -177,38 +329,62 @@ public class OfferSyncProcess {
         // Deduplicate entries (on duplication, keep last only)
         Collection<OfferLog> offerLogs = removeDuplicates(rawOfferLogs);
 
-        List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
+        Map<ImmutablePair<String, String>, CompletableFuture<Void>> completableFutures = new LinkedHashMap<>();
         for (OfferLog offerLog : offerLogs) {
 
+            Runnable operation;
             switch (offerLog.getAction()) {
                 case WRITE:
-                    Runnable copy = () -> copyObject(sourceOffer, destinationOffer, dataCategory, offerLog, tenantId, strategyId, requestId);
-                    completableFutures.add(CompletableFuture.runAsync(RetryableRunnable.from(offerSyncNumberOfRetries, copy, offerSyncFirstAttemptWaitingTime, offerSyncWaitingTime), executor));
+                    operation = () -> copyObject(sourceOffer, destinationOffer, dataCategory, offerLog, tenantId, strategyId, requestId);
                     break;
                 case DELETE:
-                    Runnable delete = () -> deleteObject(destinationOffer, dataCategory, offerLog, tenantId, strategyId, requestId);
-                    completableFutures.add(CompletableFuture.runAsync(RetryableRunnable.from(offerSyncNumberOfRetries, delete, offerSyncFirstAttemptWaitingTime, offerSyncWaitingTime), executor));
+                    operation = () -> deleteObject(destinationOffer, dataCategory, offerLog, tenantId, strategyId, requestId);
                     break;
                 default:
                     throw new UnsupportedOperationException("Unknown offer log action " + offerLog.getAction());
             }
+            Runnable retryableOperation = RetryableRunnable.from(offerSyncNumberOfRetries, operation, offerSyncFirstAttemptWaitingTime, offerSyncWaitingTime);
+
+            // An object updated in successive pages in progress is synchronized in the offer log order
+            ImmutablePair<String, String> objectKey =
+                new ImmutablePair<>(offerLog.getContainer(), offerLog.getFileName());
+            CompletableFuture<Void> previousOperation = lastObjectOperations.get(objectKey);
+            CompletableFuture<Void> completableFuture = previousOperation == null ?
+                CompletableFuture.runAsync(retryableOperation, executor) :
+                previousOperation.handle((result, e) -> null).thenRunAsync(retryableOperation, executor);
+
+            lastObjectOperations.put(objectKey, completableFuture);
+            completableFutures.put(objectKey, completableFuture);
         }
+        return completableFutures;
+    }
+
+    private void completeOldestPage(Deque<OfferLogPage> pagesInProgress,
+        Map<ImmutablePair<String, String>, CompletableFuture<Void>> lastObjectOperations, String sourceOffer,
+        String destinationOffer, String strategyId, DataCategory dataCategory) throws StorageException {
 
-        boolean allSucceeded = awaitCompletion(completableFutures);
+        OfferLogPage page = pagesInProgress.peek();
+        boolean allSucceeded = awaitCompletion(page.getOperations().values());
 
         if (!allSucceeded) {
             throw new StorageException(
                 "Error(s) occurred during offer synchronization " + sourceOffer + " > " + destinationOffer +
-                    " for container " + dataCategory + " at start offset " + offset);
+                    " for container " + dataCategory + " at start offset " + page.getStartOffset());
         }
 
-        long lastSequence = Iterables.getLast(rawOfferLogs).getSequence();
+        pagesInProgress.poll();
+        page.getOperations().forEach(lastObjectOperations::remove);
+
+        this.offerSyncStatus.setCurrentOffset(page.getLastSequence());
+        offerSyncCheckpointService.saveCheckpoint(strategyId, getOfferSyncStatus());
+
+        LOGGER.info(String.format("Offer synchronization safe point offset : %s (from %s to %s for category %s)",
+            page.getLastSequence() + 1, sourceOffer, destinationOffer, dataCategory));
         LOGGER.info("[OfferSync]: successful synchronization of dataCategory : {}, tenant : {}, offset : {}",
-            dataCategory, tenantId, lastSequence);
-        return lastSequence;
+            dataCategory, VitamThreadUtils.getVitamSession().getTenantId(), page.getLastSequence());
     }
 
-    private boolean awaitCompletion(List<CompletableFuture<Void>> completableFutures) throws StorageException {
+    private boolean awaitCompletion(Collection<CompletableFuture<Void>> completableFutures) throws StorageException {
         boolean allSucceeded = true;
         for (CompletableFuture<Void> completableFuture : completableFutures) {
             try {
@@ -224,6 +400,19 @@ public class OfferSyncProcess {
         return allSucceeded;
     }
 
+    private void awaitQuietly(Collection<CompletableFuture<Void>> completableFutures) {
+        for (CompletableFuture<Void> completableFuture : completableFutures) {
+            try {
+                completableFuture.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                LOGGER.debug(e);
+            }
+        }
+    }
+
     private void copyObject(String sourceOffer, String destinationOffer, DataCategory dataCategory,
         OfferLog offerLog, int tenant, String strategyId, String requestId) {
 
@@ -240,13 +429,25 @@ public class OfferSyncProcess {
             LOGGER.debug("Copying object " + offerLog.getContainer() + "/" + offerLog.getFileName() + " from offer " +
                 sourceOffer + " to offer " + destinationOffer);
 
+            if (objectRateLimiter != null) {
+                objectRateLimiter.acquire();
+            }
+
             resp = distribution
                 .getContainerByCategory(strategyId, offerLog.getFileName(), dataCategory,
                     sourceOffer);
 
+            long size = getSize(resp);
+
             distribution.storeDataInOffers(strategyId, offerLog.getFileName(),
                 dataCategory, null, Collections.singletonList(destinationOffer), resp);
 
+            copiedObjects.incrementAndGet();
+            copiedBytes.addAndGet(size);
+
+            // Bandwidth is paid once the copy is done, so that no source connection stays idle while throttled
+            acquireBytes(size);
+
         } catch (StorageNotFoundException e) {
             LOGGER.debug("File not found", e);
             LOGGER.warn("File " + sourceOffer + " not found on " + sourceOffer + ". File deleted meanwhile?");
@@ -260,6 +461,31 @@ public class OfferSyncProcess {
         }
     }
 
+    private long getSize(Response response) {
+        String size = response.getHeaderString(VitamHttpHeader.X_CONTENT_LENGTH.getName());
+        if (size == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(size);
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid object size " + size, e);
+            return 0L;
+        }
+    }
+
+    private void acquireBytes(long size) {
+        if (byteRateLimiter == null) {
+            return;
+        }
+        long remainingBytes = size;
+        while (remainingBytes > 0) {
+            int permits = (int) Math.min(remainingBytes, Integer.MAX_VALUE);
+            byteRateLimiter.acquire(permits);
+            remainingBytes -= permits;
+        }
+    }
+
     private void deleteObject(String destinationOffer, DataCategory dataCategory, OfferLog offerLog, int tenant,
         String strategyId,
         String requestId) {
@@ -272,11 +498,17 @@ public class OfferSyncProcess {
             LOGGER.debug("Deleting object " + offerLog.getContainer() + "/" + offerLog.getFileName() + " from offer " +
                 destinationOffer);
 
+            if (objectRateLimiter != null) {
+                objectRateLimiter.acquire();
+            }
+
             DataContext context = new DataContext(
                 offerLog.getFileName(), dataCategory, null, tenant, strategyId);
 
             distribution.deleteObjectInOffers(strategyId, context, Collections.singletonList(destinationOffer));
 
+            deletedObjects.incrementAndGet();
+
         } catch (StorageException e) {
             throw new RuntimeStorageException("An error occurred during deleting '" + offerLog.getContainer() + "/" +
                 offerLog.getFileName() + "' from " + destinationOffer, e);
@@ -299,6 +531,43 @@ public class OfferSyncProcess {
     }
 
     public OfferSyncStatus getOfferSyncStatus() {
+        long elapsedSeconds = stopwatch.elapsed(TimeUnit.SECONDS);
+        offerSyncStatus.setCopiedObjects(copiedObjects.get());
+        offerSyncStatus.setDeletedObjects(deletedObjects.get());
+        offerSyncStatus.setCopiedBytes(copiedBytes.get());
+        if (elapsedSeconds > 0) {
+            offerSyncStatus.setObjectsPerSecond((copiedObjects.get() + deletedObjects.get()) / elapsedSeconds);
+            offerSyncStatus.setBytesPerSecond(copiedBytes.get() / elapsedSeconds);
+        }
         return offerSyncStatus;
     }
+
+    /**
+     * Operations of an offer log page being synchronized
+     */
+    private static class OfferLogPage {
+
+        private final Long startOffset;
+        private final long lastSequence;
+        private final Map<ImmutablePair<String, String>, CompletableFuture<Void>> operations;
+
+        OfferLogPage(Long startOffset, long lastSequence,
+            Map<ImmutablePair<String, String>, CompletableFuture<Void>> operations) {
+            this.startOffset = startOffset;
+            this.lastSequence = lastSequence;
+            this.operations = operations;
+        }
+
+        Long getStartOffset() {
+            return startOffset;
+        }
+
+        long getLastSequence() {
+            return lastSequence;
+        }
+
+        Map<ImmutablePair<String, String>, CompletableFuture<Void>> getOperations() {
+            return operations;
+        }
+    }
 }
@@ -54,6 +54,10 @@ public class OfferSyncService {
     private final int offerSyncNumberOfRetries;
     private final int offerSyncFirstAttemptWaitingTime;
     private final int offerSyncWaitingTime;
+    private final OfferSyncCheckpointService offerSyncCheckpointService;
+    private final int offerSyncMaxPagesInProgress;
+    private final int offerSyncMaxObjectsPerSecond;
+    private final long offerSyncMaxBytesPerSecond;
 
     private final AtomicReference<OfferSyncProcess> lastOfferSyncService = new AtomicReference<>(null);
 
@@ -68,7 +72,11 @@ public class OfferSyncService {
             storageConfiguration.getOfferSyncThreadPoolSize(),
             storageConfiguration.getOfferSyncNumberOfRetries(),
             storageConfiguration.getOfferSyncFirstAttemptWaitingTime(),
-            storageConfiguration.getOfferSyncWaitingTime()
+            storageConfiguration.getOfferSyncWaitingTime(),
+            new OfferSyncCheckpointService(storageConfiguration.getOfferSyncCheckpointDirectory()),
+            storageConfiguration.getOfferSyncMaxPagesInProgress(),
+            storageConfiguration.getOfferSyncMaxObjectsPerSecond(),
+            storageConfiguration.getOfferSyncMaxBytesPerSecond()
         );
     }
 
@@ -79,6 +87,16 @@ public class OfferSyncService {
     OfferSyncService(
         RestoreOfferBackupService restoreOfferBackupService,
         StorageDistribution distribution, int bulkSize, int offerSyncThreadPoolSize, int offerSyncNumberOfRetries, int offerSyncFirstAttemptWaitingTime, int offerSyncWaitingTime) {
+        this(restoreOfferBackupService, distribution, bulkSize, offerSyncThreadPoolSize, offerSyncNumberOfRetries,
+            offerSyncFirstAttemptWaitingTime, offerSyncWaitingTime, new OfferSyncCheckpointService(null), 2, 0, 0L);
+    }
+
+    private OfferSyncService(
+        RestoreOfferBackupService restoreOfferBackupService,
+        StorageDistribution distribution, int bulkSize, int offerSyncThreadPoolSize, int offerSyncNumberOfRetries,
+        int offerSyncFirstAttemptWaitingTime, int offerSyncWaitingTime,
+        OfferSyncCheckpointService offerSyncCheckpointService, int offerSyncMaxPagesInProgress,
+        int offerSyncMaxObjectsPerSecond, long offerSyncMaxBytesPerSecond) {
         this.restoreOfferBackupService = restoreOfferBackupService;
         this.distribution = distribution;
         this.bulkSize = bulkSize;
@@ -86,6 +104,10 @@ public class OfferSyncService {
         this.offerSyncNumberOfRetries = offerSyncNumberOfRetries;
         this.offerSyncFirstAttemptWaitingTime = offerSyncFirstAttemptWaitingTime;
         this.offerSyncWaitingTime = offerSyncWaitingTime;
+        this.offerSyncCheckpointService = offerSyncCheckpointService;
+        this.offerSyncMaxPagesInProgress = offerSyncMaxPagesInProgress;
+        this.offerSyncMaxObjectsPerSecond = offerSyncMaxObjectsPerSecond;
+        this.offerSyncMaxBytesPerSecond = offerSyncMaxBytesPerSecond;
     }
 
     /**
@@ -94,10 +116,26 @@ public class OfferSyncService {
      * @param sourceOffer the identifier of the source offer
      * @param targetOffer the identifier of the target offer
      * @param strategyId the identifier of the strategy containing the two offers
-     * @param offset the offset of the process of the synchronisation
+     * @param offset the offset of the process of the synchronisation (null for a full synchronization)
      */
     public boolean startSynchronization(String sourceOffer, String targetOffer, String strategyId,
         DataCategory dataCategory, Long offset) {
+        return startSynchronization(sourceOffer, targetOffer, strategyId, dataCategory, offset, false);
+    }
+
+    /**
+     * Synchronize an offer from another using the offset, or from the last checkpoint of an interrupted
+     * synchronization.
+     *
+     * @param sourceOffer the identifier of the source offer
+     * @param targetOffer the identifier of the target offer
+     * @param strategyId the identifier of the strategy containing the two offers
+     * @param offset the offset of the process of the synchronisation (null for a full synchronization), used when
+     * not resuming or when there is no checkpoint
+     * @param resume true to resume from the last checkpoint, if any
+     */
+    public boolean startSynchronization(String sourceOffer, String targetOffer, String strategyId,
+        DataCategory dataCategory, Long offset, boolean resume) {
 
         OfferSyncProcess offerSyncProcess = createOfferSyncProcess();
 
@@ -118,17 +156,19 @@ public class OfferSyncService {
             "Start the synchronization process of the new offer {%s} from the source offer {%s} fro category {%s}.",
             targetOffer, sourceOffer, dataCategory));
 
-        runSynchronizationAsync(sourceOffer, targetOffer, strategyId, dataCategory, offset, offerSyncProcess);
+        runSynchronizationAsync(sourceOffer, targetOffer, strategyId, dataCategory, offset, resume, offerSyncProcess);
 
         return true;
     }
 
     OfferSyncProcess createOfferSyncProcess() {
-        return new OfferSyncProcess(restoreOfferBackupService, distribution, bulkSize, offerSyncThreadPoolSize, offerSyncNumberOfRetries, offerSyncFirstAttemptWaitingTime, offerSyncWaitingTime);
+        return new OfferSyncProcess(restoreOfferBackupService, distribution, offerSyncCheckpointService, bulkSize,
+            offerSyncThreadPoolSize, offerSyncNumberOfRetries, offerSyncFirstAttemptWaitingTime, offerSyncWaitingTime,
+            offerSyncMaxPagesInProgress, offerSyncMaxObjectsPerSecond, offerSyncMaxBytesPerSecond);
     }
 
     void runSynchronizationAsync(String sourceOffer, String targetOffer, String strategyId, DataCategory dataCategory, Long offset,
-        OfferSyncProcess offerSyncProcess) {
+        boolean resume, OfferSyncProcess offerSyncProcess) {
 
         int tenantId = VitamThreadUtils.getVitamSession().getTenantId();
         String requestId = VitamThreadUtils.getVitamSession().getRequestId();
@@ -139,7 +179,7 @@ public class OfferSyncService {
                     VitamThreadUtils.getVitamSession().setTenantId(tenantId);
                     VitamThreadUtils.getVitamSession().setRequestId(requestId);
 
-                    offerSyncProcess.synchronize(sourceOffer, targetOffer, strategyId, dataCategory, offset);
+                    offerSyncProcess.synchronize(sourceOffer, targetOffer, strategyId, dataCategory, offset, resume);
                 } catch (Exception e) {
                     LOGGER.error("An error occurred during synchronization process execution", e);
                 }
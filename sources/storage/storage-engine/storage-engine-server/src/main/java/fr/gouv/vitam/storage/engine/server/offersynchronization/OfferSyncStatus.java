@@ -49,6 +49,16 @@ public class OfferSyncStatus {
     private Long startOffset;
     @JsonProperty("currentOffset")
     private Long currentOffset;
+    @JsonProperty("copiedObjects")
+    private Long copiedObjects;
+    @JsonProperty("deletedObjects")
+    private Long deletedObjects;
+    @JsonProperty("copiedBytes")
+    private Long copiedBytes;
+    @JsonProperty("objectsPerSecond")
+    private Long objectsPerSecond;
+    @JsonProperty("bytesPerSecond")
+    private Long bytesPerSecond;
 
     public OfferSyncStatus() {
         // Empty constructor for deserialization
@@ -111,6 +121,11 @@ public class OfferSyncStatus {
         return startOffset;
     }
 
+    public OfferSyncStatus setStartOffset(Long startOffset) {
+        this.startOffset = startOffset;
+        return this;
+    }
+
     public Long getCurrentOffset() {
         return currentOffset;
     }
@@ -129,4 +144,49 @@ public class OfferSyncStatus {
         this.statusCode = statusCode;
         return this;
     }
+
+    public Long getCopiedObjects() {
+        return copiedObjects;
+    }
+
+    public OfferSyncStatus setCopiedObjects(Long copiedObjects) {
+        this.copiedObjects = copiedObjects;
+        return this;
+    }
+
+    public Long getDeletedObjects() {
+        return deletedObjects;
+    }
+
+    public OfferSyncStatus setDeletedObjects(Long deletedObjects) {
+        this.deletedObjects = deletedObjects;
+        return this;
+    }
+
+    public Long getCopiedBytes() {
+        return copiedBytes;
+    }
+
+    public OfferSyncStatus setCopiedBytes(Long copiedBytes) {
+        this.copiedBytes = copiedBytes;
+        return this;
+    }
+
+    public Long getObjectsPerSecond() {
+        return objectsPerSecond;
+    }
+
+    public OfferSyncStatus setObjectsPerSecond(Long objectsPerSecond) {
+        this.objectsPerSecond = objectsPerSecond;
+        return this;
+    }
+
+    public Long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    public OfferSyncStatus setBytesPerSecond(Long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        return this;
+    }
 }
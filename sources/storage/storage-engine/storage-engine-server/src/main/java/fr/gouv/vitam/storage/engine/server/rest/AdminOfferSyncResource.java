@@ -123,7 +123,7 @@ public class AdminOfferSyncResource {
 
         boolean started = offerSyncService
             .startSynchronization(offerSyncRequest.getSourceOffer(), offerSyncRequest.getTargetOffer(), offerSyncRequest.getStrategyId(), dataCategory,
-                offerSyncRequest.getOffset());
+                offerSyncRequest.getOffset(), offerSyncRequest.isResume());
 
         Response.Status status;
         if (started) {
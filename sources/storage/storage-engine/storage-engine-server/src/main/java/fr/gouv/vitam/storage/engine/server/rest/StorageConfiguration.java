@@ -49,6 +49,14 @@ public final class StorageConfiguration extends DefaultVitamApplicationConfigura
     private int offerSyncNumberOfRetries = 3;
     private int offerSyncFirstAttemptWaitingTime = 15;
     private int offerSyncWaitingTime = 30;
+    private int offerSyncMaxPagesInProgress = 2;
+    private int offerSyncMaxObjectsPerSecond = 0;
+    private long offerSyncMaxBytesPerSecond = 0L;
+    private String offerSyncCheckpointDirectory;
+
+    private boolean readHedgingEnabled = false;
+    private double readHedgingPercentile = 0.95;
+    private int readHedgingMinDelay = 100;
 
     /**
      * StorageConfiguration empty constructor for YAMLFactory
@@ -254,4 +262,60 @@ public final class StorageConfiguration extends DefaultVitamApplicationConfigura
     public void setOfferSyncWaitingTime(int offerSyncWaitingTime) {
         this.offerSyncWaitingTime = offerSyncWaitingTime;
     }
+
+    public int getOfferSyncMaxPagesInProgress() {
+        return offerSyncMaxPagesInProgress;
+    }
+
+    public void setOfferSyncMaxPagesInProgress(int offerSyncMaxPagesInProgress) {
+        this.offerSyncMaxPagesInProgress = offerSyncMaxPagesInProgress;
+    }
+
+    public int getOfferSyncMaxObjectsPerSecond() {
+        return offerSyncMaxObjectsPerSecond;
+    }
+
+    public void setOfferSyncMaxObjectsPerSecond(int offerSyncMaxObjectsPerSecond) {
+        this.offerSyncMaxObjectsPerSecond = offerSyncMaxObjectsPerSecond;
+    }
+
+    public long getOfferSyncMaxBytesPerSecond() {
+        return offerSyncMaxBytesPerSecond;
+    }
+
+    public void setOfferSyncMaxBytesPerSecond(long offerSyncMaxBytesPerSecond) {
+        this.offerSyncMaxBytesPerSecond = offerSyncMaxBytesPerSecond;
+    }
+
+    public String getOfferSyncCheckpointDirectory() {
+        return offerSyncCheckpointDirectory;
+    }
+
+    public void setOfferSyncCheckpointDirectory(String offerSyncCheckpointDirectory) {
+        this.offerSyncCheckpointDirectory = offerSyncCheckpointDirectory;
+    }
+
+    public boolean isReadHedgingEnabled() {
+        return readHedgingEnabled;
+    }
+
+    public void setReadHedgingEnabled(boolean readHedgingEnabled) {
+        this.readHedgingEnabled = readHedgingEnabled;
+    }
+
+    public double getReadHedgingPercentile() {
+        return readHedgingPercentile;
+    }
+
+    public void setReadHedgingPercentile(double readHedgingPercentile) {
+        this.readHedgingPercentile = readHedgingPercentile;
+    }
+
+    public int getReadHedgingMinDelay() {
+        return readHedgingMinDelay;
+    }
+
+    public void setReadHedgingMinDelay(int readHedgingMinDelay) {
+        this.readHedgingMinDelay = readHedgingMinDelay;
+    }
 }
@@ -39,6 +39,7 @@ import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -519,6 +520,48 @@ public class StorageResource extends ApplicationStatusResource implements VitamA
         return buildErrorResponse(vitamCode);
     }
 
+    /**
+     * Get objects data as a multiplexed stream (a json header entry with objects ids, sizes and digests, followed
+     * by objects data entries)
+     *
+     * @param headers http header
+     * @param type the category of the objects
+     * @param objectIds the ids of the objects
+     * @return the multiplexed stream
+     */
+    @Path("/bulk/{type}")
+    @GET
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public Response bulkGetObjects(@Context HttpHeaders headers, @PathParam("type") DataCategory type,
+        List<String> objectIds) {
+        VitamCode vitamCode = checkTenantAndHeaders(headers, VitamHttpHeader.STRATEGY_ID);
+        if (vitamCode != null) {
+            return buildErrorResponse(vitamCode);
+        }
+        if (objectIds == null || objectIds.isEmpty()) {
+            return badRequestResponse("Missing object ids");
+        }
+        String strategyId = HttpHeaderHelper.getHeaderValues(headers, VitamHttpHeader.STRATEGY_ID).get(0);
+
+        try {
+            Response response = distribution.bulkGetObjects(strategyId, type, objectIds);
+            Map<String, String> responseHeaders = new HashMap<>();
+            String size = response.getHeaderString(VitamHttpHeader.X_CONTENT_LENGTH.getName());
+            if (size != null) {
+                responseHeaders.put(VitamHttpHeader.X_CONTENT_LENGTH.getName(), size);
+            }
+            return new VitamAsyncInputStreamResponse(response, Status.OK, responseHeaders);
+        } catch (final StorageNotFoundException exc) {
+            LOGGER.error(exc);
+            vitamCode = VitamCode.STORAGE_NOT_FOUND;
+        } catch (final StorageException exc) {
+            LOGGER.error(exc);
+            vitamCode = VitamCode.STORAGE_TECHNICAL_INTERNAL_ERROR;
+        }
+        return buildErrorResponse(vitamCode);
+    }
+
     /**
      * Get colection data.
      *
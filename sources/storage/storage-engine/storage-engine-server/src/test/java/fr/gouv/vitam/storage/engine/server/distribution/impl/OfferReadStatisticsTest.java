@@ -0,0 +1,127 @@
+package fr.gouv.vitam.storage.engine.server.distribution.impl;
+
+import com.codahale.metrics.MetricRegistry;
+import fr.gouv.vitam.storage.engine.common.referential.model.StorageOffer;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OfferReadStatisticsTest {
+
+    @Test
+    public void should_keep_strategy_order_when_no_statistics() {
+
+        // Given
+        OfferReadStatistics offerReadStatistics = new OfferReadStatistics(new MetricRegistry());
+
+        // When
+        List<StorageOffer> offers = offerReadStatistics.sortByReadCost(offers("offer1", "offer2", "offer3"));
+
+        // Then
+        assertThat(ids(offers)).containsExactly("offer1", "offer2", "offer3");
+    }
+
+    @Test
+    public void should_sort_offers_by_read_latency() throws Exception {
+
+        // Given
+        OfferReadStatistics offerReadStatistics = new OfferReadStatistics(new MetricRegistry());
+        read(offerReadStatistics, "offer1", 50L, false);
+        read(offerReadStatistics, "offer2", 5L, false);
+
+        // When
+        List<StorageOffer> offers = offerReadStatistics.sortByReadCost(offers("offer1", "offer2", "offer3"));
+
+        // Then : offer3 (unknown) is probed first
+        assertThat(ids(offers)).containsExactly("offer3", "offer2", "offer1");
+    }
+
+    @Test
+    public void should_penalize_failing_offers() throws Exception {
+
+        // Given
+        OfferReadStatistics offerReadStatistics = new OfferReadStatistics(new MetricRegistry());
+        read(offerReadStatistics, "offer1", 5L, true);
+        read(offerReadStatistics, "offer2", 20L, false);
+
+        // When
+        List<StorageOffer> offers = offerReadStatistics.sortByReadCost(offers("offer1", "offer2"));
+
+        // Then
+        assertThat(ids(offers)).containsExactly("offer2", "offer1");
+    }
+
+    @Test
+    public void should_penalize_offers_with_reads_in_flight() throws Exception {
+
+        // Given
+        OfferReadStatistics offerReadStatistics = new OfferReadStatistics(new MetricRegistry());
+        read(offerReadStatistics, "offer1", 10L, false);
+        read(offerReadStatistics, "offer2", 10L, false);
+        double initialCost = offerReadStatistics.getReadCost("offer1");
+
+        // When
+        offerReadStatistics.readStarted("offer1");
+
+        // Then
+        assertThat(offerReadStatistics.getReadCost("offer1")).isGreaterThan(initialCost);
+        assertThat(ids(offerReadStatistics.sortByReadCost(offers("offer1", "offer2"))))
+            .containsExactly("offer2", "offer1");
+    }
+
+    @Test
+    public void should_hedge_after_min_delay_when_latency_unknown() {
+
+        // Given
+        OfferReadStatistics offerReadStatistics = new OfferReadStatistics(new MetricRegistry());
+
+        // When / Then
+        assertThat(offerReadStatistics.getHedgingDelayInMilliseconds("offer1", 0.95, 100L)).isEqualTo(100L);
+    }
+
+    @Test
+    public void should_expose_metrics() throws Exception {
+
+        // Given
+        MetricRegistry registry = new MetricRegistry();
+        OfferReadStatistics offerReadStatistics = new OfferReadStatistics(registry);
+
+        // When
+        read(offerReadStatistics, "offer1", 1L, true);
+        offerReadStatistics.hedgedReadStarted();
+
+        // Then
+        assertThat(registry.timer("storage.offer.read.offer1.latency").getCount()).isEqualTo(1L);
+        assertThat(registry.meter("storage.offer.read.offer1.errors").getCount()).isEqualTo(1L);
+        assertThat(registry.counter("storage.offer.read.hedged").getCount()).isEqualTo(1L);
+        assertThat(registry.getGauges()).containsKeys("storage.offer.read.offer1.inFlight",
+            "storage.offer.read.offer1.averageLatency", "storage.offer.read.offer1.errorRate");
+    }
+
+    private static void read(OfferReadStatistics offerReadStatistics, String offerId, long durationInMilliseconds,
+        boolean error) throws InterruptedException {
+        long startTime = offerReadStatistics.readStarted(offerId);
+        Thread.sleep(durationInMilliseconds);
+        if (error) {
+            offerReadStatistics.readFailed(offerId, startTime);
+        } else {
+            offerReadStatistics.readSucceeded(offerId, startTime);
+        }
+    }
+
+    private static List<StorageOffer> offers(String... offerIds) {
+        return Arrays.stream(offerIds).map(offerId -> {
+            StorageOffer storageOffer = new StorageOffer();
+            storageOffer.setId(offerId);
+            return storageOffer;
+        }).collect(Collectors.toList());
+    }
+
+    private static List<String> ids(List<StorageOffer> offers) {
+        return offers.stream().map(StorageOffer::getId).collect(Collectors.toList());
+    }
+}
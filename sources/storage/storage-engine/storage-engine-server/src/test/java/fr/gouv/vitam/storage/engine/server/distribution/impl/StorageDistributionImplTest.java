@@ -43,7 +43,12 @@ import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -55,15 +60,24 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableMap;
 import fr.gouv.vitam.common.accesslog.AccessLogUtils;
 import fr.gouv.vitam.common.thread.VitamThreadFactory;
+import fr.gouv.vitam.storage.driver.Connection;
 import fr.gouv.vitam.storage.driver.Driver;
+import fr.gouv.vitam.storage.driver.exception.StorageDriverException;
+import fr.gouv.vitam.storage.driver.exception.StorageDriverNotFoundException;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetRequest;
+import fr.gouv.vitam.storage.driver.model.StorageBulkGetResult;
+import fr.gouv.vitam.storage.driver.model.StorageGetResult;
+import fr.gouv.vitam.storage.driver.model.StorageObjectRequest;
 import fr.gouv.vitam.storage.engine.common.model.request.BulkObjectStoreRequest;
 import fr.gouv.vitam.storage.engine.common.model.response.BulkObjectStoreResponse;
 import fr.gouv.vitam.storage.engine.common.referential.model.StorageOffer;
@@ -77,6 +91,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -94,6 +109,7 @@ import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.storage.engine.common.exception.StorageAlreadyExistsException;
 import fr.gouv.vitam.storage.engine.common.exception.StorageException;
+import fr.gouv.vitam.storage.engine.common.exception.StorageNotFoundException;
 import fr.gouv.vitam.storage.engine.common.exception.StorageTechnicalException;
 import fr.gouv.vitam.storage.engine.common.model.DataCategory;
 import fr.gouv.vitam.storage.engine.common.model.OfferLog;
@@ -117,6 +133,7 @@ public class StorageDistributionImplTest {
     // FIXME P1 Fix Fake Driver
 
     private static final String OFFER_ID = "default";
+    private static final String OFFER_ID_2 = "default2";
     private static final int TENANT_ID = 0;
 
     private static StorageDistribution simpleDistribution;
@@ -679,6 +696,183 @@ public class StorageDistributionImplTest {
         assertFalse(Boolean.valueOf(result.getHeaderString(GlobalDataRest.X_CURSOR)));
     }
 
+    @RunWithCustomExecutor
+    @Test
+    public void getContainerByCategoryHedgedReadFromSecondaryOfferWhenPrimaryIsSlow() throws Exception {
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        StorageDistributionImpl hedgingDistribution =
+            spy(new StorageDistributionImpl(workspaceClientFactory, DigestType.SHA1, mock(StorageLog.class),
+                Executors.newFixedThreadPool(16, VitamThreadFactory.getInstance()), 300, bulkStorageDistribution,
+                new OfferReadStatistics(new MetricRegistry()), true, 0.95, 10));
+
+        CountDownLatch primaryReadReleased = new CountDownLatch(1);
+        Response primaryResponse = mock(Response.class);
+        Connection primaryConnection = mock(Connection.class);
+        when(primaryConnection.getObject(any(StorageObjectRequest.class))).thenAnswer(args -> {
+            primaryReadReleased.await();
+            return new StorageGetResult(TENANT_ID, DataCategory.OBJECT.getFolder(), "objectId", primaryResponse);
+        });
+        Driver primaryDriver = mock(Driver.class);
+        when(primaryDriver.connect(OFFER_ID)).thenReturn(primaryConnection);
+        doReturn(primaryDriver).when(hedgingDistribution).retrieveDriverInternal(OFFER_ID);
+
+        Response secondaryResponse = mock(Response.class);
+        Connection secondaryConnection = mock(Connection.class);
+        when(secondaryConnection.getObject(any(StorageObjectRequest.class))).thenReturn(
+            new StorageGetResult(TENANT_ID, DataCategory.OBJECT.getFolder(), "objectId", secondaryResponse));
+        Driver secondaryDriver = mock(Driver.class);
+        when(secondaryDriver.connect(OFFER_ID_2)).thenReturn(secondaryConnection);
+        doReturn(secondaryDriver).when(hedgingDistribution).retrieveDriverInternal(OFFER_ID_2);
+
+        try {
+            Response response = hedgingDistribution
+                .getContainerByCategory(VitamConfiguration.getDefaultStrategy(), "objectId", DataCategory.OBJECT,
+                    AccessLogUtils.getNoLogAccessLog());
+
+            assertThat(response).isSameAs(secondaryResponse);
+            verify(secondaryConnection).getObject(any(StorageObjectRequest.class));
+            verify(secondaryResponse, never()).close();
+
+            // The late response of the primary offer is discarded
+            primaryReadReleased.countDown();
+            verify(primaryResponse, timeout(5000)).close();
+        } finally {
+            primaryReadReleased.countDown();
+            hedgingDistribution.close();
+        }
+    }
+
+    @RunWithCustomExecutor
+    @Test
+    public void getContainerByCategoryWithoutHedgingReadsOffersByPriority() throws Exception {
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        StorageDistributionImpl distribution =
+            spy(new StorageDistributionImpl(workspaceClientFactory, DigestType.SHA1, mock(StorageLog.class),
+                Executors.newFixedThreadPool(16, VitamThreadFactory.getInstance()), 300, bulkStorageDistribution));
+
+        Connection primaryConnection = mock(Connection.class);
+        when(primaryConnection.getObject(any(StorageObjectRequest.class)))
+            .thenThrow(new StorageDriverException("driver", "offer unavailable", false));
+        Driver primaryDriver = mock(Driver.class);
+        when(primaryDriver.connect(OFFER_ID)).thenReturn(primaryConnection);
+        doReturn(primaryDriver).when(distribution).retrieveDriverInternal(OFFER_ID);
+
+        Response secondaryResponse = mock(Response.class);
+        Connection secondaryConnection = mock(Connection.class);
+        when(secondaryConnection.getObject(any(StorageObjectRequest.class))).thenReturn(
+            new StorageGetResult(TENANT_ID, DataCategory.OBJECT.getFolder(), "objectId", secondaryResponse));
+        Driver secondaryDriver = mock(Driver.class);
+        when(secondaryDriver.connect(OFFER_ID_2)).thenReturn(secondaryConnection);
+        doReturn(secondaryDriver).when(distribution).retrieveDriverInternal(OFFER_ID_2);
+
+        try {
+            Response response = distribution
+                .getContainerByCategory(VitamConfiguration.getDefaultStrategy(), "objectId", DataCategory.OBJECT,
+                    AccessLogUtils.getNoLogAccessLog());
+
+            assertThat(response).isSameAs(secondaryResponse);
+            InOrder inOrder = inOrder(primaryConnection, secondaryConnection);
+            inOrder.verify(primaryConnection).getObject(any(StorageObjectRequest.class));
+            inOrder.verify(secondaryConnection).getObject(any(StorageObjectRequest.class));
+        } finally {
+            distribution.close();
+        }
+    }
+
+    @RunWithCustomExecutor
+    @Test
+    public void bulkGetObjectsFromNextOfferWhenObjectsNotFoundInPrimaryOffer() throws Exception {
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        StorageDistributionImpl distribution =
+            spy(new StorageDistributionImpl(workspaceClientFactory, DigestType.SHA1, mock(StorageLog.class),
+                Executors.newFixedThreadPool(16, VitamThreadFactory.getInstance()), 300, bulkStorageDistribution));
+        List<String> objectIds = Arrays.asList("objectId1", "objectId2");
+
+        Connection primaryConnection = givenOfferConnection(distribution, OFFER_ID);
+        when(primaryConnection.bulkGetObjects(any(StorageBulkGetRequest.class)))
+            .thenThrow(new StorageDriverNotFoundException("driver", "objects not found"));
+
+        Response secondaryResponse = mock(Response.class);
+        Connection secondaryConnection = givenOfferConnection(distribution, OFFER_ID_2);
+        when(secondaryConnection.bulkGetObjects(any(StorageBulkGetRequest.class))).thenReturn(
+            new StorageBulkGetResult(TENANT_ID, DataCategory.OBJECT.getFolder(), objectIds, secondaryResponse));
+
+        try {
+            Response response = distribution
+                .bulkGetObjects(VitamConfiguration.getDefaultStrategy(), DataCategory.OBJECT, objectIds);
+
+            assertThat(response).isSameAs(secondaryResponse);
+            ArgumentCaptor<StorageBulkGetRequest> requestCaptor = ArgumentCaptor.forClass(StorageBulkGetRequest.class);
+            InOrder inOrder = inOrder(primaryConnection, secondaryConnection);
+            inOrder.verify(primaryConnection).bulkGetObjects(any(StorageBulkGetRequest.class));
+            inOrder.verify(secondaryConnection).bulkGetObjects(requestCaptor.capture());
+            assertThat(requestCaptor.getValue().getTenantId()).isEqualTo(TENANT_ID);
+            assertThat(requestCaptor.getValue().getType()).isEqualTo(DataCategory.OBJECT.getFolder());
+            assertThat(requestCaptor.getValue().getObjectIds()).containsExactly("objectId1", "objectId2");
+        } finally {
+            distribution.close();
+        }
+    }
+
+    @RunWithCustomExecutor
+    @Test
+    public void bulkGetObjectsNotFoundWhenNoOfferHasObjects() throws Exception {
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        StorageDistributionImpl distribution =
+            spy(new StorageDistributionImpl(workspaceClientFactory, DigestType.SHA1, mock(StorageLog.class),
+                Executors.newFixedThreadPool(16, VitamThreadFactory.getInstance()), 300, bulkStorageDistribution));
+
+        Connection primaryConnection = givenOfferConnection(distribution, OFFER_ID);
+        when(primaryConnection.bulkGetObjects(any(StorageBulkGetRequest.class)))
+            .thenThrow(new StorageDriverNotFoundException("driver", "objects not found"));
+        Connection secondaryConnection = givenOfferConnection(distribution, OFFER_ID_2);
+        when(secondaryConnection.bulkGetObjects(any(StorageBulkGetRequest.class)))
+            .thenThrow(new StorageDriverException("driver", "offer unavailable", false));
+
+        try {
+            assertThatThrownBy(() -> distribution.bulkGetObjects(VitamConfiguration.getDefaultStrategy(),
+                DataCategory.OBJECT, Arrays.asList("objectId1", "objectId2")))
+                .isInstanceOf(StorageNotFoundException.class);
+        } finally {
+            distribution.close();
+        }
+    }
+
+    @RunWithCustomExecutor
+    @Test
+    public void bulkGetObjectsTechnicalErrorWhenNoOfferIsAvailable() throws Exception {
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        StorageDistributionImpl distribution =
+            spy(new StorageDistributionImpl(workspaceClientFactory, DigestType.SHA1, mock(StorageLog.class),
+                Executors.newFixedThreadPool(16, VitamThreadFactory.getInstance()), 300, bulkStorageDistribution));
+
+        Connection primaryConnection = givenOfferConnection(distribution, OFFER_ID);
+        when(primaryConnection.bulkGetObjects(any(StorageBulkGetRequest.class)))
+            .thenThrow(new StorageDriverException("driver", "offer unavailable", false));
+        Connection secondaryConnection = givenOfferConnection(distribution, OFFER_ID_2);
+        when(secondaryConnection.bulkGetObjects(any(StorageBulkGetRequest.class)))
+            .thenThrow(new StorageDriverException("driver", "offer unavailable", false));
+
+        try {
+            assertThatThrownBy(() -> distribution.bulkGetObjects(VitamConfiguration.getDefaultStrategy(),
+                DataCategory.OBJECT, Arrays.asList("objectId1", "objectId2")))
+                .isInstanceOf(StorageTechnicalException.class);
+            verify(primaryConnection).close();
+            verify(secondaryConnection).close();
+        } finally {
+            distribution.close();
+        }
+    }
+
+    private Connection givenOfferConnection(StorageDistributionImpl distribution, String offerId)
+        throws Exception {
+        Connection connection = mock(Connection.class);
+        Driver driver = mock(Driver.class);
+        when(driver.connect(offerId)).thenReturn(connection);
+        doReturn(driver).when(distribution).retrieveDriverInternal(offerId);
+        return connection;
+    }
+
     @RunWithCustomExecutor
     @Test
     public void getOfferLogs() throws Exception {
@@ -18,6 +18,7 @@ import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -56,6 +57,9 @@ public class OfferSyncProcessTest {
     @Rule
     public MockitoRule mockitoRule = MockitoJUnit.rule();
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Mock
     private RestoreOfferBackupService restoreOfferBackupService;
 
@@ -268,6 +272,77 @@ public class OfferSyncProcessTest {
         assertThat(targetDataFiles).isEqualTo(sourceDataFiles);
     }
 
+    @Test
+    @RunWithCustomExecutor
+    public void synchronizeResumedFromCheckpoint() throws Exception {
+
+        // Given
+        givenDataSetInSourceOfferPart1();
+        OfferSyncCheckpointService offerSyncCheckpointService =
+            new OfferSyncCheckpointService(temporaryFolder.newFolder().getAbsolutePath());
+        OfferSyncProcess instance = new OfferSyncProcess(restoreOfferBackupService, distribution,
+            offerSyncCheckpointService, 5, 4, 1, 1, 1, 2, 0, 0L);
+
+        instance.synchronize(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, null);
+        verifySynchronizationStatus(instance, null, 2L);
+        assertThat(offerSyncCheckpointService
+            .getCheckpoint(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY)).isEmpty();
+
+        givenDataSetInSourceOfferPart2();
+        givenCheckpoint(offerSyncCheckpointService, 2L);
+
+        // When
+        instance.synchronize(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, null, true);
+
+        // Then
+        verifySynchronizationStatus(instance, 3L, 12L);
+        assertThat(targetDataFiles).isEqualTo(sourceDataFiles);
+        assertThat(instance.getOfferSyncStatus().getCopiedObjects()).isEqualTo(6L);
+        assertThat(instance.getOfferSyncStatus().getDeletedObjects()).isEqualTo(2L);
+        assertThat(offerSyncCheckpointService
+            .getCheckpoint(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY)).isEmpty();
+
+        // First run [sequence 1..2] :
+        //  - Written   : file1, file2
+        // Resumed run, first batch [sequence 3..7] :
+        //  - Written   : file2, file3, file4
+        //  - Deleted   : file1
+        // Resumed run, second batch [sequence 8..12] :
+        //  - Written   : file2, file4, file6
+        //  - Deleted   : file5
+        verify(distribution, times(8)).storeDataInOffers(anyString(), anyString(), any(), any(), any(), any());
+        verify(distribution, times(2)).deleteObjectInOffers(any(), any(), any());
+    }
+
+    @Test
+    @RunWithCustomExecutor
+    public void synchronizeWithoutOffsetIgnoresCheckpoint() throws Exception {
+
+        // Given
+        givenDataSetInSourceOffer();
+        OfferSyncCheckpointService offerSyncCheckpointService =
+            new OfferSyncCheckpointService(temporaryFolder.newFolder().getAbsolutePath());
+        givenCheckpoint(offerSyncCheckpointService, 7L);
+        OfferSyncProcess instance = new OfferSyncProcess(restoreOfferBackupService, distribution,
+            offerSyncCheckpointService, 5, 4, 1, 1, 1, 2, 0, 0L);
+
+        // When
+        instance.synchronize(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, null);
+
+        // Then : full synchronization
+        verifySynchronizationStatus(instance, null, 12L);
+        assertThat(targetDataFiles).isEqualTo(sourceDataFiles);
+        assertThat(offerSyncCheckpointService
+            .getCheckpoint(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY)).isEmpty();
+    }
+
+    private void givenCheckpoint(OfferSyncCheckpointService offerSyncCheckpointService, long currentOffset)
+        throws Exception {
+        offerSyncCheckpointService.saveCheckpoint(VitamConfiguration.getDefaultStrategy(),
+            new OfferSyncStatus(VitamThreadUtils.getVitamSession().getRequestId(), StatusCode.KO, null, null, SOURCE,
+                TARGET, DATA_CATEGORY.getCollectionName(), null, currentOffset));
+    }
+
     private void givenDataSetInSourceOffer() {
         givenDataSetInSourceOfferPart1();
         givenDataSetInSourceOfferPart2();
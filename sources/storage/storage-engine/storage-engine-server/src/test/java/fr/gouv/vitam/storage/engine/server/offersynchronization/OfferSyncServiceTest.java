@@ -20,6 +20,7 @@ import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
@@ -61,14 +62,14 @@ public class OfferSyncServiceTest {
         // Given
         OfferSyncProcess offerSyncProcess = mock(OfferSyncProcess.class);
         OfferSyncService instance = spy(new OfferSyncService(restoreOfferBackupService, distribution, 1000, 16, 1, 1, 1));
-        doNothing().when(instance).runSynchronizationAsync(any(), any(), any(), any(), anyLong(), any());
+        doNothing().when(instance).runSynchronizationAsync(any(), any(), any(), any(), anyLong(), anyBoolean(), any());
         when(instance.createOfferSyncProcess()).thenReturn(offerSyncProcess);
 
         // When
         boolean result = instance.startSynchronization(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET);
 
         // Then
-        verify(instance).runSynchronizationAsync(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET, offerSyncProcess);
+        verify(instance).runSynchronizationAsync(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET, false, offerSyncProcess);
         assertThat(result).isTrue();
     }
 
@@ -82,7 +83,7 @@ public class OfferSyncServiceTest {
         when(offerSyncProcess1.isRunning()).thenReturn(true);
 
         OfferSyncService instance = spy(new OfferSyncService(restoreOfferBackupService, distribution, 1000, 16, 1, 1, 1));
-        doNothing().when(instance).runSynchronizationAsync(any(), any(), any(), any(), anyLong(), any());
+        doNothing().when(instance).runSynchronizationAsync(any(), any(), any(), any(), anyLong(), anyBoolean(), any());
         when(instance.createOfferSyncProcess()).thenReturn(offerSyncProcess1, offerSyncProcess2);
 
         // When
@@ -90,9 +91,9 @@ public class OfferSyncServiceTest {
         boolean result2 = instance.startSynchronization(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET);
 
         // Then
-        verify(instance).runSynchronizationAsync(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET, offerSyncProcess1);
+        verify(instance).runSynchronizationAsync(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET, false, offerSyncProcess1);
         verify(instance, never())
-            .runSynchronizationAsync(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET, offerSyncProcess2);
+            .runSynchronizationAsync(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET, false, offerSyncProcess2);
         assertThat(result1).isTrue();
         assertThat(result2).isFalse();
     }
@@ -107,7 +108,7 @@ public class OfferSyncServiceTest {
         when(offerSyncProcess1.isRunning()).thenReturn(false);
 
         OfferSyncService instance = spy(new OfferSyncService(restoreOfferBackupService, distribution, 1000, 16, 1, 1, 1));
-        doNothing().when(instance).runSynchronizationAsync(any(), any(), any(), any(), anyLong(), any());
+        doNothing().when(instance).runSynchronizationAsync(any(), any(), any(), any(), anyLong(), anyBoolean(), any());
         when(instance.createOfferSyncProcess()).thenReturn(offerSyncProcess1, offerSyncProcess2);
 
         // When
@@ -115,8 +116,8 @@ public class OfferSyncServiceTest {
         boolean result2 = instance.startSynchronization(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET);
 
         // Then
-        verify(instance).runSynchronizationAsync(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET, offerSyncProcess1);
-        verify(instance).runSynchronizationAsync(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET, offerSyncProcess2);
+        verify(instance).runSynchronizationAsync(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET, false, offerSyncProcess1);
+        verify(instance).runSynchronizationAsync(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET, false, offerSyncProcess2);
         assertThat(result1).isTrue();
         assertThat(result2).isTrue();
     }
@@ -144,7 +145,7 @@ public class OfferSyncServiceTest {
         when(offerSyncProcess.isRunning()).thenReturn(true);
 
         OfferSyncService instance = spy(new OfferSyncService(restoreOfferBackupService, distribution, 1000, 16, 1, 1, 1));
-        doNothing().when(instance).runSynchronizationAsync(any(), any(), any(), any(), anyLong(), any());
+        doNothing().when(instance).runSynchronizationAsync(any(), any(), any(), any(), anyLong(), anyBoolean(), any());
         when(instance.createOfferSyncProcess()).thenReturn(offerSyncProcess);
 
         // When
@@ -165,7 +166,7 @@ public class OfferSyncServiceTest {
         when(offerSyncProcess.isRunning()).thenReturn(false);
 
         OfferSyncService instance = spy(new OfferSyncService(restoreOfferBackupService, distribution, 1000, 16, 1, 1, 1));
-        doNothing().when(instance).runSynchronizationAsync(any(), any(), any(), any(), anyLong(), any());
+        doNothing().when(instance).runSynchronizationAsync(any(), any(), any(), any(), anyLong(), anyBoolean(), any());
         when(instance.createOfferSyncProcess()).thenReturn(offerSyncProcess);
 
         // When
@@ -203,7 +204,7 @@ public class OfferSyncServiceTest {
 
 
         OfferSyncService instance = spy(new OfferSyncService(restoreOfferBackupService, distribution, 1000, 16, 1, 1, 1));
-        doNothing().when(instance).runSynchronizationAsync(any(), any(), any(), any(), anyLong(), any());
+        doNothing().when(instance).runSynchronizationAsync(any(), any(), any(), any(), anyLong(), anyBoolean(), any());
         when(instance.createOfferSyncProcess()).thenReturn(offerSyncProcess);
 
         // When
@@ -227,7 +228,7 @@ public class OfferSyncServiceTest {
 
 
         OfferSyncService instance = spy(new OfferSyncService(restoreOfferBackupService, distribution, 1000, 16, 1, 1, 1));
-        doNothing().when(instance).runSynchronizationAsync(any(), any(), any(), any(), anyLong(), any());
+        doNothing().when(instance).runSynchronizationAsync(any(), any(), any(), any(), anyLong(), anyBoolean(), any());
         when(instance.createOfferSyncProcess()).thenReturn(offerSyncProcess);
 
         // When
@@ -249,15 +250,15 @@ public class OfferSyncServiceTest {
         doAnswer((args) -> {
             countDownLatch.countDown();
             return null;
-        }).when(offerSyncProcess).synchronize(any(), any(), any(), any(), eq(OFFSET));
+        }).when(offerSyncProcess).synchronize(any(), any(), any(), any(), eq(OFFSET), eq(false));
 
         OfferSyncService instance = new OfferSyncService(restoreOfferBackupService, distribution, 1000, 1, 1, 1, 16);
 
         // When
-        instance.runSynchronizationAsync(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET, offerSyncProcess);
+        instance.runSynchronizationAsync(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET, false, offerSyncProcess);
         countDownLatch.await(1, TimeUnit.MINUTES);
 
         // Then
-        verify(offerSyncProcess).synchronize(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY,OFFSET);
+        verify(offerSyncProcess).synchronize(SOURCE, TARGET, VitamConfiguration.getDefaultStrategy(), DATA_CATEGORY, OFFSET, false);
     }
 }
@@ -86,7 +86,7 @@ public class AdminOfferSyncResourceTest {
         OfferSyncRequest offerSyncRequest = createOfferSyncRequest();
 
         when(offerSyncService
-            .startSynchronization(OFFER_FS_1_SERVICE_CONSUL, OFFER_FS_2_SERVICE_CONSUL, VitamConfiguration.getDefaultStrategy(), DataCategory.UNIT, null))
+            .startSynchronization(OFFER_FS_1_SERVICE_CONSUL, OFFER_FS_2_SERVICE_CONSUL, VitamConfiguration.getDefaultStrategy(), DataCategory.UNIT, null, false))
             .thenReturn(true);
 
         AdminOfferSyncResource instance = new AdminOfferSyncResource(offerSyncService);
@@ -107,7 +107,7 @@ public class AdminOfferSyncResourceTest {
         OfferSyncRequest offerSyncRequest = createOfferSyncRequest();
 
         when(offerSyncService
-            .startSynchronization(OFFER_FS_1_SERVICE_CONSUL, OFFER_FS_2_SERVICE_CONSUL, VitamConfiguration.getDefaultStrategy(), DataCategory.UNIT, null))
+            .startSynchronization(OFFER_FS_1_SERVICE_CONSUL, OFFER_FS_2_SERVICE_CONSUL, VitamConfiguration.getDefaultStrategy(), DataCategory.UNIT, null, false))
             .thenReturn(false);
 
         AdminOfferSyncResource instance = new AdminOfferSyncResource(offerSyncService);
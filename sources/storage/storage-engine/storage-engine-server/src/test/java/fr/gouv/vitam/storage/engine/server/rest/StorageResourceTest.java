@@ -37,6 +37,7 @@ import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -621,6 +622,26 @@ public class StorageResourceTest {
                 .statusCode(Status.OK.getStatusCode());
     }
 
+    @Test
+    public void bulkGetObjectsOk() {
+        given().contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_OCTET_STREAM)
+            .headers(VitamHttpHeader.TENANT_ID.getName(), TENANT_ID, VitamHttpHeader.STRATEGY_ID.getName(),
+                STRATEGY_ID)
+            .body(Arrays.asList("id0", "id1")).when().get("/bulk/{type}", DataCategory.OBJECT).then()
+            .statusCode(Status.OK.getStatusCode());
+
+        given().contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_OCTET_STREAM)
+            .headers(VitamHttpHeader.TENANT_ID.getName(), TENANT_ID_E, VitamHttpHeader.STRATEGY_ID.getName(),
+                STRATEGY_ID)
+            .body(Arrays.asList("id0", "id1")).when().get("/bulk/{type}", DataCategory.OBJECT).then()
+            .statusCode(Status.NOT_FOUND.getStatusCode());
+
+        given().contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_OCTET_STREAM)
+            .headers(VitamHttpHeader.TENANT_ID.getName(), TENANT_ID)
+            .body(Arrays.asList("id0", "id1")).when().get("/bulk/{type}", DataCategory.OBJECT).then()
+            .statusCode(Status.PRECONDITION_FAILED.getStatusCode());
+    }
+
     @Test
     public void getReportOk() {
         given().accept(MediaType.APPLICATION_OCTET_STREAM)
@@ -998,6 +1019,12 @@ public class StorageResourceTest {
             throw new UnsupportedOperationException("Not implemented");
         }
 
+        @Override
+        public Response bulkGetObjects(String strategyId, DataCategory category, List<String> objectIds)
+            throws StorageException {
+            return getContainerByCategoryResponse();
+        }
+
         /**
          * Get a specific Object binary data as an input stream
          * <p>
@@ -57,6 +57,7 @@ import fr.gouv.vitam.common.database.parser.request.multiple.SelectParserMultipl
 import fr.gouv.vitam.common.exception.InvalidGuidOperationException;
 import fr.gouv.vitam.common.exception.InvalidParseOperationException;
 import fr.gouv.vitam.common.exception.VitamRuntimeException;
+import fr.gouv.vitam.common.graph.IndexedParentGraph;
 import fr.gouv.vitam.common.guid.GUIDFactory;
 import fr.gouv.vitam.common.guid.GUIDReader;
 import fr.gouv.vitam.common.json.JsonHandler;
@@ -156,7 +157,7 @@ public class ArchiveUnitListener extends Unmarshaller.Listener {
     private final Map<String, JsonNode> existingGOTs;
     private ArchiveUnitMapper archiveUnitMapper;
     private HandlerIO handlerIO;
-    private ObjectNode archiveUnitTree;
+    private IndexedParentGraph archiveUnitTree;
     private ObjectMapper objectMapper;
     private Map<String, String> unitIdToGroupId;
     private Map<String, List<String>> objectGroupIdToUnitId;
@@ -202,7 +203,8 @@ public class ArchiveUnitListener extends Unmarshaller.Listener {
      * @param existingGOTs
      * @param existingUnitIdWithExistingObjectGroup
      */
-    public ArchiveUnitListener(HandlerIO handlerIO, ObjectNode archiveUnitTree, Map<String, String> unitIdToGuid,
+    public ArchiveUnitListener(HandlerIO handlerIO, IndexedParentGraph archiveUnitTree,
+        Map<String, String> unitIdToGuid,
         Map<String, String> guidToUnitId,
         Map<String, String> unitIdToGroupId,
         Map<String, List<String>> objectGroupIdToUnitId,
@@ -310,17 +312,9 @@ public class ArchiveUnitListener extends Unmarshaller.Listener {
             if (archiveUnitType.getArchiveUnitRefId() != null) {
 
                 String childArchiveUnitRef = archiveUnitType.getArchiveUnitRefId();
-                ObjectNode childArchiveUnitNode = (ObjectNode) archiveUnitTree.get(childArchiveUnitRef);
-                if (childArchiveUnitNode == null) {
-                    // Create new Archive Unit Node
-                    childArchiveUnitNode = JsonHandler.createObjectNode();
-                }
 
                 // Reference Management during tree creation
-                final ArrayNode parentsField = childArchiveUnitNode.withArray(SedaConstants.PREFIX_UP);
-                parentsField.addAll((ArrayNode) archiveUnitTree.get(sedaAchiveUnitId).get(SedaConstants.PREFIX_UP));
-                archiveUnitTree.set(childArchiveUnitRef, childArchiveUnitNode);
-                archiveUnitTree.without(sedaAchiveUnitId);
+                archiveUnitTree.transferParents(sedaAchiveUnitId, childArchiveUnitRef);
                 return;
             }
 
@@ -330,15 +324,9 @@ public class ArchiveUnitListener extends Unmarshaller.Listener {
 
             String groupId = buildGraph(sedaAchiveUnitId, elementGUID, archiveUnitOrDataObjectReferenceOrAny);
 
-            ObjectNode archiveUnitNode = (ObjectNode) archiveUnitTree.get(sedaAchiveUnitId);
-            if (archiveUnitNode == null) {
-                // Create node
-                archiveUnitNode = JsonHandler.createObjectNode();
-                // or go search for it
-            }
             fillCustodialHistoryReference(archiveUnitType);
             // Add new Archive Unit Entry
-            archiveUnitTree.set(sedaAchiveUnitId, archiveUnitNode);
+            archiveUnitTree.addNode(sedaAchiveUnitId);
 
             unitIdToGuid.put(sedaAchiveUnitId, elementGUID);
             guidToUnitId.put(elementGUID, sedaAchiveUnitId);
@@ -909,16 +897,8 @@ public class ArchiveUnitListener extends Unmarshaller.Listener {
                 childArchiveUnitRef, childArchiveUnitRef_guid, archiveUnitId));
         }
 
-        ObjectNode childArchiveUnitNode = (ObjectNode) archiveUnitTree.get(childArchiveUnitRef);
-        if (childArchiveUnitNode == null) {
-            // Create new Archive Unit Node
-            childArchiveUnitNode = JsonHandler.createObjectNode();
-        }
-
         // Reference Management during tree creation
-        final ArrayNode parentsField = childArchiveUnitNode.withArray(SedaConstants.PREFIX_UP);
-        parentsField.add(archiveUnitId);
-        archiveUnitTree.set(childArchiveUnitRef, childArchiveUnitNode);
+        archiveUnitTree.addParent(childArchiveUnitRef, archiveUnitId);
     }
 
     private void storeArchiveUnit(String elementGuid, ArchiveUnitRoot archiveUnitRoot) {
@@ -41,6 +41,8 @@ import fr.gouv.culture.archivesdefrance.seda.v2.DataObjectOrArchiveUnitReference
 import fr.gouv.culture.archivesdefrance.seda.v2.RelatedObjectReferenceType;
 import fr.gouv.vitam.common.ParametersChecker;
 import fr.gouv.vitam.common.SedaConstants;
+import fr.gouv.vitam.common.VitamConfiguration;
+import fr.gouv.vitam.common.collection.CompactStringMap;
 import fr.gouv.vitam.common.database.builder.query.QueryHelper;
 import fr.gouv.vitam.common.database.builder.request.exception.InvalidCreateOperationException;
 import fr.gouv.vitam.common.database.builder.request.single.Select;
@@ -53,6 +55,7 @@ import fr.gouv.vitam.common.exception.VitamRuntimeException;
 import fr.gouv.vitam.common.graph.DirectedCycle;
 import fr.gouv.vitam.common.graph.DirectedGraph;
 import fr.gouv.vitam.common.graph.Graph;
+import fr.gouv.vitam.common.graph.IndexedParentGraph;
 import fr.gouv.vitam.common.guid.GUIDFactory;
 import fr.gouv.vitam.common.guid.GUIDReader;
 import fr.gouv.vitam.common.json.JsonHandler;
@@ -263,17 +266,17 @@ public class ExtractSedaActionHandler extends ActionHandler {
     private static final String ARCHIVE_UNIT_TMP_FILE_PREFIX = "AU_TMP_";
     private static final String GLOBAL_MGT_RULE_TAG = "GLOBAL_MGT_RULE";
 
-    private final Map<String, String> dataObjectIdToGuid;
-    private final Map<String, String> objectGroupIdToGuid;
-    private final Map<String, String> unitIdToGuid;
-    private final Map<String, String> guidToUnitId;
+    private final CompactStringMap dataObjectIdToGuid;
+    private final CompactStringMap objectGroupIdToGuid;
+    private final CompactStringMap unitIdToGuid;
+    private final CompactStringMap guidToUnitId;
     private final Set<String> existingUnitGuids;
     private final Map<String, String> existingUnitIdWithExistingObjectGroup;
     private final Set<String> physicalDataObjetsGuids;
 
-    private final Map<String, String> dataObjectIdToObjectGroupId;
+    private final CompactStringMap dataObjectIdToObjectGroupId;
     private final Map<String, List<String>> objectGroupIdToDataObjectId;
-    private final Map<String, String> unitIdToGroupId;
+    private final CompactStringMap unitIdToGroupId;
     // this map contains DataObject that not have DataObjectGroupId
     private final Map<String, GotObj> dataObjectIdWithoutObjectGroupId;
     private final Map<String, List<String>> objectGroupIdToUnitId;
@@ -319,7 +322,7 @@ public class ExtractSedaActionHandler extends ActionHandler {
     private final MetaDataClientFactory metaDataClientFactory;
     private final AdminManagementClientFactory adminManagementClientFactory;
 
-    private ObjectNode archiveUnitTree;
+    private final IndexedParentGraph archiveUnitTree;
     private Map<String, JsonNode> existingGOTs;
     private boolean asyncIO = true;
 
@@ -342,7 +345,7 @@ public class ExtractSedaActionHandler extends ActionHandler {
 
     @VisibleForTesting
     ObjectNode getArchiveUnitTree() {
-        return archiveUnitTree;
+        return archiveUnitTree.toJson();
     }
 
     @VisibleForTesting
@@ -358,14 +361,14 @@ public class ExtractSedaActionHandler extends ActionHandler {
     @VisibleForTesting
     ExtractSedaActionHandler(MetaDataClientFactory metaDataClientFactory,
         AdminManagementClientFactory adminManagementClientFactory) {
-        dataObjectIdToGuid = new HashMap<>();
+        dataObjectIdToGuid = createIdentifierMap();
         dataObjectIdWithoutObjectGroupId = new HashMap<>();
-        objectGroupIdToGuid = new HashMap<>();
-        unitIdToGuid = new HashMap<>();
-        guidToUnitId = new HashMap<>();
-        dataObjectIdToObjectGroupId = new HashMap<>();
+        objectGroupIdToGuid = createIdentifierMap();
+        unitIdToGuid = createIdentifierMap();
+        guidToUnitId = createIdentifierMap();
+        dataObjectIdToObjectGroupId = createIdentifierMap();
         objectGroupIdToDataObjectId = new HashMap<>();
-        unitIdToGroupId = new HashMap<>();
+        unitIdToGroupId = createIdentifierMap();
         objectGroupIdToUnitId = new HashMap<>();
         guidToLifeCycleParameters = new HashMap<>();
         dataObjectIdToDetailDataObject = new HashMap<>();
@@ -380,11 +383,22 @@ public class ExtractSedaActionHandler extends ActionHandler {
         dataObjectGroupMasterMandatory = new HashMap<>();
         isThereManifestRelatedReferenceRemained = new HashMap<>();
         existingGOTGUIDToNewGotGUIDInAttachment = new HashMap<>();
-        archiveUnitTree = JsonHandler.createObjectNode();
+        archiveUnitTree = new IndexedParentGraph();
         this.metaDataClientFactory = metaDataClientFactory;
         this.adminManagementClientFactory = adminManagementClientFactory;
     }
 
+    /**
+     * Identifier mappings may hold millions of entries for big manifests: they are kept in a compact form, and
+     * spilled to disk above the configured threshold.
+     *
+     * @return a new map of manifest identifiers to GUIDs (or the reverse)
+     */
+    private static CompactStringMap createIdentifierMap() {
+        return new CompactStringMap(VitamConfiguration.getIdentifierMapHeapThreshold(),
+            new File(VitamConfiguration.getVitamTmpFolder()));
+    }
+
     /**
      * @return HANDLER_ID
      */
@@ -613,6 +627,13 @@ public class ExtractSedaActionHandler extends ActionHandler {
             // Except if they are to be used in MEMORY just after in the same STEP
             // objectGroupIdToGuid
             // objectGroupIdToUnitId
+            // Release the spill files of the identifier maps, kept entries stay readable
+            dataObjectIdToGuid.close();
+            objectGroupIdToGuid.close();
+            unitIdToGuid.close();
+            guidToUnitId.close();
+            dataObjectIdToObjectGroupId.close();
+            unitIdToGroupId.close();
         }
 
 
@@ -1347,7 +1368,7 @@ public class ExtractSedaActionHandler extends ActionHandler {
         }
     }
 
-    private void finalizeAndSaveArchiveUnitToWorkspace(ObjectNode archiveUnitTree,
+    private void finalizeAndSaveArchiveUnitToWorkspace(IndexedParentGraph archiveUnitTree,
         String containerId, String path, LogbookLifeCyclesClient logbookLifeCycleClient,
         JsonNode storageInfo)
         throws LogbookClientBadRequestException, LogbookClientNotFoundException, LogbookClientServerException,
@@ -1660,29 +1681,22 @@ public class ExtractSedaActionHandler extends ActionHandler {
 
     private boolean attachmentByIngestContractAndManageRulesInformation(ObjectNode archiveUnit, String manifestUnitId,
         String unitGuid,
-        ObjectNode archiveUnitTree, Set<String> globalMgtIdExtra) {
+        IndexedParentGraph archiveUnitTree, Set<String> globalMgtIdExtra) {
         ObjectNode workNode = JsonHandler.createObjectNode();
         ArrayNode upNode = JsonHandler.createArrayNode();
         // Check if unit is root ?
         boolean isUnitRoot = true;
-        final JsonNode archiveNode = archiveUnitTree.get(manifestUnitId);
-        if (archiveNode != null) {
-            // add archive units parents and originating agency
-            final JsonNode archiveUps = archiveNode.get(IngestWorkflowConstants.UP_FIELD);
-            if (null != archiveUps && archiveUps.isArray() && archiveUps.size() > 0) {
-                // Attachment to existing unit should be done by Graph build
-                ArrayNode ups = (ArrayNode) archiveUps;
-                for (JsonNode parent : ups) {
-                    // Convert from manifest id to guid
-                    upNode.add(unitIdToGuid.get(parent.asText()));
-                    // If all parents are already exists, then consider this unit as root
-                    // If at least one parent does not exists, then consider this unit as not root
-                    boolean atLeastOneParentDoesNotExists = !(existingUnitGuids.contains(parent.asText())
-                        || existingUnitGuids.contains(unitIdToGuid.get(parent.asText())));
-                    if (atLeastOneParentDoesNotExists) {
-                        isUnitRoot = false;
-                    }
-                }
+        // add archive units parents and originating agency
+        // Attachment to existing unit should be done by Graph build
+        for (String parent : archiveUnitTree.getParents(manifestUnitId)) {
+            // Convert from manifest id to guid
+            upNode.add(unitIdToGuid.get(parent));
+            // If all parents are already exists, then consider this unit as root
+            // If at least one parent does not exists, then consider this unit as not root
+            boolean atLeastOneParentDoesNotExists = !(existingUnitGuids.contains(parent)
+                || existingUnitGuids.contains(unitIdToGuid.get(parent)));
+            if (atLeastOneParentDoesNotExists) {
+                isUnitRoot = false;
             }
         }
 
@@ -1799,21 +1813,11 @@ public class ExtractSedaActionHandler extends ActionHandler {
 
     private Set<String> existAttachmentUnitAsParentOnTree(String unitId) {
         Set<String> parents = new HashSet<>();
-        if (archiveUnitTree.has(unitId)) {
-            JsonNode archiveNode = archiveUnitTree.get(unitId);
-            if (archiveNode.has(IngestWorkflowConstants.UP_FIELD)) {
-                final JsonNode archiveUps = archiveNode.get(IngestWorkflowConstants.UP_FIELD);
-                if (archiveUps.isArray() && archiveUps.size() > 0) {
-                    ArrayNode archiveUpsArray = (ArrayNode) archiveUps;
-                    for (JsonNode jsonNode : archiveUpsArray) {
-                        String archiveUnitId = jsonNode.textValue();
-                        String guid = unitIdToGuid.get(archiveUnitId);
-
-                        if (existingUnitGuids.contains(guid)) {
-                            parents.add(guid);
-                        }
-                    }
-                }
+        for (String archiveUnitId : archiveUnitTree.getParents(unitId)) {
+            String guid = unitIdToGuid.get(archiveUnitId);
+
+            if (existingUnitGuids.contains(guid)) {
+                parents.add(guid);
             }
         }
         return parents;
@@ -35,8 +35,7 @@ import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.model.ItemStatus;
 import fr.gouv.vitam.common.model.StatusCode;
-import fr.gouv.vitam.common.security.merkletree.MerkleTree;
-import fr.gouv.vitam.common.security.merkletree.MerkleTreeAlgo;
+import fr.gouv.vitam.common.security.merkletree.MerkleTreeRootBuilder;
 import fr.gouv.vitam.logbook.common.model.TraceabilityEvent;
 import fr.gouv.vitam.processing.common.exception.ProcessingException;
 import fr.gouv.vitam.processing.common.parameter.WorkerParameters;
@@ -103,10 +102,10 @@ public class VerifyMerkleTreeActionHandler extends ActionHandler {
             // 3- Calculate MerkelTree hash
 
             // TODO Get digest algorithm from traceabilityEvent object
-            MerkleTreeAlgo merkleTreeAlgo = computeMerkleTree(operationsInputStream);
+            MerkleTreeRootBuilder merkleTreeRootBuilder = computeMerkleTree(operationsInputStream);
 
             // calculates hash
-            final String currentRootHash = currentRootHash(merkleTreeAlgo);
+            final String currentRootHash = currentRootHash(merkleTreeRootBuilder);
 
             // compare to secured and indexed hash
             final ItemStatus subSecuredItem = compareToSecuredHash( handler, currentRootHash);
@@ -158,27 +157,26 @@ public class VerifyMerkleTreeActionHandler extends ActionHandler {
     }
 
     /**
-     * @param merkleTreeAlgo
+     * @param merkleTreeRootBuilder
      * @return
      */
-    String currentRootHash(final MerkleTreeAlgo merkleTreeAlgo) {
+    String currentRootHash(final MerkleTreeRootBuilder merkleTreeRootBuilder) {
         // check ok then compare diff root hash
-        final MerkleTree currentMerkleTree = merkleTreeAlgo.generateMerkle();
-
-        return BaseXx.getBase64(currentMerkleTree.getRoot());
+        return BaseXx.getBase64(merkleTreeRootBuilder.getRoot());
     }
 
     /**
-     * Compute merkle tree
+     * Compute merkle tree root, keeping only the pending subtree hashes in memory
      *
      * @param inputStream
-     * @return the computed Merkle tree
+     * @return the Merkle tree root builder fed with every line of the stream
      * @throws ProcessingException
      */
-    public static MerkleTreeAlgo computeMerkleTree(InputStream inputStream)
+    public static MerkleTreeRootBuilder computeMerkleTree(InputStream inputStream)
         throws ProcessingException {
 
-        final MerkleTreeAlgo merkleTreeAlgo = new MerkleTreeAlgo(VitamConfiguration.getDefaultDigestType());
+        final MerkleTreeRootBuilder merkleTreeRootBuilder =
+            new MerkleTreeRootBuilder(VitamConfiguration.getDefaultDigestType());
 
         // Process
         try (BufferedInputStream bis = new BufferedInputStream(inputStream);
@@ -189,14 +187,14 @@ public class VerifyMerkleTreeActionHandler extends ActionHandler {
                 if (c != NEW_LINE_SEPARATOR) {
                     buffer.write(c);
                 } else {
-                    merkleTreeAlgo.addLeaf(buffer.toByteArray());
+                    merkleTreeRootBuilder.addLeaf(buffer.toByteArray());
                     buffer.reset();
                 }
             }
 
             if (buffer.size() > 0) {
                 // Add any remaining
-                merkleTreeAlgo.addLeaf(buffer.toByteArray());
+                merkleTreeRootBuilder.addLeaf(buffer.toByteArray());
             }
 
         } catch (IOException e) {
@@ -49,6 +49,7 @@ import fr.gouv.vitam.processing.common.parameter.WorkerParameters;
 import fr.gouv.vitam.worker.common.utils.LogbookLifecycleWorkerHelper;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -56,11 +57,19 @@ import static fr.gouv.vitam.common.LocalDateUtil.now;
 
 /**
  * classe permettant de générer des LFC à partir des ItemStatus renvoyé par le résultat d'une action.
+ *
+ * Events are buffered until saved : all the events of a lifecycle generated by the actions of a batch are coalesced
+ * into a single entry of the bulk, so that each lifecycle is updated once per save.
  */
 public class LifecycleFromWorker {
 
-    private List<LogbookLifeCycleParametersBulk> logbookLifeCycleParametersTemporaryBulks = new ArrayList<>();
-    private List<LogbookLifeCycleParametersBulk> logbookLifeCycleParametersBulks = new ArrayList<>();
+    /**
+     * Buffered events by lifecycle id, in generation order
+     */
+    private final Map<String, List<LogbookLifeCycleParameters>> logbookLifeCycleParametersTemporaryBulks =
+        new LinkedHashMap<>();
+    private final Map<String, List<LogbookLifeCycleParameters>> logbookLifeCycleParametersBulks =
+        new LinkedHashMap<>();
     private final LogbookLifeCyclesClient logbookLfcClient;
 
     public LifecycleFromWorker(LogbookLifeCyclesClient logbookLfcClient) {
@@ -93,10 +102,11 @@ public class LifecycleFromWorker {
                     createLogbookLifeCycleParameters(handlerName, itemStatus, lfcParam);
                 String objectId = objectName.replace(".json", "");
                 if (action.getActionDefinition().lifecycleState() == LifecycleState.TEMPORARY) {
-                    logbookLifeCycleParametersTemporaryBulks
-                        .add(new LogbookLifeCycleParametersBulk(objectId, logbookParamList));
+                    logbookLifeCycleParametersTemporaryBulks.computeIfAbsent(objectId, id -> new ArrayList<>())
+                        .addAll(logbookParamList);
                 } else {
-                    logbookLifeCycleParametersBulks.add(new LogbookLifeCycleParametersBulk(objectId, logbookParamList));
+                    logbookLifeCycleParametersBulks.computeIfAbsent(objectId, id -> new ArrayList<>())
+                        .addAll(logbookParamList);
                 }
             } else {
                 // FIXME (US 5769)
@@ -115,16 +125,25 @@ public class LifecycleFromWorker {
     public void saveLifeCycles(DistributionType distributionType) throws VitamClientInternalException {
         if (!logbookLifeCycleParametersTemporaryBulks.isEmpty()) {
             logbookLfcClient.bulkLifeCycleTemporary(VitamThreadUtils.getVitamSession().getRequestId(), distributionType,
-                logbookLifeCycleParametersTemporaryBulks);
+                toBulks(logbookLifeCycleParametersTemporaryBulks));
             logbookLifeCycleParametersTemporaryBulks.clear();
         }
         if (!logbookLifeCycleParametersBulks.isEmpty()) {
             logbookLfcClient.bulkLifeCycle(VitamThreadUtils.getVitamSession().getRequestId(), distributionType,
-                logbookLifeCycleParametersBulks);
+                toBulks(logbookLifeCycleParametersBulks));
             logbookLifeCycleParametersBulks.clear();
         }
     }
 
+    private static List<LogbookLifeCycleParametersBulk> toBulks(
+        Map<String, List<LogbookLifeCycleParameters>> lifeCycleParametersById) {
+        List<LogbookLifeCycleParametersBulk> bulks = new ArrayList<>(lifeCycleParametersById.size());
+        for (Map.Entry<String, List<LogbookLifeCycleParameters>> entry : lifeCycleParametersById.entrySet()) {
+            bulks.add(new LogbookLifeCycleParametersBulk(entry.getKey(), entry.getValue()));
+        }
+        return bulks;
+    }
+
     private LogbookLifeCycleParameters createStartLogbookLfc(DistributionType distributionType, String handlerName,
         WorkerParameters workParams)
         throws InvalidGuidOperationException {
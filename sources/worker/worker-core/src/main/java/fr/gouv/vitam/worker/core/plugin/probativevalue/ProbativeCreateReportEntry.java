@@ -52,7 +52,7 @@ import fr.gouv.vitam.common.model.logbook.LogbookLifecycle;
 import fr.gouv.vitam.common.model.logbook.LogbookOperation;
 import fr.gouv.vitam.common.model.objectgroup.DbObjectGroupModel;
 import fr.gouv.vitam.common.model.objectgroup.DbVersionsModel;
-import fr.gouv.vitam.common.security.merkletree.MerkleTreeAlgo;
+import fr.gouv.vitam.common.security.merkletree.MerkleTreeRootBuilder;
 import fr.gouv.vitam.common.stream.StreamUtils;
 import fr.gouv.vitam.logbook.common.exception.LogbookClientException;
 import fr.gouv.vitam.logbook.common.model.TraceabilityEvent;
@@ -506,8 +506,8 @@ public class ProbativeCreateReportEntry extends ActionHandler {
         ProbativeCheck compareTimeStamp = compare(timeStampComparison, timeStampFromTraceabilityFile, timeStampFromLogbookOperation);
 
         String digestFromDatabase = JsonHandler.getFromString(traceabilityLogbookOperation.getEvDetData(), TraceabilityEvent.class).getHash();
-        MerkleTreeAlgo merkleTreeAlgo = computeMerkleTree(new FileInputStream(traceabilityFiles.getData()));
-        String digestRecalculated = BaseXx.getBase64(merkleTreeAlgo.generateMerkle().getRoot());
+        MerkleTreeRootBuilder merkleTreeRootBuilder = computeMerkleTree(new FileInputStream(traceabilityFiles.getData()));
+        String digestRecalculated = BaseXx.getBase64(merkleTreeRootBuilder.getRoot());
 
         String traceabilityMerkleFileMerkleTreeRootDigest = getTraceabilityMerkleFileMerkleTreeRootDigest(traceabilityFiles.getMerkleTree());
 
@@ -10,6 +10,7 @@ import fr.gouv.culture.archivesdefrance.seda.v2.DataObjectRefType;
 import fr.gouv.culture.archivesdefrance.seda.v2.DescriptiveMetadataContentType;
 import fr.gouv.culture.archivesdefrance.seda.v2.ManagementType;
 import fr.gouv.culture.archivesdefrance.seda.v2.UpdateOperationType;
+import fr.gouv.vitam.common.graph.IndexedParentGraph;
 import fr.gouv.vitam.common.json.JsonHandler;
 import fr.gouv.vitam.common.model.RequestResponseOK;
 import fr.gouv.vitam.common.model.UnitType;
@@ -77,7 +78,7 @@ public class ArchiveUnitListenerTest {
         JAXBElement parent = mock(JAXBElement.class);
 
         ArchiveUnitListener archiveUnitListener =
-            new ArchiveUnitListener(mock(HandlerIOImpl.class), JsonHandler.createObjectNode(), null, null, null, null, null,
+            new ArchiveUnitListener(mock(HandlerIOImpl.class), new IndexedParentGraph(), null, null, null, null, null,
                 null, null, new HashSet<>(), null, null, metaDataClientFactory, null, null, null, null, null, null, null,
            null, null, null);
 
@@ -115,7 +116,7 @@ public class ArchiveUnitListenerTest {
         JAXBElement parent = mock(JAXBElement.class);
 
         ArchiveUnitListener archiveUnitListener =
-            new ArchiveUnitListener(mock(HandlerIOImpl.class), JsonHandler.createObjectNode(), null, null,null, null, null,
+            new ArchiveUnitListener(mock(HandlerIOImpl.class), new IndexedParentGraph(), null, null,null, null, null,
                 null, null, new HashSet<>(), null, null, metaDataClientFactory, null, null, null, null, null, null, null
            ,null, null, null);
 
@@ -156,7 +157,7 @@ public class ArchiveUnitListenerTest {
         JAXBElement parent = mock(JAXBElement.class);
 
         ArchiveUnitListener archiveUnitListener =
-            new ArchiveUnitListener(mock(HandlerIOImpl.class), JsonHandler.createObjectNode(), null, null, null, null, null,
+            new ArchiveUnitListener(mock(HandlerIOImpl.class), new IndexedParentGraph(), null, null, null, null, null,
                 null, null, new HashSet<>(), null, null, metaDataClientFactory, null, null, null, UnitType.FILING_UNIT,
                 null,
                 null, null, null, null, null);
@@ -204,7 +205,7 @@ public class ArchiveUnitListenerTest {
         JAXBElement parent = mock(JAXBElement.class);
 
         ArchiveUnitListener archiveUnitListener =
-            new ArchiveUnitListener(mock(HandlerIOImpl.class), JsonHandler.createObjectNode(), null, null, null, null, null,
+            new ArchiveUnitListener(mock(HandlerIOImpl.class), new IndexedParentGraph(), null, null, null, null, null,
                 null, null, new HashSet<>(), null, null, metaDataClientFactory, null, null, null, UnitType.HOLDING_UNIT,
                 null,
                 null, null, null, null, null);
@@ -251,7 +252,7 @@ public class ArchiveUnitListenerTest {
         HandlerIO handlerIO = mock(HandlerIO.class);
         Map<String, LogbookLifeCycleParameters> guidToLifeCycleParameters = new HashMap<>();
         ArchiveUnitListener archiveUnitListener =
-            new ArchiveUnitListener(handlerIO, JsonHandler.createObjectNode(), unitIdToGuid, guidToUnitId, null, null, null,
+            new ArchiveUnitListener(handlerIO, new IndexedParentGraph(), unitIdToGuid, guidToUnitId, null, null, null,
                 null, guidToLifeCycleParameters, new HashSet<>(), LogbookTypeProcess.INGEST_TEST, "OperationID",
                 metaDataClientFactory, null, null, null, UnitType.INGEST,
                 agenciesList, null, null, null, null, null);
@@ -305,7 +306,7 @@ public class ArchiveUnitListenerTest {
         HandlerIO handlerIO = mock(HandlerIO.class);
         Map<String, LogbookLifeCycleParameters> guidToLifeCycleParameters = new HashMap<>();
         ArchiveUnitListener archiveUnitListener =
-            new ArchiveUnitListener(handlerIO, JsonHandler.createObjectNode(), unitIdToGuid, guidToUnitId, null, null, null,
+            new ArchiveUnitListener(handlerIO, new IndexedParentGraph(), unitIdToGuid, guidToUnitId, null, null, null,
                 null, guidToLifeCycleParameters, new HashSet<>(), LogbookTypeProcess.INGEST_TEST, "OperationID",
                 metaDataClientFactory, null, null, null, UnitType.INGEST,
                 agenciesList, null, null, null, null, null);
@@ -359,7 +360,7 @@ public class ArchiveUnitListenerTest {
         HandlerIO handlerIO = mock(HandlerIO.class);
         Map<String, LogbookLifeCycleParameters> guidToLifeCycleParameters = new HashMap<>();
         ArchiveUnitListener archiveUnitListener =
-            new ArchiveUnitListener(handlerIO, JsonHandler.createObjectNode(), unitIdToGuid, guidToUnitId, null, null, null,
+            new ArchiveUnitListener(handlerIO, new IndexedParentGraph(), unitIdToGuid, guidToUnitId, null, null, null,
                 null, guidToLifeCycleParameters, new HashSet<>(), LogbookTypeProcess.INGEST_TEST, "OperationID",
                 metaDataClientFactory, null, null, null, UnitType.INGEST,
                 agenciesList, null, null, null, null, null);
@@ -419,7 +420,7 @@ public class ArchiveUnitListenerTest {
         HandlerIO handlerIO = mock(HandlerIO.class);
         Map<String, LogbookLifeCycleParameters> guidToLifeCycleParameters = new HashMap<>();
         ArchiveUnitListener archiveUnitListener =
-            new ArchiveUnitListener(handlerIO, JsonHandler.createObjectNode(), unitIdToGuid, guidToUnitId, null, null, dataObjectIdToObjectGroupId,
+            new ArchiveUnitListener(handlerIO, new IndexedParentGraph(), unitIdToGuid, guidToUnitId, null, null, dataObjectIdToObjectGroupId,
                 null, guidToLifeCycleParameters, new HashSet<>(), LogbookTypeProcess.INGEST_TEST, "OperationID",
                 metaDataClientFactory, objectGroupIdToGuid, null, null, UnitType.INGEST,
                 agenciesList, null, null, null, null, null);
@@ -461,7 +462,7 @@ public class ArchiveUnitListenerTest {
         HandlerIO handlerIO = mock(HandlerIO.class);
         Map<String, LogbookLifeCycleParameters> guidToLifeCycleParameters = new HashMap<>();
         ArchiveUnitListener archiveUnitListener =
-            new ArchiveUnitListener(handlerIO, JsonHandler.createObjectNode(), unitIdToGuid, guidToUnitId, null, null, null,
+            new ArchiveUnitListener(handlerIO, new IndexedParentGraph(), unitIdToGuid, guidToUnitId, null, null, null,
                 null, guidToLifeCycleParameters, new HashSet<>(), LogbookTypeProcess.INGEST_TEST, "OperationID",
                 metaDataClientFactory, null, null, null, UnitType.INGEST,
                 agenciesList, null, null, null, null, null);
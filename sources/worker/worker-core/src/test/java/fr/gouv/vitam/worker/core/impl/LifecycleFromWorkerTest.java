@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2019)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "http://www.cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ *******************************************************************************/
+package fr.gouv.vitam.worker.core.impl;
+
+import fr.gouv.vitam.common.guid.GUIDFactory;
+import fr.gouv.vitam.common.model.ItemStatus;
+import fr.gouv.vitam.common.model.StatusCode;
+import fr.gouv.vitam.common.model.processing.Action;
+import fr.gouv.vitam.common.model.processing.ActionDefinition;
+import fr.gouv.vitam.common.model.processing.DistributionType;
+import fr.gouv.vitam.common.model.processing.LifecycleState;
+import fr.gouv.vitam.common.thread.RunWithCustomExecutor;
+import fr.gouv.vitam.common.thread.RunWithCustomExecutorRule;
+import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
+import fr.gouv.vitam.common.thread.VitamThreadUtils;
+import fr.gouv.vitam.logbook.common.parameters.LogbookLifeCycleParametersBulk;
+import fr.gouv.vitam.logbook.common.parameters.LogbookTypeProcess;
+import fr.gouv.vitam.logbook.lifecycles.client.LogbookLifeCyclesClient;
+import fr.gouv.vitam.processing.common.parameter.WorkerParameters;
+import fr.gouv.vitam.processing.common.parameter.WorkerParametersFactory;
+import org.assertj.core.util.Lists;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class LifecycleFromWorkerTest {
+
+    private static final int TENANT_ID = 0;
+
+    @Rule
+    public RunWithCustomExecutorRule runInThread =
+        new RunWithCustomExecutorRule(VitamThreadPoolExecutor.getDefaultExecutor());
+
+    @Test
+    @RunWithCustomExecutor
+    @SuppressWarnings("unchecked")
+    public void should_send_one_bulk_entry_per_lifecycle_for_all_actions() throws Exception {
+        // Given
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        VitamThreadUtils.getVitamSession().setRequestId(GUIDFactory.newRequestIdGUID(TENANT_ID));
+        LogbookLifeCyclesClient logbookLfcClient = mock(LogbookLifeCyclesClient.class);
+        LifecycleFromWorker lifecycleFromWorker = new LifecycleFromWorker(logbookLfcClient);
+
+        String unit1 = GUIDFactory.newUnitGUID(TENANT_ID).getId();
+        String unit2 = GUIDFactory.newUnitGUID(TENANT_ID).getId();
+        WorkerParameters workerParameters = WorkerParametersFactory.newWorkerParameters()
+            .setObjectNameList(Lists.newArrayList(unit1 + ".json", unit2 + ".json"))
+            .setContainerName(GUIDFactory.newOperationLogbookGUID(TENANT_ID).getId())
+            .setLogbookTypeProcess(LogbookTypeProcess.INGEST);
+
+        // When
+        for (String handlerName : new String[] {"CHECK_UNIT_SCHEMA", "UNITS_RULES_COMPUTE"}) {
+            lifecycleFromWorker.generateLifeCycle(
+                Lists.newArrayList(itemStatus(handlerName), itemStatus(handlerName)), workerParameters,
+                action(handlerName), DistributionType.Units, new ItemStatus());
+        }
+        lifecycleFromWorker.saveLifeCycles(DistributionType.Units);
+
+        // Then
+        ArgumentCaptor<List<LogbookLifeCycleParametersBulk>> bulks = ArgumentCaptor.forClass(List.class);
+        verify(logbookLfcClient).bulkLifeCycleTemporary(anyString(), eq(DistributionType.Units), bulks.capture());
+        verify(logbookLfcClient, never()).bulkLifeCycle(anyString(), any(), any());
+
+        assertThat(bulks.getValue()).extracting(LogbookLifeCycleParametersBulk::getId).containsExactly(unit1, unit2);
+        assertThat(bulks.getValue().get(0).getLifeCycleParameters()).hasSize(2);
+        assertThat(bulks.getValue().get(1).getLifeCycleParameters()).hasSize(2);
+    }
+
+    private static ItemStatus itemStatus(String handlerName) {
+        return new ItemStatus(handlerName).increment(StatusCode.OK);
+    }
+
+    private static Action action(String handlerName) {
+        ActionDefinition actionDefinition = new ActionDefinition();
+        actionDefinition.setActionKey(handlerName);
+        actionDefinition.setLifecycleState(LifecycleState.TEMPORARY);
+        Action action = new Action();
+        action.setActionDefinition(actionDefinition);
+        return action;
+    }
+}